@@ -0,0 +1,109 @@
+package jp.co.sss.lms.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 権限毎のアクセス可能URLのベンチマーク<br>
+ * ログインセッションフィルターの判定（静的リソースか・権限がアクセス可能か）を、
+ * 変更前の実装（権限毎のArrayList.containsと6回のString.contains）と比較する。<br>
+ * 変更前の実装のリストは同じ設定ファイル（access.properties）から作成する。<br>
+ * 実行：mvn -Pjmh test-compile exec:exec -Djmh.args="AccessControlIndexBenchmark -prof gc"
+ *
+ * @author 東京ITスクール
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessControlIndexBenchmark {
+
+	/** コンテキストパス */
+	private static final String CONTEXT_PATH = "/lms";
+	/** 権限コード（講師） */
+	private static final String ROLE = Constants.CODE_VAL_ROLL_TEACHER;
+	/** リクエストURI（先頭付近・末尾付近・許可されないURL・静的リソース） */
+	private static final String[] URIS = { "/lms/course/list", "/lms/password/changePassword",
+			"/lms/contract/history/list", "/lms/css/style.css" };
+
+	/** 変更後の実装 */
+	private AccessControlIndex accessControlIndex;
+	/** 変更前の実装：権限コード→アクセス可能URL */
+	private Map<String, List<String>> legacyAccessListMap;
+
+	/** 処理するリクエスト */
+	private int request;
+
+	@Setup
+	public void setup() throws IOException {
+		accessControlIndex = AccessControlIndex.load(CONTEXT_PATH);
+		legacyAccessListMap = new HashMap<>();
+		accessControlIndex.getAccessTable().forEach((uri, roleList) -> {
+			for (String role : roleList) {
+				legacyAccessListMap.computeIfAbsent(role, key -> new ArrayList<>()).add(uri);
+			}
+		});
+	}
+
+	/**
+	 * 変更後の実装
+	 */
+	@Benchmark
+	public boolean current() {
+		String uri = URIS[request++ & 3];
+		return accessControlIndex.isStatic(uri) || accessControlIndex.isAccess(ROLE, uri);
+	}
+
+	/**
+	 * 変更前の実装
+	 */
+	@Benchmark
+	public boolean legacy() {
+		String uri = URIS[request++ & 3];
+		return isLegacyStatic(uri) || isLegacyAccess(ROLE, uri);
+	}
+
+	/**
+	 * 静的なURIか確認（変更前の実装）
+	 */
+	private static boolean isLegacyStatic(String uri) {
+		return uri.contains("/js/") || uri.contains("/css/") || uri.contains("/fonts/")
+				|| uri.contains("/img/") || uri.contains("/pdf/") || uri.contains("/mailTemplate/");
+	}
+
+	/**
+	 * 権限毎のアクセス制限チェック（変更前の実装）
+	 */
+	private boolean isLegacyAccess(String role, String uri) {
+		if (Constants.CODE_VAL_ROLL_STUDENT.equals(role)) {
+			return legacyAccessListMap.get(Constants.CODE_VAL_ROLL_STUDENT).contains(uri);
+		} else if (Constants.CODE_VAL_ROLL_TEACHER.equals(role)) {
+			return legacyAccessListMap.get(Constants.CODE_VAL_ROLL_TEACHER).contains(uri);
+		} else if (Constants.CODE_VAL_ROLL_COMPANY.equals(role)) {
+			return legacyAccessListMap.get(Constants.CODE_VAL_ROLL_COMPANY).contains(uri);
+		} else if (Constants.CODE_VAL_ROLL_ADMIN.equals(role)) {
+			return legacyAccessListMap.get(Constants.CODE_VAL_ROLL_ADMIN).contains(uri);
+		} else if (Constants.CODE_VAL_ROLL_TRAINING.equals(role)) {
+			return legacyAccessListMap.get(Constants.CODE_VAL_ROLL_TRAINING).contains(uri);
+		}
+		return false;
+	}
+
+}
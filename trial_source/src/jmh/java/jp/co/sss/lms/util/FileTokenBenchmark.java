@@ -0,0 +1,86 @@
+package jp.co.sss.lms.util;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * ファイルIDトークンのベンチマーク<br>
+ * セクション詳細画面のファイル1件分の処理（ファイルIDの変換・ダウンロード時の復元）を、
+ * 変更前の実装（PasswordUtil.getSaltedAndStrechedPasswordでのハッシュ化と対応表での復元）と比較する。<br>
+ * 実行：mvn -Pjmh test-compile exec:exec -Djmh.args="FileTokenBenchmark -prof gc"
+ *
+ * @author 東京ITスクール
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FileTokenBenchmark {
+
+	/** ファイルID */
+	private static final int[] FILE_IDS = { 1, 128, 40321, 2000000 };
+	/** ユーザーID */
+	private static final int USER_ID = 10;
+
+	/** 変更後の実装 */
+	private FileTokenUtil fileTokenUtil;
+	/** 変更前の実装 */
+	private PasswordUtil passwordUtil;
+	/** 変更前の実装：ハッシュ化したファイルID→ファイルID */
+	private Map<String, Integer> fileIdMap;
+
+	/** 処理するファイル */
+	private int file;
+
+	@Setup
+	public void setup() {
+		fileTokenUtil = new FileTokenUtil();
+		ReflectionTestUtils.setField(fileTokenUtil, "clock", Clock.systemDefaultZone());
+		ReflectionTestUtils.setField(fileTokenUtil, "environment", new MockEnvironment());
+		ReflectionTestUtils.setField(fileTokenUtil, "secret", "lms-benchmark-file-token-secret");
+		ReflectionTestUtils.setField(fileTokenUtil, "expireMinute", 60L);
+		fileTokenUtil.init();
+		passwordUtil = new PasswordUtil();
+		fileIdMap = new HashMap<>();
+	}
+
+	/**
+	 * 変更後の実装
+	 */
+	@Benchmark
+	public Integer current() {
+		int fileId = FILE_IDS[file++ & 3];
+		String token = fileTokenUtil.encode(fileId, USER_ID);
+		return fileTokenUtil.decode(token, USER_ID);
+	}
+
+	/**
+	 * 変更前の実装
+	 */
+	@Benchmark
+	public Integer legacy() {
+		int fileId = FILE_IDS[file++ & 3];
+		String hashFileId = passwordUtil.getSaltedAndStrechedPassword(String.valueOf(fileId),
+				String.valueOf(USER_ID));
+		fileIdMap.put(hashFileId, fileId);
+		return fileIdMap.get(hashFileId);
+	}
+
+}
@@ -0,0 +1,69 @@
+package jp.co.sss.lms.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 研修時刻ユーティリティのベンチマーク<br>
+ * 勤怠情報1行分の処理（出退勤時刻の解析・15分単位の丸め・研修時間の算出・表示用の整形）を、
+ * 変更前の実装（LegacyTrainingTime）と比較する。<br>
+ * 実行：mvn -Pjmh test-compile exec:exec -Djmh.args="TrainingTimeBenchmark -prof gc"
+ *
+ * @author 東京ITスクール
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrainingTimeBenchmark {
+
+	/** 出勤時刻（画面入力・DBの値） */
+	private static final String[] START_TIMES = { "09:05", "0858", "09:20", "10:47" };
+	/** 退勤時刻（画面入力・DBの値） */
+	private static final String[] END_TIMES = { "18:10", "1759", "17:44", "18:00" };
+
+	/** 処理する行 */
+	private int row;
+
+	/**
+	 * 変更後の実装
+	 */
+	@Benchmark
+	public void current(Blackhole blackhole) {
+		int i = row++ & 3;
+		TrainingTime start = TrainingTime.parse(START_TIMES[i]).roundUp();
+		TrainingTime end = TrainingTime.parse(END_TIMES[i]).roundDown();
+		TrainingTime total = end.compareTo(start) > 0 ? end.subtract(start) : TrainingTime.BLANK;
+		blackhole.consume(start.getFormattedString());
+		blackhole.consume(end.getFormattedString());
+		blackhole.consume(total.getFormattedString());
+	}
+
+	/**
+	 * 変更前の実装
+	 */
+	@Benchmark
+	public void legacy(Blackhole blackhole) {
+		int i = row++ & 3;
+		LegacyTrainingTime start = new LegacyTrainingTime(START_TIMES[i]).roundUp();
+		LegacyTrainingTime end = new LegacyTrainingTime(END_TIMES[i]).roundDown();
+		LegacyTrainingTime total = end.compareTo(start) > 0 ? end.subtract(start)
+				: new LegacyTrainingTime("");
+		blackhole.consume(start.getFormattedString());
+		blackhole.consume(end.getFormattedString());
+		blackhole.consume(total.getFormattedString());
+	}
+
+}
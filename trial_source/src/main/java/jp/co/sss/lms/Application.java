@@ -1,7 +1,10 @@
 package jp.co.sss.lms;
 
+import java.time.Clock;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 public class Application {
@@ -10,4 +13,14 @@ public class Application {
 		SpringApplication.run(Application.class, args);
 	}
 
+	/**
+	 * 現在日時の取得に使用する時計
+	 * 
+	 * @return システム既定のタイムゾーンの時計
+	 */
+	@Bean
+	public Clock clock() {
+		return Clock.systemDefaultZone();
+	}
+
 }
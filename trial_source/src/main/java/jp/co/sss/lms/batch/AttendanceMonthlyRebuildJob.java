@@ -0,0 +1,36 @@
+package jp.co.sss.lms.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+
+import jp.co.sss.lms.service.AttendanceMonthlyService;
+
+/**
+ * 勤怠月次集計再作成バッチ<br>
+ * 起動引数：--batch=rebuildAttendanceMonthly
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+public class AttendanceMonthlyRebuildJob implements BatchJob {
+
+	@Autowired
+	private AttendanceMonthlyService attendanceMonthlyService;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	public String getName() {
+		return "rebuildAttendanceMonthly";
+	}
+
+	@Override
+	public void execute(ApplicationArguments args) throws Exception {
+		int count = attendanceMonthlyService.rebuild();
+		logger.info("勤怠月次集計再作成完了：ユーザー数={}", count);
+	}
+
+}
@@ -0,0 +1,80 @@
+package jp.co.sss.lms.batch;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+
+import jp.co.sss.lms.dto.AttendanceReconcileResultDto;
+import jp.co.sss.lms.service.AttendanceReconcileService;
+
+/**
+ * 勤怠突合バッチ<br>
+ * 起動引数：--batch=reconcileAttendance --from=yyyy-MM-dd --to=yyyy-MM-dd --output=差異レポート（CSV）
+ * [--threshold=時刻差異とする差（分）]
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+public class AttendanceReconcileJob implements BatchJob {
+
+	@Autowired
+	private AttendanceReconcileService attendanceReconcileService;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	public String getName() {
+		return "reconcileAttendance";
+	}
+
+	@Override
+	public void execute(ApplicationArguments args) throws Exception {
+		Date fromDate = toDate(getRequiredOption(args, "from"));
+		Date toDate = toDate(getRequiredOption(args, "to"));
+		String output = getRequiredOption(args, "output");
+		List<String> thresholdList = args.getOptionValues("threshold");
+		Integer threshold = thresholdList == null || thresholdList.isEmpty() ? null
+				: Integer.valueOf(thresholdList.get(0));
+		AttendanceReconcileResultDto resultDto = attendanceReconcileService.writeReport(fromDate,
+				toDate, threshold, Paths.get(output));
+		logger.info("勤怠突合完了：企業入力なし={}件, 受講生入力なし={}件, 時刻差異={}件, ステータス差異={}件, "
+				+ "受講生入力重複={}件, 企業入力重複={}件, 出力先={}",
+				resultDto.getMissingCompanyCount(), resultDto.getMissingStudentCount(),
+				resultDto.getTimeDifferenceCount(), resultDto.getStatusDifferenceCount(),
+				resultDto.getDuplicateStudentCount(), resultDto.getDuplicateCompanyCount(), output);
+	}
+
+	/**
+	 * 必須の起動引数を取得
+	 * 
+	 * @param args 起動引数
+	 * @param name 引数名
+	 * @return 引数の値
+	 */
+	private String getRequiredOption(ApplicationArguments args, String name) {
+		List<String> values = args.getOptionValues(name);
+		if (values == null || values.isEmpty()) {
+			throw new IllegalArgumentException("--" + name + "を指定してください");
+		}
+		return values.get(0);
+	}
+
+	/**
+	 * yyyy-MM-dd形式の文字列を日付に変換
+	 * 
+	 * @param value
+	 * @return 日付
+	 */
+	private Date toDate(String value) {
+		return Date.from(LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+}
@@ -0,0 +1,62 @@
+package jp.co.sss.lms.batch;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+
+import jp.co.sss.lms.dto.AttendanceStatusRecomputeResultDto;
+import jp.co.sss.lms.service.AttendanceStatusRecomputeService;
+import jp.co.sss.lms.util.Constants;
+
+/**
+ * 勤怠ステータス再計算バッチ<br>
+ * 起動引数：--batch=recomputeAttendanceStatus [--courseId=コースID] [--fromId=再開する受講生勤怠ID]<br>
+ * [--userId=更新者のLMSユーザーID（省略時は{@link Constants#BATCH_USER_ID}）]
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+public class AttendanceStatusRecomputeJob implements BatchJob {
+
+	@Autowired
+	private AttendanceStatusRecomputeService attendanceStatusRecomputeService;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	public String getName() {
+		return "recomputeAttendanceStatus";
+	}
+
+	@Override
+	public void execute(ApplicationArguments args) {
+		Integer courseId = getIntegerOption(args, "courseId");
+		Integer fromId = getIntegerOption(args, "fromId");
+		Integer userId = getIntegerOption(args, "userId");
+		AttendanceStatusRecomputeResultDto resultDto = attendanceStatusRecomputeService
+				.recompute(courseId, fromId, userId == null ? Constants.BATCH_USER_ID : userId);
+		logger.info("勤怠ステータス再計算完了：処理件数={}, 更新件数={}, スキップ件数={}, 最終受講生勤怠ID={}",
+				resultDto.getProcessedCount(), resultDto.getUpdatedCount(),
+				resultDto.getSkippedCount(), resultDto.getLastStudentAttendanceId());
+	}
+
+	/**
+	 * 数値の起動引数を取得
+	 * 
+	 * @param args 起動引数
+	 * @param name 引数名
+	 * @return 引数の値（未指定の場合はnull）
+	 */
+	private Integer getIntegerOption(ApplicationArguments args, String name) {
+		List<String> values = args.getOptionValues(name);
+		if (values == null || values.isEmpty()) {
+			return null;
+		}
+		return Integer.valueOf(values.get(0));
+	}
+
+}
@@ -0,0 +1,28 @@
+package jp.co.sss.lms.batch;
+
+import org.springframework.boot.ApplicationArguments;
+
+/**
+ * バッチ処理<br>
+ * 起動引数「--batch=ジョブ名」で指定されたジョブが{@link BatchRunner}から実行される。
+ * 
+ * @author 東京ITスクール
+ */
+public interface BatchJob {
+
+	/**
+	 * ジョブ名を取得
+	 * 
+	 * @return 起動引数で指定するジョブ名
+	 */
+	String getName();
+
+	/**
+	 * ジョブを実行
+	 * 
+	 * @param args 起動引数
+	 * @throws Exception 処理に失敗した場合
+	 */
+	void execute(ApplicationArguments args) throws Exception;
+
+}
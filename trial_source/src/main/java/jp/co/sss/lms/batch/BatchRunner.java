@@ -0,0 +1,61 @@
+package jp.co.sss.lms.batch;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * バッチ起動クラス<br>
+ * 起動引数「--batch=ジョブ名」が指定された場合のみ該当ジョブを実行し、アプリケーションを終了する。<br>
+ * 例：java -jar lms.jar --spring.main.web-application-type=none --batch=recomputeAttendanceStatus
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+public class BatchRunner implements ApplicationRunner {
+
+	/** ジョブ名を指定する起動引数 */
+	private static final String OPTION_BATCH = "batch";
+
+	@Autowired
+	private List<BatchJob> batchJobList;
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!args.containsOption(OPTION_BATCH)) {
+			return;
+		}
+		String name = args.getOptionValues(OPTION_BATCH).get(0);
+		BatchJob batchJob = batchJobList.stream().filter(job -> job.getName().equals(name))
+				.findFirst().orElse(null);
+		int exitCode = 0;
+		if (batchJob == null) {
+			logger.error("バッチが存在しません：{}", name);
+			exitCode = 1;
+		} else {
+			long startMillis = System.currentTimeMillis();
+			logger.info("バッチ開始：{}", name);
+			try {
+				batchJob.execute(args);
+				logger.info("バッチ終了：{}（{}ms）", name, System.currentTimeMillis() - startMillis);
+			} catch (Exception e) {
+				logger.error("バッチ異常終了：" + name, e);
+				exitCode = 1;
+			}
+		}
+		int code = exitCode;
+		System.exit(SpringApplication.exit(applicationContext, () -> code));
+	}
+
+}
@@ -0,0 +1,38 @@
+package jp.co.sss.lms.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+
+import jp.co.sss.lms.service.ExamAnalysisService;
+
+/**
+ * 試験問題分析再作成バッチ<br>
+ * 起動引数：--batch=rebuildExamAnalysis
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+public class ExamAnalysisRebuildJob implements BatchJob {
+
+	@Autowired
+	private ExamAnalysisService examAnalysisService;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	public String getName() {
+		return "rebuildExamAnalysis";
+	}
+
+	@Override
+	public void execute(ApplicationArguments args) throws Exception {
+		long startMillis = System.currentTimeMillis();
+		int count = examAnalysisService.rebuild();
+		logger.info("試験問題分析再作成完了：試験数={}, 経過={}ms", count,
+				System.currentTimeMillis() - startMillis);
+	}
+
+}
@@ -0,0 +1,36 @@
+package jp.co.sss.lms.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+
+import jp.co.sss.lms.service.ExamStatisticsService;
+
+/**
+ * 試験統計再作成バッチ<br>
+ * 起動引数：--batch=rebuildExamStatistics
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+public class ExamStatisticsRebuildJob implements BatchJob {
+
+	@Autowired
+	private ExamStatisticsService examStatisticsService;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	public String getName() {
+		return "rebuildExamStatistics";
+	}
+
+	@Override
+	public void execute(ApplicationArguments args) throws Exception {
+		int count = examStatisticsService.rebuild();
+		logger.info("試験統計再作成完了：試験・セクション紐付け数={}", count);
+	}
+
+}
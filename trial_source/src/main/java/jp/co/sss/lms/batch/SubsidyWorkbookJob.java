@@ -0,0 +1,45 @@
+package jp.co.sss.lms.batch;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+
+import jp.co.sss.lms.service.SubsidyWorkbookService;
+
+/**
+ * 受講状況（支給申請）作成バッチ<br>
+ * 起動引数：--batch=subsidyWorkbook --output=出力先（.zipまたはディレクトリ） [--month=yyyy-MM（省略時は前月）]
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+public class SubsidyWorkbookJob implements BatchJob {
+
+	@Autowired
+	private SubsidyWorkbookService subsidyWorkbookService;
+
+	@Override
+	public String getName() {
+		return "subsidyWorkbook";
+	}
+
+	@Override
+	public void execute(ApplicationArguments args) throws Exception {
+		List<String> outputList = args.getOptionValues("output");
+		if (outputList == null || outputList.isEmpty()) {
+			throw new IllegalArgumentException("--outputを指定してください");
+		}
+		List<String> monthList = args.getOptionValues("month");
+		YearMonth targetMonth = monthList == null || monthList.isEmpty()
+				? YearMonth.now().minusMonths(1)
+				: YearMonth.parse(monthList.get(0));
+		Path output = Paths.get(outputList.get(0));
+		subsidyWorkbookService.createWorkbooks(targetMonth, output);
+	}
+
+}
@@ -0,0 +1,41 @@
+package jp.co.sss.lms.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import jp.co.sss.lms.util.AccessControlIndex;
+import net.arnx.jsonic.JSON;
+
+/**
+ * アクセス可能URLコントローラー
+ * 
+ * @author 東京ITスクール
+ */
+@Controller
+@RequestMapping("/accessControl")
+public class AccessControlController {
+
+	@Autowired
+	private AccessControlIndex accessControlIndex;
+
+	/**
+	 * 有効なアクセス可能URLの一覧を取得
+	 * 
+	 * @return URL毎のアクセス可能な権限コード・静的リソースのディレクトリ（JSON形式）
+	 */
+	@GetMapping(path = "")
+	@ResponseBody
+	public String index() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("access", accessControlIndex.getAccessTable());
+		result.put("static", accessControlIndex.getStaticDirs());
+		return JSON.encode(result);
+	}
+
+}
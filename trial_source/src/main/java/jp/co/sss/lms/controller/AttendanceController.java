@@ -1,21 +1,34 @@
 package jp.co.sss.lms.controller;
 
+import java.io.IOException;
 import java.text.ParseException;
+import java.util.Date;
 import java.util.List;
 
+import org.apache.commons.lang3.time.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jp.co.sss.lms.dto.AttendanceDetailDto;
 import jp.co.sss.lms.dto.AttendanceManagementDto;
+import jp.co.sss.lms.dto.AttendanceMonthlyDto;
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.form.AttendanceForm;
+import jp.co.sss.lms.service.AttendanceMatrixService;
+import jp.co.sss.lms.service.AttendanceMonthlyService;
+import jp.co.sss.lms.service.CourseService;
 import jp.co.sss.lms.service.StudentAttendanceService;
+import jp.co.sss.lms.util.AttendanceMatrix;
 import jp.co.sss.lms.util.Constants;
 
 /**
@@ -30,6 +43,12 @@ public class AttendanceController {
 	@Autowired
 	private StudentAttendanceService studentAttendanceService;
 	@Autowired
+	private AttendanceMatrixService attendanceMatrixService;
+	@Autowired
+	private AttendanceMonthlyService attendanceMonthlyService;
+	@Autowired
+	private CourseService courseService;
+	@Autowired
 	private LoginUserDto loginUserDto;
 
 	/**
@@ -40,21 +59,16 @@ public class AttendanceController {
 	 * @param courseId
 	 * @param model
 	 * @return 勤怠管理画面
-	 * @throws ParseException
 	 */
 	@RequestMapping(path = "/detail", method = RequestMethod.GET)
-	public String index(Model model) throws ParseException {
+	public String index(Model model) {
 
-		// 勤怠一覧の取得
-		List<AttendanceManagementDto> attendanceManagementDtoList = studentAttendanceService
-				.getAttendanceManagement(loginUserDto.getCourseId(), loginUserDto.getLmsUserId());
-		model.addAttribute("attendanceManagementDtoList", attendanceManagementDtoList);
+		// 勤怠一覧の取得（過去日の未入力件数も併せて集計）
+		AttendanceDetailDto attendanceDetailDto = setAttendanceDetail(model);
 		
 		//Task25
-		// 過去の勤怠情報で未入力が無いかチェック
-		Integer notEnteredCount = studentAttendanceService.notEnterCountMethod(loginUserDto.getLmsUserId());
 		// 未入力件数があればhasNotEnterCount変数にtrueが入る
-		boolean hasNotEnterCount = notEnteredCount > 0;
+		boolean hasNotEnterCount = attendanceDetailDto.getNotEnteredCount() > 0;
 		model.addAttribute("hasNotEnterCount", hasNotEnterCount);
 		//Task25
 
@@ -72,16 +86,18 @@ public class AttendanceController {
 
 		// 更新前のチェック
 		String error = studentAttendanceService.punchCheck(Constants.CODE_VAL_ATWORK);
-		model.addAttribute("error", error);
 		// 勤怠登録
 		if (error == null) {
 			String message = studentAttendanceService.setPunchIn();
+			if (message == null) {
+				// 登録されなかった場合のみ、理由を確認する
+				error = studentAttendanceService.getPunchError(Constants.CODE_VAL_ATWORK);
+			}
 			model.addAttribute("message", message);
 		}
+		model.addAttribute("error", error);
 		// 一覧の再取得
-		List<AttendanceManagementDto> attendanceManagementDtoList = studentAttendanceService
-				.getAttendanceManagement(loginUserDto.getCourseId(), loginUserDto.getLmsUserId());
-		model.addAttribute("attendanceManagementDtoList", attendanceManagementDtoList);
+		setAttendanceDetail(model);
 
 		return "attendance/detail";
 	}
@@ -97,16 +113,18 @@ public class AttendanceController {
 
 		// 更新前のチェック
 		String error = studentAttendanceService.punchCheck(Constants.CODE_VAL_LEAVING);
-		model.addAttribute("error", error);
 		// 勤怠登録
 		if (error == null) {
 			String message = studentAttendanceService.setPunchOut();
+			if (message == null) {
+				// 登録されなかった場合のみ、理由を確認する
+				error = studentAttendanceService.getPunchError(Constants.CODE_VAL_LEAVING);
+			}
 			model.addAttribute("message", message);
 		}
+		model.addAttribute("error", error);
 		// 一覧の再取得
-		List<AttendanceManagementDto> attendanceManagementDtoList = studentAttendanceService
-				.getAttendanceManagement(loginUserDto.getCourseId(), loginUserDto.getLmsUserId());
-		model.addAttribute("attendanceManagementDtoList", attendanceManagementDtoList);
+		setAttendanceDetail(model);
 
 		return "attendance/detail";
 	}
@@ -166,11 +184,120 @@ public class AttendanceController {
 		// Task27
 
 		// 一覧の再取得
-		List<AttendanceManagementDto> attendanceManagementDtoList = studentAttendanceService
-				.getAttendanceManagement(loginUserDto.getCourseId(), loginUserDto.getLmsUserId());
-		model.addAttribute("attendanceManagementDtoList", attendanceManagementDtoList);
+		setAttendanceDetail(model);
 
 		return "attendance/detail";
 	}
 
-}
\ No newline at end of file
+	/**
+	 * コース勤怠一覧画面 初期表示・ページ送り
+	 * 
+	 * @param courseId      コースID（未指定の場合はログインユーザーのコース）
+	 * @param lastLmsUserId 前ページの最後のLMSユーザーID
+	 * @param fromDate      期間開始日
+	 * @param toDate        期間終了日
+	 * @param model
+	 * @return コース勤怠一覧画面（参照できないコースの場合は不正アクセス画面）
+	 */
+	@RequestMapping(path = "/list", method = RequestMethod.GET)
+	public String list(@RequestParam(required = false) Integer courseId,
+			@RequestParam(required = false) Integer lastLmsUserId,
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date fromDate,
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date toDate,
+			Model model) {
+
+		courseId = courseService.getAccessibleCourseId(courseId);
+		if (courseId == null) {
+			return "illegal";
+		}
+		AttendanceMatrix attendanceMatrix = attendanceMatrixService.getAttendanceMatrix(courseId,
+				lastLmsUserId, fromDate, toDate);
+		model.addAttribute("attendanceMatrix", attendanceMatrix);
+		model.addAttribute("courseId", courseId);
+		model.addAttribute("fromDate", fromDate);
+		model.addAttribute("toDate", toDate);
+		// 表示件数に達した場合のみ次ページあり
+		model.addAttribute("hasNext",
+				attendanceMatrix.getStudentCount() == AttendanceMatrixService.PAGE_SIZE);
+
+		return "attendance/list";
+	}
+
+	/**
+	 * コース勤怠一覧画面 『ダウンロード』ボタン押下
+	 * 
+	 * @param courseId コースID（未指定の場合はログインユーザーのコース）
+	 * @param fromDate 期間開始日
+	 * @param toDate   期間終了日
+	 * @param response 参照できないコースの場合は404を返却
+	 * @throws IOException
+	 */
+	@RequestMapping(path = "/downloadList", method = RequestMethod.POST)
+	@ResponseBody
+	public void downloadList(@RequestParam(required = false) Integer courseId,
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date fromDate,
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date toDate,
+			HttpServletResponse response) throws IOException {
+
+		courseId = courseService.getAccessibleCourseId(courseId);
+		if (courseId == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		attendanceMatrixService.downloadAttendanceMatrix(courseId, fromDate, toDate, response);
+	}
+
+	/**
+	 * 勤怠月次集計画面 初期表示・月送り<br>
+	 * 企業担当者は自企業の受講生、それ以外は指定コースの受講生の月次集計を表示する。
+	 * 
+	 * @param courseId    コースID（未指定の場合はログインユーザーのコース）
+	 * @param targetMonth 対象月（未指定の場合は当月）
+	 * @param model
+	 * @return 勤怠月次集計画面（参照できないコースの場合は不正アクセス画面）
+	 */
+	@RequestMapping(path = "/monthly", method = RequestMethod.GET)
+	public String monthly(@RequestParam(required = false) Integer courseId,
+			@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") Date targetMonth,
+			Model model) {
+
+		if (targetMonth == null) {
+			targetMonth = new Date();
+		}
+		List<AttendanceMonthlyDto> attendanceMonthlyDtoList;
+		if (Constants.CODE_VAL_ROLL_COMPANY.equals(loginUserDto.getRole())) {
+			attendanceMonthlyDtoList = attendanceMonthlyService
+					.getCompanyMonthly(loginUserDto.getCompanyId(), targetMonth);
+		} else {
+			courseId = courseService.getAccessibleCourseId(courseId);
+			if (courseId == null) {
+				return "illegal";
+			}
+			attendanceMonthlyDtoList = attendanceMonthlyService.getCourseMonthly(courseId,
+					targetMonth);
+		}
+		model.addAttribute("attendanceMonthlyDtoList", attendanceMonthlyDtoList);
+		model.addAttribute("courseId", courseId);
+		model.addAttribute("targetMonth", targetMonth);
+		model.addAttribute("prevMonth", DateUtils.addMonths(targetMonth, -1));
+		model.addAttribute("nextMonth", DateUtils.addMonths(targetMonth, 1));
+
+		return "attendance/monthly";
+	}
+
+	/**
+	 * 勤怠管理画面の表示情報をモデルに設定
+	 * 
+	 * @param model
+	 * @return 勤怠管理画面表示用DTO
+	 */
+	private AttendanceDetailDto setAttendanceDetail(Model model) {
+		AttendanceDetailDto attendanceDetailDto = studentAttendanceService
+				.getAttendanceDetail(loginUserDto.getCourseId(), loginUserDto.getLmsUserId());
+		model.addAttribute("attendanceDetailDto", attendanceDetailDto);
+		model.addAttribute("attendanceManagementDtoList",
+				attendanceDetailDto.getAttendanceManagementDtoList());
+		return attendanceDetailDto;
+	}
+
+}
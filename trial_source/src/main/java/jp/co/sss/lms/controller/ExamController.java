@@ -1,6 +1,8 @@
 package jp.co.sss.lms.controller;
 
+import java.io.IOException;
 import java.util.Date;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -8,12 +10,22 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jp.co.sss.lms.dto.ExamDetailDto;
+import jp.co.sss.lms.dto.ExamGenreAnalysisDto;
+import jp.co.sss.lms.dto.ExamQuestionAnalysisDto;
 import jp.co.sss.lms.dto.ExamResultDetailDto;
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.form.ExamQuestionForm;
+import jp.co.sss.lms.service.CourseService;
+import jp.co.sss.lms.service.ExamAnalysisService;
+import jp.co.sss.lms.service.ExamDefinitionService;
+import jp.co.sss.lms.service.ExamResultMatrixService;
 import jp.co.sss.lms.service.ExamService;
+import jp.co.sss.lms.util.ExamResultMatrix;
 
 /**
  * 試験コントローラー
@@ -27,6 +39,14 @@ public class ExamController {
 	@Autowired
 	private ExamService examService;
 	@Autowired
+	private ExamAnalysisService examAnalysisService;
+	@Autowired
+	private ExamDefinitionService examDefinitionService;
+	@Autowired
+	private ExamResultMatrixService examResultMatrixService;
+	@Autowired
+	private CourseService courseService;
+	@Autowired
 	private LoginUserDto loginUserDto;
 
 	/**
@@ -86,13 +106,15 @@ public class ExamController {
 	 * 試験開始画面 『試験を開始する』ボタン押下
 	 * 
 	 * @param examQuestionForm
-	 * @return 試験問題画面
+	 * @return 試験問題画面（試験が存在しない場合は不正アクセス画面）
 	 */
 	@RequestMapping(path = "/question", method = RequestMethod.POST)
 	public String question(@ModelAttribute ExamQuestionForm examQuestionForm) {
 
 		// 試験問題画面フォームの設定
-		examService.setExamQuestionForm(examQuestionForm);
+		if (!examService.setExamQuestionForm(examQuestionForm)) {
+			return "illegal";
+		}
 
 		return "exam/question";
 	}
@@ -102,13 +124,15 @@ public class ExamController {
 	 * 
 	 * @param examQuestionForm
 	 * @param model
-	 * @return 試験問題確認画面
+	 * @return 試験問題確認画面（試験が存在しない場合は不正アクセス画面）
 	 */
 	@RequestMapping(path = "/answerCheck", method = RequestMethod.POST)
 	public String answerCheck(ExamQuestionForm examQuestionForm, Model model) {
 
 		// 試験問題画面フォームの設定
-		examService.setExamQuestionForm(examQuestionForm);
+		if (!examService.setExamQuestionForm(examQuestionForm)) {
+			return "illegal";
+		}
 
 		return "exam/answerCheck";
 	}
@@ -118,19 +142,129 @@ public class ExamController {
 	 * 
 	 * @param examQuestionForm
 	 * @param model
-	 * @return 試験結果画面
+	 * @return 試験結果画面（試験が存在しない場合は不正アクセス画面）
 	 */
 	@RequestMapping(path = "/result", method = RequestMethod.POST)
 	public String complete(ExamQuestionForm examQuestionForm, Model model) {
 
-		// 試験結果登録
-		Integer examResultId = examService.insert(examQuestionForm);
-
-		// 試験結果詳細の取得
-		ExamResultDetailDto examResultDetailDto = examService.getExamResultDetail(examResultId);
+		// 試験結果登録（登録内容から試験結果詳細を作成）
+		ExamResultDetailDto examResultDetailDto = examService.insert(examQuestionForm);
+		if (examResultDetailDto == null) {
+			return "illegal";
+		}
 		model.addAttribute("examResultDetailDto", examResultDetailDto);
 
 		return "exam/result";
 	}
 
+	/**
+	 * 試験問題分析画面 初期表示
+	 * 
+	 * @param examId
+	 * @param model
+	 * @return 試験問題分析画面
+	 */
+	@RequestMapping(path = "/analysis", method = RequestMethod.GET)
+	public String analysis(@RequestParam Integer examId, Model model) {
+
+		// 保存済みの試験問題分析を取得
+		List<ExamQuestionAnalysisDto> examQuestionAnalysisDtoList = examAnalysisService
+				.getQuestionAnalysis(examId);
+		List<ExamGenreAnalysisDto> examGenreAnalysisDtoList = examAnalysisService
+				.getGenreAnalysis(examId);
+		model.addAttribute("examId", examId);
+		model.addAttribute("analyzing", examAnalysisService.isAnalyzing(examId));
+		model.addAttribute("examQuestionAnalysisDtoList", examQuestionAnalysisDtoList);
+		model.addAttribute("examGenreAnalysisDtoList", examGenreAnalysisDtoList);
+
+		return "exam/analysis";
+	}
+
+	/**
+	 * 試験問題分析画面 『再分析する』ボタン押下<br>
+	 * 再分析は非同期に実行し、完了前に試験問題分析画面に戻る。
+	 * 
+	 * @param examId
+	 * @return 試験問題分析画面（試験が存在しない場合は不正アクセス画面）
+	 */
+	@RequestMapping(path = "/analysis", params = "analyze", method = RequestMethod.POST)
+	public String analyze(@RequestParam Integer examId) {
+
+		// 試験の存在チェック
+		if (examDefinitionService.getExamDefinition(examId) == null) {
+			return "illegal";
+		}
+		// 試験問題分析の再作成を受付（再分析中の場合は受け付けない）
+		examAnalysisService.requestAnalyze(examId);
+
+		return "redirect:/exam/analysis?examId=" + examId;
+	}
+
+	/**
+	 * コース試験結果一覧画面 初期表示・ページ送り
+	 * 
+	 * @param courseId      コースID（未指定の場合はログインユーザーのコース）
+	 * @param lastLmsUserId 前ページの最後のLMSユーザーID
+	 * @param model
+	 * @return コース試験結果一覧画面（参照できないコースの場合は不正アクセス画面）
+	 */
+	@RequestMapping(path = "/resultList", method = RequestMethod.GET)
+	public String resultList(@RequestParam(required = false) Integer courseId,
+			@RequestParam(required = false) Integer lastLmsUserId, Model model) {
+
+		courseId = courseService.getAccessibleCourseId(courseId);
+		if (courseId == null) {
+			return "illegal";
+		}
+		ExamResultMatrix examResultMatrix = examResultMatrixService.getExamResultMatrix(courseId,
+				lastLmsUserId);
+		model.addAttribute("examResultMatrix", examResultMatrix);
+		model.addAttribute("courseId", courseId);
+		// 表示件数に達した場合のみ次ページあり
+		model.addAttribute("hasNext",
+				examResultMatrix.getStudentCount() == ExamResultMatrixService.PAGE_SIZE);
+
+		return "exam/resultList";
+	}
+
+	/**
+	 * コース試験結果一覧画面 『CSVダウンロード』ボタン押下
+	 * 
+	 * @param courseId コースID（未指定の場合はログインユーザーのコース）
+	 * @param response 参照できないコースの場合は404を返却
+	 * @throws IOException
+	 */
+	@RequestMapping(path = "/resultList", params = "downloadCsv", method = RequestMethod.POST)
+	@ResponseBody
+	public void downloadResultListCsv(@RequestParam(required = false) Integer courseId,
+			HttpServletResponse response) throws IOException {
+
+		courseId = courseService.getAccessibleCourseId(courseId);
+		if (courseId == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		examResultMatrixService.downloadCsv(courseId, response);
+	}
+
+	/**
+	 * コース試験結果一覧画面 『Excelダウンロード』ボタン押下
+	 * 
+	 * @param courseId コースID（未指定の場合はログインユーザーのコース）
+	 * @param response 参照できないコースの場合は404を返却
+	 * @throws IOException
+	 */
+	@RequestMapping(path = "/resultList", params = "downloadExcel", method = RequestMethod.POST)
+	@ResponseBody
+	public void downloadResultListExcel(@RequestParam(required = false) Integer courseId,
+			HttpServletResponse response) throws IOException {
+
+		courseId = courseService.getAccessibleCourseId(courseId);
+		if (courseId == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		examResultMatrixService.downloadExcel(courseId, response);
+	}
+
 }
@@ -0,0 +1,27 @@
+package jp.co.sss.lms.dto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * 勤怠管理画面表示用DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class AttendanceDetailDto {
+
+	/** 勤怠管理画面用DTOリスト */
+	private List<AttendanceManagementDto> attendanceManagementDtoList;
+	/** 過去日の未入力件数 */
+	private int notEnteredCount;
+	/** 勤怠状態毎の件数（キー：勤怠状態画面表示名） */
+	private LinkedHashMap<String, Integer> statusCountMap;
+	/** 中抜け時間合計（分） */
+	private int totalBlankTime;
+	/** 中抜け時間合計（画面表示用） */
+	private String totalBlankTimeValue;
+
+}
@@ -0,0 +1,31 @@
+package jp.co.sss.lms.dto;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * コース勤怠一覧の取得結果DTO<br>
+ * 勤怠が未登録の受講生は研修日以降の項目がnullの1行となる。
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class AttendanceMatrixRowDto {
+
+	/** LMSユーザーID */
+	private Integer lmsUserId;
+	/** ユーザー名 */
+	private String userName;
+	/** 研修日 */
+	private Date trainingDate;
+	/** 出勤時刻 */
+	private String trainingStartTime;
+	/** 退勤時刻 */
+	private String trainingEndTime;
+	/** 中抜け時間 */
+	private Integer blankTime;
+	/** ステータス */
+	private Short status;
+
+}
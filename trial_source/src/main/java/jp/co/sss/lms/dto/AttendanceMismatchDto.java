@@ -0,0 +1,39 @@
+package jp.co.sss.lms.dto;
+
+import java.util.Date;
+
+import jp.co.sss.lms.enums.AttendanceMismatchTypeEnum;
+import lombok.Data;
+
+/**
+ * 勤怠突合差異DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class AttendanceMismatchDto {
+
+	/** LMSユーザーID */
+	private Integer lmsUserId;
+	/** 研修日 */
+	private Date trainingDate;
+	/** 差異種別 */
+	private AttendanceMismatchTypeEnum type;
+	/** 出勤時刻（受講生入力） */
+	private String studentStartTime;
+	/** 退勤時刻（受講生入力） */
+	private String studentEndTime;
+	/** ステータス（受講生入力） */
+	private Short studentStatus;
+	/** 出勤時刻（企業入力） */
+	private String companyStartTime;
+	/** 退勤時刻（企業入力） */
+	private String companyEndTime;
+	/** ステータス（企業入力） */
+	private Short companyStatus;
+	/** 出勤時刻の差（分） */
+	private Integer startDeltaMinutes;
+	/** 退勤時刻の差（分） */
+	private Integer endDeltaMinutes;
+
+}
@@ -0,0 +1,42 @@
+package jp.co.sss.lms.dto;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * 勤怠月次集計DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class AttendanceMonthlyDto {
+
+	/** LMSユーザーID */
+	private Integer lmsUserId;
+	/** ユーザー名 */
+	private String userName;
+	/** コースID */
+	private Integer courseId;
+	/** 企業ID */
+	private Integer companyId;
+	/** 対象月（月初日） */
+	private Date targetMonth;
+	/** 出勤日数 */
+	private Integer presentCount;
+	/** 欠席日数 */
+	private Integer absentCount;
+	/** 遅刻回数 */
+	private Integer tardyCount;
+	/** 早退回数 */
+	private Integer leavingEarlyCount;
+	/** 未入力日数 */
+	private Integer notEnteredCount;
+	/** 中抜け時間合計（分） */
+	private Integer blankTimeTotal;
+	/** 研修日数 */
+	private Integer workDayCount;
+	/** 出勤率（％） */
+	private Double attendanceRate;
+
+}
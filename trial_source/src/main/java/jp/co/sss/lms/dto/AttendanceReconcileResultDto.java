@@ -0,0 +1,30 @@
+package jp.co.sss.lms.dto;
+
+import lombok.Data;
+
+/**
+ * 勤怠突合結果DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class AttendanceReconcileResultDto {
+
+	/** 受講生入力の件数 */
+	private long studentCount;
+	/** 企業入力の件数 */
+	private long companyCount;
+	/** 企業入力なしの件数 */
+	private long missingCompanyCount;
+	/** 受講生入力なしの件数 */
+	private long missingStudentCount;
+	/** 時刻差異の件数 */
+	private long timeDifferenceCount;
+	/** ステータス差異の件数 */
+	private long statusDifferenceCount;
+	/** 受講生入力の重複件数 */
+	private long duplicateStudentCount;
+	/** 企業入力の重複件数 */
+	private long duplicateCompanyCount;
+
+}
@@ -0,0 +1,22 @@
+package jp.co.sss.lms.dto;
+
+import lombok.Data;
+
+/**
+ * 勤怠ステータス再計算結果DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class AttendanceStatusRecomputeResultDto {
+
+	/** 処理件数 */
+	private long processedCount;
+	/** 更新件数 */
+	private long updatedCount;
+	/** 時刻不正のためスキップした件数 */
+	private long skippedCount;
+	/** 最後に処理した受講生勤怠ID（再開時の起点） */
+	private Integer lastStudentAttendanceId;
+
+}
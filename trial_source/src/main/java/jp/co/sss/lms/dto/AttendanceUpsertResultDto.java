@@ -0,0 +1,20 @@
+package jp.co.sss.lms.dto;
+
+import lombok.Data;
+
+/**
+ * 勤怠一括登録・更新結果DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class AttendanceUpsertResultDto {
+
+	/** 登録件数 */
+	private int insertedCount;
+	/** 更新件数 */
+	private int updatedCount;
+	/** 変更なし件数 */
+	private int skippedCount;
+
+}
@@ -27,6 +27,10 @@ public class ExamDetailDto {
 	private Integer limitTime;
 	/** 平均点 */
 	private Double avgScore;
+	/** 受験者数（採点対象の試験結果件数） */
+	private Integer resultCount;
+	/** 中央値 */
+	private Double medianScore;
 	/** セクションID */
 	private Integer sectionId;
 	/** LMSユーザーID */
@@ -0,0 +1,26 @@
+package jp.co.sss.lms.dto;
+
+import lombok.Data;
+
+/**
+ * ジャンル別習熟度DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class ExamGenreAnalysisDto {
+
+	/** ジャンル詳細ID */
+	private Integer genreDetailId;
+	/** ジャンル詳細 */
+	private String genreDetailName;
+	/** 問題数 */
+	private Integer questionCount;
+	/** 回答件数 */
+	private Integer answerCount;
+	/** 正答件数 */
+	private Integer correctCount;
+	/** 習熟度（正答率、0～1） */
+	private Double mastery;
+
+}
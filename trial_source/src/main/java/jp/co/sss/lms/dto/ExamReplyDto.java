@@ -0,0 +1,24 @@
+package jp.co.sss.lms.dto;
+
+import lombok.Data;
+
+/**
+ * 試験回答DTO（試験問題分析の読込用）
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class ExamReplyDto {
+
+	/** 試験結果ID */
+	private Integer examResultId;
+	/** 問題ID */
+	private Integer questionId;
+	/** ジャンル詳細ID */
+	private Integer genreDetailId;
+	/** 正答 */
+	private Short answerNum;
+	/** 回答 */
+	private Short reply;
+
+}
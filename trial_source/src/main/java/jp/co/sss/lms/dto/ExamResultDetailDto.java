@@ -24,6 +24,12 @@ public class ExamResultDetailDto {
 	private Integer numOfQuestion;
 	/** 点数 */
 	private Double point;
+	/** 平均点 */
+	private Double avgPoint;
+	/** 偏差値 */
+	private Double deviationValue;
+	/** 上位何パーセントか */
+	private Double topPercent;
 	/** LMSユーザーID */
 	private Integer lmsUserId;
 	/** ユーザー名 */
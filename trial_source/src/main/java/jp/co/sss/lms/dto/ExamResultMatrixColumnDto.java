@@ -0,0 +1,28 @@
+package jp.co.sss.lms.dto;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * コース試験結果一覧の列（試験・セクション紐付け）DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class ExamResultMatrixColumnDto {
+
+	/** 試験・セクション紐付けID */
+	private Integer examSectionId;
+	/** 試験ID */
+	private Integer examId;
+	/** 試験名 */
+	private String examName;
+	/** セクション名 */
+	private String sectionName;
+	/** 日付 */
+	private Date date;
+	/** 問題数 */
+	private Integer numOfQuestion;
+
+}
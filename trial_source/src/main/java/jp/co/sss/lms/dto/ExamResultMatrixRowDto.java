@@ -0,0 +1,35 @@
+package jp.co.sss.lms.dto;
+
+import lombok.Data;
+
+/**
+ * コース試験結果一覧の取得結果DTO<br>
+ * 受講生×試験・セクション紐付け毎に1行で、試験結果が無い受講生は試験・セクション紐付けIDがnullの1行となる。
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class ExamResultMatrixRowDto {
+
+	/** LMSユーザーID */
+	private Integer lmsUserId;
+	/** ユーザー名 */
+	private String userName;
+	/** 試験・セクション紐付けID */
+	private Integer examSectionId;
+	/** 受験回数 */
+	private Integer resultCount;
+	/** 初回の得点 */
+	private Short firstScore;
+	/** 初回の所要時間（ミリ秒） */
+	private Integer firstTime;
+	/** 最高得点 */
+	private Short bestScore;
+	/** 最高得点の所要時間（ミリ秒） */
+	private Integer bestTime;
+	/** 最新の得点 */
+	private Short latestScore;
+	/** 最新の所要時間（ミリ秒） */
+	private Integer latestTime;
+
+}
@@ -6,6 +6,7 @@ import java.util.Date;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.annotation.SessionScope;
 
+import jp.co.sss.lms.util.SessionGate;
 import lombok.Data;
 
 /**
@@ -63,5 +64,7 @@ public class LoginUserDto implements Serializable {
 	private Date leaveDate;
 	/** ファイル共有フラグ */
 	private Short fileShareFlg;
+	/** 画面遷移判定結果 */
+	private SessionGate sessionGate;
 
 }
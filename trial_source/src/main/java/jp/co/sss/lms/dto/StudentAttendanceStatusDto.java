@@ -0,0 +1,30 @@
+package jp.co.sss.lms.dto;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * 勤怠ステータス再計算対象DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class StudentAttendanceStatusDto {
+
+	/** 受講生勤怠ID */
+	private Integer studentAttendanceId;
+	/** LMSユーザーID */
+	private Integer lmsUserId;
+	/** 研修日 */
+	private Date trainingDate;
+	/** コースID */
+	private Integer courseId;
+	/** 出勤時刻 */
+	private String trainingStartTime;
+	/** 退勤時刻 */
+	private String trainingEndTime;
+	/** ステータス */
+	private Short status;
+
+}
@@ -0,0 +1,37 @@
+package jp.co.sss.lms.dto;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * 助成金書類作成用勤怠DTO<br>
+ * 対象月に勤怠が未登録の受講生は研修日以降の項目がnullの1行となる。
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class SubsidyAttendanceDto {
+
+	/** LMSユーザーID */
+	private Integer lmsUserId;
+	/** ユーザー名 */
+	private String userName;
+	/** コースID */
+	private Integer courseId;
+	/** コース名 */
+	private String courseName;
+	/** 会場名 */
+	private String placeName;
+	/** 研修日 */
+	private Date trainingDate;
+	/** 出勤時刻 */
+	private String trainingStartTime;
+	/** 退勤時刻 */
+	private String trainingEndTime;
+	/** 中抜け時間 */
+	private Integer blankTime;
+	/** ステータス */
+	private Short status;
+
+}
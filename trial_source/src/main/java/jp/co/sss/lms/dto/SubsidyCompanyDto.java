@@ -0,0 +1,26 @@
+package jp.co.sss.lms.dto;
+
+import lombok.Data;
+
+/**
+ * 助成金書類作成対象企業DTO
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class SubsidyCompanyDto {
+
+	/** 企業ID */
+	private Integer companyId;
+	/** 企業名 */
+	private String companyName;
+	/** 所定労働開始時間 */
+	private String workStartTime;
+	/** 所定労働終了時間 */
+	private String workEndTime;
+	/** 休憩開始時間 */
+	private String restStartTime;
+	/** 休憩終了時間 */
+	private String restEndTime;
+
+}
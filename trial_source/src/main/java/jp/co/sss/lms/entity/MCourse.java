@@ -40,5 +40,9 @@ public class MCourse {
 	private String password;
 	/** 非表示フラグ */
 	private Short hiddenFlg;
+	/** 定時開始時刻（HH:mm） */
+	private String workStartTime;
+	/** 定時終了時刻（HH:mm） */
+	private String workEndTime;
 
 }
@@ -0,0 +1,44 @@
+package jp.co.sss.lms.entity;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * 試験問題分析テーブルエンティティ
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class TExamQuestionAnalysis {
+
+	/** 試験ID */
+	private Integer examId;
+	/** 問題ID */
+	private Integer questionId;
+	/** ジャンル詳細ID */
+	private Integer genreDetailId;
+	/** 正答 */
+	private Short answerNum;
+	/** 回答件数 */
+	private Integer answerCount;
+	/** 正答件数 */
+	private Integer correctCount;
+	/** 正答率（0～1） */
+	private Double correctRate;
+	/** 識別力（点双列相関係数） */
+	private Double discrimination;
+	/** 選択肢1の選択件数 */
+	private Integer choice1Count;
+	/** 選択肢2の選択件数 */
+	private Integer choice2Count;
+	/** 選択肢3の選択件数 */
+	private Integer choice3Count;
+	/** 選択肢4の選択件数 */
+	private Integer choice4Count;
+	/** 未回答件数 */
+	private Integer noAnswerCount;
+	/** 最終更新日時 */
+	private Date lastModifiedDate;
+
+}
@@ -0,0 +1,32 @@
+package jp.co.sss.lms.entity;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * 試験統計テーブルエンティティ
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class TExamStatistics {
+
+	/** 試験・セクション紐付けID */
+	private Integer examSectionId;
+	/** 試験結果件数 */
+	private Integer resultCount;
+	/** 得点の合計 */
+	private Long scoreSum;
+	/** 得点の二乗の合計 */
+	private Long scoreSquareSum;
+	/** 最低得点 */
+	private Short scoreMin;
+	/** 最高得点 */
+	private Short scoreMax;
+	/** 得点毎の件数（得点0から順） */
+	private Integer[] scoreHistogram;
+	/** 最終更新日時 */
+	private Date lastModifiedDate;
+
+}
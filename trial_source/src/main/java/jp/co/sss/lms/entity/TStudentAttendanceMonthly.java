@@ -0,0 +1,34 @@
+package jp.co.sss.lms.entity;
+
+import java.util.Date;
+
+import lombok.Data;
+
+/**
+ * 勤怠月次集計テーブルエンティティ
+ * 
+ * @author 東京ITスクール
+ */
+@Data
+public class TStudentAttendanceMonthly {
+
+	/** LMSユーザID */
+	private Integer lmsUserId;
+	/** 対象月（月初日） */
+	private Date targetMonth;
+	/** 出勤日数（欠席以外で出勤時刻の入力がある日数） */
+	private Integer presentCount;
+	/** 欠席日数 */
+	private Integer absentCount;
+	/** 遅刻回数（遅刻＆早退を含む） */
+	private Integer tardyCount;
+	/** 早退回数（遅刻＆早退を含む） */
+	private Integer leavingEarlyCount;
+	/** 未入力日数（出勤・退勤時刻のいずれかが未入力の日数） */
+	private Integer notEnteredCount;
+	/** 中抜け時間合計（分） */
+	private Integer blankTimeTotal;
+	/** 最終更新日時 */
+	private Date lastModifiedDate;
+
+}
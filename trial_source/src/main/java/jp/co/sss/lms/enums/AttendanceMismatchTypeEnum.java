@@ -0,0 +1,23 @@
+package jp.co.sss.lms.enums;
+
+/**
+ * 勤怠突合の差異種別クラス
+ * 
+ * @author 東京ITスクール
+ *
+ */
+public enum AttendanceMismatchTypeEnum {
+
+	MISSING_COMPANY((short) 1, "企業入力なし"), MISSING_STUDENT((short) 2, "受講生入力なし"),
+	TIME_DIFFERENCE((short) 3, "時刻差異"), STATUS_DIFFERENCE((short) 4, "ステータス差異"),
+	DUPLICATE_STUDENT((short) 5, "受講生入力重複"), DUPLICATE_COMPANY((short) 6, "企業入力重複"),;
+
+	public Short code;
+	public String name;
+
+	private AttendanceMismatchTypeEnum(Short code, String name) {
+		this.code = code;
+		this.name = name;
+	}
+
+}
@@ -0,0 +1,32 @@
+package jp.co.sss.lms.event;
+
+/**
+ * 契約同意変更イベント<br>
+ * 企業の契約同意情報の登録・更新後に発行する。
+ *
+ * @author 東京ITスクール
+ */
+public class ContractConsentChangedEvent {
+
+	/** 企業ID */
+	private final Integer companyId;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param companyId 企業ID
+	 */
+	public ContractConsentChangedEvent(Integer companyId) {
+		this.companyId = companyId;
+	}
+
+	/**
+	 * 企業IDを取得
+	 *
+	 * @return 企業ID
+	 */
+	public Integer getCompanyId() {
+		return companyId;
+	}
+
+}
@@ -0,0 +1,32 @@
+package jp.co.sss.lms.event;
+
+/**
+ * ログインユーザー情報変更イベント<br>
+ * パスワード変更・セキュリティ同意など、画面遷移判定に影響するログイン情報の更新後に発行する。
+ *
+ * @author 東京ITスクール
+ */
+public class LoginUserChangedEvent {
+
+	/** ユーザーID */
+	private final Integer userId;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param userId ユーザーID
+	 */
+	public LoginUserChangedEvent(Integer userId) {
+		this.userId = userId;
+	}
+
+	/**
+	 * ユーザーIDを取得
+	 *
+	 * @return ユーザーID
+	 */
+	public Integer getUserId() {
+		return userId;
+	}
+
+}
@@ -0,0 +1,16 @@
+package jp.co.sss.lms.exception;
+
+/**
+ * パスワードのハッシュ化の待ち行列が上限に達した、または待ち時間を超えた場合の例外
+ *
+ * @author 東京ITスクール
+ */
+public class PasswordHashBusyException extends RuntimeException {
+
+	private static final long serialVersionUID = -3819062735416270251L;
+
+	public PasswordHashBusyException(Throwable cause) {
+		super(cause);
+	}
+
+}
@@ -9,6 +9,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import jp.co.sss.lms.util.AccessControlIndex;
 import jp.co.sss.lms.util.LoggingUtil;
 
 /**
@@ -29,8 +31,11 @@ public class LoggingFilter implements Filter {
 	
 	@Autowired
 	private LoggingUtil loggingUtil;
+	@Autowired
+	private AccessControlIndex accessControlIndex;
 
-	private final Logger logger = LoggerFactory.getLogger(getClass());
+	/** アクセスログ */
+	private final Logger accessLogger = LoggerFactory.getLogger(LoggingUtil.ACCESS_LOGGER_NAME);
 
 	@Override
 	public void init(FilterConfig filterConfig) throws ServletException {
@@ -41,23 +46,24 @@ public class LoggingFilter implements Filter {
 			throws IOException, ServletException {
 		HttpServletRequest httpReq = ((HttpServletRequest) request);
 		String uri = httpReq.getRequestURI();
-		if (isStatic(uri)) {
+		if (accessControlIndex.isStatic(uri)) {
 			chain.doFilter(request, response);
 			return;
 		}
-		StringBuffer sb = new StringBuffer("\n[before]");
-		loggingUtil.appendLog(sb);
-		logger.info(sb.toString());
-
-		chain.doFilter(request, response);
-
-		sb = new StringBuffer("\n[after]");
-		loggingUtil.appendLog(sb);
-		logger.info(sb.toString());
-	}
-
-	private boolean isStatic(String uri) {
-		return uri.contains("/js/") || uri.contains("/css/") || uri.contains("/fonts/") || uri.contains("/img/");
+		long startNanos = System.nanoTime();
+		boolean completed = false;
+		try {
+			chain.doFilter(request, response);
+			completed = true;
+		} finally {
+			if (accessLogger.isInfoEnabled()) {
+				// 1リクエストにつき1行を非同期で出力（例外の場合は500とする）
+				int status = completed ? ((HttpServletResponse) response).getStatus()
+						: HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+				long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+				accessLogger.info(loggingUtil.createAccessLog(status, durationMillis));
+			}
+		}
 	}
 
 	@Override
@@ -0,0 +1,68 @@
+package jp.co.sss.lms.filter;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jp.co.sss.lms.service.MetricsService;
+
+/**
+ * メトリクスフィルター<br>
+ * 管理用ポートへのリクエストにはメトリクスのみを返却し、それ以外のリクエストは全体の処理時間を記録する。<br>
+ * 他のフィルターの処理時間も含めるため、最初に実行する。
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+@Order(-1)
+public class MetricsFilter implements Filter {
+
+	@Autowired
+	private MetricsService metricsService;
+
+	/** 管理用ポート（0の場合は無効） */
+	@Value("${setting.metrics.port}")
+	private int metricsPort;
+
+	@Override
+	public void init(FilterConfig filterConfig) throws ServletException {
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		if (metricsPort > 0 && request.getLocalPort() == metricsPort) {
+			HttpServletRequest httpReq = (HttpServletRequest) request;
+			HttpServletResponse httpRes = (HttpServletResponse) response;
+			if ((httpReq.getContextPath() + "/metrics").equals(httpReq.getRequestURI())) {
+				httpRes.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+				metricsService.writePrometheus(httpRes.getWriter());
+			} else {
+				httpRes.sendError(HttpServletResponse.SC_NOT_FOUND);
+			}
+			return;
+		}
+		long startNanos = System.nanoTime();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			metricsService.recordRequest(System.nanoTime() - startNanos);
+		}
+	}
+
+	@Override
+	public void destroy() {
+	}
+
+}
@@ -0,0 +1,57 @@
+package jp.co.sss.lms.filter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.service.MetricsService;
+
+/**
+ * 処理時間計測インターセプター<br>
+ * コントローラーのメソッド毎・権限毎に処理時間を記録する。
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+public class MetricsInterceptor implements HandlerInterceptor {
+
+	/** 開始時刻のリクエスト属性名 */
+	private static final String ATTR_START_NANOS = MetricsInterceptor.class.getName() + ".start";
+	/** 権限のリクエスト属性名 */
+	private static final String ATTR_ROLE = MetricsInterceptor.class.getName() + ".role";
+
+	@Autowired
+	private MetricsService metricsService;
+	@Autowired
+	private LoginUserDto loginUserDto;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		if (handler instanceof HandlerMethod) {
+			// ログアウト時はセッションが破棄されるため、権限は処理前に取得する
+			request.setAttribute(ATTR_ROLE, loginUserDto.getRole());
+			request.setAttribute(ATTR_START_NANOS, System.nanoTime());
+		}
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+			Object handler, Exception ex) {
+		Object startNanos = request.getAttribute(ATTR_START_NANOS);
+		if (!(handler instanceof HandlerMethod) || startNanos == null) {
+			return;
+		}
+		HandlerMethod handlerMethod = (HandlerMethod) handler;
+		String handlerName = handlerMethod.getBeanType().getSimpleName() + "."
+				+ handlerMethod.getMethod().getName();
+		metricsService.recordHandler(handlerName, (String) request.getAttribute(ATTR_ROLE),
+				System.nanoTime() - (Long) startNanos);
+	}
+
+}
@@ -0,0 +1,139 @@
+package jp.co.sss.lms.filter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jp.co.sss.lms.util.SqlStatistics;
+
+/**
+ * SQL実行状況フィルター<br>
+ * リクエスト毎にSQLの実行回数を集計し、上限を超えた場合に警告を出力する。
+ * デバッグ用ヘッダーの出力が有効な場合、レスポンス確定時点の実行回数をヘッダーに出力する。
+ * 
+ * @author 東京ITスクール
+ */
+@Component
+@Order(0)
+public class SqlStatisticsFilter implements Filter {
+
+	/** デバッグ用ヘッダー名 */
+	public static final String HEADER_SQL_STATEMENTS = "X-Sql-Statements";
+
+	/** 1リクエストのSQL実行回数の上限 */
+	@Value("${setting.sql.budget.statement}")
+	private int statementBudget;
+	/** デバッグ用ヘッダーの出力有無 */
+	@Value("${setting.sql.debug.header}")
+	private boolean debugHeader;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	public void init(FilterConfig filterConfig) throws ServletException {
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		SqlStatistics sqlStatistics = SqlStatistics.start();
+		try {
+			chain.doFilter(request, debugHeader
+					? new SqlStatisticsResponse((HttpServletResponse) response, sqlStatistics)
+					: response);
+		} finally {
+			SqlStatistics.end();
+			if (sqlStatistics.getStatementCount() > statementBudget) {
+				logger.warn("SQL実行回数の上限超過：{}, 実行回数={}/{}, 実行時間={}ms",
+						((HttpServletRequest) request).getRequestURI(),
+						sqlStatistics.getStatementCount(), statementBudget,
+						sqlStatistics.getTotalMillis());
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+	}
+
+	/**
+	 * レスポンス確定前にSQL実行状況をヘッダーに出力するレスポンス
+	 */
+	private class SqlStatisticsResponse extends HttpServletResponseWrapper {
+
+		/** SQL実行状況 */
+		private final SqlStatistics sqlStatistics;
+		/** ヘッダー出力済みフラグ */
+		private boolean headerWritten;
+
+		private SqlStatisticsResponse(HttpServletResponse response, SqlStatistics sqlStatistics) {
+			super(response);
+			this.sqlStatistics = sqlStatistics;
+		}
+
+		/**
+		 * SQL実行状況をヘッダーに出力（1回のみ）
+		 */
+		private void writeHeader() {
+			if (!headerWritten && !isCommitted()) {
+				setHeader(HEADER_SQL_STATEMENTS,
+						sqlStatistics.getStatementCount() + "/" + statementBudget + "; time="
+								+ sqlStatistics.getTotalMillis() + "ms");
+				headerWritten = true;
+			}
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			writeHeader();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			writeHeader();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			writeHeader();
+			super.flushBuffer();
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			writeHeader();
+			super.sendRedirect(location);
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			writeHeader();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			writeHeader();
+			super.sendError(sc, msg);
+		}
+
+	}
+
+}
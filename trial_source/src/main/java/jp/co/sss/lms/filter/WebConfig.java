@@ -1,14 +1,28 @@
 package jp.co.sss.lms.filter;
 
+import java.io.IOException;
+
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.validation.Validator;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import jp.co.sss.lms.util.AccessControlIndex;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+	@Autowired
+	private MetricsInterceptor metricsInterceptor;
+
 	@Override
 	public Validator getValidator() {
 		LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
@@ -22,4 +36,36 @@ public class WebConfig implements WebMvcConfigurer {
 		return validator;
 	}
 
+	/**
+	 * 権限毎のアクセス可能URL（access.properties）を起動時に読込みます
+	 */
+	@Bean
+	public AccessControlIndex accessControlIndex(
+			@Value("${server.servlet.context-path:}") String contextPath) throws IOException {
+		return AccessControlIndex.load(contextPath);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		// コントローラー毎の処理時間を計測します
+		registry.addInterceptor(metricsInterceptor);
+	}
+
+	/**
+	 * メトリクス出力用の管理用ポートを追加します
+	 */
+	@Bean
+	public WebServerFactoryCustomizer<TomcatServletWebServerFactory> metricsPortCustomizer(
+			@Value("${setting.metrics.port}") int metricsPort,
+			@Value("${setting.metrics.address}") String metricsAddress) {
+		return factory -> {
+			if (metricsPort > 0) {
+				Connector connector = new Connector();
+				connector.setPort(metricsPort);
+				connector.setProperty("address", metricsAddress);
+				factory.addAdditionalTomcatConnectors(connector);
+			}
+		};
+	}
+
 }
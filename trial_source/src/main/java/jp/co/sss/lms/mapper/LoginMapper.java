@@ -13,17 +13,6 @@ import jp.co.sss.lms.entity.LoginUser;
 @Mapper
 public interface LoginMapper {
 
-	/**
-	 * ログイン詳細取得（ログインID&パスワード）
-	 * 
-	 * @param loginId
-	 * @param password
-	 * @param deleteFlg
-	 * @return ログイン情報エンティティ
-	 */
-	LoginUser getLoginDetailByLoginIdAndPassword(@Param("loginId") String loginId,
-			@Param("password") String password, @Param("deleteFlg") Short deleteFlg);
-
 	/**
 	 * ログイン詳細取得（LMSユーザID）
 	 * 
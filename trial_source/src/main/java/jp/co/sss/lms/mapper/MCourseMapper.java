@@ -1,9 +1,12 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.Date;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import jp.co.sss.lms.dto.CourseServiceCourseDto;
+import jp.co.sss.lms.entity.MCourse;
 
 /**
  * コースマスタマッパー
@@ -32,4 +35,41 @@ public interface MCourseMapper {
 	 */
 	Integer getCourseCount(Integer courseId);
 
+	/**
+	 * 参照可能なコース数取得<br>
+	 * LMSユーザーIDを指定した場合はそのユーザーの所属コース、
+	 * 企業IDを指定した場合はその企業の受講生の所属コースのみを数える。
+	 * 
+	 * @param courseId
+	 * @param lmsUserId
+	 * @param companyId
+	 * @param deleteFlg
+	 * @return コース数（0または1）
+	 */
+	Integer getAccessibleCourseCount(@Param("courseId") Integer courseId,
+			@Param("lmsUserId") Integer lmsUserId, @Param("companyId") Integer companyId,
+			@Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * コース取得
+	 * 
+	 * @param courseId
+	 * @param deleteFlg
+	 * @return コースマスタエンティティ
+	 */
+	MCourse findByCourseId(@Param("courseId") Integer courseId,
+			@Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 受講生のコースID取得<br>
+	 * 複数のコースに所属している場合は、基準日が期間内のコース、最新のコースの順に優先する。
+	 * 
+	 * @param lmsUserId
+	 * @param baseDate  基準日
+	 * @param deleteFlg
+	 * @return コースID
+	 */
+	Integer findCourseIdByLmsUserId(@Param("lmsUserId") Integer lmsUserId,
+			@Param("baseDate") Date baseDate, @Param("deleteFlg") Short deleteFlg);
+
 }
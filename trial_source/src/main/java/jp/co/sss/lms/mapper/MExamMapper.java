@@ -1,5 +1,8 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.Date;
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -14,7 +17,7 @@ import jp.co.sss.lms.dto.ExamQuestionDto;
 public interface MExamMapper {
 
 	/**
-	 * 試験問題DTO取得
+	 * 試験問題DTO取得（正答・解説を含む）
 	 * 
 	 * @param examId
 	 * @param deleteFlg
@@ -23,4 +26,25 @@ public interface MExamMapper {
 	ExamQuestionDto getExamQuestion(@Param("examId") Integer examId,
 			@Param("deleteFlg") Short deleteFlg);
 
+	/**
+	 * 試験定義のバージョン取得<br>
+	 * 試験・問題の最終更新日時と問題数を連結した文字列で、いずれかが変更されると値が変わる。
+	 * 
+	 * @param examId
+	 * @param deleteFlg
+	 * @return 試験定義のバージョン
+	 */
+	String getExamVersion(@Param("examId") Integer examId, @Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 公開日時が期間内の試験ID取得
+	 * 
+	 * @param fromDate  期間開始（この日時は含まない）
+	 * @param toDate    期間終了
+	 * @param deleteFlg
+	 * @return 試験IDリスト
+	 */
+	List<Integer> findExamIdByPublicDate(@Param("fromDate") Date fromDate,
+			@Param("toDate") Date toDate, @Param("deleteFlg") Short deleteFlg);
+
 }
@@ -33,6 +33,15 @@ public interface MUserMapper {
 	 */
 	MUser findByUserId(@Param("userId") Integer userId, @Param("deleteFlg") Short deleteFlg);
 
+	/**
+	 * ユーザー取得（ログインID）
+	 * 
+	 * @param loginId
+	 * @param deleteFlg
+	 * @return ユーザーエンティティ
+	 */
+	MUser findByLoginId(@Param("loginId") String loginId, @Param("deleteFlg") Short deleteFlg);
+
 	/**
 	 * ログインID取得
 	 * 
@@ -50,6 +59,14 @@ public interface MUserMapper {
 	 */
 	Boolean updatePassword(MUser mUser);
 
+	/**
+	 * パスワードのハッシュ更新（再ハッシュ化・パスワード変更日付は更新しない）
+	 * 
+	 * @param mUser
+	 * @return 更新結果
+	 */
+	Boolean updatePasswordHash(MUser mUser);
+
 	/**
 	 * パスワード変更日付更新
 	 * 
@@ -0,0 +1,30 @@
+package jp.co.sss.lms.mapper;
+
+import java.util.Date;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import jp.co.sss.lms.entity.TCompanyAttendance;
+
+/**
+ * 勤怠情報（企業入力）テーブルマッパー
+ * 
+ * @author 東京ITスクール
+ */
+@Mapper
+public interface TCompanyAttendanceMapper {
+
+	/**
+	 * 期間内の勤怠情報（企業入力）をLMSユーザーID・研修日順に逐次取得
+	 * 
+	 * @param fromDate  期間開始日
+	 * @param toDate    期間終了日
+	 * @param deleteFlg
+	 * @return 勤怠情報（企業入力）のカーソル
+	 */
+	Cursor<TCompanyAttendance> findCursorByTrainingDate(@Param("fromDate") Date fromDate,
+			@Param("toDate") Date toDate, @Param("deleteFlg") Short deleteFlg);
+
+}
@@ -0,0 +1,60 @@
+package jp.co.sss.lms.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import jp.co.sss.lms.dto.ExamGenreAnalysisDto;
+import jp.co.sss.lms.dto.ExamQuestionAnalysisDto;
+import jp.co.sss.lms.entity.TExamQuestionAnalysis;
+
+/**
+ * 試験問題分析テーブルマッパー
+ * 
+ * @author 東京ITスクール
+ */
+@Mapper
+public interface TExamQuestionAnalysisMapper {
+
+	/**
+	 * 試験問題分析一括登録
+	 * 
+	 * @param tExamQuestionAnalysisList
+	 * @return 登録件数
+	 */
+	Integer bulkInsert(@Param("list") List<TExamQuestionAnalysis> tExamQuestionAnalysisList);
+
+	/**
+	 * 指定した試験の試験問題分析を削除
+	 * 
+	 * @param examId
+	 * @return 削除件数
+	 */
+	Integer deleteByExamId(@Param("examId") Integer examId);
+
+	/**
+	 * 採点対象の試験結果がある試験IDを取得
+	 * 
+	 * @param deleteFlg
+	 * @return 試験IDリスト
+	 */
+	List<Integer> findMarkedExamId(@Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 問題別の試験問題分析を取得
+	 * 
+	 * @param examId
+	 * @return 試験問題分析DTOリスト（問題ID順）
+	 */
+	List<ExamQuestionAnalysisDto> findQuestionAnalysis(@Param("examId") Integer examId);
+
+	/**
+	 * ジャンル別の習熟度を取得
+	 * 
+	 * @param examId
+	 * @return ジャンル別習熟度DTOリスト（ジャンル詳細ID順）
+	 */
+	List<ExamGenreAnalysisDto> findGenreAnalysis(@Param("examId") Integer examId);
+
+}
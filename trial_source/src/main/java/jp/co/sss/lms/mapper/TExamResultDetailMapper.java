@@ -1,7 +1,12 @@
 package jp.co.sss.lms.mapper;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import jp.co.sss.lms.dto.ExamReplyDto;
 import jp.co.sss.lms.entity.TExamResultDetail;
 
 /**
@@ -13,11 +18,21 @@ import jp.co.sss.lms.entity.TExamResultDetail;
 public interface TExamResultDetailMapper {
 
 	/**
-	 * 試験結果詳細登録
+	 * 試験結果詳細一括登録
+	 * 
+	 * @param tExamResultDetailList
+	 * @return 登録件数
+	 */
+	Integer bulkInsert(@Param("list") List<TExamResultDetail> tExamResultDetailList);
+
+	/**
+	 * 試験の採点対象の回答を試験結果ID・問題ID順に取得
 	 * 
-	 * @param tExamResultDetail
-	 * @return 登録結果
+	 * @param examId
+	 * @param deleteFlg
+	 * @return 試験回答DTOのカーソル
 	 */
-	Boolean insert(TExamResultDetail tExamResultDetail);
+	Cursor<ExamReplyDto> findReplyCursorByExamId(@Param("examId") Integer examId,
+			@Param("deleteFlg") Short deleteFlg);
 
 }
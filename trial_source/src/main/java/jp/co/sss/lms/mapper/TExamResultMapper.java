@@ -8,6 +8,8 @@ import org.apache.ibatis.annotations.Param;
 import jp.co.sss.lms.dto.ExamDetailDto;
 import jp.co.sss.lms.dto.ExamResultDetailDto;
 import jp.co.sss.lms.dto.ExamResultDto;
+import jp.co.sss.lms.dto.ExamResultMatrixColumnDto;
+import jp.co.sss.lms.dto.ExamResultMatrixRowDto;
 import jp.co.sss.lms.entity.TExamResult;
 
 /**
@@ -51,22 +53,37 @@ public interface TExamResultMapper {
 			@Param("deleteFlg") Short deleteFlg);
 
 	/**
-	 * 試験結果登録
+	 * 試験結果登録（採点対象フラグは初回受験の場合のみ1を設定）
 	 * 
-	 * @param tExamResult
-	 * @return 登録結果
+	 * @param tExamResult 試験結果（採点対象フラグは設定不要）
+	 * @return 登録した試験結果ID・採点対象フラグ
 	 */
-	Boolean insert(TExamResult tExamResult);
+	TExamResult insertWithMarkFlg(TExamResult tExamResult);
 
 	/**
-	 * 試験件数取得
+	 * コースの試験・セクション紐付けを日付順に取得
 	 * 
-	 * @param examSectionId
-	 * @param lmsUserId
+	 * @param courseId
 	 * @param deleteFlg
-	 * @return 件数
+	 * @return コース試験結果一覧の列DTOリスト
 	 */
-	Integer getExamCount(@Param("examSectionId") Integer examSectionId,
-			@Param("lmsUserId") Integer lmsUserId, @Param("deleteFlg") Short deleteFlg);
+	List<ExamResultMatrixColumnDto> findExamResultMatrixColumn(@Param("courseId") Integer courseId,
+			@Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * コースの受講生をLMSユーザーID順に指定数取得し、試験・セクション紐付け毎の初回・最高・最新の試験結果を取得
+	 * 
+	 * @param courseId
+	 * @param companyId     企業ID（nullの場合は全企業）
+	 * @param lastLmsUserId 前ページの最後のLMSユーザーID（nullの場合は先頭から）
+	 * @param limit         受講生数
+	 * @param role
+	 * @param deleteFlg
+	 * @return コース試験結果一覧の取得結果DTOリスト（LMSユーザーID・試験・セクション紐付けID順）
+	 */
+	List<ExamResultMatrixRowDto> findExamResultMatrix(@Param("courseId") Integer courseId,
+			@Param("companyId") Integer companyId, @Param("lastLmsUserId") Integer lastLmsUserId,
+			@Param("limit") int limit, @Param("role") String role,
+			@Param("deleteFlg") Short deleteFlg);
 
 }
@@ -0,0 +1,69 @@
+package jp.co.sss.lms.mapper;
+
+import java.util.Date;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import jp.co.sss.lms.entity.TExamStatistics;
+
+/**
+ * 試験統計テーブルマッパー
+ * 
+ * @author 東京ITスクール
+ */
+@Mapper
+public interface TExamStatisticsMapper {
+
+	/**
+	 * 採点対象の試験結果1件分を加算（未登録の場合は登録）
+	 * 
+	 * @param examSectionId
+	 * @param score            得点
+	 * @param lastModifiedDate
+	 * @return 登録・更新件数
+	 */
+	Integer add(@Param("examSectionId") Integer examSectionId, @Param("score") Short score,
+			@Param("lastModifiedDate") Date lastModifiedDate);
+
+	/**
+	 * 試験統計取得
+	 * 
+	 * @param examSectionId
+	 * @return 試験統計エンティティ
+	 */
+	TExamStatistics findByExamSectionId(@Param("examSectionId") Integer examSectionId);
+
+	/**
+	 * 指定した試験・セクション紐付けの試験統計を削除
+	 * 
+	 * @param examSectionIdList
+	 * @return 削除件数
+	 */
+	Integer deleteByExamSectionIdList(@Param("examSectionIdList") List<Integer> examSectionIdList);
+
+	/**
+	 * 指定した試験・セクション紐付けの採点対象の試験結果を集計して登録
+	 * 
+	 * @param examSectionIdList
+	 * @param lastModifiedDate
+	 * @param deleteFlg
+	 * @return 登録件数
+	 */
+	Integer insertByExamSectionIdList(
+			@Param("examSectionIdList") List<Integer> examSectionIdList,
+			@Param("lastModifiedDate") Date lastModifiedDate, @Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 採点対象の試験結果がある試験・セクション紐付けIDをキー順に取得
+	 * 
+	 * @param lastExamSectionId 前回取得した最後の試験・セクション紐付けID（nullの場合は先頭から）
+	 * @param limit
+	 * @param deleteFlg
+	 * @return 試験・セクション紐付けIDリスト
+	 */
+	List<Integer> findMarkedExamSectionId(@Param("lastExamSectionId") Integer lastExamSectionId,
+			@Param("limit") int limit, @Param("deleteFlg") Short deleteFlg);
+
+}
@@ -0,0 +1,50 @@
+package jp.co.sss.lms.mapper;
+
+import java.util.Date;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * ログイン失敗履歴テーブルマッパー
+ * 
+ * @author 東京ITスクール
+ */
+@Mapper
+public interface TLoginFailureMapper {
+
+	/**
+	 * ログイン失敗履歴登録
+	 * 
+	 * @param throttleKey
+	 * @param failureDate
+	 * @return 登録件数
+	 */
+	int insert(@Param("throttleKey") String throttleKey, @Param("failureDate") Date failureDate);
+
+	/**
+	 * 指定日時より後のログイン失敗件数取得
+	 * 
+	 * @param throttleKey
+	 * @param fromDate
+	 * @return 件数
+	 */
+	int count(@Param("throttleKey") String throttleKey, @Param("fromDate") Date fromDate);
+
+	/**
+	 * ログイン失敗履歴削除（キー指定）
+	 * 
+	 * @param throttleKey
+	 * @return 削除件数
+	 */
+	int deleteByThrottleKey(@Param("throttleKey") String throttleKey);
+
+	/**
+	 * 期限切れのログイン失敗履歴削除
+	 * 
+	 * @param fromDate
+	 * @return 削除件数
+	 */
+	int deleteExpired(@Param("fromDate") Date fromDate);
+
+}
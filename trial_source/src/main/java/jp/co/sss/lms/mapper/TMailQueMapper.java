@@ -1,6 +1,7 @@
 package jp.co.sss.lms.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import jp.co.sss.lms.entity.TMailQue;
 
@@ -20,4 +21,12 @@ public interface TMailQueMapper {
 	 */
 	Boolean insert(TMailQue tMailQue);
 
+	/**
+	 * 未送信のメール送信キュー件数取得
+	 * 
+	 * @param deleteFlg
+	 * @return 件数
+	 */
+	long countUnsent(@Param("deleteFlg") Short deleteFlg);
+
 }
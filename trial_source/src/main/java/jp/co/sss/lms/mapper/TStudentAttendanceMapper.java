@@ -5,8 +5,12 @@ import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
-import jp.co.sss.lms.dto.AttendanceManagementDto;
+import jp.co.sss.lms.dto.AttendanceMatrixRowDto;
+import jp.co.sss.lms.dto.StudentAttendanceStatusDto;
+import jp.co.sss.lms.dto.SubsidyAttendanceDto;
+import jp.co.sss.lms.dto.SubsidyCompanyDto;
 import jp.co.sss.lms.entity.TStudentAttendance;
 
 /**
@@ -38,17 +42,6 @@ public interface TStudentAttendanceMapper {
 	TStudentAttendance findByLmsUserIdAndTrainingDate(@Param("lmsUserId") Integer lmsUserId,
 			@Param("trainingDate") Date trainingDate, @Param("deleteFlg") Short deleteFlg);
 
-	/**
-	 * 勤怠管理画面用DTOリスト取得
-	 * 
-	 * @param courseId
-	 * @param lmsUserId
-	 * @param deleteFlg
-	 * @return 勤怠管理画面用DTOリスト
-	 */
-	List<AttendanceManagementDto> getAttendanceManagement(@Param("courseId") Integer courseId,
-			@Param("lmsUserId") Integer lmsUserId, @Param("deleteFlg") Short deleteFlg);
-
 	/**
 	 * 勤怠情報（受講生入力）登録
 	 * 
@@ -64,18 +57,128 @@ public interface TStudentAttendanceMapper {
 	 * @return 更新結果
 	 */
 	Boolean update(TStudentAttendance tStudentAttendance);
+
+	/**
+	 * 勤怠情報（受講生入力）一括登録・更新
+	 * 
+	 * @param tStudentAttendanceList
+	 * @return 登録・更新件数
+	 */
+	Integer bulkUpsert(@Param("list") List<TStudentAttendance> tStudentAttendanceList);
 	
-	//Task25
 	/**
-	 * 勤怠の未入力件数取得
+	 * 出勤打刻（未出勤の場合のみ登録・更新）
+	 * 
+	 * @param tStudentAttendance
+	 * @return 登録・更新件数（出勤済みの場合は0）
+	 */
+	Integer punchIn(TStudentAttendance tStudentAttendance);
+
+	/**
+	 * 退勤打刻（出勤済みかつ未退勤の場合のみ更新）
 	 * 
 	 * @param lmsUserId
-	 * @param deleteFlg
 	 * @param trainingDate
-	 * @return 勤怠の未入力件数
+	 * @param trainingEndTime
+	 * @param trainingEndMinutes 退勤時刻（0時からの分）
+	 * @param workStartMinutes   定時開始時刻（0時からの分）
+	 * @param lateStatus         出勤時刻が定時開始より遅い場合のステータス
+	 * @param notLateStatus      出勤時刻が定時開始以前の場合のステータス
+	 * @param lastModifiedUser
+	 * @param lastModifiedDate
+	 * @param deleteFlg
+	 * @return 更新件数（打刻できない状態の場合は0）
+	 */
+	Integer punchOut(@Param("lmsUserId") Integer lmsUserId,
+			@Param("trainingDate") Date trainingDate,
+			@Param("trainingEndTime") String trainingEndTime,
+			@Param("trainingEndMinutes") int trainingEndMinutes,
+			@Param("workStartMinutes") int workStartMinutes, @Param("lateStatus") Short lateStatus,
+			@Param("notLateStatus") Short notLateStatus,
+			@Param("lastModifiedUser") Integer lastModifiedUser,
+			@Param("lastModifiedDate") Date lastModifiedDate, @Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 勤怠ステータス再計算対象をキー順に取得
+	 * 
+	 * @param courseId                コースID（nullの場合は全コース）
+	 * @param lastStudentAttendanceId 前回取得した最後の受講生勤怠ID
+	 * @param limit                   取得件数
+	 * @param absentStatus            欠席ステータス（再計算対象外）
+	 * @param deleteFlg
+	 * @return 勤怠ステータス再計算対象DTOリスト
+	 */
+	List<StudentAttendanceStatusDto> findForStatusRecompute(@Param("courseId") Integer courseId,
+			@Param("lastStudentAttendanceId") Integer lastStudentAttendanceId,
+			@Param("limit") int limit, @Param("absentStatus") Short absentStatus,
+			@Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 勤怠ステータス一括更新
+	 * 
+	 * @param list             受講生勤怠IDと更新後ステータスのリスト
+	 * @param lastModifiedUser
+	 * @param lastModifiedDate
+	 * @return 更新件数
+	 */
+	Integer bulkUpdateStatus(@Param("list") List<StudentAttendanceStatusDto> list,
+			@Param("lastModifiedUser") Integer lastModifiedUser,
+			@Param("lastModifiedDate") Date lastModifiedDate);
+
+	/**
+	 * コース勤怠一覧取得<br>
+	 * LMSユーザーID順に受講生を指定件数取得し、期間内の勤怠と併せて返却する。
+	 * 
+	 * @param courseId      コースID
+	 * @param companyId     企業ID（nullの場合は全企業）
+	 * @param lastLmsUserId 前ページの最後のLMSユーザーID（nullの場合は先頭から）
+	 * @param limit         受講生数
+	 * @param fromDate      期間開始日（nullの場合は勤怠を取得しない）
+	 * @param toDate        期間終了日（nullの場合は勤怠を取得しない）
+	 * @param role          受講生ロール
+	 * @param deleteFlg
+	 * @return LMSユーザーID・研修日順の取得結果
+	 */
+	List<AttendanceMatrixRowDto> findAttendanceMatrix(@Param("courseId") Integer courseId,
+			@Param("companyId") Integer companyId, @Param("lastLmsUserId") Integer lastLmsUserId,
+			@Param("limit") int limit, @Param("fromDate") Date fromDate,
+			@Param("toDate") Date toDate, @Param("role") String role,
+			@Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 助成金書類作成対象企業取得（期間内に勤怠の登録がある受講生の所属企業）
+	 * 
+	 * @param fromDate  期間開始日
+	 * @param toDate    期間終了日
+	 * @param deleteFlg
+	 * @return 助成金書類作成対象企業DTOリスト
+	 */
+	List<SubsidyCompanyDto> findSubsidyCompany(@Param("fromDate") Date fromDate,
+			@Param("toDate") Date toDate, @Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 助成金書類作成用勤怠取得
+	 * 
+	 * @param companyId
+	 * @param fromDate  期間開始日
+	 * @param toDate    期間終了日
+	 * @param role      受講生ロール
+	 * @param deleteFlg
+	 * @return LMSユーザーID・研修日順の勤怠
+	 */
+	List<SubsidyAttendanceDto> findSubsidyAttendance(@Param("companyId") Integer companyId,
+			@Param("fromDate") Date fromDate, @Param("toDate") Date toDate,
+			@Param("role") String role, @Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 期間内の勤怠情報（受講生入力）をLMSユーザーID・研修日順に逐次取得
+	 * 
+	 * @param fromDate  期間開始日
+	 * @param toDate    期間終了日
+	 * @param deleteFlg
+	 * @return 勤怠情報（受講生入力）のカーソル
 	 */
-	Integer notEnterCount(@Param("lmsUserId") Integer lmsUserId,
-			@Param("deleteFlg") Short deleteFlg, @Param("trainingDate") Date trainingDate);
-	//Task25
+	Cursor<TStudentAttendance> findCursorByTrainingDate(@Param("fromDate") Date fromDate,
+			@Param("toDate") Date toDate, @Param("deleteFlg") Short deleteFlg);
 
 }
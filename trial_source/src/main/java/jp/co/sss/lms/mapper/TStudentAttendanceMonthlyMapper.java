@@ -0,0 +1,89 @@
+package jp.co.sss.lms.mapper;
+
+import java.util.Date;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import jp.co.sss.lms.dto.AttendanceMonthlyDto;
+
+/**
+ * 勤怠月次集計テーブルマッパー
+ * 
+ * @author 東京ITスクール
+ */
+@Mapper
+public interface TStudentAttendanceMonthlyMapper {
+
+	/**
+	 * 指定ユーザー・指定月の勤怠を再集計して登録・更新
+	 * 
+	 * @param lmsUserId
+	 * @param targetMonthList 対象月（月初日）のリスト
+	 * @param lastModifiedDate
+	 * @param deleteFlg
+	 * @return 登録・更新件数
+	 */
+	Integer refresh(@Param("lmsUserId") Integer lmsUserId,
+			@Param("targetMonthList") List<Date> targetMonthList,
+			@Param("lastModifiedDate") Date lastModifiedDate, @Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 指定ユーザーの月次集計を削除
+	 * 
+	 * @param lmsUserIdList
+	 * @return 削除件数
+	 */
+	Integer deleteByLmsUserIdList(@Param("lmsUserIdList") List<Integer> lmsUserIdList);
+
+	/**
+	 * 指定ユーザーの全期間の勤怠を集計して登録
+	 * 
+	 * @param lmsUserIdList
+	 * @param lastModifiedDate
+	 * @param deleteFlg
+	 * @return 登録件数
+	 */
+	Integer insertByLmsUserIdList(@Param("lmsUserIdList") List<Integer> lmsUserIdList,
+			@Param("lastModifiedDate") Date lastModifiedDate, @Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 勤怠の登録があるLMSユーザーIDをキー順に取得
+	 * 
+	 * @param lastLmsUserId 前回取得した最後のLMSユーザーID（nullの場合は先頭から）
+	 * @param limit
+	 * @return LMSユーザーIDリスト
+	 */
+	List<Integer> findAttendanceLmsUserId(@Param("lastLmsUserId") Integer lastLmsUserId,
+			@Param("limit") int limit);
+
+	/**
+	 * コースの受講生の月次集計取得<br>
+	 * 複数のコースに所属している受講生は、対象月と期間が重なるコース（なければ最新のコース）の1件のみ取得する。
+	 * 
+	 * @param courseId
+	 * @param targetMonth 対象月（月初日）
+	 * @param role        権限（受講生）
+	 * @param deleteFlg
+	 * @return 勤怠月次集計DTOリスト
+	 */
+	List<AttendanceMonthlyDto> findByCourseId(@Param("courseId") Integer courseId,
+			@Param("targetMonth") Date targetMonth, @Param("role") String role,
+			@Param("deleteFlg") Short deleteFlg);
+
+	/**
+	 * 企業の受講生の月次集計取得<br>
+	 * 複数のコースに所属している受講生は、対象月と期間が重なるコース（なければ最新のコース）の1件のみ取得する。
+	 * 
+	 * @param companyId
+	 * @param targetMonth 対象月（月初日）
+	 * @param role        権限（受講生）
+	 * @param deleteFlg
+	 * @return 勤怠月次集計DTOリスト
+	 */
+	List<AttendanceMonthlyDto> findByCompanyId(@Param("companyId") Integer companyId,
+			@Param("targetMonth") Date targetMonth, @Param("role") String role,
+			@Param("deleteFlg") Short deleteFlg);
+
+}
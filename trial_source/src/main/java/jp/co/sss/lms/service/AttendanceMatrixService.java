@@ -0,0 +1,196 @@
+package jp.co.sss.lms.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jp.co.sss.lms.dto.AttendanceMatrixRowDto;
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.mapper.TStudentAttendanceMapper;
+import jp.co.sss.lms.util.AttendanceMatrix;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.CourseCalendar;
+import jp.co.sss.lms.util.DateUtil;
+
+/**
+ * コース勤怠一覧サービス<br>
+ * コースの受講生×研修日の勤怠を、受講生のページ単位で一括取得する。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class AttendanceMatrixService {
+
+	/** 画面に表示する受講生数 */
+	public static final int PAGE_SIZE = 50;
+	/** ダウンロード時に1回で取得する受講生数 */
+	private static final int DOWNLOAD_CHUNK_SIZE = 500;
+	/** ダウンロードファイルの文字コード */
+	private static final Charset DOWNLOAD_CHARSET = Charset.forName("Windows-31J");
+
+	@Autowired
+	private TStudentAttendanceMapper tStudentAttendanceMapper;
+	@Autowired
+	private CourseCalendarService courseCalendarService;
+	@Autowired
+	private DateUtil dateUtil;
+	@Autowired
+	private LoginUserDto loginUserDto;
+
+	/**
+	 * コース勤怠一覧を取得
+	 *
+	 * @param courseId      コースID
+	 * @param lastLmsUserId 前ページの最後のLMSユーザーID（nullの場合は先頭から）
+	 * @param fromDate      期間開始日（nullの場合はコース開始から）
+	 * @param toDate        期間終了日（nullの場合はコース終了まで）
+	 * @return コース勤怠一覧
+	 */
+	public AttendanceMatrix getAttendanceMatrix(Integer courseId, Integer lastLmsUserId,
+			Date fromDate, Date toDate) {
+		CourseCalendar courseCalendar = courseCalendarService.getCourseCalendar(courseId);
+		int fromIndex = getFromIndex(courseCalendar, fromDate);
+		int toIndex = getToIndex(courseCalendar, toDate);
+		return findAttendanceMatrix(courseId, courseCalendar, fromIndex, toIndex, lastLmsUserId,
+				PAGE_SIZE);
+	}
+
+	/**
+	 * コース勤怠一覧のダウンロード（CSV）<br>
+	 * 受講生を一定数ずつ取得して書き出すため、受講生数によらずメモリ使用量は一定となる。
+	 *
+	 * @param courseId コースID
+	 * @param fromDate 期間開始日（nullの場合はコース開始から）
+	 * @param toDate   期間終了日（nullの場合はコース終了まで）
+	 * @param response
+	 * @throws IOException
+	 */
+	public void downloadAttendanceMatrix(Integer courseId, Date fromDate, Date toDate,
+			HttpServletResponse response) throws IOException {
+		CourseCalendar courseCalendar = courseCalendarService.getCourseCalendar(courseId);
+		int fromIndex = getFromIndex(courseCalendar, fromDate);
+		int toIndex = getToIndex(courseCalendar, toDate);
+
+		String fileName = "勤怠一覧_" + dateUtil.getCurrentDateString("yyyyMMdd") + ".csv";
+		String fileNameSjis = new String(fileName.getBytes("Shift_JIS"), "ISO-8859-1");
+		String fileNameUtf8 = URLEncoder.encode(fileName, "UTF-8").replace("+", "%20");
+		response.setContentType("text/csv; charset=Windows-31J");
+		response.setHeader("Content-Disposition",
+				"attachment;filename=" + fileNameSjis + ";filename*=utf-8''" + fileNameUtf8);
+
+		try (Writer writer = new BufferedWriter(
+				new OutputStreamWriter(response.getOutputStream(), DOWNLOAD_CHARSET))) {
+			// 見出し行
+			writer.write("ユーザー名");
+			for (int i = fromIndex; i < toIndex; i++) {
+				writer.write(',');
+				writer.write(dateUtil.dateToString(courseCalendar.getDate(i), "yyyy/MM/dd"));
+			}
+			writer.write("\r\n");
+
+			Integer lastLmsUserId = null;
+			AttendanceMatrix attendanceMatrix;
+			do {
+				attendanceMatrix = findAttendanceMatrix(courseId, courseCalendar, fromIndex,
+						toIndex, lastLmsUserId, DOWNLOAD_CHUNK_SIZE);
+				for (int s = 0; s < attendanceMatrix.getStudentCount(); s++) {
+					writer.write(toCsvValue(attendanceMatrix.getUserName(s)));
+					for (int d = 0; d < attendanceMatrix.getDayCount(); d++) {
+						writer.write(',');
+						writer.write(toCsvValue(attendanceMatrix.getDispValue(s, d)));
+					}
+					writer.write("\r\n");
+				}
+				lastLmsUserId = attendanceMatrix.getLastLmsUserId();
+			} while (attendanceMatrix.getStudentCount() == DOWNLOAD_CHUNK_SIZE);
+		}
+	}
+
+	/**
+	 * 受講生を指定数取得し、期間内の勤怠を受講生×研修日に展開
+	 *
+	 * @param courseId       コースID
+	 * @param courseCalendar 研修日カレンダー
+	 * @param fromIndex      最初のセクション位置
+	 * @param toIndex        最後のセクション位置（この位置を含まない）
+	 * @param lastLmsUserId  前ページの最後のLMSユーザーID
+	 * @param limit          受講生数
+	 * @return コース勤怠一覧
+	 */
+	private AttendanceMatrix findAttendanceMatrix(Integer courseId,
+			CourseCalendar courseCalendar, int fromIndex, int toIndex, Integer lastLmsUserId,
+			int limit) {
+		// 研修日がない場合も受講生は表示するため、期間なしで取得する
+		Date fromDate = fromIndex < toIndex ? courseCalendar.getDate(fromIndex) : null;
+		Date toDate = fromIndex < toIndex ? courseCalendar.getDate(toIndex - 1) : null;
+		// 企業担当者は自社の受講生のみ
+		Integer companyId = Constants.CODE_VAL_ROLL_COMPANY.equals(loginUserDto.getRole())
+				? loginUserDto.getCompanyId()
+				: null;
+		List<AttendanceMatrixRowDto> rowList = tStudentAttendanceMapper.findAttendanceMatrix(
+				courseId, companyId, lastLmsUserId, limit, fromDate, toDate,
+				Constants.CODE_VAL_ROLL_STUDENT, Constants.DB_FLG_FALSE);
+		return AttendanceMatrix.of(courseCalendar, fromIndex, toIndex, rowList);
+	}
+
+	/**
+	 * 期間開始日以降の最初のセクション位置を取得
+	 *
+	 * @param courseCalendar
+	 * @param fromDate
+	 * @return セクション位置
+	 */
+	private int getFromIndex(CourseCalendar courseCalendar, Date fromDate) {
+		if (fromDate == null) {
+			return 0;
+		}
+		long fromEpochDay = CourseCalendar.toEpochDay(fromDate);
+		int index = 0;
+		while (index < courseCalendar.size() && courseCalendar.getEpochDay(index) < fromEpochDay) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * 期間終了日より後の最初のセクション位置を取得
+	 *
+	 * @param courseCalendar
+	 * @param toDate
+	 * @return セクション位置
+	 */
+	private int getToIndex(CourseCalendar courseCalendar, Date toDate) {
+		if (toDate == null) {
+			return courseCalendar.size();
+		}
+		long toEpochDay = CourseCalendar.toEpochDay(toDate);
+		int index = courseCalendar.size();
+		while (index > 0 && courseCalendar.getEpochDay(index - 1) > toEpochDay) {
+			index--;
+		}
+		return index;
+	}
+
+	/**
+	 * CSVの項目値に変換
+	 *
+	 * @param value
+	 * @return ダブルクォートで囲んだ値
+	 */
+	private String toCsvValue(String value) {
+		if (value == null) {
+			return "\"\"";
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+}
@@ -0,0 +1,198 @@
+package jp.co.sss.lms.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jp.co.sss.lms.dto.AttendanceMonthlyDto;
+import jp.co.sss.lms.mapper.TStudentAttendanceMonthlyMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.CourseCalendar;
+
+/**
+ * 勤怠月次集計サービス<br>
+ * 受講生・月単位の勤怠集計を、勤怠の登録・更新に合わせて最新に保つ。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class AttendanceMonthlyService {
+
+	/** 再作成時に1トランザクションで処理するユーザー数 */
+	private static final int REBUILD_CHUNK_SIZE = 200;
+
+	@Autowired
+	private TStudentAttendanceMonthlyMapper tStudentAttendanceMonthlyMapper;
+	@Autowired
+	private CourseCalendarService courseCalendarService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/**
+	 * 勤怠を登録・更新した月の集計を更新<br>
+	 * 勤怠の登録・更新と同一トランザクション内で呼び出すこと。
+	 *
+	 * @param lmsUserId
+	 * @param trainingDateList 登録・更新した研修日
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void refresh(Integer lmsUserId, Collection<Date> trainingDateList) {
+		TreeSet<Date> targetMonthSet = new TreeSet<>();
+		for (Date trainingDate : trainingDateList) {
+			targetMonthSet.add(toTargetMonth(trainingDate));
+		}
+		if (targetMonthSet.isEmpty()) {
+			return;
+		}
+		tStudentAttendanceMonthlyMapper.refresh(lmsUserId, new ArrayList<>(targetMonthSet),
+				new Date(), Constants.DB_FLG_FALSE);
+	}
+
+	/**
+	 * コースの受講生の月次集計を取得
+	 *
+	 * @param courseId
+	 * @param targetDate 対象月内の日付
+	 * @return 勤怠月次集計DTOリスト
+	 */
+	public List<AttendanceMonthlyDto> getCourseMonthly(Integer courseId, Date targetDate) {
+		List<AttendanceMonthlyDto> attendanceMonthlyDtoList = tStudentAttendanceMonthlyMapper
+				.findByCourseId(courseId, toTargetMonth(targetDate),
+						Constants.CODE_VAL_ROLL_STUDENT, Constants.DB_FLG_FALSE);
+		setAttendanceRate(attendanceMonthlyDtoList, targetDate);
+		return attendanceMonthlyDtoList;
+	}
+
+	/**
+	 * 企業の受講生の月次集計を取得
+	 *
+	 * @param companyId
+	 * @param targetDate 対象月内の日付
+	 * @return 勤怠月次集計DTOリスト
+	 */
+	public List<AttendanceMonthlyDto> getCompanyMonthly(Integer companyId, Date targetDate) {
+		List<AttendanceMonthlyDto> attendanceMonthlyDtoList = tStudentAttendanceMonthlyMapper
+				.findByCompanyId(companyId, toTargetMonth(targetDate),
+						Constants.CODE_VAL_ROLL_STUDENT, Constants.DB_FLG_FALSE);
+		setAttendanceRate(attendanceMonthlyDtoList, targetDate);
+		return attendanceMonthlyDtoList;
+	}
+
+	/**
+	 * 月次集計を全件再作成<br>
+	 * ユーザーを一定数ずつに分割し、CPU数のスレッドで並列に再集計する。
+	 *
+	 * @return 再作成したユーザー数
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public int rebuild() throws InterruptedException, ExecutionException {
+		int threadCount = Runtime.getRuntime().availableProcessors();
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		AtomicInteger doneCount = new AtomicInteger();
+		long startMillis = System.currentTimeMillis();
+		try {
+			List<Future<?>> futureList = new ArrayList<>();
+			Integer lastLmsUserId = null;
+			List<Integer> lmsUserIdList;
+			do {
+				lmsUserIdList = tStudentAttendanceMonthlyMapper
+						.findAttendanceLmsUserId(lastLmsUserId, REBUILD_CHUNK_SIZE);
+				if (lmsUserIdList.isEmpty()) {
+					break;
+				}
+				List<Integer> chunk = lmsUserIdList;
+				futureList.add(executorService.submit(() -> {
+					rebuild(chunk);
+					logger.info("勤怠月次集計再作成：完了ユーザー数={}, 経過={}ms",
+							doneCount.addAndGet(chunk.size()),
+							System.currentTimeMillis() - startMillis);
+				}));
+				lastLmsUserId = lmsUserIdList.get(lmsUserIdList.size() - 1);
+			} while (lmsUserIdList.size() == REBUILD_CHUNK_SIZE);
+			for (Future<?> future : futureList) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+		return doneCount.get();
+	}
+
+	/**
+	 * 指定ユーザーの月次集計を再作成
+	 *
+	 * @param lmsUserIdList
+	 */
+	private void rebuild(List<Integer> lmsUserIdList) {
+		transactionTemplate.executeWithoutResult(status -> {
+			tStudentAttendanceMonthlyMapper.deleteByLmsUserIdList(lmsUserIdList);
+			tStudentAttendanceMonthlyMapper.insertByLmsUserIdList(lmsUserIdList, new Date(),
+					Constants.DB_FLG_FALSE);
+		});
+	}
+
+	/**
+	 * 研修日数・出勤率を設定
+	 *
+	 * @param attendanceMonthlyDtoList
+	 * @param targetDate 対象月内の日付
+	 */
+	private void setAttendanceRate(List<AttendanceMonthlyDto> attendanceMonthlyDtoList,
+			Date targetDate) {
+		LocalDate firstDay = toLocalDate(targetDate).withDayOfMonth(1);
+		long fromEpochDay = firstDay.toEpochDay();
+		long toEpochDay = firstDay.plusMonths(1).toEpochDay();
+		for (AttendanceMonthlyDto dto : attendanceMonthlyDtoList) {
+			CourseCalendar courseCalendar = courseCalendarService
+					.getCourseCalendar(dto.getCourseId());
+			int workDayCount = courseCalendar.countWorkDays(fromEpochDay, toEpochDay);
+			dto.setWorkDayCount(workDayCount);
+			if (workDayCount > 0) {
+				dto.setAttendanceRate(dto.getPresentCount() * 100.0 / workDayCount);
+			}
+		}
+	}
+
+	/**
+	 * 日付を対象月（月初日）に変換
+	 *
+	 * @param date
+	 * @return 月初日
+	 */
+	private Date toTargetMonth(Date date) {
+		return Date.from(toLocalDate(date).withDayOfMonth(1).atStartOfDay(ZoneId.systemDefault())
+				.toInstant());
+	}
+
+	/**
+	 * 日付をLocalDateに変換
+	 *
+	 * @param date
+	 * @return LocalDate
+	 */
+	private LocalDate toLocalDate(Date date) {
+		return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+
+}
@@ -0,0 +1,400 @@
+package jp.co.sss.lms.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jp.co.sss.lms.dto.AttendanceMismatchDto;
+import jp.co.sss.lms.dto.AttendanceReconcileResultDto;
+import jp.co.sss.lms.entity.TCompanyAttendance;
+import jp.co.sss.lms.entity.TStudentAttendance;
+import jp.co.sss.lms.enums.AttendanceMismatchTypeEnum;
+import jp.co.sss.lms.enums.AttendanceStatusEnum;
+import jp.co.sss.lms.mapper.TCompanyAttendanceMapper;
+import jp.co.sss.lms.mapper.TStudentAttendanceMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.DateUtil;
+import jp.co.sss.lms.util.TrainingTime;
+
+/**
+ * 勤怠突合サービス<br>
+ * 勤怠情報（受講生入力）と勤怠情報（企業入力）を突き合わせ、差異を抽出する。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class AttendanceReconcileService {
+
+	/** 差異レポートの文字コード */
+	private static final Charset REPORT_CHARSET = Charset.forName("Windows-31J");
+
+	@Autowired
+	private TStudentAttendanceMapper tStudentAttendanceMapper;
+	@Autowired
+	private TCompanyAttendanceMapper tCompanyAttendanceMapper;
+	@Autowired
+	private DateUtil dateUtil;
+
+	/** 時刻差異とする差（分） */
+	@Value("${setting.reconcile.threshold.minute}")
+	private Integer defaultThresholdMinute;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/**
+	 * 期間内の勤怠を突合し、差異レポート（CSV）を出力
+	 *
+	 * @param fromDate        期間開始日
+	 * @param toDate          期間終了日
+	 * @param thresholdMinute 時刻差異とする差（分）（nullの場合は設定値）
+	 * @param output          出力先
+	 * @return 突合結果
+	 * @throws IOException
+	 */
+	@Transactional(readOnly = true)
+	public AttendanceReconcileResultDto writeReport(Date fromDate, Date toDate,
+			Integer thresholdMinute, Path output) throws IOException {
+		try (Writer writer = new BufferedWriter(
+				new OutputStreamWriter(Files.newOutputStream(output), REPORT_CHARSET))) {
+			writer.write("LMSユーザーID,研修日,差異種別,出勤時刻（受講生）,退勤時刻（受講生）,ステータス（受講生）,"
+					+ "出勤時刻（企業）,退勤時刻（企業）,ステータス（企業）,出勤時刻の差（分）,退勤時刻の差（分）\r\n");
+			try {
+				return reconcile(fromDate, toDate, thresholdMinute,
+						dto -> writeReportLine(writer, dto));
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		}
+	}
+
+	/**
+	 * 期間内の勤怠を突合<br>
+	 * 両テーブルをLMSユーザーID・研修日順に逐次読み込んで突き合わせるため、件数によらずメモリ使用量は一定となる。
+	 * カーソルを使用するため、トランザクション内で呼び出すこと。
+	 *
+	 * @param fromDate         期間開始日
+	 * @param toDate           期間終了日
+	 * @param thresholdMinute  時刻差異とする差（分）（nullの場合は設定値）
+	 * @param mismatchConsumer 差異の出力先
+	 * @return 突合結果
+	 */
+	@Transactional(readOnly = true)
+	public AttendanceReconcileResultDto reconcile(Date fromDate, Date toDate,
+			Integer thresholdMinute, Consumer<AttendanceMismatchDto> mismatchConsumer) {
+		int threshold = thresholdMinute != null ? thresholdMinute : defaultThresholdMinute;
+		long startMillis = System.currentTimeMillis();
+		AttendanceReconcileResultDto resultDto;
+		try (Cursor<TStudentAttendance> studentCursor = tStudentAttendanceMapper
+				.findCursorByTrainingDate(fromDate, toDate, Constants.DB_FLG_FALSE);
+				Cursor<TCompanyAttendance> companyCursor = tCompanyAttendanceMapper
+						.findCursorByTrainingDate(fromDate, toDate, Constants.DB_FLG_FALSE)) {
+			resultDto = merge(studentCursor.iterator(), companyCursor.iterator(), threshold,
+					mismatchConsumer);
+		} catch (IOException e) {
+			// カーソルのクローズ時のエラー
+			throw new UncheckedIOException(e);
+		}
+		logger.info("勤怠突合：受講生入力={}件, 企業入力={}件, 企業入力なし={}件, 受講生入力なし={}件, 時刻差異={}件, "
+				+ "ステータス差異={}件, 受講生入力重複={}件, 企業入力重複={}件, 処理時間={}ms",
+				resultDto.getStudentCount(), resultDto.getCompanyCount(),
+				resultDto.getMissingCompanyCount(), resultDto.getMissingStudentCount(),
+				resultDto.getTimeDifferenceCount(), resultDto.getStatusDifferenceCount(),
+				resultDto.getDuplicateStudentCount(), resultDto.getDuplicateCompanyCount(),
+				System.currentTimeMillis() - startMillis);
+		return resultDto;
+	}
+
+	/**
+	 * LMSユーザーID・研修日順の勤怠を突き合わせて差異を分類<br>
+	 * 同一キーが連続する場合は2件目以降を重複として出力し、突合の対象外とする。
+	 *
+	 * @param studentIterator  勤怠情報（受講生入力）（LMSユーザーID・研修日順）
+	 * @param companyIterator  勤怠情報（企業入力）（LMSユーザーID・研修日順）
+	 * @param threshold        時刻差異とする差（分）
+	 * @param mismatchConsumer 差異の出力先
+	 * @return 突合結果
+	 */
+	static AttendanceReconcileResultDto merge(Iterator<TStudentAttendance> studentIterator,
+			Iterator<TCompanyAttendance> companyIterator, int threshold,
+			Consumer<AttendanceMismatchDto> mismatchConsumer) {
+		AttendanceReconcileResultDto resultDto = new AttendanceReconcileResultDto();
+		TStudentAttendance student = nextStudent(studentIterator, null, mismatchConsumer,
+				resultDto);
+		TCompanyAttendance company = nextCompany(companyIterator, null, mismatchConsumer,
+				resultDto);
+		while (student != null || company != null) {
+			int compare;
+			if (student == null) {
+				compare = 1;
+			} else if (company == null) {
+				compare = -1;
+			} else {
+				compare = compareKey(student.getLmsUserId(), student.getTrainingDate(),
+						company.getLmsUserId(), company.getTrainingDate());
+			}
+			if (compare < 0) {
+				// 企業入力なし
+				mismatchConsumer.accept(createMismatch(
+						AttendanceMismatchTypeEnum.MISSING_COMPANY, student, null, resultDto));
+			} else if (compare > 0) {
+				// 受講生入力なし
+				mismatchConsumer.accept(createMismatch(
+						AttendanceMismatchTypeEnum.MISSING_STUDENT, null, company, resultDto));
+			} else {
+				compareAttendance(student, company, threshold, mismatchConsumer, resultDto);
+			}
+			if (compare <= 0) {
+				student = nextStudent(studentIterator, student, mismatchConsumer, resultDto);
+			}
+			if (compare >= 0) {
+				company = nextCompany(companyIterator, company, mismatchConsumer, resultDto);
+			}
+		}
+		return resultDto;
+	}
+
+	/**
+	 * 次の勤怠情報（受講生入力）を取得（直前と同一キーのものは重複として出力して読み飛ばす）
+	 *
+	 * @param iterator         勤怠情報（受講生入力）
+	 * @param previous         直前の勤怠情報（先頭の場合はnull）
+	 * @param mismatchConsumer 差異の出力先
+	 * @param resultDto        突合結果
+	 * @return 次の勤怠情報（終端の場合はnull）
+	 */
+	private static TStudentAttendance nextStudent(Iterator<TStudentAttendance> iterator,
+			TStudentAttendance previous, Consumer<AttendanceMismatchDto> mismatchConsumer,
+			AttendanceReconcileResultDto resultDto) {
+		while (iterator.hasNext()) {
+			TStudentAttendance next = iterator.next();
+			resultDto.setStudentCount(resultDto.getStudentCount() + 1);
+			if (previous == null || compareKey(previous.getLmsUserId(), previous.getTrainingDate(),
+					next.getLmsUserId(), next.getTrainingDate()) != 0) {
+				return next;
+			}
+			mismatchConsumer.accept(createMismatch(AttendanceMismatchTypeEnum.DUPLICATE_STUDENT,
+					next, null, resultDto));
+		}
+		return null;
+	}
+
+	/**
+	 * 次の勤怠情報（企業入力）を取得（直前と同一キーのものは重複として出力して読み飛ばす）
+	 *
+	 * @param iterator         勤怠情報（企業入力）
+	 * @param previous         直前の勤怠情報（先頭の場合はnull）
+	 * @param mismatchConsumer 差異の出力先
+	 * @param resultDto        突合結果
+	 * @return 次の勤怠情報（終端の場合はnull）
+	 */
+	private static TCompanyAttendance nextCompany(Iterator<TCompanyAttendance> iterator,
+			TCompanyAttendance previous, Consumer<AttendanceMismatchDto> mismatchConsumer,
+			AttendanceReconcileResultDto resultDto) {
+		while (iterator.hasNext()) {
+			TCompanyAttendance next = iterator.next();
+			resultDto.setCompanyCount(resultDto.getCompanyCount() + 1);
+			if (previous == null || compareKey(previous.getLmsUserId(), previous.getTrainingDate(),
+					next.getLmsUserId(), next.getTrainingDate()) != 0) {
+				return next;
+			}
+			mismatchConsumer.accept(createMismatch(AttendanceMismatchTypeEnum.DUPLICATE_COMPANY,
+					null, next, resultDto));
+		}
+		return null;
+	}
+
+	/**
+	 * 同一ユーザー・同一研修日の勤怠を比較
+	 *
+	 * @param student          勤怠情報（受講生入力）
+	 * @param company          勤怠情報（企業入力）
+	 * @param threshold        時刻差異とする差（分）
+	 * @param mismatchConsumer 差異の出力先
+	 * @param resultDto        突合結果
+	 */
+	private static void compareAttendance(TStudentAttendance student, TCompanyAttendance company,
+			int threshold, Consumer<AttendanceMismatchDto> mismatchConsumer,
+			AttendanceReconcileResultDto resultDto) {
+		Integer startDelta = getDeltaMinutes(student.getTrainingStartTime(),
+				company.getTrainingStartTime());
+		Integer endDelta = getDeltaMinutes(student.getTrainingEndTime(),
+				company.getTrainingEndTime());
+		if (isOverThreshold(startDelta, threshold) || isOverThreshold(endDelta, threshold)) {
+			AttendanceMismatchDto dto = createMismatch(AttendanceMismatchTypeEnum.TIME_DIFFERENCE,
+					student, company, resultDto);
+			dto.setStartDeltaMinutes(startDelta);
+			dto.setEndDeltaMinutes(endDelta);
+			mismatchConsumer.accept(dto);
+		}
+		if (!Objects.equals(toStatus(student.getStatus()), toStatus(company.getStatus()))) {
+			mismatchConsumer.accept(createMismatch(AttendanceMismatchTypeEnum.STATUS_DIFFERENCE,
+					student, company, resultDto));
+		}
+	}
+
+	/**
+	 * 差異を作成し、種別毎の件数を加算
+	 *
+	 * @param type      差異種別
+	 * @param student   勤怠情報（受講生入力）
+	 * @param company   勤怠情報（企業入力）
+	 * @param resultDto 突合結果
+	 * @return 勤怠突合差異DTO
+	 */
+	private static AttendanceMismatchDto createMismatch(AttendanceMismatchTypeEnum type,
+			TStudentAttendance student, TCompanyAttendance company,
+			AttendanceReconcileResultDto resultDto) {
+		AttendanceMismatchDto dto = new AttendanceMismatchDto();
+		dto.setType(type);
+		if (student != null) {
+			dto.setLmsUserId(student.getLmsUserId());
+			dto.setTrainingDate(student.getTrainingDate());
+			dto.setStudentStartTime(student.getTrainingStartTime());
+			dto.setStudentEndTime(student.getTrainingEndTime());
+			dto.setStudentStatus(student.getStatus());
+		}
+		if (company != null) {
+			dto.setLmsUserId(company.getLmsUserId());
+			dto.setTrainingDate(company.getTrainingDate());
+			dto.setCompanyStartTime(company.getTrainingStartTime());
+			dto.setCompanyEndTime(company.getTrainingEndTime());
+			dto.setCompanyStatus(company.getStatus());
+		}
+		switch (type) {
+		case MISSING_COMPANY:
+			resultDto.setMissingCompanyCount(resultDto.getMissingCompanyCount() + 1);
+			break;
+		case MISSING_STUDENT:
+			resultDto.setMissingStudentCount(resultDto.getMissingStudentCount() + 1);
+			break;
+		case TIME_DIFFERENCE:
+			resultDto.setTimeDifferenceCount(resultDto.getTimeDifferenceCount() + 1);
+			break;
+		case STATUS_DIFFERENCE:
+			resultDto.setStatusDifferenceCount(resultDto.getStatusDifferenceCount() + 1);
+			break;
+		case DUPLICATE_STUDENT:
+			resultDto.setDuplicateStudentCount(resultDto.getDuplicateStudentCount() + 1);
+			break;
+		case DUPLICATE_COMPANY:
+			resultDto.setDuplicateCompanyCount(resultDto.getDuplicateCompanyCount() + 1);
+			break;
+		}
+		return dto;
+	}
+
+	/**
+	 * LMSユーザーID・研修日の順序を比較（SQLの並び順と同一）
+	 *
+	 * @param lmsUserId1
+	 * @param trainingDate1
+	 * @param lmsUserId2
+	 * @param trainingDate2
+	 * @return 1件目が前の場合は負、同一の場合は0、後の場合は正
+	 */
+	private static int compareKey(Integer lmsUserId1, Date trainingDate1, Integer lmsUserId2,
+			Date trainingDate2) {
+		int compare = lmsUserId1.compareTo(lmsUserId2);
+		if (compare != 0) {
+			return compare;
+		}
+		return trainingDate1.compareTo(trainingDate2);
+	}
+
+	/**
+	 * 時刻の差を取得
+	 *
+	 * @param time1
+	 * @param time2
+	 * @return 差（分）（両方未入力の場合は0、片方のみ未入力・不正な場合はnull）
+	 */
+	private static Integer getDeltaMinutes(String time1, String time2) {
+		boolean isBlank1 = time1 == null || time1.isEmpty();
+		boolean isBlank2 = time2 == null || time2.isEmpty();
+		if (isBlank1 && isBlank2) {
+			return 0;
+		}
+		if (isBlank1 || isBlank2 || !TrainingTime.isValidTrainingTime(time1)
+				|| !TrainingTime.isValidTrainingTime(time2)) {
+			return null;
+		}
+		return Math.abs(TrainingTime.parse(time1).toMinutes()
+				- TrainingTime.parse(time2).toMinutes());
+	}
+
+	/**
+	 * 時刻差異か判定
+	 *
+	 * @param deltaMinutes 時刻の差（分）
+	 * @param threshold    時刻差異とする差（分）
+	 * @return 片方のみ入力されている・差が閾値を超える場合true
+	 */
+	private static boolean isOverThreshold(Integer deltaMinutes, int threshold) {
+		return deltaMinutes == null || deltaMinutes > threshold;
+	}
+
+	/**
+	 * 比較用のステータスを取得
+	 *
+	 * @param status
+	 * @return 未設定の場合はNONE
+	 */
+	private static Short toStatus(Short status) {
+		return status == null ? AttendanceStatusEnum.NONE.code : status;
+	}
+
+	/**
+	 * 差異レポートに1行出力
+	 *
+	 * @param writer
+	 * @param dto
+	 */
+	private void writeReportLine(Writer writer, AttendanceMismatchDto dto) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(dto.getLmsUserId()).append(',');
+		sb.append(dateUtil.dateToString(dto.getTrainingDate(), "yyyy/MM/dd")).append(',');
+		sb.append(dto.getType().name).append(',');
+		sb.append(Objects.toString(dto.getStudentStartTime(), "")).append(',');
+		sb.append(Objects.toString(dto.getStudentEndTime(), "")).append(',');
+		sb.append(toStatusName(dto.getStudentStatus())).append(',');
+		sb.append(Objects.toString(dto.getCompanyStartTime(), "")).append(',');
+		sb.append(Objects.toString(dto.getCompanyEndTime(), "")).append(',');
+		sb.append(toStatusName(dto.getCompanyStatus())).append(',');
+		sb.append(Objects.toString(dto.getStartDeltaMinutes(), "")).append(',');
+		sb.append(Objects.toString(dto.getEndDeltaMinutes(), "")).append("\r\n");
+		try {
+			writer.write(sb.toString());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * ステータス名を取得
+	 *
+	 * @param status
+	 * @return ステータス名（未設定の場合は空文字）
+	 */
+	private String toStatusName(Short status) {
+		AttendanceStatusEnum statusEnum = AttendanceStatusEnum.getEnum(status);
+		return statusEnum == null ? "" : statusEnum.name;
+	}
+
+}
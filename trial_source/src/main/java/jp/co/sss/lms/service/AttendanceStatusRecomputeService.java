@@ -0,0 +1,164 @@
+package jp.co.sss.lms.service;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jp.co.sss.lms.dto.AttendanceStatusRecomputeResultDto;
+import jp.co.sss.lms.dto.StudentAttendanceStatusDto;
+import jp.co.sss.lms.enums.AttendanceStatusEnum;
+import jp.co.sss.lms.mapper.TStudentAttendanceMapper;
+import jp.co.sss.lms.util.AttendanceUtil;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.CourseCalendar;
+import jp.co.sss.lms.util.TrainingTime;
+
+/**
+ * 勤怠ステータス再計算サービス<br>
+ * コースの定時変更後、登録済みの遅刻早退ステータスを一括で再計算する。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class AttendanceStatusRecomputeService {
+
+	/** 1回に読み込む勤怠件数 */
+	private static final int CHUNK_SIZE = 1000;
+
+	@Autowired
+	private TStudentAttendanceMapper tStudentAttendanceMapper;
+	@Autowired
+	private CourseCalendarService courseCalendarService;
+	@Autowired
+	private AttendanceUtil attendanceUtil;
+	@Autowired
+	private AttendanceMonthlyService attendanceMonthlyService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/**
+	 * 勤怠ステータスを再計算し、変更があったもののみ更新する<br>
+	 * 受講生勤怠ID順にチャンク単位で処理し、月次集計と併せてチャンク毎にコミットされるため、中断した場合は最後に出力された受講生勤怠IDから再開できる。
+	 *
+	 * @param courseId                コースID（nullの場合は全コース）
+	 * @param fromStudentAttendanceId 再開する受講生勤怠ID（この値より後を処理する。nullの場合は先頭から）
+	 * @param lastModifiedUser        更新者のLMSユーザーID
+	 * @return 再計算結果
+	 */
+	public AttendanceStatusRecomputeResultDto recompute(Integer courseId,
+			Integer fromStudentAttendanceId, Integer lastModifiedUser) {
+		// 定時の変更を反映するため、カレンダーを再読込
+		courseCalendarService.refreshAll();
+
+		AttendanceStatusRecomputeResultDto resultDto = new AttendanceStatusRecomputeResultDto();
+		resultDto.setLastStudentAttendanceId(fromStudentAttendanceId);
+		long startMillis = System.currentTimeMillis();
+		List<StudentAttendanceStatusDto> chunk;
+		do {
+			chunk = tStudentAttendanceMapper.findForStatusRecompute(courseId,
+					resultDto.getLastStudentAttendanceId(), CHUNK_SIZE,
+					AttendanceStatusEnum.ABSENT.code, Constants.DB_FLG_FALSE);
+			if (chunk.isEmpty()) {
+				break;
+			}
+			recomputeChunk(chunk, lastModifiedUser, resultDto);
+			logger.info("勤怠ステータス再計算：処理件数={}, 更新件数={}, スキップ件数={}, 最終受講生勤怠ID={}, 経過={}ms",
+					resultDto.getProcessedCount(), resultDto.getUpdatedCount(),
+					resultDto.getSkippedCount(), resultDto.getLastStudentAttendanceId(),
+					System.currentTimeMillis() - startMillis);
+		} while (chunk.size() == CHUNK_SIZE);
+		return resultDto;
+	}
+
+	/**
+	 * 1チャンク分の勤怠ステータスを再計算・更新
+	 *
+	 * @param chunk            受講生勤怠ID順の再計算対象
+	 * @param lastModifiedUser 更新者のLMSユーザーID
+	 * @param resultDto        再計算結果（件数・最終IDを加算）
+	 */
+	private void recomputeChunk(List<StudentAttendanceStatusDto> chunk, Integer lastModifiedUser,
+			AttendanceStatusRecomputeResultDto resultDto) {
+		// コースの定時は並列処理前に取得しておく
+		Map<Integer, CourseCalendar> calendarMap = new HashMap<>();
+		for (StudentAttendanceStatusDto dto : chunk) {
+			calendarMap.computeIfAbsent(dto.getCourseId(),
+					courseCalendarService::getCourseCalendar);
+		}
+		List<StudentAttendanceStatusDto> results = chunk.parallelStream()
+				.map(dto -> recomputeStatus(dto, calendarMap.get(dto.getCourseId())))
+				.collect(Collectors.toList());
+
+		long skippedCount = chunk.stream().filter(dto -> !isValidTime(dto.getTrainingStartTime())
+				|| !isValidTime(dto.getTrainingEndTime())).count();
+		List<StudentAttendanceStatusDto> changedList = results.stream()
+				.filter(Objects::nonNull).collect(Collectors.toList());
+		if (!changedList.isEmpty()) {
+			// ステータスの更新と月次集計の更新は同一トランザクションで行う
+			Integer updatedCount = transactionTemplate.execute(status -> {
+				Integer count = tStudentAttendanceMapper.bulkUpdateStatus(changedList,
+						lastModifiedUser, new Date());
+				Map<Integer, List<Date>> trainingDateMap = changedList.stream()
+						.collect(Collectors.groupingBy(StudentAttendanceStatusDto::getLmsUserId,
+								Collectors.mapping(StudentAttendanceStatusDto::getTrainingDate,
+										Collectors.toList())));
+				trainingDateMap.forEach(attendanceMonthlyService::refresh);
+				return count;
+			});
+			resultDto.setUpdatedCount(resultDto.getUpdatedCount() + updatedCount);
+		}
+		resultDto.setProcessedCount(resultDto.getProcessedCount() + chunk.size());
+		resultDto.setSkippedCount(resultDto.getSkippedCount() + skippedCount);
+		resultDto.setLastStudentAttendanceId(chunk.get(chunk.size() - 1).getStudentAttendanceId());
+	}
+
+	/**
+	 * 勤怠ステータスを再計算
+	 *
+	 * @param dto            再計算対象
+	 * @param courseCalendar コースのカレンダー
+	 * @return ステータスに変更がある場合は更新内容、変更がない・時刻が不正な場合はnull
+	 */
+	private StudentAttendanceStatusDto recomputeStatus(StudentAttendanceStatusDto dto,
+			CourseCalendar courseCalendar) {
+		if (!isValidTime(dto.getTrainingStartTime()) || !isValidTime(dto.getTrainingEndTime())) {
+			return null;
+		}
+		AttendanceStatusEnum attendanceStatusEnum = attendanceUtil.getStatus(
+				TrainingTime.parse(dto.getTrainingStartTime()),
+				TrainingTime.parse(dto.getTrainingEndTime()), courseCalendar.getWorkStartTime(),
+				courseCalendar.getWorkEndTime());
+		if (attendanceStatusEnum.code.equals(dto.getStatus())) {
+			return null;
+		}
+		StudentAttendanceStatusDto changed = new StudentAttendanceStatusDto();
+		changed.setStudentAttendanceId(dto.getStudentAttendanceId());
+		changed.setLmsUserId(dto.getLmsUserId());
+		changed.setTrainingDate(dto.getTrainingDate());
+		changed.setCourseId(dto.getCourseId());
+		changed.setStatus(attendanceStatusEnum.code);
+		return changed;
+	}
+
+	/**
+	 * 未入力または解析可能な時刻か判定
+	 *
+	 * @param time 時刻
+	 * @return 判定結果
+	 */
+	private boolean isValidTime(String time) {
+		return time == null || time.isEmpty() || TrainingTime.isValidTrainingTime(time);
+	}
+
+}
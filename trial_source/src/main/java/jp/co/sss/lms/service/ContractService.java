@@ -1,14 +1,20 @@
 package jp.co.sss.lms.service;
 
+import java.time.Clock;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jp.co.sss.lms.dto.AgreementConsentDto;
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.mapper.TAgreementConsentMapper;
+import jp.co.sss.lms.util.CacheStats;
 import jp.co.sss.lms.util.Constants;
 
 /**
@@ -23,6 +29,18 @@ public class ContractService {
 	private TAgreementConsentMapper tAgreementConsentMapper;
 	@Autowired
 	private LoginUserDto loginUserDto;
+	@Autowired
+	private Clock clock;
+
+	/** 契約同意状態の再読込間隔（分） */
+	@Value("${setting.contract.consent.refresh.minute}")
+	private Integer refreshMinute;
+
+	/** 企業ID毎の未同意の契約の有無 */
+	private final ConcurrentMap<Integer, DisagreementState> disagreementMap =
+			new ConcurrentHashMap<>();
+	/** キャッシュのヒット率 */
+	private final CacheStats cacheStats = new CacheStats();
 
 	/**
 	 * 契約同意DTOリストの取得
@@ -40,9 +58,114 @@ public class ContractService {
 	 * @return 契約同意DTOリスト
 	 */
 	public List<AgreementConsentDto> getDisagreementConsentDtoList() {
-		Date today = new Date();
+		Date today = new Date(clock.millis());
 		return tAgreementConsentMapper.getAgreementConsentDtoList(loginUserDto.getCompanyId(),
 				today, Constants.CODE_VAL_CONTRACT_DISAGREE, Constants.DB_FLG_FALSE);
 	}
 
+	/**
+	 * 未同意の契約があるか判定<br>
+	 * 企業毎に判定結果を保持し、同じ企業の企業担当者間で共有する。
+	 * 
+	 * @param companyId 企業ID
+	 * @return 未同意の契約がある場合true
+	 */
+	public boolean hasDisagreement(Integer companyId) {
+		if (companyId == null) {
+			return false;
+		}
+		long now = clock.millis();
+		DisagreementState state = disagreementMap.get(companyId);
+		if (state != null && !state.isExpired(now)) {
+			cacheStats.hit();
+			return state.disagreed.join();
+		}
+		cacheStats.miss();
+		// 未読込・期限切れの場合のみ読込（同一企業の同時読込は1回にまとめ、マップのロック外で読込）
+		DisagreementState loading = new DisagreementState(now + refreshMinute * 60_000L);
+		state = register(companyId, loading, now);
+		if (state == loading) {
+			try {
+				loading.disagreed.complete(loadDisagreement(companyId, now));
+			} catch (RuntimeException e) {
+				disagreementMap.remove(companyId, loading);
+				loading.disagreed.completeExceptionally(e);
+				throw e;
+			}
+		}
+		return state.disagreed.join();
+	}
+
+	/**
+	 * 企業の契約同意状態を破棄（契約同意の登録・更新時に呼び出す）
+	 * 
+	 * @param companyId 企業ID
+	 */
+	public void refreshDisagreement(Integer companyId) {
+		disagreementMap.remove(companyId);
+	}
+
+	/**
+	 * キャッシュのヒット率を取得
+	 * 
+	 * @return キャッシュのヒット率
+	 */
+	public CacheStats getCacheStats() {
+		return cacheStats;
+	}
+
+	/**
+	 * 読込中の状態を登録<br>
+	 * 他のスレッドが登録済み（有効期限内）の場合は、その状態を返却する。
+	 * 
+	 * @param companyId 企業ID
+	 * @param loading   登録する読込中の状態
+	 * @param now       現在日時（エポックミリ秒）
+	 * @return 登録した状態、または登録済みの状態
+	 */
+	private DisagreementState register(Integer companyId, DisagreementState loading, long now) {
+		while (true) {
+			DisagreementState current = disagreementMap.get(companyId);
+			if (current != null && !current.isExpired(now)) {
+				return current;
+			}
+			if (current == null ? disagreementMap.putIfAbsent(companyId, loading) == null
+					: disagreementMap.replace(companyId, current, loading)) {
+				return loading;
+			}
+		}
+	}
+
+	/**
+	 * 企業の未同意の契約の有無を読込
+	 * 
+	 * @param companyId 企業ID
+	 * @param now       現在日時（エポックミリ秒）
+	 * @return 未同意の契約の有無
+	 */
+	private boolean loadDisagreement(Integer companyId, long now) {
+		return !tAgreementConsentMapper.getAgreementConsentDtoList(companyId, new Date(now),
+				Constants.CODE_VAL_CONTRACT_DISAGREE, Constants.DB_FLG_FALSE).isEmpty();
+	}
+
+	/**
+	 * 企業の未同意の契約の有無
+	 */
+	private static final class DisagreementState {
+
+		/** 未同意の契約の有無（読込中は未完了） */
+		private final CompletableFuture<Boolean> disagreed = new CompletableFuture<>();
+		/** 有効期限（エポックミリ秒） */
+		private final long expireMillis;
+
+		private DisagreementState(long expireMillis) {
+			this.expireMillis = expireMillis;
+		}
+
+		private boolean isExpired(long nowMillis) {
+			return nowMillis >= expireMillis;
+		}
+
+	}
+
 }
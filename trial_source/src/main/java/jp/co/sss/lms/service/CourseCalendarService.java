@@ -0,0 +1,115 @@
+package jp.co.sss.lms.service;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jp.co.sss.lms.entity.MCourse;
+import jp.co.sss.lms.entity.MSection;
+import jp.co.sss.lms.mapper.MCourseMapper;
+import jp.co.sss.lms.mapper.MSectionMapper;
+import jp.co.sss.lms.util.CacheStats;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.CourseCalendar;
+
+/**
+ * コース研修日カレンダーサービス<br>
+ * コース毎の研修日を初回参照時に読み込み、メモリ上に保持する。<br>
+ * 本アプリケーションではコース・セクションを更新しないため、
+ * 外部で変更された研修日・定時は再読込間隔（setting.calendar.refresh.minute）の経過後に反映される。
+ * 
+ * @author 東京ITスクール
+ */
+@Service
+public class CourseCalendarService {
+
+	@Autowired
+	private MCourseMapper mCourseMapper;
+	@Autowired
+	private MSectionMapper mSectionMapper;
+	@Autowired
+	private Clock clock;
+
+	/** カレンダーの再読込間隔（分） */
+	@Value("${setting.calendar.refresh.minute}")
+	private Integer refreshMinute;
+
+	/** コースID毎の研修日カレンダー */
+	private final ConcurrentMap<Integer, CourseCalendar> calendarMap = new ConcurrentHashMap<>();
+	/** キャッシュのヒット率 */
+	private final CacheStats cacheStats = new CacheStats();
+
+	/**
+	 * コースの研修日カレンダーを取得
+	 * 
+	 * @param courseId
+	 * @return コースの研修日カレンダー
+	 */
+	public CourseCalendar getCourseCalendar(Integer courseId) {
+		if (courseId == null) {
+			return CourseCalendar.EMPTY;
+		}
+		long now = clock.millis();
+		long expireMillis = refreshMinute * 60_000L;
+		CourseCalendar courseCalendar = calendarMap.get(courseId);
+		if (courseCalendar != null && !courseCalendar.isExpired(now, expireMillis)) {
+			cacheStats.hit();
+			return courseCalendar;
+		}
+		cacheStats.miss();
+		// 未読込・期限切れの場合のみ読込（同一コースの同時読込は1回にまとめる）
+		return calendarMap.compute(courseId, (key, current) -> current == null
+				|| current.isExpired(clock.millis(), expireMillis) ? load(key)
+						: current);
+	}
+
+	/**
+	 * 研修日の判定
+	 * 
+	 * @param courseId
+	 * @param trainingDate
+	 * @return 判定結果
+	 */
+	public boolean isWorkDay(Integer courseId, Date trainingDate) {
+		return getCourseCalendar(courseId).isWorkDay(trainingDate);
+	}
+
+	/**
+	 * 全コースの研修日カレンダーを破棄
+	 */
+	public void refreshAll() {
+		calendarMap.clear();
+	}
+
+	/**
+	 * キャッシュのヒット率を取得
+	 * 
+	 * @return キャッシュのヒット率
+	 */
+	public CacheStats getCacheStats() {
+		return cacheStats;
+	}
+
+	/**
+	 * コースの研修日カレンダーを読込
+	 * 
+	 * @param courseId
+	 * @return コースの研修日カレンダー
+	 */
+	private CourseCalendar load(Integer courseId) {
+		MCourse mCourse = mCourseMapper.findByCourseId(courseId, Constants.DB_FLG_FALSE);
+		if (mCourse == null) {
+			return CourseCalendar.of(new MCourse(), List.of(), clock.millis());
+		}
+		List<MSection> sectionList = mSectionMapper.findCalendarByCourseId(courseId,
+				Constants.DB_FLG_FALSE);
+		return CourseCalendar.of(mCourse, sectionList, clock.millis());
+	}
+
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import jp.co.sss.lms.dto.CourseServiceCourseDto;
+import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.mapper.MCourseMapper;
 import jp.co.sss.lms.util.Constants;
 import jp.co.sss.lms.util.LoggingUtil;
@@ -27,6 +28,8 @@ public class CourseService {
 	private MessageUtil messageUtil;
 	@Autowired
 	private LoggingUtil loggingUtil;
+	@Autowired
+	private LoginUserDto loginUserDto;
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -49,6 +52,33 @@ public class CourseService {
 		return "";
 	}
 
+	/**
+	 * 参照するコースIDの取得<br>
+	 * 講師は自身の所属コース、企業担当者は自企業の受講生の所属コースのみ参照できる。
+	 * 
+	 * @param courseId コースID（未指定の場合はログインユーザーのコース）
+	 * @return コースID（参照できない場合はnull）
+	 */
+	public Integer getAccessibleCourseId(Integer courseId) {
+		if (courseId == null) {
+			return loginUserDto.getCourseId();
+		}
+		Integer lmsUserId = null;
+		Integer companyId = null;
+		if (Constants.CODE_VAL_ROLL_COMPANY.equals(loginUserDto.getRole())) {
+			companyId = loginUserDto.getCompanyId();
+		} else {
+			lmsUserId = loginUserDto.getLmsUserId();
+		}
+		if ((lmsUserId == null && companyId == null) || mCourseMapper
+				.getAccessibleCourseCount(courseId, lmsUserId, companyId, Constants.DB_FLG_FALSE) == 0) {
+			logger.info("参照できないコースへのアクセス：コースID={}, LMSユーザーID={}", courseId,
+					loginUserDto.getLmsUserId());
+			return null;
+		}
+		return courseId;
+	}
+
 	/**
 	 * コース情報サービス コースDTOの取得
 	 * 
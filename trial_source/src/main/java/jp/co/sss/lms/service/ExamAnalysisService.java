@@ -0,0 +1,264 @@
+package jp.co.sss.lms.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jp.co.sss.lms.dto.ExamGenreAnalysisDto;
+import jp.co.sss.lms.dto.ExamQuestionAnalysisDto;
+import jp.co.sss.lms.dto.ExamReplyDto;
+import jp.co.sss.lms.entity.TExamQuestionAnalysis;
+import jp.co.sss.lms.mapper.TExamQuestionAnalysisMapper;
+import jp.co.sss.lms.mapper.TExamResultDetailMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.ExamQuestionAnalyzer;
+import jp.co.sss.lms.util.MessageUtil;
+
+/**
+ * 試験問題分析サービス<br>
+ * 採点対象（初回受験）の回答から問題毎の正答率・識別力・選択肢毎の選択件数を集計し、
+ * 試験単位のスナップショットとして保存する。<br>
+ * 画面からの再分析は専用スレッドで1件ずつ実行し、同一試験の再分析は実行中・待機中の間は受け付けない。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class ExamAnalysisService {
+
+	/** 易しすぎると判定する正答率 */
+	private static final double EASY_CORRECT_RATE = 0.9;
+	/** 難しすぎると判定する正答率 */
+	private static final double HARD_CORRECT_RATE = 0.3;
+	/** 識別力が低いと判定する値 */
+	private static final double LOW_DISCRIMINATION = 0.2;
+
+	@Autowired
+	private TExamResultDetailMapper tExamResultDetailMapper;
+	@Autowired
+	private TExamQuestionAnalysisMapper tExamQuestionAnalysisMapper;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private MessageUtil messageUtil;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/** 回答の読込用（読取専用）のトランザクション */
+	private TransactionTemplate readOnlyTransactionTemplate;
+	/** 画面からの再分析のスレッド */
+	private ExecutorService analyzeExecutor;
+	/** 再分析の実行中・待機中の試験ID */
+	private final Set<Integer> pendingExamIdSet = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * 再分析のスレッドを開始
+	 */
+	@PostConstruct
+	public void init() {
+		readOnlyTransactionTemplate = new TransactionTemplate(
+				transactionTemplate.getTransactionManager());
+		readOnlyTransactionTemplate.setReadOnly(true);
+		analyzeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "exam-analysis");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * 再分析のスレッドを停止
+	 */
+	@PreDestroy
+	public void destroy() {
+		if (analyzeExecutor != null) {
+			analyzeExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 指定した試験の再分析を受付<br>
+	 * 分析は専用スレッドで非同期に実行する。
+	 *
+	 * @param examId
+	 * @return 受け付けた場合true（同一試験を再分析中の場合false）
+	 */
+	public boolean requestAnalyze(Integer examId) {
+		if (!pendingExamIdSet.add(examId)) {
+			return false;
+		}
+		analyzeExecutor.execute(() -> {
+			try {
+				long startMillis = System.currentTimeMillis();
+				int resultCount = analyze(examId);
+				logger.info("試験問題分析：試験ID={}, 試験結果件数={}, 経過={}ms", examId, resultCount,
+						System.currentTimeMillis() - startMillis);
+			} catch (RuntimeException e) {
+				logger.warn("試験問題分析に失敗しました：試験ID=" + examId, e);
+			} finally {
+				pendingExamIdSet.remove(examId);
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * 指定した試験を再分析中か判定
+	 *
+	 * @param examId
+	 * @return 実行中・待機中の場合true
+	 */
+	public boolean isAnalyzing(Integer examId) {
+		return pendingExamIdSet.contains(examId);
+	}
+
+	/**
+	 * 指定した試験を分析<br>
+	 * 回答を読取専用のトランザクションでカーソルから読み込みながら集計し、
+	 * 集計後に別の短いトランザクションで試験問題分析を置き換える。
+	 *
+	 * @param examId
+	 * @return 分析した試験結果件数
+	 */
+	public int analyze(Integer examId) {
+		ExamQuestionAnalyzer analyzer = readOnlyTransactionTemplate.execute(status -> {
+			ExamQuestionAnalyzer examQuestionAnalyzer = new ExamQuestionAnalyzer(examId);
+			try (Cursor<ExamReplyDto> cursor = tExamResultDetailMapper
+					.findReplyCursorByExamId(examId, Constants.DB_FLG_FALSE)) {
+				for (ExamReplyDto examReplyDto : cursor) {
+					examQuestionAnalyzer.add(examReplyDto);
+				}
+			} catch (Exception e) {
+				throw new IllegalStateException("試験問題分析の読込に失敗しました。examId=" + examId, e);
+			}
+			return examQuestionAnalyzer;
+		});
+		List<TExamQuestionAnalysis> analysisList = analyzer.toAnalysisList(new Date());
+		transactionTemplate.executeWithoutResult(status -> {
+			tExamQuestionAnalysisMapper.deleteByExamId(examId);
+			if (!analysisList.isEmpty()) {
+				tExamQuestionAnalysisMapper.bulkInsert(analysisList);
+			}
+		});
+		return analyzer.getResultCount();
+	}
+
+	/**
+	 * 試験問題分析を全件再作成<br>
+	 * 採点対象の試験結果がある試験を、CPU数のスレッドで並列に分析する。
+	 *
+	 * @return 再作成した試験数
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public int rebuild() throws InterruptedException, ExecutionException {
+		List<Integer> examIdList = tExamQuestionAnalysisMapper
+				.findMarkedExamId(Constants.DB_FLG_FALSE);
+		int threadCount = Runtime.getRuntime().availableProcessors();
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		AtomicInteger doneCount = new AtomicInteger();
+		long startMillis = System.currentTimeMillis();
+		try {
+			List<Future<?>> futureList = new ArrayList<>();
+			for (Integer examId : examIdList) {
+				futureList.add(executorService.submit(() -> {
+					int resultCount = analyze(examId);
+					logger.info("試験問題分析再作成：試験ID={}, 試験結果件数={}, 完了件数={}/{}, 経過={}ms",
+							examId, resultCount, doneCount.incrementAndGet(), examIdList.size(),
+							System.currentTimeMillis() - startMillis);
+				}));
+			}
+			for (Future<?> future : futureList) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+		return doneCount.get();
+	}
+
+	/**
+	 * 問題別の試験問題分析を取得
+	 *
+	 * @param examId
+	 * @return 試験問題分析DTOリスト（未分析の場合は空）
+	 */
+	public List<ExamQuestionAnalysisDto> getQuestionAnalysis(Integer examId) {
+		List<ExamQuestionAnalysisDto> examQuestionAnalysisDtoList = tExamQuestionAnalysisMapper
+				.findQuestionAnalysis(examId);
+		for (ExamQuestionAnalysisDto examQuestionAnalysisDto : examQuestionAnalysisDtoList) {
+			examQuestionAnalysisDto.setEvaluation(evaluate(examQuestionAnalysisDto));
+		}
+		return examQuestionAnalysisDtoList;
+	}
+
+	/**
+	 * ジャンル別の習熟度を取得
+	 *
+	 * @param examId
+	 * @return ジャンル別習熟度DTOリスト（未分析の場合は空）
+	 */
+	public List<ExamGenreAnalysisDto> getGenreAnalysis(Integer examId) {
+		return tExamQuestionAnalysisMapper.findGenreAnalysis(examId);
+	}
+
+	/**
+	 * 問題の評価を作成
+	 *
+	 * @param examQuestionAnalysisDto
+	 * @return 評価（問題が無い場合はnull）
+	 */
+	private String evaluate(ExamQuestionAnalysisDto examQuestionAnalysisDto) {
+		List<String> evaluationList = new ArrayList<>();
+		Double correctRate = examQuestionAnalysisDto.getCorrectRate();
+		if (correctRate != null && correctRate >= EASY_CORRECT_RATE) {
+			evaluationList.add(messageUtil.getMessage("examAnalysis.easy"));
+		}
+		if (correctRate != null && correctRate <= HARD_CORRECT_RATE) {
+			evaluationList.add(messageUtil.getMessage("examAnalysis.hard"));
+		}
+		Double discrimination = examQuestionAnalysisDto.getDiscrimination();
+		if (discrimination != null && discrimination < LOW_DISCRIMINATION) {
+			evaluationList.add(messageUtil.getMessage("examAnalysis.lowDiscrimination"));
+		}
+		if (getMaxDistractorCount(examQuestionAnalysisDto) > examQuestionAnalysisDto
+				.getCorrectCount()) {
+			evaluationList.add(messageUtil.getMessage("examAnalysis.distractor"));
+		}
+		return evaluationList.isEmpty() ? null : String.join("、", evaluationList);
+	}
+
+	/**
+	 * 正答以外の選択肢の最大選択件数を取得
+	 */
+	private int getMaxDistractorCount(ExamQuestionAnalysisDto examQuestionAnalysisDto) {
+		Integer[] choiceCounts = { examQuestionAnalysisDto.getChoice1Count(),
+				examQuestionAnalysisDto.getChoice2Count(), examQuestionAnalysisDto.getChoice3Count(),
+				examQuestionAnalysisDto.getChoice4Count() };
+		Short answerNum = examQuestionAnalysisDto.getAnswerNum();
+		int max = 0;
+		for (int i = 0; i < choiceCounts.length; i++) {
+			if (answerNum != null && answerNum == i + 1 || choiceCounts[i] == null) {
+				continue;
+			}
+			max = Math.max(max, choiceCounts[i]);
+		}
+		return max;
+	}
+
+}
@@ -0,0 +1,186 @@
+package jp.co.sss.lms.service;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jp.co.sss.lms.dto.ExamQuestionDto;
+import jp.co.sss.lms.mapper.MExamMapper;
+import jp.co.sss.lms.util.CacheStats;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.ExamDefinition;
+
+/**
+ * 試験定義サービス<br>
+ * 試験毎の問題・選択肢・正答を読み取り専用の試験定義としてメモリ上に保持する。<br>
+ * 保持している定義は一定間隔で試験・問題のバージョン（最終更新日時・問題数）のみを照会し、
+ * 変更されている場合に再読込する。また、公開日時が近い試験の定義を事前に読み込み、
+ * 一斉に受験を開始した際にマスタを参照しないようにする。<br>
+ * 試験・問題は本システムの外（管理ツール・SQL）で変更されるため、変更の通知は受けず、
+ * バージョンの照会のみで検知する（変更の反映は最大で照会間隔分遅れる）。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class ExamDefinitionService {
+
+	@Autowired
+	private MExamMapper mExamMapper;
+	@Autowired
+	private Clock clock;
+
+	/** バージョンを照会する間隔（分） */
+	@Value("${setting.exam.definition.check.minute}")
+	private long checkMinute;
+	/** 公開日時の何分前から事前に読み込むか */
+	@Value("${setting.exam.definition.prewarm.minute}")
+	private long prewarmMinute;
+	/** 事前読込の実行間隔（分、0の場合は事前読込しない） */
+	@Value("${setting.exam.definition.prewarm.interval.minute}")
+	private long prewarmIntervalMinute;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/** 試験ID→保持している試験定義 */
+	private final ConcurrentMap<Integer, Entry> definitionMap = new ConcurrentHashMap<>();
+	/** キャッシュのヒット率 */
+	private final CacheStats cacheStats = new CacheStats();
+	/** 事前読込のスレッド */
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * 事前読込を開始
+	 */
+	@PostConstruct
+	public void init() {
+		if (prewarmIntervalMinute <= 0) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "exam-definition-prewarm");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::prewarm, 0, prewarmIntervalMinute,
+				TimeUnit.MINUTES);
+	}
+
+	/**
+	 * 事前読込を停止
+	 */
+	@PreDestroy
+	public void destroy() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	/**
+	 * 試験定義を取得
+	 *
+	 * @param examId 試験ID
+	 * @return 試験定義（試験が存在しない場合はnull）
+	 */
+	public ExamDefinition getExamDefinition(Integer examId) {
+		if (examId == null) {
+			return null;
+		}
+		Entry entry = definitionMap.get(examId);
+		if (entry != null && entry.checkedMillis + checkMinute * 60_000L > clock.millis()) {
+			cacheStats.hit();
+			return entry.examDefinition;
+		}
+		// 未読込・照会間隔の経過時のみバージョンを照会（同一試験の同時照会は1回にまとめる）
+		Entry current = definitionMap.compute(examId, (key, value) -> {
+			if (value != null && value.checkedMillis + checkMinute * 60_000L > clock.millis()) {
+				return value;
+			}
+			return load(key, value);
+		});
+		return current == null ? null : current.examDefinition;
+	}
+
+	/**
+	 * 公開日時が近い試験の試験定義を読込
+	 */
+	public void prewarm() {
+		try {
+			long now = clock.millis();
+			List<Integer> examIdList = mExamMapper.findExamIdByPublicDate(new Date(now),
+					new Date(now + prewarmMinute * 60_000L), Constants.DB_FLG_FALSE);
+			for (Integer examId : examIdList) {
+				getExamDefinition(examId);
+			}
+			if (!examIdList.isEmpty()) {
+				logger.info("試験定義を事前に読み込みました：試験ID={}", examIdList);
+			}
+		} catch (RuntimeException e) {
+			// 次回の実行を止めないよう、例外はログ出力のみとする
+			logger.warn("試験定義の事前読込に失敗しました", e);
+		}
+	}
+
+	/**
+	 * キャッシュのヒット率を取得
+	 *
+	 * @return キャッシュのヒット率
+	 */
+	public CacheStats getCacheStats() {
+		return cacheStats;
+	}
+
+	/**
+	 * バージョンを照会し、変更されている場合のみ試験定義を読込
+	 *
+	 * @param examId  試験ID
+	 * @param current 保持している試験定義（未読込の場合はnull）
+	 * @return 試験定義（試験が存在しない場合はnull）
+	 */
+	private Entry load(Integer examId, Entry current) {
+		long now = clock.millis();
+		// 定義より先にバージョンを取得し、間に変更された場合は次回の照会で再読込する
+		String version = mExamMapper.getExamVersion(examId, Constants.DB_FLG_FALSE);
+		if (current != null && current.examDefinition.getVersion().equals(version)) {
+			cacheStats.hit();
+			return new Entry(current.examDefinition, now);
+		}
+		cacheStats.miss();
+		ExamQuestionDto examQuestionDto = mExamMapper.getExamQuestion(examId,
+				Constants.DB_FLG_FALSE);
+		if (examQuestionDto == null) {
+			return null;
+		}
+		return new Entry(ExamDefinition.of(examQuestionDto, version), now);
+	}
+
+	/**
+	 * 保持している試験定義
+	 */
+	private static final class Entry {
+
+		/** 試験定義 */
+		private final ExamDefinition examDefinition;
+		/** バージョンの照会日時（ミリ秒） */
+		private final long checkedMillis;
+
+		private Entry(ExamDefinition examDefinition, long checkedMillis) {
+			this.examDefinition = examDefinition;
+			this.checkedMillis = checkedMillis;
+		}
+
+	}
+
+}
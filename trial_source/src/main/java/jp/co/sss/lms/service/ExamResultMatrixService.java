@@ -0,0 +1,251 @@
+package jp.co.sss.lms.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jp.co.sss.lms.dto.ExamResultMatrixColumnDto;
+import jp.co.sss.lms.dto.ExamResultMatrixRowDto;
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.dto.WorkbookDto;
+import jp.co.sss.lms.mapper.TExamResultMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.DateUtil;
+import jp.co.sss.lms.util.ExamResultMatrix;
+import jp.co.sss.lms.util.ExcelUtil;
+
+/**
+ * コース試験結果一覧サービス<br>
+ * コースの受講生×試験の初回・最高・最新の試験結果を、受講生のページ単位で一括取得する。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class ExamResultMatrixService {
+
+	/** 画面に表示する受講生数 */
+	public static final int PAGE_SIZE = 50;
+	/** ダウンロード時に1回で取得する受講生数 */
+	private static final int DOWNLOAD_CHUNK_SIZE = 500;
+	/** Excelダウンロード時にメモリ上に保持する行数 */
+	private static final int WORKBOOK_WINDOW_SIZE = 100;
+	/** ダウンロードファイルの文字コード */
+	private static final Charset DOWNLOAD_CHARSET = Charset.forName("Windows-31J");
+	/** ダウンロードする結果の種類 */
+	private static final int[] KINDS = { ExamResultMatrix.FIRST, ExamResultMatrix.BEST,
+			ExamResultMatrix.LATEST };
+	/** 結果の種類の見出し */
+	private static final String[] KIND_NAMES = { "初回", "最高", "最新" };
+
+	@Autowired
+	private TExamResultMapper tExamResultMapper;
+	@Autowired
+	private DateUtil dateUtil;
+	@Autowired
+	private LoginUserDto loginUserDto;
+
+	/**
+	 * コース試験結果一覧を取得
+	 *
+	 * @param courseId      コースID
+	 * @param lastLmsUserId 前ページの最後のLMSユーザーID（nullの場合は先頭から）
+	 * @return コース試験結果一覧
+	 */
+	public ExamResultMatrix getExamResultMatrix(Integer courseId, Integer lastLmsUserId) {
+		List<ExamResultMatrixColumnDto> columnList = tExamResultMapper
+				.findExamResultMatrixColumn(courseId, Constants.DB_FLG_FALSE);
+		return findExamResultMatrix(courseId, columnList, lastLmsUserId, PAGE_SIZE);
+	}
+
+	/**
+	 * コース試験結果一覧のダウンロード（CSV）<br>
+	 * 受講生を一定数ずつ取得して書き出すため、受講生数によらずメモリ使用量は一定となる。
+	 *
+	 * @param courseId コースID
+	 * @param response
+	 * @throws IOException
+	 */
+	public void downloadCsv(Integer courseId, HttpServletResponse response) throws IOException {
+		List<ExamResultMatrixColumnDto> columnList = tExamResultMapper
+				.findExamResultMatrixColumn(courseId, Constants.DB_FLG_FALSE);
+
+		String fileName = getFileName("csv");
+		String fileNameSjis = new String(fileName.getBytes("Shift_JIS"), "ISO-8859-1");
+		String fileNameUtf8 = URLEncoder.encode(fileName, "UTF-8").replace("+", "%20");
+		response.setContentType("text/csv; charset=Windows-31J");
+		response.setHeader("Content-Disposition",
+				"attachment;filename=" + fileNameSjis + ";filename*=utf-8''" + fileNameUtf8);
+
+		try (Writer writer = new BufferedWriter(
+				new OutputStreamWriter(response.getOutputStream(), DOWNLOAD_CHARSET))) {
+			// 見出し行
+			List<String> headerList = getHeaderList(columnList);
+			for (int i = 0; i < headerList.size(); i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				writer.write(toCsvValue(headerList.get(i)));
+			}
+			writer.write("\r\n");
+
+			Integer lastLmsUserId = null;
+			ExamResultMatrix examResultMatrix;
+			do {
+				examResultMatrix = findExamResultMatrix(courseId, columnList, lastLmsUserId,
+						DOWNLOAD_CHUNK_SIZE);
+				for (int s = 0; s < examResultMatrix.getStudentCount(); s++) {
+					writer.write(toCsvValue(examResultMatrix.getUserName(s)));
+					for (int e = 0; e < examResultMatrix.getExamCount(); e++) {
+						for (int kind : KINDS) {
+							writer.write(',');
+							writer.write(examResultMatrix.getDispPoint(s, e, kind));
+							writer.write(',');
+							writer.write(examResultMatrix.getDispTime(s, e, kind));
+						}
+						writer.write(',');
+						writer.write(String.valueOf(examResultMatrix.getResultCount(s, e)));
+					}
+					writer.write("\r\n");
+				}
+				lastLmsUserId = examResultMatrix.getLastLmsUserId();
+			} while (examResultMatrix.getStudentCount() == DOWNLOAD_CHUNK_SIZE);
+		}
+	}
+
+	/**
+	 * コース試験結果一覧のダウンロード（Excel）<br>
+	 * ストリーミング形式のワークブックで一定行数ずつ一時ファイルに書き出すため、
+	 * 受講生数によらずメモリ使用量は一定となる。
+	 *
+	 * @param courseId コースID
+	 * @param response
+	 * @throws IOException
+	 */
+	public void downloadExcel(Integer courseId, HttpServletResponse response) throws IOException {
+		List<ExamResultMatrixColumnDto> columnList = tExamResultMapper
+				.findExamResultMatrixColumn(courseId, Constants.DB_FLG_FALSE);
+
+		SXSSFWorkbook workbook = new SXSSFWorkbook(WORKBOOK_WINDOW_SIZE);
+		try {
+			Sheet sheet = workbook.createSheet("試験結果一覧");
+			// 見出し行
+			List<String> headerList = getHeaderList(columnList);
+			Row headerRow = sheet.createRow(0);
+			for (int i = 0; i < headerList.size(); i++) {
+				headerRow.createCell(i).setCellValue(headerList.get(i));
+			}
+
+			int rowNum = 1;
+			Integer lastLmsUserId = null;
+			ExamResultMatrix examResultMatrix;
+			do {
+				examResultMatrix = findExamResultMatrix(courseId, columnList, lastLmsUserId,
+						DOWNLOAD_CHUNK_SIZE);
+				for (int s = 0; s < examResultMatrix.getStudentCount(); s++) {
+					Row row = sheet.createRow(rowNum++);
+					int cellNum = 0;
+					row.createCell(cellNum++).setCellValue(examResultMatrix.getUserName(s));
+					for (int e = 0; e < examResultMatrix.getExamCount(); e++) {
+						for (int kind : KINDS) {
+							BigDecimal point = examResultMatrix.getPoint(s, e, kind);
+							if (point != null) {
+								row.createCell(cellNum).setCellValue(point.doubleValue());
+								row.createCell(cellNum + 1)
+										.setCellValue(examResultMatrix.getDispTime(s, e, kind));
+							}
+							cellNum += 2;
+						}
+						row.createCell(cellNum++)
+								.setCellValue(examResultMatrix.getResultCount(s, e));
+					}
+				}
+				lastLmsUserId = examResultMatrix.getLastLmsUserId();
+			} while (examResultMatrix.getStudentCount() == DOWNLOAD_CHUNK_SIZE);
+
+			WorkbookDto workbookDto = new WorkbookDto();
+			workbookDto.setWb(workbook);
+			workbookDto.setWbName(getFileName("xlsx"));
+			ExcelUtil.downloadBook(workbookDto, response);
+		} finally {
+			// 一時ファイルを削除
+			workbook.dispose();
+		}
+	}
+
+	/**
+	 * 受講生を指定数取得し、試験結果を受講生×試験に展開
+	 *
+	 * @param courseId      コースID
+	 * @param columnList    試験・セクション紐付け
+	 * @param lastLmsUserId 前ページの最後のLMSユーザーID
+	 * @param limit         受講生数
+	 * @return コース試験結果一覧
+	 */
+	private ExamResultMatrix findExamResultMatrix(Integer courseId,
+			List<ExamResultMatrixColumnDto> columnList, Integer lastLmsUserId, int limit) {
+		// 企業担当者は自社の受講生のみ
+		Integer companyId = Constants.CODE_VAL_ROLL_COMPANY.equals(loginUserDto.getRole())
+				? loginUserDto.getCompanyId()
+				: null;
+		List<ExamResultMatrixRowDto> rowList = tExamResultMapper.findExamResultMatrix(courseId,
+				companyId, lastLmsUserId, limit, Constants.CODE_VAL_ROLL_STUDENT,
+				Constants.DB_FLG_FALSE);
+		return ExamResultMatrix.of(columnList, rowList);
+	}
+
+	/**
+	 * ダウンロードファイルの見出しを取得
+	 *
+	 * @param columnList
+	 * @return ユーザー名と、試験毎の初回・最高・最新の点数・所要時間、受験回数
+	 */
+	private List<String> getHeaderList(List<ExamResultMatrixColumnDto> columnList) {
+		List<String> headerList = new ArrayList<>();
+		headerList.add("ユーザー名");
+		for (ExamResultMatrixColumnDto column : columnList) {
+			for (String kindName : KIND_NAMES) {
+				headerList.add(column.getExamName() + " " + kindName + "点数");
+				headerList.add(column.getExamName() + " " + kindName + "時間");
+			}
+			headerList.add(column.getExamName() + " 受験回数");
+		}
+		return headerList;
+	}
+
+	/**
+	 * ダウンロードファイル名を取得
+	 *
+	 * @param extension 拡張子
+	 * @return ファイル名
+	 */
+	private String getFileName(String extension) {
+		return "試験結果一覧_" + dateUtil.getCurrentDateString("yyyyMMdd") + "." + extension;
+	}
+
+	/**
+	 * CSVの項目値に変換
+	 *
+	 * @param value
+	 * @return ダブルクォートで囲んだ値
+	 */
+	private String toCsvValue(String value) {
+		if (value == null) {
+			return "\"\"";
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+}
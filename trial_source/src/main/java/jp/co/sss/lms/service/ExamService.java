@@ -1,27 +1,26 @@
 package jp.co.sss.lms.service;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import jp.co.sss.lms.dto.ExamDetailDto;
-import jp.co.sss.lms.dto.ExamQuestionDto;
 import jp.co.sss.lms.dto.ExamResultDetailDto;
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.dto.QuestionDto;
-import jp.co.sss.lms.entity.MQuestion;
 import jp.co.sss.lms.entity.TExamResult;
 import jp.co.sss.lms.entity.TExamResultDetail;
 import jp.co.sss.lms.form.ExamQuestionForm;
-import jp.co.sss.lms.mapper.MExamMapper;
-import jp.co.sss.lms.mapper.MQuestionMapper;
 import jp.co.sss.lms.mapper.TExamResultDetailMapper;
 import jp.co.sss.lms.mapper.TExamResultMapper;
 import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.ExamDefinition;
+import jp.co.sss.lms.util.ExamStatistics;
 
 /**
  * 試験情報サービス
@@ -34,11 +33,11 @@ public class ExamService {
 	@Autowired
 	private TExamResultMapper tExamResultMapper;
 	@Autowired
-	private MExamMapper mExamMapper;
-	@Autowired
 	private TExamResultDetailMapper tExamResultDetailMapper;
 	@Autowired
-	private MQuestionMapper mQuestionMapper;
+	private ExamDefinitionService examDefinitionService;
+	@Autowired
+	private ExamStatisticsService examStatisticsService;
 	@Autowired
 	private LoginUserDto loginUserDto;
 
@@ -55,6 +54,18 @@ public class ExamService {
 		ExamDetailDto examDetailDto = tExamResultMapper.getExamDetailDto(examSectionId, lmsUserId,
 				Constants.DB_FLG_FALSE);
 
+		// 試験統計から受験者数・平均点・中央値を設定
+		if (examDetailDto != null) {
+			ExamStatistics examStatistics = examStatisticsService
+					.getExamStatistics(examSectionId);
+			Integer median = examStatistics.getScoreAtPercentile(50);
+			examDetailDto.setResultCount(examStatistics.getCount());
+			examDetailDto.setAvgScore(
+					toPoint(examStatistics.getAverage(), examDetailDto.getNumOfQuestion()));
+			examDetailDto.setMedianScore(toPoint(median == null ? null : median.doubleValue(),
+					examDetailDto.getNumOfQuestion()));
+		}
+
 		return examDetailDto;
 	}
 
@@ -79,6 +90,8 @@ public class ExamService {
 			answerList.add(questionDto.getChoice4());
 			questionDto.setAnswerList(answerList);
 		}
+		// 試験統計から平均点・偏差値・順位を設定
+		setStatistics(examResultDetailDto);
 
 		return examResultDetailDto;
 
@@ -88,27 +101,25 @@ public class ExamService {
 	 * 試験問題画面フォームの設定
 	 * 
 	 * @param examQuestionForm
+	 * @return 設定できた場合true（試験が存在しない・削除された場合false）
 	 */
-	public void setExamQuestionForm(ExamQuestionForm examQuestionForm) {
-		// 試験問題情報を取得
-		ExamQuestionDto examQuestionDto = mExamMapper.getExamQuestion(examQuestionForm.getExamId(),
-				Constants.DB_FLG_FALSE);
-		BeanUtils.copyProperties(examQuestionDto, examQuestionForm);
-		// 試験問題情報を基に試験問題DTO．問題DTOリスト．回答リストを設定
-		for (QuestionDto questionDto : examQuestionForm.getQuestionDtoList()) {
-			List<String> answerList = new LinkedList<>();
-			answerList.add(questionDto.getChoice1());
-			answerList.add(questionDto.getChoice2());
-			answerList.add(questionDto.getChoice3());
-			answerList.add(questionDto.getChoice4());
-			questionDto.setAnswerList(answerList);
+	public boolean setExamQuestionForm(ExamQuestionForm examQuestionForm) {
+		// 試験定義（メモリ上に保持）から試験問題情報を設定
+		ExamDefinition examDefinition = examDefinitionService
+				.getExamDefinition(examQuestionForm.getExamId());
+		if (examDefinition == null) {
+			return false;
 		}
+		examQuestionForm.setExamId(examDefinition.getExamId());
+		examQuestionForm.setExamName(examDefinition.getExamName());
+		examQuestionForm.setLimitTime(examDefinition.getLimitTime());
+		examQuestionForm.setQuestionDtoList(examDefinition.toQuestionDtoList());
 		// 経過時間の初期化
 		if (examQuestionForm.getTime() == null) {
 			examQuestionForm.setTime(0);
 		}
 		// 回答の再設定
-		int questionCount = examQuestionDto.getQuestionDtoList().size();
+		int questionCount = examDefinition.getQuestionCount();
 		Short[] answerArray = new Short[questionCount];
 		Short[] userAnswer = examQuestionForm.getAnswer();
 		if (userAnswer != null) {
@@ -117,19 +128,28 @@ public class ExamService {
 			}
 		}
 		examQuestionForm.setAnswer(answerArray);
+		return true;
 	}
 
 	/**
-	 * 試験結果登録
+	 * 試験結果登録<br>
+	 * 試験結果と全問分の試験結果詳細を1トランザクションで登録し、結果画面の表示内容を
+	 * 登録した値と試験定義から作成する（登録後の再取得は行わない）。
 	 * 
 	 * @param examQuestionForm
-	 * @return examResultId
+	 * @return 試験結果詳細DTO（試験が存在しない・削除された場合null）
 	 */
-	public Integer insert(ExamQuestionForm examQuestionForm) {
-
-		// 試験IDに紐づく試験問題リストを取得
-		List<MQuestion> mQuestionList = mQuestionMapper.findByExamId(examQuestionForm.getExamId(),
-				Constants.DB_FLG_FALSE);
+	@Transactional
+	public ExamResultDetailDto insert(ExamQuestionForm examQuestionForm) {
+
+		// 試験IDに紐づく試験定義を取得
+		ExamDefinition examDefinition = examDefinitionService
+				.getExamDefinition(examQuestionForm.getExamId());
+		if (examDefinition == null) {
+			return null;
+		}
+		List<ExamDefinition.Question> questionList = examDefinition.getQuestionList();
+		Short[] answerArray = examQuestionForm.getAnswer();
 
 		// 現在日時情報
 		Date now = new Date();
@@ -138,28 +158,13 @@ public class ExamService {
 		TExamResult tExamResult = new TExamResult();
 
 		// 得点設定
-		Short score = 0;
-		Short[] answerArray = examQuestionForm.getAnswer();
-		for (int i = 0; i < answerArray.length; i++) {
-			if (answerArray[i] != null && answerArray[i] == mQuestionList.get(i).getAnswerNum()) {
-				score++;
-			}
-		}
+		Short score = examDefinition.score(answerArray);
 
-		// 試験結果件数取得
-		Integer examCount = tExamResultMapper.getExamCount(examQuestionForm.getExamSectionId(),
-				loginUserDto.getLmsUserId(), Constants.DB_FLG_FALSE);
-
-		// 試験結果の設定
+		// 試験結果の設定（採点対象フラグは登録時に初回受験かどうかで設定）
 		tExamResult.setExamSectionId(examQuestionForm.getExamSectionId());
 		tExamResult.setLmsUserId(loginUserDto.getLmsUserId());
 		tExamResult.setScore(score);
 		tExamResult.setTime(examQuestionForm.getTime());
-		if (examCount == 0) {
-			tExamResult.setMarkFlg(Constants.DB_FLG_TRUE);
-		} else {
-			tExamResult.setMarkFlg(Constants.DB_FLG_FALSE);
-		}
 		tExamResult.setAccountId(loginUserDto.getAccountId());
 		tExamResult.setDeleteFlg(Constants.DB_FLG_FALSE);
 		tExamResult.setFirstCreateUser(loginUserDto.getLmsUserId());
@@ -168,33 +173,80 @@ public class ExamService {
 		tExamResult.setLastModifiedDate(now);
 
 		// 試験結果へ登録
-		tExamResultMapper.insert(tExamResult);
+		TExamResult inserted = tExamResultMapper.insertWithMarkFlg(tExamResult);
+		tExamResult.setExamResultId(inserted.getExamResultId());
+		tExamResult.setMarkFlg(inserted.getMarkFlg());
+		// 採点対象（初回受験）の場合は試験統計に加算
+		if (tExamResult.getMarkFlg() == Constants.DB_FLG_TRUE) {
+			examStatisticsService.add(tExamResult.getExamSectionId(), score);
+		}
 
-		// 試験結果詳細登録
-		for (int j = 0; j < mQuestionList.size(); j++) {
-			// 試験結果詳細を生成
+		// 試験結果詳細を生成
+		List<TExamResultDetail> tExamResultDetailList = new ArrayList<>(questionList.size());
+		for (int j = 0; j < questionList.size(); j++) {
 			TExamResultDetail tExamResultDetail = new TExamResultDetail();
 			tExamResultDetail.setExamResultId(tExamResult.getExamResultId());
 			tExamResultDetail.setLmsUserId(loginUserDto.getLmsUserId());
-			tExamResultDetail.setQuestionId(mQuestionList.get(j).getQuestionId());
-			Short reply = 0;
-			try {
-				reply = examQuestionForm.getAnswer()[j];
-			} catch (Exception e) {
-				reply = 0;
-			}
-			tExamResultDetail.setReply(reply);
+			tExamResultDetail.setQuestionId(questionList.get(j).getQuestionId());
+			tExamResultDetail.setReply(ExamDefinition.getReply(answerArray, j));
 			tExamResultDetail.setAccountId(loginUserDto.getAccountId());
 			tExamResultDetail.setDeleteFlg(Constants.DB_FLG_FALSE);
 			tExamResultDetail.setFirstCreateUser(loginUserDto.getLmsUserId());
 			tExamResultDetail.setFirstCreateDate(now);
 			tExamResultDetail.setLastModifiedUser(loginUserDto.getLmsUserId());
 			tExamResultDetail.setLastModifiedDate(now);
-			// 試験結果詳細へ登録
-			tExamResultDetailMapper.insert(tExamResultDetail);
+			tExamResultDetailList.add(tExamResultDetail);
+		}
+		// 試験結果詳細へ一括登録
+		if (!tExamResultDetailList.isEmpty()) {
+			tExamResultDetailMapper.bulkInsert(tExamResultDetailList);
+		}
+
+		// 結果画面の表示内容を設定
+		ExamResultDetailDto examResultDetailDto = new ExamResultDetailDto();
+		examResultDetailDto.setExamResultId(tExamResult.getExamResultId());
+		examResultDetailDto.setExamSectionId(tExamResult.getExamSectionId());
+		examResultDetailDto.setExamName(examDefinition.getExamName());
+		examResultDetailDto.setScore(score.intValue());
+		examResultDetailDto.setNumOfQuestion(examDefinition.getQuestionCount());
+		examResultDetailDto.setPoint(examDefinition.getPoint(score));
+		examResultDetailDto.setLmsUserId(loginUserDto.getLmsUserId());
+		examResultDetailDto.setUserName(loginUserDto.getUserName());
+		examResultDetailDto.setQuestionDtoList(examDefinition.toResultQuestionDtoList(answerArray));
+		setStatistics(examResultDetailDto);
+		return examResultDetailDto;
+	}
+
+	/**
+	 * 試験統計から平均点・偏差値・順位を設定
+	 * 
+	 * @param examResultDetailDto
+	 */
+	private void setStatistics(ExamResultDetailDto examResultDetailDto) {
+		if (examResultDetailDto.getScore() == null) {
+			return;
 		}
+		ExamStatistics examStatistics = examStatisticsService
+				.getExamStatistics(examResultDetailDto.getExamSectionId());
+		int score = examResultDetailDto.getScore();
+		examResultDetailDto.setAvgPoint(
+				toPoint(examStatistics.getAverage(), examResultDetailDto.getNumOfQuestion()));
+		examResultDetailDto.setDeviationValue(examStatistics.getDeviationValue(score));
+		examResultDetailDto.setTopPercent(examStatistics.getTopPercent(score));
+	}
 
-		return tExamResult.getExamResultId();
+	/**
+	 * 得点（正答数）を点数（100点満点）に換算
+	 * 
+	 * @param score
+	 * @param numOfQuestion
+	 * @return 点数（得点がnull・問題が無い場合はnull）
+	 */
+	private Double toPoint(Double score, Integer numOfQuestion) {
+		if (score == null || numOfQuestion == null || numOfQuestion == 0) {
+			return null;
+		}
+		return score * 100 / numOfQuestion;
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package jp.co.sss.lms.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jp.co.sss.lms.mapper.TExamStatisticsMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.ExamStatistics;
+
+/**
+ * 試験統計サービス<br>
+ * 試験・セクション紐付け単位の採点対象（初回受験）の得点の集計を、試験結果の登録に合わせて最新に保つ。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class ExamStatisticsService {
+
+	/** 再作成時に1トランザクションで処理する試験・セクション紐付け数 */
+	private static final int REBUILD_CHUNK_SIZE = 100;
+
+	@Autowired
+	private TExamStatisticsMapper tExamStatisticsMapper;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/**
+	 * 採点対象の試験結果を集計に加算<br>
+	 * 試験結果の登録と同一トランザクション内で呼び出すこと。
+	 *
+	 * @param examSectionId
+	 * @param score         得点
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void add(Integer examSectionId, Short score) {
+		tExamStatisticsMapper.add(examSectionId, score, new Date());
+	}
+
+	/**
+	 * 試験統計を取得
+	 *
+	 * @param examSectionId
+	 * @return 試験統計（試験結果が無い場合は空の統計）
+	 */
+	public ExamStatistics getExamStatistics(Integer examSectionId) {
+		return ExamStatistics.of(tExamStatisticsMapper.findByExamSectionId(examSectionId));
+	}
+
+	/**
+	 * 試験統計を全件再作成<br>
+	 * 試験・セクション紐付けを一定数ずつに分割し、CPU数のスレッドで並列に再集計する。
+	 *
+	 * @return 再作成した試験・セクション紐付け数
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public int rebuild() throws InterruptedException, ExecutionException {
+		int threadCount = Runtime.getRuntime().availableProcessors();
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		AtomicInteger doneCount = new AtomicInteger();
+		long startMillis = System.currentTimeMillis();
+		try {
+			List<Future<?>> futureList = new ArrayList<>();
+			Integer lastExamSectionId = null;
+			List<Integer> examSectionIdList;
+			do {
+				examSectionIdList = tExamStatisticsMapper.findMarkedExamSectionId(
+						lastExamSectionId, REBUILD_CHUNK_SIZE, Constants.DB_FLG_FALSE);
+				if (examSectionIdList.isEmpty()) {
+					break;
+				}
+				List<Integer> chunk = examSectionIdList;
+				futureList.add(executorService.submit(() -> {
+					rebuild(chunk);
+					logger.info("試験統計再作成：完了件数={}, 経過={}ms",
+							doneCount.addAndGet(chunk.size()),
+							System.currentTimeMillis() - startMillis);
+				}));
+				lastExamSectionId = examSectionIdList.get(examSectionIdList.size() - 1);
+			} while (examSectionIdList.size() == REBUILD_CHUNK_SIZE);
+			for (Future<?> future : futureList) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+		return doneCount.get();
+	}
+
+	/**
+	 * 指定した試験・セクション紐付けの試験統計を再作成
+	 *
+	 * @param examSectionIdList
+	 */
+	private void rebuild(List<Integer> examSectionIdList) {
+		transactionTemplate.executeWithoutResult(status -> {
+			tExamStatisticsMapper.deleteByExamSectionIdList(examSectionIdList);
+			tExamStatisticsMapper.insertByExamSectionIdList(examSectionIdList, new Date(),
+					Constants.DB_FLG_FALSE);
+		});
+	}
+
+}
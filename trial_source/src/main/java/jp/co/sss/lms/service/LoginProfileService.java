@@ -0,0 +1,203 @@
+package jp.co.sss.lms.service;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jp.co.sss.lms.entity.LoginUser;
+import jp.co.sss.lms.event.LoginUserChangedEvent;
+import jp.co.sss.lms.mapper.LoginMapper;
+import jp.co.sss.lms.util.CacheStats;
+import jp.co.sss.lms.util.Constants;
+
+/**
+ * ログイン詳細サービス<br>
+ * ユーザー・LMSユーザー・企業・会場・コースを結合したログイン詳細を、LMSユーザーID毎に
+ * 件数上限付き（最も長く参照されていないものから破棄）で保持する。<br>
+ * ログイン情報の変更イベント（ユーザー情報・パスワードの変更、パスワード再設定の受付）で該当ユーザーを破棄する。<br>
+ * 企業・会場・コースは本アプリケーションでは更新しない（マスタ管理は別システム）ため、有効期間でのみ反映する。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class LoginProfileService {
+
+	@Autowired
+	private LoginMapper loginMapper;
+	@Autowired
+	private Clock clock;
+
+	/** 保持する件数の上限 */
+	@Value("${setting.login.profile.max}")
+	private int maxSize;
+	/** 有効期間（分） */
+	@Value("${setting.login.profile.minute}")
+	private long expireMinute;
+
+	/** LMSユーザーID→ログイン詳細（参照順） */
+	private final LinkedHashMap<Integer, Entry> profileMap = new LinkedHashMap<>(16, 0.75f,
+			true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+			if (size() > maxSize) {
+				userIdMap.remove(eldest.getValue().loginUser.getUserId());
+				return true;
+			}
+			return false;
+		}
+
+	};
+	/** ユーザーID→LMSユーザーID */
+	private final Map<Integer, Integer> userIdMap = new HashMap<>();
+	/** キャッシュのヒット率 */
+	private final CacheStats cacheStats = new CacheStats();
+
+	/**
+	 * ログイン詳細取得（LMSユーザーID）
+	 *
+	 * @param lmsUserId LMSユーザーID
+	 * @return ログイン詳細（存在しない場合はnull）
+	 */
+	public LoginUser getByLmsUserId(Integer lmsUserId) {
+		LoginUser loginUser = find(lmsUserId);
+		if (loginUser == null) {
+			loginUser = put(loginMapper.getLoginDetailByLmsUserId(lmsUserId,
+					Constants.DB_FLG_FALSE));
+		}
+		return copy(loginUser);
+	}
+
+	/**
+	 * ログイン詳細取得（ユーザーID）
+	 *
+	 * @param userId ユーザーID
+	 * @return ログイン詳細（存在しない場合はnull）
+	 */
+	public LoginUser getByUserId(Integer userId) {
+		Integer lmsUserId;
+		synchronized (profileMap) {
+			lmsUserId = userIdMap.get(userId);
+		}
+		LoginUser loginUser = lmsUserId == null ? null : find(lmsUserId);
+		if (loginUser == null) {
+			if (lmsUserId == null) {
+				cacheStats.miss();
+			}
+			loginUser = put(loginMapper.getLoginDetailByUserId(userId, Constants.DB_FLG_FALSE));
+		}
+		return copy(loginUser);
+	}
+
+	/**
+	 * ユーザーのログイン詳細を破棄
+	 *
+	 * @param userId ユーザーID
+	 */
+	public void evictByUserId(Integer userId) {
+		synchronized (profileMap) {
+			Integer lmsUserId = userIdMap.remove(userId);
+			if (lmsUserId != null) {
+				profileMap.remove(lmsUserId);
+			}
+		}
+	}
+
+	/**
+	 * ログイン情報の変更時に破棄
+	 *
+	 * @param event ログイン情報変更イベント
+	 */
+	@EventListener
+	public void onLoginUserChanged(LoginUserChangedEvent event) {
+		evictByUserId(event.getUserId());
+	}
+
+	/**
+	 * キャッシュのヒット率を取得
+	 *
+	 * @return キャッシュのヒット率
+	 */
+	public CacheStats getCacheStats() {
+		return cacheStats;
+	}
+
+	/**
+	 * 保持しているログイン詳細を取得（期限切れの場合は破棄）
+	 *
+	 * @param lmsUserId LMSユーザーID
+	 * @return ログイン詳細（未保持・期限切れの場合はnull）
+	 */
+	private LoginUser find(Integer lmsUserId) {
+		synchronized (profileMap) {
+			Entry entry = profileMap.get(lmsUserId);
+			if (entry != null && entry.expireMillis > clock.millis()) {
+				cacheStats.hit();
+				return entry.loginUser;
+			}
+			if (entry != null) {
+				profileMap.remove(lmsUserId);
+				userIdMap.remove(entry.loginUser.getUserId());
+			}
+		}
+		cacheStats.miss();
+		return null;
+	}
+
+	/**
+	 * ログイン詳細を保持
+	 *
+	 * @param loginUser 取得したログイン詳細
+	 * @return 引数のログイン詳細
+	 */
+	private LoginUser put(LoginUser loginUser) {
+		if (loginUser == null || loginUser.getLmsUserId() == null) {
+			return loginUser;
+		}
+		Entry entry = new Entry(loginUser, clock.millis() + expireMinute * 60_000L);
+		synchronized (profileMap) {
+			profileMap.put(loginUser.getLmsUserId(), entry);
+			userIdMap.put(loginUser.getUserId(), loginUser.getLmsUserId());
+		}
+		return loginUser;
+	}
+
+	/**
+	 * 呼び出し元で変更されないよう複製
+	 */
+	private LoginUser copy(LoginUser loginUser) {
+		if (loginUser == null) {
+			return null;
+		}
+		LoginUser copy = new LoginUser();
+		BeanUtils.copyProperties(loginUser, copy);
+		return copy;
+	}
+
+	/**
+	 * 保持しているログイン詳細
+	 */
+	private static final class Entry {
+
+		/** ログイン詳細 */
+		private final LoginUser loginUser;
+		/** 有効期限（ミリ秒） */
+		private final long expireMillis;
+
+		private Entry(LoginUser loginUser, long expireMillis) {
+			this.loginUser = loginUser;
+			this.expireMillis = expireMillis;
+		}
+
+	}
+
+}
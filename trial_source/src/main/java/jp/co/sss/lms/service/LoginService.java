@@ -1,9 +1,12 @@
 package jp.co.sss.lms.service;
 
 import java.util.Calendar;
+import java.util.Date;
 
 import jakarta.servlet.http.HttpSession;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,12 +14,12 @@ import org.springframework.stereotype.Service;
 
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.entity.LoginUser;
-import jp.co.sss.lms.mapper.LoginMapper;
+import jp.co.sss.lms.entity.MUser;
+import jp.co.sss.lms.exception.PasswordHashBusyException;
 import jp.co.sss.lms.mapper.MUserMapper;
 import jp.co.sss.lms.util.Constants;
 import jp.co.sss.lms.util.DateUtil;
 import jp.co.sss.lms.util.MessageUtil;
-import jp.co.sss.lms.util.PasswordUtil;
 
 /**
  * ログイン情報サービス
@@ -26,8 +29,6 @@ import jp.co.sss.lms.util.PasswordUtil;
 @Service
 public class LoginService {
 
-	@Autowired
-	private LoginMapper loginMapper;
 	@Autowired
 	private LoginUserDto loginUserDto;
 	@Autowired
@@ -39,13 +40,19 @@ public class LoginService {
 	@Autowired
 	private MUserMapper mUserMapper;
 	@Autowired
-	private PasswordUtil passwordUtil;
+	private PasswordHashService passwordHashService;
+	@Autowired
+	private LoginThrottleService loginThrottleService;
+	@Autowired
+	private LoginProfileService loginProfileService;
 
 	@Value("${setting.lock.minute}")
 	private Integer lockMinute;
 	@Value("${setting.lock.count}")
 	private Integer lockCount;
 
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
 	/**
 	 * ログイン処理
 	 * 
@@ -53,19 +60,34 @@ public class LoginService {
 	 */
 	public String getLoginInfo(String loginId, String password) {
 
-		// salt + ストレッチングしたパスワードを取得
-		String saltPassword = passwordUtil.getSaltedAndStrechedPassword(password, loginId);
-
-		// アカウントロックチェック
+		// ログイン試行回数の制限・アカウントロックチェック（照合・ハッシュ化の前に行う）
+		if (loginThrottleService.isThrottled(loginId)) {
+			return messageUtil.getMessage(Constants.VALID_KEY_LOGIN_LOCK);
+		}
 		if (!checkLockTime()) {
 			return messageUtil.getMessage(Constants.VALID_KEY_LOGIN_LOCK);
 		}
+		// 登録パスワードと照合（登録されていないログインIDもダミーのハッシュと照合する）
+		MUser mUser = mUserMapper.findByLoginId(loginId, Constants.DB_FLG_FALSE);
+		boolean matched;
+		try {
+			if (mUser == null) {
+				matched = passwordHashService.matchesUnknownUser(password, loginId);
+			} else {
+				matched = passwordHashService.matches(password, loginId, mUser.getPassword());
+			}
+		} catch (PasswordHashBusyException e) {
+			return messageUtil.getMessage(Constants.VALID_KEY_LOGIN_BUSY);
+		}
 		// ログイン情報を取得
-		LoginUser loginUser = loginMapper.getLoginDetailByLoginIdAndPassword(loginId, saltPassword,
-				Constants.DB_FLG_FALSE);
+		LoginUser loginUser = null;
+		if (matched) {
+			loginUser = loginProfileService.getByUserId(mUser.getUserId());
+		}
 
 		// ログイン情報を取得できなかった場合
 		if (loginUser == null) {
+			loginThrottleService.recordFailure(loginId);
 			loginUserDto.setPasswordNgCount(loginUserDto.getPasswordNgCount() == null ? 1
 					: loginUserDto.getPasswordNgCount() + 1);
 			if (!checkLockCount()) {
@@ -77,6 +99,9 @@ public class LoginService {
 		} else if (!checkPlaceDisplay(loginUser.getRole(), loginUser.getHiddenFlg())) {
 			return messageUtil.getMessage(Constants.VALID_KEY_LOGIN_PLACENODISPLAY);
 		} else {
+			loginThrottleService.recordSuccess(loginId);
+			// 従来方式・旧パラメータのハッシュを更新
+			rehashPassword(mUser, password);
 			// ログイン情報をセッションに格納
 			BeanUtils.copyProperties(loginUser, loginUserDto);
 			loginUserDto.setPasswordNgCount(0);
@@ -86,6 +111,28 @@ public class LoginService {
 		}
 	}
 
+	/**
+	 * 登録パスワードの再ハッシュ化<br>
+	 * ハッシュ化が混み合っている場合は次回のログインに持ち越す。
+	 * 
+	 * @param mUser    ユーザー
+	 * @param password 照合済みのパスワード
+	 */
+	private void rehashPassword(MUser mUser, String password) {
+		if (!passwordHashService.needsRehash(mUser.getPassword())) {
+			return;
+		}
+		try {
+			mUser.setPassword(passwordHashService.hash(password, mUser.getLoginId()));
+		} catch (PasswordHashBusyException e) {
+			logger.info("パスワードの再ハッシュ化を見送りました：ユーザーID={}", mUser.getUserId());
+			return;
+		}
+		mUser.setLastModifiedUser(mUser.getUserId());
+		mUser.setLastModifiedDate(new Date());
+		mUserMapper.updatePasswordHash(mUser);
+	}
+
 	/**
 	 * ログインしてログインIDを取得
 	 * 
@@ -94,7 +141,7 @@ public class LoginService {
 	 */
 	public String getLoginId(Integer userId) {
 		// ログイン情報を取得
-		LoginUser loginUser = loginMapper.getLoginDetailByUserId(userId, Constants.DB_FLG_FALSE);
+		LoginUser loginUser = loginProfileService.getByUserId(userId);
 		if (loginUser == null) {
 			return "";
 		}
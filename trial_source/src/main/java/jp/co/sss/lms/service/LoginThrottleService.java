@@ -0,0 +1,230 @@
+package jp.co.sss.lms.service;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jp.co.sss.lms.mapper.TLoginFailureMapper;
+import jp.co.sss.lms.util.ClientAddressUtil;
+
+/**
+ * ログイン試行回数制限サービス<br>
+ * ログインID毎・接続元IPアドレス毎に、直近の一定時間内のログイン失敗回数を数え、
+ * 上限に達している場合はパスワードの照合前にログインを拒否する。<br>
+ * 失敗回数はメモリ上で数え、setting.lock.shared=trueの場合はメモリ上ではなくデータベースに記録して
+ * 複数サーバーで共有する（他のサーバーでのログイン成功によるリセットも即時に反映される）。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class LoginThrottleService {
+
+	/** ログインIDのキー接頭辞 */
+	private static final String KEY_LOGIN_ID = "id:";
+	/** IPアドレスのキー接頭辞 */
+	private static final String KEY_ADDRESS = "ip:";
+	/** 期限切れの失敗履歴を削除する失敗回数の間隔 */
+	private static final int SWEEP_INTERVAL = 1000;
+
+	@Autowired
+	private TLoginFailureMapper tLoginFailureMapper;
+	@Autowired
+	private ClientAddressUtil clientAddressUtil;
+	@Autowired
+	private Clock clock;
+
+	/** ログインID毎の失敗回数の上限 */
+	@Value("${setting.lock.count}")
+	private int lockCount;
+	/** 失敗回数を数える期間（分） */
+	@Value("${setting.lock.minute}")
+	private int lockMinute;
+	/** IPアドレス毎の失敗回数の上限 */
+	@Value("${setting.lock.ip.count}")
+	private int ipLockCount;
+	/** 失敗履歴をデータベースで共有するか */
+	@Value("${setting.lock.shared}")
+	private boolean shared;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/** キー→失敗日時（共有しない場合のみ） */
+	private final ConcurrentMap<String, FailureWindow> windowMap = new ConcurrentHashMap<>();
+	/** 失敗回数（期限切れの削除の間隔の判定用） */
+	private final AtomicInteger failureCount = new AtomicInteger();
+	/** 前回、期限切れの失敗履歴を削除した日時（ミリ秒） */
+	private final AtomicLong lastSweepMillis = new AtomicLong();
+	/** ログインIDにより拒否した件数 */
+	private final LongAdder loginIdRejectedCount = new LongAdder();
+	/** IPアドレスにより拒否した件数 */
+	private final LongAdder addressRejectedCount = new LongAdder();
+
+	/**
+	 * ログインを拒否するか判定
+	 *
+	 * @param loginId ログインID
+	 * @return 失敗回数が上限に達している場合true
+	 */
+	public boolean isThrottled(String loginId) {
+		long now = clock.millis();
+		if (isThrottled(KEY_LOGIN_ID + loginId, lockCount, now)) {
+			loginIdRejectedCount.increment();
+			logger.info("ログイン試行回数の上限に達しています：ログインID={}", loginId);
+			return true;
+		}
+		String address = getClientAddress();
+		if (address != null && isThrottled(KEY_ADDRESS + address, ipLockCount, now)) {
+			addressRejectedCount.increment();
+			logger.info("ログイン試行回数の上限に達しています：接続元={}", address);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * ログイン失敗を記録
+	 *
+	 * @param loginId ログインID
+	 */
+	public void recordFailure(String loginId) {
+		long now = clock.millis();
+		recordFailure(KEY_LOGIN_ID + loginId, lockCount, now);
+		String address = getClientAddress();
+		if (address != null) {
+			recordFailure(KEY_ADDRESS + address, ipLockCount, now);
+		}
+		// 失敗回数の間隔、または失敗回数を数える期間毎に1スレッドのみ削除する
+		long lastSweep = lastSweepMillis.get();
+		if ((failureCount.incrementAndGet() % SWEEP_INTERVAL == 0
+				|| now - lastSweep >= lockMinute * 60_000L)
+				&& lastSweepMillis.compareAndSet(lastSweep, now)) {
+			sweep(now);
+		}
+	}
+
+	/**
+	 * ログイン成功を記録（ログインIDの失敗回数をリセット）
+	 *
+	 * @param loginId ログインID
+	 */
+	public void recordSuccess(String loginId) {
+		String key = KEY_LOGIN_ID + loginId;
+		if (shared) {
+			tLoginFailureMapper.deleteByThrottleKey(key);
+			return;
+		}
+		windowMap.remove(key);
+	}
+
+	/**
+	 * ログインIDにより拒否した件数を取得
+	 *
+	 * @return 起動からの累計
+	 */
+	public long getLoginIdRejectedCount() {
+		return loginIdRejectedCount.sum();
+	}
+
+	/**
+	 * IPアドレスにより拒否した件数を取得
+	 *
+	 * @return 起動からの累計
+	 */
+	public long getAddressRejectedCount() {
+		return addressRejectedCount.sum();
+	}
+
+	private boolean isThrottled(String key, int limit, long now) {
+		long fromMillis = now - lockMinute * 60_000L;
+		if (shared) {
+			return tLoginFailureMapper.count(key, new Date(fromMillis)) >= limit;
+		}
+		FailureWindow window = windowMap.get(key);
+		return window != null && window.count(fromMillis) >= limit;
+	}
+
+	private void recordFailure(String key, int limit, long now) {
+		if (shared) {
+			tLoginFailureMapper.insert(key, new Date(now));
+			return;
+		}
+		windowMap.computeIfAbsent(key, k -> new FailureWindow(limit)).add(now);
+	}
+
+	/**
+	 * 期限切れの失敗履歴を削除
+	 *
+	 * @param now 現在日時（ミリ秒）
+	 */
+	private void sweep(long now) {
+		long fromMillis = now - lockMinute * 60_000L;
+		windowMap.values().removeIf(window -> window.count(fromMillis) == 0);
+		if (shared) {
+			tLoginFailureMapper.deleteExpired(new Date(fromMillis));
+		}
+	}
+
+	/**
+	 * 接続元IPアドレスを取得（信頼するプロキシを経由した場合は転送元）
+	 *
+	 * @return IPアドレス（リクエスト外の場合はnull）
+	 */
+	private String getClientAddress() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes instanceof ServletRequestAttributes) {
+			return clientAddressUtil
+					.getClientAddress(((ServletRequestAttributes) attributes).getRequest());
+		}
+		return null;
+	}
+
+	/**
+	 * 直近の失敗日時（上限回数分）<br>
+	 * 上限回数分の失敗日時を循環して上書きするため、ロックを使わずに更新・参照できる。
+	 */
+	private static final class FailureWindow {
+
+		/** 失敗日時（ミリ秒） */
+		private final AtomicLongArray failureMillis;
+		/** 次に書き込む位置 */
+		private final AtomicInteger cursor = new AtomicInteger();
+
+		private FailureWindow(int limit) {
+			failureMillis = new AtomicLongArray(Math.max(limit, 1));
+		}
+
+		private void add(long millis) {
+			int index = Math.floorMod(cursor.getAndIncrement(), failureMillis.length());
+			failureMillis.set(index, millis);
+		}
+
+		/**
+		 * 指定日時より後の失敗回数（最大で上限回数）
+		 */
+		private int count(long fromMillis) {
+			int count = 0;
+			for (int i = 0; i < failureMillis.length(); i++) {
+				if (failureMillis.get(i) > fromMillis) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+	}
+
+}
@@ -6,7 +6,6 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import jp.co.sss.lms.dto.FileDownloadDto;
 import jp.co.sss.lms.dto.FileDto;
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.entity.TMailQue;
@@ -71,8 +70,7 @@ public class MailService {
 			for (FileDto fileDto : fileDtoList) {
 				TMailQueFile tMailQueFile = new TMailQueFile();
 				tMailQueFile.setMailQueId(tMailQue.getMailQueId());
-				tMailQueFile.setFileId(
-						fileUtil.getPlaneFileId(new FileDownloadDto(), fileDto.getFileId()));
+				tMailQueFile.setFileId(fileUtil.getPlaneFileId(fileDto.getFileId()));
 				tMailQueFile.setDeleteFlg(Constants.DB_FLG_FALSE);
 				tMailQueFile.setFirstCreateDate(now);
 				tMailQueFile.setLastModifiedDate(now);
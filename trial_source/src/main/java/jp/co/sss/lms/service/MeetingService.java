@@ -29,6 +29,8 @@ public class MeetingService {
 	private MessageUtil messageUtil;
 	@Autowired
 	private DateUtil dateUtil;
+	@Autowired
+	private MetricsService metricsService;
 
 	/**
 	 * 面談記録ファイルのダウンロード
@@ -39,6 +41,23 @@ public class MeetingService {
 	 */
 	public void downloadMeetingFile(Integer meetingId, HttpServletResponse response)
 			throws IOException {
+		metricsService.excelStarted();
+		try {
+			writeMeetingFile(meetingId, response);
+		} finally {
+			metricsService.excelFinished();
+		}
+	}
+
+	/**
+	 * 面談記録ファイルの作成・出力
+	 * 
+	 * @param meetingId
+	 * @param response
+	 * @throws IOException
+	 */
+	private void writeMeetingFile(Integer meetingId, HttpServletResponse response)
+			throws IOException {
 
 		// 面談ダウンロードDTOの取得
 		MeetingDownloadDto meetingDownloadDto = tMeetingMapper.getMeetingDownloadDto(meetingId,
@@ -0,0 +1,320 @@
+package jp.co.sss.lms.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+import java.util.function.ToIntFunction;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import jakarta.annotation.PostConstruct;
+import jp.co.sss.lms.mapper.TMailQueMapper;
+import jp.co.sss.lms.util.CacheStats;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.LatencyHistogram;
+
+/**
+ * メトリクスサービス<br>
+ * 画面毎・権限毎の処理時間と、コネクションプール等の状態をPrometheusのテキスト形式で出力する。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class MetricsService {
+
+	/** 出力するパーセンタイル */
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.95, 0.99 };
+
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private TMailQueMapper tMailQueMapper;
+	@Autowired
+	private CourseCalendarService courseCalendarService;
+	@Autowired
+	private ContractService contractService;
+	@Autowired
+	private PasswordHashService passwordHashService;
+	@Autowired
+	private LoginThrottleService loginThrottleService;
+	@Autowired
+	private LoginProfileService loginProfileService;
+	@Autowired
+	private ExamDefinitionService examDefinitionService;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/** リクエスト全体（フィルターを含む）の処理時間 */
+	private final LatencyHistogram requestHistogram = new LatencyHistogram();
+	/** 「コントローラー.メソッド 権限」毎の処理時間 */
+	private final ConcurrentMap<HandlerKey, LatencyHistogram> handlerHistogramMap =
+			new ConcurrentHashMap<>();
+	/** 作成中のExcelファイル数 */
+	private final AtomicInteger excelInFlight = new AtomicInteger();
+	/** ゲージ名→値の取得元 */
+	private final Map<String, Gauge> gaugeMap = new LinkedHashMap<>();
+
+	/**
+	 * ゲージを登録
+	 */
+	@PostConstruct
+	public void init() {
+		if (dataSource instanceof HikariDataSource) {
+			HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+			addGauge("lms_db_pool_active_connections", "使用中のコネクション数",
+					() -> getPoolValue(hikariDataSource, HikariPoolMXBean::getActiveConnections));
+			addGauge("lms_db_pool_idle_connections", "待機中のコネクション数",
+					() -> getPoolValue(hikariDataSource, HikariPoolMXBean::getIdleConnections));
+			addGauge("lms_db_pool_pending_threads", "コネクション取得待ちのスレッド数",
+					() -> getPoolValue(hikariDataSource,
+							HikariPoolMXBean::getThreadsAwaitingConnection));
+			addGauge("lms_db_pool_max_connections", "最大コネクション数",
+					hikariDataSource::getMaximumPoolSize);
+		}
+		addGauge("lms_mail_que_unsent", "未送信のメール送信キュー件数",
+				() -> tMailQueMapper.countUnsent(Constants.DB_FLG_FALSE));
+		addGauge("lms_excel_in_flight", "作成中のExcelファイル数", excelInFlight::get);
+		addGauge("lms_password_hash_queue", "パスワードのハッシュ化の待ち件数",
+				passwordHashService::getQueueSize);
+		addGauge("lms_password_hash_rejected", "パスワードのハッシュ化を拒否した件数（累計）",
+				passwordHashService::getRejectedCount);
+		addGauge("lms_login_throttled_login_id", "ログインIDの試行回数制限により拒否した件数（累計）",
+				loginThrottleService::getLoginIdRejectedCount);
+		addGauge("lms_login_throttled_address", "IPアドレスの試行回数制限により拒否した件数（累計）",
+				loginThrottleService::getAddressRejectedCount);
+		addCacheGauge("course_calendar", courseCalendarService.getCacheStats());
+		addCacheGauge("contract_consent", contractService.getCacheStats());
+		addCacheGauge("login_profile", loginProfileService.getCacheStats());
+		addCacheGauge("exam_definition", examDefinitionService.getCacheStats());
+	}
+
+	/**
+	 * リクエスト全体の処理時間を記録
+	 *
+	 * @param nanos 処理時間（ナノ秒）
+	 */
+	public void recordRequest(long nanos) {
+		requestHistogram.record(nanos);
+	}
+
+	/**
+	 * 画面毎・権限毎の処理時間を記録
+	 *
+	 * @param handler ハンドラー名（コントローラー.メソッド）
+	 * @param role    権限コード（未ログインの場合はnull）
+	 * @param nanos   処理時間（ナノ秒）
+	 */
+	public void recordHandler(String handler, String role, long nanos) {
+		handlerHistogramMap
+				.computeIfAbsent(new HandlerKey(handler, role == null ? "none" : role),
+						key -> new LatencyHistogram())
+				.record(nanos);
+	}
+
+	/**
+	 * Excelファイルの作成開始を記録（終了時にexcelFinishedを呼び出すこと）
+	 */
+	public void excelStarted() {
+		excelInFlight.incrementAndGet();
+	}
+
+	/**
+	 * Excelファイルの作成終了を記録
+	 */
+	public void excelFinished() {
+		excelInFlight.decrementAndGet();
+	}
+
+	/**
+	 * Prometheusのテキスト形式で出力
+	 *
+	 * @param writer 出力先
+	 * @throws IOException
+	 */
+	public void writePrometheus(Writer writer) throws IOException {
+		writeHelp(writer, "lms_request_duration_seconds", "リクエスト全体（フィルターを含む）の処理時間",
+				"histogram");
+		writeHistogram(writer, "lms_request_duration_seconds", "", requestHistogram);
+
+		Map<HandlerKey, LatencyHistogram> sortedMap = new TreeMap<>(handlerHistogramMap);
+		writeHelp(writer, "lms_handler_duration_seconds", "画面毎・権限毎の処理時間", "histogram");
+		for (Map.Entry<HandlerKey, LatencyHistogram> entry : sortedMap.entrySet()) {
+			writeHistogram(writer, "lms_handler_duration_seconds", entry.getKey().toLabels(),
+					entry.getValue());
+		}
+		writeHelp(writer, "lms_handler_duration_quantile_seconds",
+				"画面毎・権限毎の処理時間のパーセンタイル（推定値）", "gauge");
+		for (Map.Entry<HandlerKey, LatencyHistogram> entry : sortedMap.entrySet()) {
+			long[] counts = entry.getValue().getCumulativeCounts();
+			for (double quantile : QUANTILES) {
+				writer.write("lms_handler_duration_quantile_seconds{" + entry.getKey().toLabels()
+						+ ",quantile=\"" + quantile + "\"} "
+						+ LatencyHistogram.getQuantileSeconds(counts, quantile) + "\n");
+			}
+		}
+
+		for (Map.Entry<String, Gauge> entry : gaugeMap.entrySet()) {
+			String name = entry.getKey();
+			Gauge gauge = entry.getValue();
+			writeHelp(writer, name, gauge.help, "gauge");
+			double value;
+			try {
+				value = gauge.supplier.getAsDouble();
+			} catch (RuntimeException e) {
+				// 取得に失敗したゲージのみ出力しない
+				logger.warn("メトリクスの取得に失敗しました：" + name, e);
+				continue;
+			}
+			writer.write(name + " " + value + "\n");
+		}
+	}
+
+	/**
+	 * ゲージを追加
+	 *
+	 * @param name     メトリクス名
+	 * @param help     説明
+	 * @param supplier 値の取得元
+	 */
+	private void addGauge(String name, String help, DoubleSupplier supplier) {
+		gaugeMap.put(name, new Gauge(help, supplier));
+	}
+
+	/**
+	 * キャッシュのヒット率のゲージを追加
+	 *
+	 * @param cacheName  キャッシュ名
+	 * @param cacheStats キャッシュのヒット率
+	 */
+	private void addCacheGauge(String cacheName, CacheStats cacheStats) {
+		addGauge("lms_cache_" + cacheName + "_hit_ratio", "キャッシュのヒット率",
+				cacheStats::getHitRatio);
+		addGauge("lms_cache_" + cacheName + "_requests", "キャッシュの参照件数",
+				() -> cacheStats.getHitCount() + cacheStats.getMissCount());
+	}
+
+	/**
+	 * コネクションプールの状態を取得
+	 *
+	 * @param hikariDataSource
+	 * @param getter
+	 * @return 状態（プール未生成の場合は0）
+	 */
+	private double getPoolValue(HikariDataSource hikariDataSource,
+			ToIntFunction<HikariPoolMXBean> getter) {
+		HikariPoolMXBean poolMXBean = hikariDataSource.getHikariPoolMXBean();
+		return poolMXBean == null ? 0 : getter.applyAsInt(poolMXBean);
+	}
+
+	/**
+	 * HELP・TYPE行を出力
+	 *
+	 * @param writer
+	 * @param name
+	 * @param help
+	 * @param type
+	 * @throws IOException
+	 */
+	private void writeHelp(Writer writer, String name, String help, String type)
+			throws IOException {
+		writer.write("# HELP " + name + " " + help + "\n");
+		writer.write("# TYPE " + name + " " + type + "\n");
+	}
+
+	/**
+	 * ヒストグラムを出力
+	 *
+	 * @param writer
+	 * @param name      メトリクス名
+	 * @param labels    ラベル（「名前="値"」のカンマ区切り）
+	 * @param histogram ヒストグラム
+	 * @throws IOException
+	 */
+	private void writeHistogram(Writer writer, String name, String labels,
+			LatencyHistogram histogram) throws IOException {
+		String prefix = labels.isEmpty() ? "" : labels + ",";
+		long[] counts = histogram.getCumulativeCounts();
+		for (int i = 0; i < LatencyHistogram.BUCKET_SECONDS.length; i++) {
+			writer.write(name + "_bucket{" + prefix + "le=\"" + LatencyHistogram.BUCKET_SECONDS[i]
+					+ "\"} " + counts[i] + "\n");
+		}
+		long total = counts[counts.length - 1];
+		writer.write(name + "_bucket{" + prefix + "le=\"+Inf\"} " + total + "\n");
+		String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+		writer.write(name + "_sum" + suffix + " " + histogram.getSumSeconds() + "\n");
+		writer.write(name + "_count" + suffix + " " + total + "\n");
+	}
+
+	/**
+	 * ゲージ
+	 */
+	private static final class Gauge {
+
+		/** 説明 */
+		private final String help;
+		/** 値の取得元 */
+		private final DoubleSupplier supplier;
+
+		private Gauge(String help, DoubleSupplier supplier) {
+			this.help = help;
+			this.supplier = supplier;
+		}
+
+	}
+
+	/**
+	 * 処理時間の集計単位（ハンドラー・権限）
+	 */
+	private static final class HandlerKey implements Comparable<HandlerKey> {
+
+		/** ハンドラー名 */
+		private final String handler;
+		/** 権限コード */
+		private final String role;
+
+		private HandlerKey(String handler, String role) {
+			this.handler = handler;
+			this.role = role;
+		}
+
+		private String toLabels() {
+			return "handler=\"" + handler + "\",role=\"" + role + "\"";
+		}
+
+		@Override
+		public int compareTo(HandlerKey other) {
+			int compare = handler.compareTo(other.handler);
+			return compare != 0 ? compare : role.compareTo(other.role);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof HandlerKey)) {
+				return false;
+			}
+			HandlerKey other = (HandlerKey) obj;
+			return handler.equals(other.handler) && role.equals(other.role);
+		}
+
+		@Override
+		public int hashCode() {
+			return handler.hashCode() * 31 + role.hashCode();
+		}
+
+	}
+
+}
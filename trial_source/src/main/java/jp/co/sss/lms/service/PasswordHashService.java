@@ -0,0 +1,208 @@
+package jp.co.sss.lms.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jp.co.sss.lms.exception.PasswordHashBusyException;
+import jp.co.sss.lms.util.PasswordHasher;
+
+/**
+ * パスワードハッシュ化サービス<br>
+ * 登録済みハッシュの形式に応じた方式で照合し、新規のハッシュ化は設定された方式で行う。<br>
+ * ハッシュ化は専用のスレッドで実行し、待ち行列が上限に達した場合は待たずに拒否することで、
+ * ログインの集中時にも画面処理のスレッドを占有しないようにする。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class PasswordHashService {
+
+	@Autowired
+	private List<PasswordHasher> passwordHasherList;
+
+	/** 新規のハッシュ化に使用する方式 */
+	@Value("${setting.password.hash.algorithm}")
+	private String algorithm;
+	/** ハッシュ化のスレッド数 */
+	@Value("${setting.password.hash.thread}")
+	private int threadCount;
+	/** ハッシュ化の待ち行列の上限 */
+	@Value("${setting.password.hash.queue}")
+	private int queueCapacity;
+	/** ハッシュ化の完了を待つ時間（ミリ秒） */
+	@Value("${setting.password.hash.timeout.millis}")
+	private long timeoutMillis;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/** 新規のハッシュ化に使用する方式 */
+	private PasswordHasher currentHasher;
+	/** 登録されていないログインIDの照合に使用するハッシュ */
+	private String dummyHash;
+	/** ハッシュ化のスレッドプール */
+	private ThreadPoolExecutor executor;
+	/** 拒否した件数 */
+	private final LongAdder rejectedCount = new LongAdder();
+
+	/**
+	 * スレッドプールを生成
+	 */
+	@PostConstruct
+	public void init() {
+		currentHasher = passwordHasherList.stream()
+				.filter(hasher -> hasher.getAlgorithm().equals(algorithm)).findFirst()
+				.orElseThrow(() -> new IllegalStateException(
+						"パスワードのハッシュ化方式が不正です：" + algorithm));
+		dummyHash = currentHasher.hash(UUID.randomUUID().toString(), "");
+		AtomicInteger threadNumber = new AtomicInteger();
+		executor = new ThreadPoolExecutor(threadCount, threadCount, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable,
+							"password-hash-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	/**
+	 * スレッドプールを停止
+	 */
+	@PreDestroy
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * パスワードをハッシュ化
+	 *
+	 * @param password パスワード
+	 * @param loginId  ログインID
+	 * @return ハッシュ
+	 * @throws PasswordHashBusyException 待ち行列が上限に達した場合・待ち時間を超えた場合
+	 */
+	public String hash(String password, String loginId) {
+		return execute(() -> currentHasher.hash(password, loginId));
+	}
+
+	/**
+	 * パスワードを照合
+	 *
+	 * @param password   パスワード
+	 * @param loginId    ログインID
+	 * @param storedHash 登録済みハッシュ
+	 * @return 一致する場合true（登録済みハッシュの形式が不明な場合false）
+	 * @throws PasswordHashBusyException 待ち行列が上限に達した場合・待ち時間を超えた場合
+	 */
+	public boolean matches(String password, String loginId, String storedHash) {
+		PasswordHasher hasher = findHasher(storedHash);
+		if (hasher == null) {
+			logger.warn("登録済みパスワードの形式が不明です：ログインID={}", loginId);
+			return false;
+		}
+		return execute(() -> hasher.matches(password, loginId, storedHash));
+	}
+
+	/**
+	 * 登録されていないログインIDのパスワードを照合<br>
+	 * 照合にかかる時間からログインIDの登録有無を推測されないよう、
+	 * 登録済みユーザーと同じ方式でダミーのハッシュと照合する。
+	 *
+	 * @param password パスワード
+	 * @param loginId  ログインID
+	 * @return 常にfalse
+	 * @throws PasswordHashBusyException 待ち行列が上限に達した場合・待ち時間を超えた場合
+	 */
+	public boolean matchesUnknownUser(String password, String loginId) {
+		execute(() -> currentHasher.matches(password, loginId, dummyHash));
+		return false;
+	}
+
+	/**
+	 * 現在の方式・パラメータでの再ハッシュ化が必要か判定
+	 *
+	 * @param storedHash 登録済みハッシュ
+	 * @return 再ハッシュ化が必要な場合true
+	 */
+	public boolean needsRehash(String storedHash) {
+		return !currentHasher.supports(storedHash) || currentHasher.needsRehash(storedHash);
+	}
+
+	/**
+	 * ハッシュ化の待ち件数を取得
+	 *
+	 * @return 待ち件数
+	 */
+	public int getQueueSize() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * 拒否した件数を取得
+	 *
+	 * @return 起動からの累計
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.sum();
+	}
+
+	/**
+	 * 登録済みハッシュの形式に対応する方式を取得
+	 */
+	private PasswordHasher findHasher(String storedHash) {
+		for (PasswordHasher hasher : passwordHasherList) {
+			if (hasher.supports(storedHash)) {
+				return hasher;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * ハッシュ化のスレッドで実行
+	 */
+	private <T> T execute(Callable<T> task) {
+		Future<T> future;
+		try {
+			future = executor.submit(task);
+		} catch (RejectedExecutionException e) {
+			rejectedCount.increment();
+			logger.warn("パスワードのハッシュ化の待ち行列が上限に達しました");
+			throw new PasswordHashBusyException(e);
+		}
+		try {
+			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			rejectedCount.increment();
+			logger.warn("パスワードのハッシュ化の待ち時間を超えました");
+			throw new PasswordHashBusyException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PasswordHashBusyException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+}
@@ -8,6 +8,7 @@ import jakarta.servlet.http.HttpSession;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -16,9 +17,10 @@ import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.entity.LoginUser;
 import jp.co.sss.lms.entity.MUser;
 import jp.co.sss.lms.entity.TTemporaryPassStorage;
+import jp.co.sss.lms.event.LoginUserChangedEvent;
+import jp.co.sss.lms.exception.PasswordHashBusyException;
 import jp.co.sss.lms.form.LoginForm;
 import jp.co.sss.lms.form.MailAddressForm;
-import jp.co.sss.lms.mapper.LoginMapper;
 import jp.co.sss.lms.mapper.MUserMapper;
 import jp.co.sss.lms.mapper.TTemporaryPassStorageMapper;
 import jp.co.sss.lms.util.Constants;
@@ -35,6 +37,8 @@ import jp.co.sss.lms.util.PasswordUtil;
 @Service
 public class PasswordService {
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
 	@Autowired
 	private MUserMapper mUserMapper;
 	@Autowired
@@ -46,12 +50,14 @@ public class PasswordService {
 	@Autowired
 	private DateUtil dateUtil;
 	@Autowired
-	private LoginMapper loginMapper;
+	private LoginProfileService loginProfileService;
 	@Autowired
 	private TTemporaryPassStorageMapper tTemporaryPassStorageMapper;
 	@Autowired
 	private PasswordUtil passwordUtil;
 	@Autowired
+	private PasswordHashService passwordHashService;
+	@Autowired
 	private MailService mailService;
 	@Autowired
 	private MailUtil mailUtil;
@@ -67,10 +73,18 @@ public class PasswordService {
 			return;
 		}
 		MUser mUser = mUserMapper.findByUserId(loginUserDto.getUserId(), Constants.DB_FLG_FALSE);
+		boolean matched;
+		try {
+			matched = passwordHashService.matches(loginForm.getCurrentPassword(),
+					mUser.getLoginId(), mUser.getPassword());
+		} catch (PasswordHashBusyException e) {
+			// 照合が混み合っている場合は他のチェックを行わない
+			result.addError(new FieldError(result.getObjectName(), "currentPassword",
+					messageUtil.getMessage(Constants.VALID_KEY_PASSWORD_BUSY)));
+			return;
+		}
 		// 現在のパスワードと登録パスワードが一致しない場合
-		String hashedCurrentPassword = passwordUtil
-				.getSaltedAndStrechedPassword(loginForm.getCurrentPassword(), mUser.getLoginId());
-		if (!mUser.getPassword().equals(hashedCurrentPassword)) {
+		if (!matched) {
 			String currentPassword = "「" + messageUtil.getMessage("currentPassword") + "」";
 			String registPassword = messageUtil.getMessage("registPassword");
 			result.addError(new FieldError(result.getObjectName(), "currentPassword", messageUtil
@@ -100,8 +114,11 @@ public class PasswordService {
 	public String changePassword(LoginForm loginForm) {
 		// 更新
 		MUser mUser = mUserMapper.findByUserId(loginUserDto.getUserId(), Constants.DB_FLG_FALSE);
-		mUser.setPassword(passwordUtil.getSaltedAndStrechedPassword(loginForm.getPassword(),
-				mUser.getLoginId()));
+		try {
+			mUser.setPassword(passwordHashService.hash(loginForm.getPassword(), mUser.getLoginId()));
+		} catch (PasswordHashBusyException e) {
+			return messageUtil.getMessage(Constants.VALID_KEY_PASSWORD_BUSY);
+		}
 		mUser.setPasswordChangeDate(dateUtil.stringToTimestamp(dateUtil.getCurrentDateString()));
 		mUser.setLastModifiedUser(loginUserDto.getUserId());
 		Date now = new Date();
@@ -109,13 +126,14 @@ public class PasswordService {
 		boolean updateFlg = mUserMapper.updatePassword(mUser);
 		if (updateFlg) {
 			// 最新のログイン詳細が取得できればセッションに登録
-			LoginUser loginUser = loginMapper.getLoginDetailByLmsUserId(loginUserDto.getLmsUserId(),
-					Constants.DB_FLG_FALSE);
+			loginProfileService.evictByUserId(loginUserDto.getUserId());
+			LoginUser loginUser = loginProfileService.getByLmsUserId(loginUserDto.getLmsUserId());
 			if (loginUser != null) {
 				BeanUtils.copyProperties(loginUser, loginUserDto);
 				loginUserDto.setPasswordNgCount(0);
 				loginUserDto.setPasswordNgDate("");
 				session.setAttribute("loginUserDto", loginUserDto);
+				eventPublisher.publishEvent(new LoginUserChangedEvent(loginUserDto.getUserId()));
 				// パスワード変更テーブルの情報があれば削除
 				TTemporaryPassStorage tTemporaryPassStorage = tTemporaryPassStorageMapper
 						.findByUserId(loginUserDto.getUserId(), Constants.DB_FLG_FALSE);
@@ -184,6 +202,8 @@ public class PasswordService {
 		mUser.setLastModifiedDate(now);
 		mUser.setLastModifiedUser(mUser.getUserId());
 		mUserMapper.updatePasswordChangeDate(mUser);
+		// 保持しているログイン詳細を破棄（次回ログイン時にパスワード変更を求める）
+		eventPublisher.publishEvent(new LoginUserChangedEvent(mUser.getUserId()));
 	}
 
 	/**
@@ -58,6 +58,8 @@ public class ReportService {
 	private TDailyReportSubmitDetailMapper tDailyReportSubmitDetailMapper;
 	@Autowired
 	private TIntelligibilityMapper tIntelligibilityMapper;
+	@Autowired
+	private MetricsService metricsService;
 
 	/**
 	 * レポート情報取得
@@ -221,8 +223,13 @@ public class ReportService {
 	 */
 	public void download(Integer dailyReportId, Integer dailyReportSubmitId,
 			HttpServletResponse response) throws IOException {
-		WorkbookDto workbookDto = getWorkbookDto(dailyReportId, dailyReportSubmitId);
-		ExcelUtil.downloadBook(workbookDto, response);
+		metricsService.excelStarted();
+		try {
+			WorkbookDto workbookDto = getWorkbookDto(dailyReportId, dailyReportSubmitId);
+			ExcelUtil.downloadBook(workbookDto, response);
+		} finally {
+			metricsService.excelFinished();
+		}
 	}
 
 	/**
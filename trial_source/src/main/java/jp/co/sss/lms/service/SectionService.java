@@ -16,9 +16,9 @@ import jp.co.sss.lms.form.SectionDetailForm;
 import jp.co.sss.lms.mapper.MSectionMapper;
 import jp.co.sss.lms.mapper.TSectionDailyReportMapper;
 import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.FileTokenUtil;
 import jp.co.sss.lms.util.LoggingUtil;
 import jp.co.sss.lms.util.MessageUtil;
-import jp.co.sss.lms.util.PasswordUtil;
 
 /**
  * セクション情報サービス
@@ -37,7 +37,7 @@ public class SectionService {
 	@Autowired
 	private LoginUserDto loginUserDto;
 	@Autowired
-	private PasswordUtil passwordUtil;
+	private FileTokenUtil fileTokenUtil;
 	@Autowired
 	private LoggingUtil loggingUtil;
 
@@ -82,9 +82,8 @@ public class SectionService {
 		}
 		// ファイル情報の設定
 		for (SectionServiceFileDto fileDto : sectionServiceSectionDto.getFileDtoList()) {
-			String hashFileId = passwordUtil.getSaltedAndStrechedPassword(fileDto.getFileId(),
-					loginUserDto.getUserId().toString());
-			fileDto.setFileId(hashFileId);
+			fileDto.setFileId(fileTokenUtil.encode(Integer.valueOf(fileDto.getFileId()),
+					loginUserDto.getUserId()));
 		}
 		sectionServiceSectionDto.setMaxFileSize(Constants.DELIVERABLES_UPLOAD_MAX_SIZE);
 	}
@@ -0,0 +1,100 @@
+package jp.co.sss.lms.service;
+
+import java.time.Clock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.event.ContractConsentChangedEvent;
+import jp.co.sss.lms.event.LoginUserChangedEvent;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.DateUtil;
+import jp.co.sss.lms.util.SessionGate;
+
+/**
+ * ログインセッション画面遷移判定サービス<br>
+ * 判定結果をセッションに保持し、ログイン情報の変更イベントを受けて再判定する。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class SessionGateService {
+
+	@Autowired
+	private LoginUserDto loginUserDto;
+	@Autowired
+	private ContractService contractService;
+	@Autowired
+	private DateUtil dateUtil;
+	@Autowired
+	private Clock clock;
+
+	/** 判定結果の有効期間（分） */
+	@Value("${setting.session.gate.minute}")
+	private Integer gateMinute;
+
+	/**
+	 * ログイン中のユーザーの判定結果を取得
+	 *
+	 * @return 判定結果（未判定・期限切れ・ユーザーが変わった場合は再判定）
+	 */
+	public SessionGate getSessionGate() {
+		SessionGate sessionGate = loginUserDto.getSessionGate();
+		if (sessionGate == null || !sessionGate.isValid(loginUserDto.getUserId(), clock.millis())) {
+			sessionGate = createSessionGate();
+			loginUserDto.setSessionGate(sessionGate);
+		}
+		return sessionGate;
+	}
+
+	/**
+	 * 未同意の契約があるか判定
+	 *
+	 * @return 企業担当者であり、未同意の契約がある場合true
+	 */
+	public boolean hasContractDisagreement() {
+		return Constants.CODE_VAL_ROLL_COMPANY.equals(loginUserDto.getRole())
+				&& contractService.hasDisagreement(loginUserDto.getCompanyId());
+	}
+
+	/**
+	 * ログイン情報変更時に再判定
+	 *
+	 * @param event
+	 */
+	@EventListener
+	public void onLoginUserChanged(LoginUserChangedEvent event) {
+		if (event.getUserId() != null && event.getUserId().equals(loginUserDto.getUserId())) {
+			loginUserDto.setSessionGate(createSessionGate());
+		}
+	}
+
+	/**
+	 * 契約同意変更時に企業の契約同意状態を破棄
+	 *
+	 * @param event
+	 */
+	@EventListener
+	public void onContractConsentChanged(ContractConsentChangedEvent event) {
+		contractService.refreshDisagreement(event.getCompanyId());
+	}
+
+	/**
+	 * ログイン情報から判定結果を生成
+	 *
+	 * @return 判定結果
+	 */
+	private SessionGate createSessionGate() {
+		boolean securityAgreed = loginUserDto.getSecurityAgreeFlg() != null
+				&& loginUserDto.getSecurityAgreeFlg() == 1;
+		// パスワード変更日から1ヶ月が有効期限
+		long passwordExpireMillis = loginUserDto.getPasswordChangeDate() == null ? 0
+				: dateUtil.addMonth(loginUserDto.getPasswordChangeDate(), 1).getTime();
+		return new SessionGate(loginUserDto.getUserId(), securityAgreed, passwordExpireMillis,
+				clock.millis() + gateMinute * 60_000L);
+	}
+
+}
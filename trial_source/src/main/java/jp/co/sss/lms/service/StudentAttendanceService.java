@@ -4,27 +4,39 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 
+import jp.co.sss.lms.dto.AttendanceDetailDto;
 import jp.co.sss.lms.dto.AttendanceManagementDto;
+import jp.co.sss.lms.dto.AttendanceUpsertResultDto;
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.entity.TStudentAttendance;
 import jp.co.sss.lms.enums.AttendanceStatusEnum;
 import jp.co.sss.lms.form.AttendanceForm;
 import jp.co.sss.lms.form.DailyAttendanceForm;
+import jp.co.sss.lms.mapper.MCourseMapper;
 import jp.co.sss.lms.mapper.TStudentAttendanceMapper;
 import jp.co.sss.lms.util.AttendanceUtil;
 import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.CourseCalendar;
 import jp.co.sss.lms.util.DateUtil;
 import jp.co.sss.lms.util.LoginUserUtil;
 import jp.co.sss.lms.util.MessageUtil;
@@ -38,6 +50,9 @@ import jp.co.sss.lms.util.TrainingTime;
 @Service
 public class StudentAttendanceService {
 
+	/** 一括登録・更新1回あたりの最大件数 */
+	private static final int BULK_UPSERT_SIZE = 500;
+
 	@Autowired
 	private DateUtil dateUtil;
 	@Autowired
@@ -50,6 +65,14 @@ public class StudentAttendanceService {
 	private LoginUserDto loginUserDto;
 	@Autowired
 	private TStudentAttendanceMapper tStudentAttendanceMapper;
+	@Autowired
+	private MCourseMapper mCourseMapper;
+	@Autowired
+	private CourseCalendarService courseCalendarService;
+	@Autowired
+	private AttendanceMonthlyService attendanceMonthlyService;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	/**
 	 * 勤怠一覧情報取得
@@ -60,44 +83,100 @@ public class StudentAttendanceService {
 	 */
 	public List<AttendanceManagementDto> getAttendanceManagement(Integer courseId,
 			Integer lmsUserId) {
+		return getAttendanceDetail(courseId, lmsUserId).getAttendanceManagementDtoList();
+	}
 
-		// 勤怠管理リストの取得
-		List<AttendanceManagementDto> attendanceManagementDtoList = tStudentAttendanceMapper
-				.getAttendanceManagement(courseId, lmsUserId, Constants.DB_FLG_FALSE);
-		for (AttendanceManagementDto dto : attendanceManagementDtoList) {
+	/**
+	 * 勤怠管理画面表示情報取得<br>
+	 * 勤怠一覧と併せて、過去日の未入力件数・勤怠状態毎の件数・中抜け時間合計を集計する
+	 * 
+	 * @param courseId
+	 * @param lmsUserId
+	 * @return 勤怠管理画面表示用DTO
+	 */
+	public AttendanceDetailDto getAttendanceDetail(Integer courseId, Integer lmsUserId) {
+
+		// 研修日カレンダーの取得
+		CourseCalendar courseCalendar = courseCalendarService.getCourseCalendar(courseId);
+		long todayEpochDay = CourseCalendar.toEpochDay(new Date());
+		// 勤怠情報（受講生入力）を研修日で引けるように変換し、併せて過去日の未入力件数を集計
+		int notEnteredCount = 0;
+		Map<Long, TStudentAttendance> attendanceMap = new HashMap<>();
+		for (TStudentAttendance entity : tStudentAttendanceMapper.findByLmsUserId(lmsUserId,
+				Constants.DB_FLG_FALSE)) {
+			long epochDay = CourseCalendar.toEpochDay(entity.getTrainingDate());
+			attendanceMap.put(epochDay, entity);
+			if (epochDay < todayEpochDay && isNotEntered(entity)) {
+				notEnteredCount++;
+			}
+		}
+
+		// 研修日毎に勤怠管理リストを作成し、勤怠状態毎の件数・中抜け時間合計を集計
+		int[] statusCounts = new int[AttendanceStatusEnum.values().length];
+		int totalBlankTime = 0;
+		List<AttendanceManagementDto> attendanceManagementDtoList = new ArrayList<>(
+				courseCalendar.size());
+		for (int i = 0; i < courseCalendar.size(); i++) {
+			AttendanceManagementDto dto = new AttendanceManagementDto();
+			dto.setIsToday(courseCalendar.isToday(i, todayEpochDay));
+			dto.setSectionName(courseCalendar.getSectionName(i));
+			dto.setTrainingDate(courseCalendar.getDate(i));
+			TStudentAttendance entity = attendanceMap.get(courseCalendar.getEpochDay(i));
+			if (entity != null) {
+				dto.setStudentAttendanceId(entity.getStudentAttendanceId());
+				dto.setLmsUserId(String.valueOf(entity.getLmsUserId()));
+				dto.setTrainingStartTime(entity.getTrainingStartTime());
+				dto.setTrainingEndTime(entity.getTrainingEndTime());
+				dto.setStatus(entity.getStatus());
+				dto.setNote(entity.getNote());
+				dto.setBlankTime(entity.getBlankTime());
+			}
 			// 中抜け時間を設定
 			if (dto.getBlankTime() != null) {
 				TrainingTime blankTime = attendanceUtil.calcBlankTime(dto.getBlankTime());
 				dto.setBlankTimeValue(String.valueOf(blankTime));
+				totalBlankTime += dto.getBlankTime();
 			}
 			// 遅刻早退区分判定
 			AttendanceStatusEnum statusEnum = AttendanceStatusEnum.getEnum(dto.getStatus());
 			if (statusEnum != null) {
 				dto.setStatusDispName(statusEnum.name);
+				statusCounts[statusEnum.ordinal()]++;
 			}
+			attendanceManagementDtoList.add(dto);
 		}
 
-		return attendanceManagementDtoList;
+		AttendanceDetailDto attendanceDetailDto = new AttendanceDetailDto();
+		attendanceDetailDto.setAttendanceManagementDtoList(attendanceManagementDtoList);
+		attendanceDetailDto.setNotEnteredCount(notEnteredCount);
+		LinkedHashMap<String, Integer> statusCountMap = new LinkedHashMap<>();
+		for (AttendanceStatusEnum statusEnum : AttendanceStatusEnum.values()) {
+			if (statusEnum != AttendanceStatusEnum.NONE) {
+				statusCountMap.put(statusEnum.name, statusCounts[statusEnum.ordinal()]);
+			}
+		}
+		attendanceDetailDto.setStatusCountMap(statusCountMap);
+		attendanceDetailDto.setTotalBlankTime(totalBlankTime);
+		attendanceDetailDto.setTotalBlankTimeValue(
+				String.valueOf(attendanceUtil.calcBlankTime(totalBlankTime)));
+
+		return attendanceDetailDto;
 	}
-	
-	//Task25
+
 	/**
-	 * 勤怠情報の未入力件数取得
+	 * 勤怠情報の未入力判定
 	 * 
-	 * @author 刈谷宣孝  – Task.25
-	 * @param lmsUserId
-	 * @return 勤怠情報の未入力件数
-	 * @throws ParseException
+	 * @param entity
+	 * @return 欠席以外（ステータス設定済み）で出勤・退勤時刻のいずれかが未入力の場合true
 	 */
-	public Integer notEnterCountMethod(Integer lmsUserId) throws ParseException {
-		SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd");
-		Date trainingDate = df.parse(df.format(new Date()));
-		
-		Integer notEnteredCount = tStudentAttendanceMapper.notEnterCount(lmsUserId, 
-												Constants.DB_FLG_FALSE, trainingDate);
-		return notEnteredCount;
+	private boolean isNotEntered(TStudentAttendance entity) {
+		if (entity.getStatus() == null
+				|| AttendanceStatusEnum.ABSENT.code.equals(entity.getStatus())) {
+			return false;
+		}
+		return entity.getTrainingStartTime() == null || entity.getTrainingStartTime().isEmpty()
+				|| entity.getTrainingEndTime() == null || entity.getTrainingEndTime().isEmpty();
 	}
-	//Task25
 
 	/**
 	 * 出退勤更新前のチェック
@@ -115,6 +194,17 @@ public class StudentAttendanceService {
 		if (!attendanceUtil.isWorkDay(loginUserDto.getCourseId(), trainingDate)) {
 			return messageUtil.getMessage(Constants.VALID_KEY_ATTENDANCE_NOTWORKDAY);
 		}
+		return null;
+	}
+
+	/**
+	 * 出退勤が登録されなかった理由の取得
+	 * 
+	 * @param attendanceType
+	 * @return エラーメッセージ
+	 */
+	public String getPunchError(Short attendanceType) {
+		Date trainingDate = attendanceUtil.getTrainingDate();
 		// 登録情報チェック
 		TStudentAttendance tStudentAttendance = tStudentAttendanceMapper
 				.findByLmsUserIdAndTrainingDate(loginUserDto.getLmsUserId(), trainingDate,
@@ -137,9 +227,9 @@ public class StudentAttendanceService {
 				// 本日の勤怠情報は既に入力されています。直接編集してください。
 				return messageUtil.getMessage(Constants.VALID_KEY_ATTENDANCE_PUNCHALREADYEXISTS);
 			}
-			TrainingTime trainingStartTime = new TrainingTime(
-					tStudentAttendance.getTrainingStartTime());
-			TrainingTime trainingEndTime = new TrainingTime();
+			TrainingTime trainingStartTime = TrainingTime
+					.parse(tStudentAttendance.getTrainingStartTime());
+			TrainingTime trainingEndTime = attendanceUtil.getCurrentTime();
 			if (trainingStartTime.compareTo(trainingEndTime) > 0) {
 				// 退勤時刻は出勤時刻より後でなければいけません。
 				return messageUtil.getMessage(Constants.VALID_KEY_ATTENDANCE_TRAININGTIMERANGE);
@@ -152,48 +242,39 @@ public class StudentAttendanceService {
 	/**
 	 * 出勤ボタン処理
 	 * 
-	 * @return 完了メッセージ
+	 * @return 完了メッセージ（出勤済みのため登録されなかった場合はnull）
 	 */
+	@Transactional
 	public String setPunchIn() {
 		// 当日日付
 		Date date = new Date();
 		// 本日の研修日
 		Date trainingDate = attendanceUtil.getTrainingDate();
 		// 現在の研修時刻
-		TrainingTime trainingStartTime = new TrainingTime();
+		TrainingTime trainingStartTime = attendanceUtil.getCurrentTime();
 		// 遅刻早退ステータス
-		AttendanceStatusEnum attendanceStatusEnum = attendanceUtil.getStatus(trainingStartTime,
-				null);
-		// 研修日の勤怠情報取得
-		TStudentAttendance tStudentAttendance = tStudentAttendanceMapper
-				.findByLmsUserIdAndTrainingDate(loginUserDto.getLmsUserId(), trainingDate,
-						Constants.DB_FLG_FALSE);
-		if (tStudentAttendance == null) {
-			// 登録処理
-			tStudentAttendance = new TStudentAttendance();
-			tStudentAttendance.setLmsUserId(loginUserDto.getLmsUserId());
-			tStudentAttendance.setTrainingDate(trainingDate);
-			tStudentAttendance.setTrainingStartTime(trainingStartTime.toString());
-			tStudentAttendance.setTrainingEndTime("");
-			tStudentAttendance.setStatus(attendanceStatusEnum.code);
-			tStudentAttendance.setNote("");
-			tStudentAttendance.setAccountId(loginUserDto.getAccountId());
-			tStudentAttendance.setDeleteFlg(Constants.DB_FLG_FALSE);
-			tStudentAttendance.setFirstCreateUser(loginUserDto.getLmsUserId());
-			tStudentAttendance.setFirstCreateDate(date);
-			tStudentAttendance.setLastModifiedUser(loginUserDto.getLmsUserId());
-			tStudentAttendance.setLastModifiedDate(date);
-			tStudentAttendance.setBlankTime(null);
-			tStudentAttendanceMapper.insert(tStudentAttendance);
-		} else {
-			// 更新処理
-			tStudentAttendance.setTrainingStartTime(trainingStartTime.toString());
-			tStudentAttendance.setStatus(attendanceStatusEnum.code);
-			tStudentAttendance.setDeleteFlg(Constants.DB_FLG_FALSE);
-			tStudentAttendance.setLastModifiedUser(loginUserDto.getLmsUserId());
-			tStudentAttendance.setLastModifiedDate(date);
-			tStudentAttendanceMapper.update(tStudentAttendance);
+		AttendanceStatusEnum attendanceStatusEnum = attendanceUtil
+				.getStatus(loginUserDto.getCourseId(), trainingStartTime, null);
+		// 登録・更新処理（未出勤の場合のみ反映される）
+		TStudentAttendance tStudentAttendance = new TStudentAttendance();
+		tStudentAttendance.setLmsUserId(loginUserDto.getLmsUserId());
+		tStudentAttendance.setTrainingDate(trainingDate);
+		tStudentAttendance.setTrainingStartTime(trainingStartTime.toString());
+		tStudentAttendance.setTrainingEndTime("");
+		tStudentAttendance.setStatus(attendanceStatusEnum.code);
+		tStudentAttendance.setNote("");
+		tStudentAttendance.setAccountId(loginUserDto.getAccountId());
+		tStudentAttendance.setDeleteFlg(Constants.DB_FLG_FALSE);
+		tStudentAttendance.setFirstCreateUser(loginUserDto.getLmsUserId());
+		tStudentAttendance.setFirstCreateDate(date);
+		tStudentAttendance.setLastModifiedUser(loginUserDto.getLmsUserId());
+		tStudentAttendance.setLastModifiedDate(date);
+		tStudentAttendance.setBlankTime(null);
+		if (tStudentAttendanceMapper.punchIn(tStudentAttendance) == 0) {
+			return null;
 		}
+		// 月次集計の更新
+		attendanceMonthlyService.refresh(loginUserDto.getLmsUserId(), List.of(trainingDate));
 		// 完了メッセージ
 		return messageUtil.getMessage(Constants.PROP_KEY_ATTENDANCE_UPDATE_NOTICE);
 	}
@@ -201,31 +282,33 @@ public class StudentAttendanceService {
 	/**
 	 * 退勤ボタン処理
 	 * 
-	 * @return 完了メッセージ
+	 * @return 完了メッセージ（出勤前・退勤済みのため更新されなかった場合はnull）
 	 */
+	@Transactional
 	public String setPunchOut() {
 		// 当日日付
 		Date date = new Date();
 		// 本日の研修日
 		Date trainingDate = attendanceUtil.getTrainingDate();
-		// 研修日の勤怠情報取得
-		TStudentAttendance tStudentAttendance = tStudentAttendanceMapper
-				.findByLmsUserIdAndTrainingDate(loginUserDto.getLmsUserId(), trainingDate,
-						Constants.DB_FLG_FALSE);
-		// 出退勤時刻
-		TrainingTime trainingStartTime = new TrainingTime(
-				tStudentAttendance.getTrainingStartTime());
-		TrainingTime trainingEndTime = new TrainingTime();
-		// 遅刻早退ステータス
-		AttendanceStatusEnum attendanceStatusEnum = attendanceUtil.getStatus(trainingStartTime,
+		// 退勤時刻
+		TrainingTime trainingEndTime = attendanceUtil.getCurrentTime();
+		// 遅刻早退ステータス（遅刻かどうかは登録済みの出勤時刻を元に更新時に判定）
+		boolean isEarly = attendanceUtil.isLeavingEarly(loginUserDto.getCourseId(),
 				trainingEndTime);
-		// 更新処理
-		tStudentAttendance.setTrainingEndTime(trainingEndTime.toString());
-		tStudentAttendance.setStatus(attendanceStatusEnum.code);
-		tStudentAttendance.setDeleteFlg(Constants.DB_FLG_FALSE);
-		tStudentAttendance.setLastModifiedUser(loginUserDto.getLmsUserId());
-		tStudentAttendance.setLastModifiedDate(date);
-		tStudentAttendanceMapper.update(tStudentAttendance);
+		AttendanceStatusEnum lateStatusEnum = attendanceUtil.getStatus(true, isEarly);
+		AttendanceStatusEnum notLateStatusEnum = attendanceUtil.getStatus(false, isEarly);
+		// 更新処理（出勤済みかつ未退勤の場合のみ反映される）
+		Integer count = tStudentAttendanceMapper.punchOut(loginUserDto.getLmsUserId(),
+				trainingDate, trainingEndTime.toString(), trainingEndTime.toMinutes(),
+				attendanceUtil.getWorkStartTime(loginUserDto.getCourseId()).toMinutes(),
+				lateStatusEnum.code,
+				notLateStatusEnum.code, loginUserDto.getLmsUserId(), date,
+				Constants.DB_FLG_FALSE);
+		if (count == 0) {
+			return null;
+		}
+		// 月次集計の更新
+		attendanceMonthlyService.refresh(loginUserDto.getLmsUserId(), List.of(trainingDate));
 		// 完了メッセージ
 		return messageUtil.getMessage(Constants.PROP_KEY_ATTENDANCE_UPDATE_NOTICE);
 	}
@@ -440,32 +523,40 @@ public class StudentAttendanceService {
 	 * @return 完了メッセージ
 	 * @throws ParseException
 	 */
+	@Transactional
 	public String update(AttendanceForm attendanceForm) throws ParseException {
 
 		Integer lmsUserId = loginUserUtil.isStudent() ? loginUserDto.getLmsUserId()
 				: attendanceForm.getLmsUserId();
+		// 遅刻早退の判定に使用するコース（講師が編集する場合は受講生の所属コース）
+		Date date = new Date();
+		Integer courseId = loginUserUtil.isStudent() ? loginUserDto.getCourseId()
+				: mCourseMapper.findCourseIdByLmsUserId(lmsUserId, date, Constants.DB_FLG_FALSE);
 
-		// 現在の勤怠情報（受講生入力）リストを取得
-		List<TStudentAttendance> tStudentAttendanceList = tStudentAttendanceMapper
-				.findByLmsUserId(lmsUserId, Constants.DB_FLG_FALSE);
+		// 現在の勤怠情報（受講生入力）を研修日で引けるように変換
+		Map<Long, TStudentAttendance> currentMap = new HashMap<>();
+		for (TStudentAttendance entity : tStudentAttendanceMapper.findByLmsUserId(lmsUserId,
+				Constants.DB_FLG_FALSE)) {
+			currentMap.put(entity.getTrainingDate().getTime(), entity);
+		}
 
 		// 入力された情報を更新用のエンティティに移し替え
-		Date date = new Date();
+		List<TStudentAttendance> upsertList = new ArrayList<>();
+		AttendanceUpsertResultDto resultDto = new AttendanceUpsertResultDto();
 		for (DailyAttendanceForm dailyAttendanceForm : attendanceForm.getAttendanceList()) {
 
-			// 更新用エンティティ作成
-			TStudentAttendance tStudentAttendance = new TStudentAttendance();
-			// 日次勤怠フォームから更新用のエンティティにコピー
-			BeanUtils.copyProperties(dailyAttendanceForm, tStudentAttendance);
 			// 研修日付
-			tStudentAttendance
-					.setTrainingDate(dateUtil.parse(dailyAttendanceForm.getTrainingDate()));
-			// 現在の勤怠情報リストのうち、研修日が同じものを更新用エンティティで上書き
-			for (TStudentAttendance entity : tStudentAttendanceList) {
-				if (entity.getTrainingDate().equals(tStudentAttendance.getTrainingDate())) {
-					tStudentAttendance = entity;
-					break;
-				}
+			Date trainingDate = dateUtil.parse(dailyAttendanceForm.getTrainingDate());
+			TStudentAttendance current = currentMap.get(trainingDate.getTime());
+
+			// 更新用エンティティ作成（登録済みの場合は現在の勤怠情報を引き継ぐ）
+			TStudentAttendance tStudentAttendance = new TStudentAttendance();
+			if (current != null) {
+				BeanUtils.copyProperties(current, tStudentAttendance);
+			} else {
+				// 日次勤怠フォームから更新用のエンティティにコピー
+				BeanUtils.copyProperties(dailyAttendanceForm, tStudentAttendance);
+				tStudentAttendance.setTrainingDate(trainingDate);
 			}
 			tStudentAttendance.setLmsUserId(lmsUserId);
 			tStudentAttendance.setAccountId(loginUserDto.getAccountId());
@@ -476,7 +567,8 @@ public class StudentAttendanceService {
 					&& dailyAttendanceForm.getStartMinute() != null ) {
 				dailyAttendanceForm.setTrainingStartTime(dailyAttendanceForm.getStartHour() + ":"
 						+ dailyAttendanceForm.getStartMinute());
-				trainingStartTime = new TrainingTime(dailyAttendanceForm.getTrainingStartTime());
+				trainingStartTime = TrainingTime.of(dailyAttendanceForm.getStartHour(),
+						dailyAttendanceForm.getStartMinute());
 				tStudentAttendance.setTrainingStartTime(trainingStartTime.getFormattedString());
 			} else {
 				tStudentAttendance.setTrainingStartTime("");
@@ -488,7 +580,8 @@ public class StudentAttendanceService {
 					&& (dailyAttendanceForm.getEndMinute() != null)) {
 				dailyAttendanceForm.setTrainingEndTime(dailyAttendanceForm.getEndHour() + ":"
 						+ dailyAttendanceForm.getEndMinute());
-				trainingEndTime = new TrainingTime(dailyAttendanceForm.getTrainingEndTime());
+				trainingEndTime = TrainingTime.of(dailyAttendanceForm.getEndHour(),
+						dailyAttendanceForm.getEndMinute());
 				tStudentAttendance.setTrainingEndTime(trainingEndTime.getFormattedString());
 			} else{
 				tStudentAttendance.setTrainingEndTime("");
@@ -499,32 +592,89 @@ public class StudentAttendanceService {
 			// 遅刻早退ステータス
 			if ((trainingStartTime != null || trainingEndTime != null)
 					&& !dailyAttendanceForm.getStatusDispName().equals("欠席")) {
-				AttendanceStatusEnum attendanceStatusEnum = attendanceUtil
-						.getStatus(trainingStartTime, trainingEndTime);
+				AttendanceStatusEnum attendanceStatusEnum = attendanceUtil.getStatus(
+						courseId, trainingStartTime, trainingEndTime);
 				tStudentAttendance.setStatus(attendanceStatusEnum.code);
 			}
 			// 備考
 			tStudentAttendance.setNote(dailyAttendanceForm.getNote());
+
+			// 未登録かつ何も入力されていない研修日は登録対象外
+			if (current == null && trainingStartTime == null && trainingEndTime == null
+					&& tStudentAttendance.getBlankTime() == null
+					&& (tStudentAttendance.getNote() == null
+							|| tStudentAttendance.getNote().isBlank())) {
+				resultDto.setSkippedCount(resultDto.getSkippedCount() + 1);
+				continue;
+			}
+			// 変更がない場合は更新対象外
+			if (current != null && !isAttendanceChanged(current, tStudentAttendance)) {
+				resultDto.setSkippedCount(resultDto.getSkippedCount() + 1);
+				continue;
+			}
+			if (current == null) {
+				tStudentAttendance.setFirstCreateUser(loginUserDto.getLmsUserId());
+				tStudentAttendance.setFirstCreateDate(date);
+				resultDto.setInsertedCount(resultDto.getInsertedCount() + 1);
+			} else {
+				resultDto.setUpdatedCount(resultDto.getUpdatedCount() + 1);
+			}
 			// 更新者と更新日時
 			tStudentAttendance.setLastModifiedUser(loginUserDto.getLmsUserId());
 			tStudentAttendance.setLastModifiedDate(date);
 			// 削除フラグ
 			tStudentAttendance.setDeleteFlg(Constants.DB_FLG_FALSE);
 			// 登録用Listへ追加
-			tStudentAttendanceList.add(tStudentAttendance);
+			upsertList.add(tStudentAttendance);
 		}
-		// 登録・更新処理
-		for (TStudentAttendance tStudentAttendance : tStudentAttendanceList) {
-			if (tStudentAttendance.getStudentAttendanceId() == null) {
-				tStudentAttendance.setFirstCreateUser(loginUserDto.getLmsUserId());
-				tStudentAttendance.setFirstCreateDate(date);
-				tStudentAttendanceMapper.insert(tStudentAttendance);
-			} else {
-				tStudentAttendanceMapper.update(tStudentAttendance);
-			}
+		// 登録・更新処理（変更のあった行のみ一括で反映、反映件数が異なる場合はロールバック）
+		int upsertCount = bulkUpsert(upsertList);
+		if (upsertCount != upsertList.size()) {
+			throw new IllegalStateException("勤怠情報の登録・更新件数が一致しません。lmsUserId="
+					+ lmsUserId + ", 対象=" + upsertList.size() + ", 反映=" + upsertCount);
+		}
+		// 月次集計の更新（変更のあった月のみ）
+		List<Date> trainingDateList = new ArrayList<>();
+		for (TStudentAttendance tStudentAttendance : upsertList) {
+			trainingDateList.add(tStudentAttendance.getTrainingDate());
 		}
+		attendanceMonthlyService.refresh(lmsUserId, trainingDateList);
+		logger.info("勤怠一括更新 lmsUserId={} 登録={} 更新={} 変更なし={}", lmsUserId,
+				resultDto.getInsertedCount(), resultDto.getUpdatedCount(),
+				resultDto.getSkippedCount());
 		// 完了メッセージ
 		return messageUtil.getMessage(Constants.PROP_KEY_ATTENDANCE_UPDATE_NOTICE);
 	}
 
+	/**
+	 * 勤怠情報の一括登録・更新
+	 * 
+	 * @param tStudentAttendanceList 登録・更新対象の勤怠情報リスト
+	 * @return 登録・更新件数
+	 */
+	private int bulkUpsert(List<TStudentAttendance> tStudentAttendanceList) {
+		int count = 0;
+		// バインド変数の上限を超えないよう、一定件数ごとに分割して実行
+		for (int from = 0; from < tStudentAttendanceList.size(); from += BULK_UPSERT_SIZE) {
+			int to = Math.min(from + BULK_UPSERT_SIZE, tStudentAttendanceList.size());
+			count += tStudentAttendanceMapper.bulkUpsert(tStudentAttendanceList.subList(from, to));
+		}
+		return count;
+	}
+
+	/**
+	 * 勤怠情報の変更有無を判定
+	 * 
+	 * @param current 現在の勤怠情報
+	 * @param updated 更新後の勤怠情報
+	 * @return 出退勤時刻・中抜け時間・ステータス・備考のいずれかが変更されていればtrue
+	 */
+	private boolean isAttendanceChanged(TStudentAttendance current, TStudentAttendance updated) {
+		return !Objects.equals(current.getTrainingStartTime(), updated.getTrainingStartTime())
+				|| !Objects.equals(current.getTrainingEndTime(), updated.getTrainingEndTime())
+				|| !Objects.equals(current.getBlankTime(), updated.getBlankTime())
+				|| !Objects.equals(current.getStatus(), updated.getStatus())
+				|| !Objects.equals(current.getNote(), updated.getNote());
+	}
+
 }
@@ -0,0 +1,477 @@
+package jp.co.sss.lms.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.poi.hssf.util.CellReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jp.co.sss.lms.dto.SubsidyAttendanceDto;
+import jp.co.sss.lms.dto.SubsidyCompanyDto;
+import jp.co.sss.lms.dto.WorkbookDto;
+import jp.co.sss.lms.enums.AttendanceStatusEnum;
+import jp.co.sss.lms.mapper.TStudentAttendanceMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.CourseCalendar;
+import jp.co.sss.lms.util.ExcelUtil;
+import jp.co.sss.lms.util.MessageUtil;
+import jp.co.sss.lms.util.TrainingTime;
+
+/**
+ * 助成金書類作成サービス<br>
+ * 月次の受講状況（支給申請）を企業毎のブックに出力する。
+ *
+ * @author 東京ITスクール
+ */
+@Service
+public class SubsidyWorkbookService {
+
+	/** データ部の先頭行（受講生単位の項目・1日目の勤怠） */
+	private static final int ROW_DATA = 1;
+	/** データ部の最大日数 */
+	private static final int MAX_DAY_COUNT = 196;
+
+	/* 受講生単位の項目 */
+	private static final int CLM_DOWNLOAD_YEAR = CellReference.convertColStringToIndex("BE");
+	private static final int CLM_DOWNLOAD_MONTH = CellReference.convertColStringToIndex("BF");
+	private static final int CLM_DOWNLOAD_DAY = CellReference.convertColStringToIndex("BG");
+	private static final int CLM_USER_NAME = CellReference.convertColStringToIndex("BH");
+	private static final int CLM_PLACE_NAME = CellReference.convertColStringToIndex("BI");
+	private static final int CLM_COURSE_NAME = CellReference.convertColStringToIndex("BK");
+	private static final int CLM_TRAINING_TOTAL = CellReference.convertColStringToIndex("BL");
+	private static final int CLM_ATTEND_TOTAL = CellReference.convertColStringToIndex("BN");
+	private static final int CLM_ALL_TRAINING_TOTAL = CellReference.convertColStringToIndex("BP");
+	private static final int CLM_SUBSIDY_TOTAL = CellReference.convertColStringToIndex("BR");
+	private static final int CLM_WORK_START = CellReference.convertColStringToIndex("BT");
+	private static final int CLM_WORK_END = CellReference.convertColStringToIndex("BV");
+	private static final int CLM_REST_START = CellReference.convertColStringToIndex("BX");
+	private static final int CLM_REST_END = CellReference.convertColStringToIndex("BZ");
+	/* 日単位の項目 */
+	private static final int CLM_MONTH = CellReference.convertColStringToIndex("CC");
+	private static final int CLM_DAY = CellReference.convertColStringToIndex("CD");
+	private static final int CLM_DAY_OF_WEEK = CellReference.convertColStringToIndex("CE");
+	private static final int CLM_START = CellReference.convertColStringToIndex("CF");
+	private static final int CLM_END = CellReference.convertColStringToIndex("CH");
+	private static final int CLM_TRAINING = CellReference.convertColStringToIndex("CJ");
+	private static final int CLM_REST = CellReference.convertColStringToIndex("CL");
+	private static final int CLM_ATTEND = CellReference.convertColStringToIndex("CN");
+	private static final int CLM_SUBSIDY = CellReference.convertColStringToIndex("CP");
+	private static final int CLM_SECTION_NAME = CellReference.convertColStringToIndex("CR");
+	private static final int CLM_STATUS = CellReference.convertColStringToIndex("CT");
+	private static final int CLM_BLANK = CellReference.convertColStringToIndex("CU");
+
+	@Autowired
+	private TStudentAttendanceMapper tStudentAttendanceMapper;
+	@Autowired
+	private CourseCalendarService courseCalendarService;
+	@Autowired
+	private MessageUtil messageUtil;
+	@Autowired
+	private MetricsService metricsService;
+	@Autowired
+	private Clock clock;
+
+	/** 同時に作成する企業数 */
+	@Value("${setting.subsidy.thread}")
+	private Integer threadCount;
+	/** 同時にメモリ上に保持するブック数 */
+	@Value("${setting.subsidy.workbook.max}")
+	private Integer maxWorkbookCount;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/**
+	 * 対象月の受講状況ブックを企業毎に作成し、出力先へ書き出す<br>
+	 * 出力先が「.zip」で終わる場合はZIPファイルに、それ以外はディレクトリに出力する。
+	 *
+	 * @param targetMonth 対象月
+	 * @param output      出力先
+	 * @return 作成したブック数
+	 * @throws IOException
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public int createWorkbooks(YearMonth targetMonth, Path output)
+			throws IOException, InterruptedException, ExecutionException {
+		Date fromDate = toDate(targetMonth.atDay(1));
+		Date toDate = toDate(targetMonth.atEndOfMonth());
+		List<SubsidyCompanyDto> companyList = tStudentAttendanceMapper
+				.findSubsidyCompany(fromDate, toDate, Constants.DB_FLG_FALSE);
+		logger.info("受講状況作成開始：対象月={}, 企業数={}", targetMonth, companyList.size());
+
+		long startMillis = System.currentTimeMillis();
+		AtomicInteger doneCount = new AtomicInteger();
+		Semaphore semaphore = new Semaphore(maxWorkbookCount);
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		try (WorkbookOutput workbookOutput = new WorkbookOutput(output)) {
+			List<Future<?>> futureList = new ArrayList<>();
+			for (SubsidyCompanyDto companyDto : companyList) {
+				futureList.add(executorService.submit(() -> {
+					long companyStartMillis = System.currentTimeMillis();
+					List<SubsidyAttendanceDto> attendanceList = tStudentAttendanceMapper
+							.findSubsidyAttendance(companyDto.getCompanyId(), fromDate, toDate,
+									Constants.CODE_VAL_ROLL_STUDENT, Constants.DB_FLG_FALSE);
+					// 作成中・書き出し中のブックが上限に達している場合は待機
+					semaphore.acquire();
+					metricsService.excelStarted();
+					try {
+						WorkbookDto workbookDto = createWorkbook(companyDto, targetMonth,
+								attendanceList);
+						workbookOutput.write(workbookDto);
+					} finally {
+						metricsService.excelFinished();
+						semaphore.release();
+					}
+					logger.info("受講状況作成：企業ID={}, 受講生数={}, 処理時間={}ms, 完了={}/{}",
+							companyDto.getCompanyId(), countUser(attendanceList),
+							System.currentTimeMillis() - companyStartMillis,
+							doneCount.incrementAndGet(), companyList.size());
+					return null;
+				}));
+			}
+			for (Future<?> future : futureList) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+		long elapsedMillis = System.currentTimeMillis() - startMillis;
+		logger.info("受講状況作成終了：ブック数={}, 処理時間={}ms, スループット={}件/分", doneCount.get(),
+				elapsedMillis,
+				elapsedMillis == 0 ? doneCount.get() : doneCount.get() * 60_000L / elapsedMillis);
+		return doneCount.get();
+	}
+
+	/**
+	 * 企業の受講状況ブックを作成（受講生毎にシートを作成）
+	 *
+	 * @param companyDto     企業
+	 * @param targetMonth    対象月
+	 * @param attendanceList LMSユーザーID・研修日順の勤怠
+	 * @return ブック
+	 */
+	private WorkbookDto createWorkbook(SubsidyCompanyDto companyDto, YearMonth targetMonth,
+			List<SubsidyAttendanceDto> attendanceList) {
+		String commonFileDir = messageUtil.getMessage("setting.file.common.dir");
+		String fileName = messageUtil.getMessage("setting.file.template.subsidyAttendance");
+		String templateSheetName = messageUtil
+				.getMessage("setting.file.templateSheet.subsidyAttendance");
+		ExcelUtil excelUtil = new ExcelUtil(commonFileDir + "/" + fileName);
+
+		// 受講生毎に勤怠をまとめる
+		Map<Integer, List<SubsidyAttendanceDto>> userMap = new LinkedHashMap<>();
+		for (SubsidyAttendanceDto dto : attendanceList) {
+			userMap.computeIfAbsent(dto.getLmsUserId(), key -> new ArrayList<>()).add(dto);
+		}
+		Set<String> sheetNameSet = new HashSet<>();
+		for (List<SubsidyAttendanceDto> userAttendanceList : userMap.values()) {
+			String sheetName = toSheetName(userAttendanceList.get(0).getUserName(), sheetNameSet);
+			excelUtil.cloneSheet(templateSheetName, sheetName);
+			setUserSheet(excelUtil, sheetName, companyDto, targetMonth, userAttendanceList);
+		}
+		// 受講生がいる場合のみ、テンプレートのシートを削除
+		if (!userMap.isEmpty()) {
+			excelUtil.removeSheet(templateSheetName);
+		}
+
+		WorkbookDto workbookDto = new WorkbookDto();
+		workbookDto.setWb(excelUtil.getWb());
+		workbookDto.getWb().setForceFormulaRecalculation(true);
+		String companyName = companyDto.getCompanyName().replaceAll("　", " ");
+		workbookDto.setWbName(fileName.replace("テンプレート", targetMonth.getYear()
+				+ String.format("%02d", targetMonth.getMonthValue()) + "_" + companyName));
+		return workbookDto;
+	}
+
+	/**
+	 * 受講生のシートに勤怠を設定
+	 *
+	 * @param excelUtil
+	 * @param sheetName
+	 * @param companyDto         企業
+	 * @param targetMonth        対象月
+	 * @param userAttendanceList 受講生の研修日順の勤怠
+	 */
+	private void setUserSheet(ExcelUtil excelUtil, String sheetName,
+			SubsidyCompanyDto companyDto, YearMonth targetMonth,
+			List<SubsidyAttendanceDto> userAttendanceList) {
+		SubsidyAttendanceDto userDto = userAttendanceList.get(0);
+		CourseCalendar courseCalendar = courseCalendarService
+				.getCourseCalendar(userDto.getCourseId());
+		// 所定労働時間・休憩時間（企業の設定がない場合はコースの定時・SSSの休憩時間）
+		TrainingTime workStartTime = toTime(companyDto.getWorkStartTime(),
+				courseCalendar.getWorkStartTime());
+		TrainingTime workEndTime = toTime(companyDto.getWorkEndTime(),
+				courseCalendar.getWorkEndTime());
+		TrainingTime restStartTime = toTime(companyDto.getRestStartTime(),
+				Constants.SSS_REST_START_TIME);
+		TrainingTime restEndTime = toTime(companyDto.getRestEndTime(),
+				Constants.SSS_REST_END_TIME);
+		int restMinutes = overlap(workStartTime, workEndTime, restStartTime, restEndTime);
+		int trainingMinutes = workEndTime.toMinutes() - workStartTime.toMinutes() - restMinutes;
+
+		LocalDate today = LocalDate.now(clock);
+		excelUtil.setVal(sheetName, ROW_DATA, CLM_DOWNLOAD_YEAR, today.getYear());
+		excelUtil.setVal(sheetName, ROW_DATA, CLM_DOWNLOAD_MONTH, today.getMonthValue());
+		excelUtil.setVal(sheetName, ROW_DATA, CLM_DOWNLOAD_DAY, today.getDayOfMonth());
+		excelUtil.setVal(sheetName, ROW_DATA, CLM_USER_NAME, userDto.getUserName());
+		excelUtil.setVal(sheetName, ROW_DATA, CLM_PLACE_NAME, userDto.getPlaceName());
+		excelUtil.setVal(sheetName, ROW_DATA, CLM_COURSE_NAME, userDto.getCourseName());
+		setTime(excelUtil, sheetName, ROW_DATA, CLM_WORK_START, workStartTime.toMinutes());
+		setTime(excelUtil, sheetName, ROW_DATA, CLM_WORK_END, workEndTime.toMinutes());
+		setTime(excelUtil, sheetName, ROW_DATA, CLM_REST_START, restStartTime.toMinutes());
+		setTime(excelUtil, sheetName, ROW_DATA, CLM_REST_END, restEndTime.toMinutes());
+
+		// 研修日で勤怠を引けるように変換
+		Map<Long, SubsidyAttendanceDto> attendanceMap = new LinkedHashMap<>();
+		for (SubsidyAttendanceDto dto : userAttendanceList) {
+			if (dto.getTrainingDate() != null) {
+				attendanceMap.put(CourseCalendar.toEpochDay(dto.getTrainingDate()), dto);
+			}
+		}
+		long fromEpochDay = targetMonth.atDay(1).toEpochDay();
+		long toEpochDay = targetMonth.atEndOfMonth().toEpochDay();
+		int row = ROW_DATA;
+		int trainingTotal = 0, attendTotal = 0, subsidyTotal = 0;
+		for (int i = 0; i < courseCalendar.size() && row < ROW_DATA + MAX_DAY_COUNT; i++) {
+			long epochDay = courseCalendar.getEpochDay(i);
+			// 対象月外・同日の2つ目以降のセクションは対象外
+			if (epochDay < fromEpochDay || epochDay > toEpochDay
+					|| (i > 0 && courseCalendar.getEpochDay(i - 1) == epochDay)) {
+				continue;
+			}
+			LocalDate date = LocalDate.ofEpochDay(epochDay);
+			excelUtil.setVal(sheetName, row, CLM_MONTH, date.getMonthValue());
+			excelUtil.setVal(sheetName, row, CLM_DAY, date.getDayOfMonth());
+			excelUtil.setVal(sheetName, row, CLM_DAY_OF_WEEK,
+					date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.JAPANESE));
+			excelUtil.setVal(sheetName, row, CLM_SECTION_NAME, courseCalendar.getSectionName(i));
+			setTime(excelUtil, sheetName, row, CLM_TRAINING, trainingMinutes);
+			setTime(excelUtil, sheetName, row, CLM_REST, restMinutes);
+			trainingTotal += trainingMinutes;
+
+			SubsidyAttendanceDto dto = attendanceMap.get(epochDay);
+			if (dto != null) {
+				AttendanceStatusEnum statusEnum = AttendanceStatusEnum.getEnum(dto.getStatus());
+				if (statusEnum != null) {
+					excelUtil.setVal(sheetName, row, CLM_STATUS, statusEnum.name);
+				}
+				TrainingTime startTime = toTime(dto.getTrainingStartTime(), null);
+				TrainingTime endTime = toTime(dto.getTrainingEndTime(), null);
+				if (statusEnum != AttendanceStatusEnum.ABSENT && startTime != null
+						&& endTime != null) {
+					setTime(excelUtil, sheetName, row, CLM_START, startTime.toMinutes());
+					setTime(excelUtil, sheetName, row, CLM_END, endTime.toMinutes());
+					// 受講時間：出退勤時刻から休憩時間を除いた時間
+					int attendMinutes = Math.max(endTime.toMinutes() - startTime.toMinutes(), 0)
+							- overlap(startTime, endTime, restStartTime, restEndTime);
+					// 賃金助成時間：受講時間のうち所定労働時間内の時間
+					int subsidyMinutes = overlap(startTime, endTime, workStartTime, workEndTime)
+							- overlap(TrainingTime.max(startTime, workStartTime),
+									TrainingTime.min(endTime, workEndTime), restStartTime,
+									restEndTime);
+					setTime(excelUtil, sheetName, row, CLM_ATTEND, attendMinutes);
+					setTime(excelUtil, sheetName, row, CLM_SUBSIDY, subsidyMinutes);
+					attendTotal += attendMinutes;
+					subsidyTotal += subsidyMinutes;
+				}
+				setTime(excelUtil, sheetName, row, CLM_BLANK,
+						dto.getBlankTime() == null ? 0 : dto.getBlankTime());
+			}
+			row++;
+		}
+		setTime(excelUtil, sheetName, ROW_DATA, CLM_TRAINING_TOTAL, trainingTotal);
+		setTime(excelUtil, sheetName, ROW_DATA, CLM_ATTEND_TOTAL, attendTotal);
+		setTime(excelUtil, sheetName, ROW_DATA, CLM_ALL_TRAINING_TOTAL, trainingTotal);
+		setTime(excelUtil, sheetName, ROW_DATA, CLM_SUBSIDY_TOTAL, subsidyTotal);
+	}
+
+	/**
+	 * 時間（分）を時・分の2列に設定
+	 *
+	 * @param excelUtil
+	 * @param sheetName
+	 * @param rowNum
+	 * @param clmNum    時を設定する列（分は次の列）
+	 * @param minutes
+	 */
+	private void setTime(ExcelUtil excelUtil, String sheetName, int rowNum, int clmNum,
+			int minutes) {
+		excelUtil.setVal(sheetName, rowNum, clmNum, minutes / 60);
+		excelUtil.setVal(sheetName, rowNum, clmNum + 1, minutes % 60);
+	}
+
+	/**
+	 * 2つの時間帯の重なる時間を取得
+	 *
+	 * @param start1
+	 * @param end1
+	 * @param start2
+	 * @param end2
+	 * @return 重なる時間（分）
+	 */
+	private int overlap(TrainingTime start1, TrainingTime end1, TrainingTime start2,
+			TrainingTime end2) {
+		int start = Math.max(start1.toMinutes(), start2.toMinutes());
+		int end = Math.min(end1.toMinutes(), end2.toMinutes());
+		return Math.max(end - start, 0);
+	}
+
+	/**
+	 * HH:mm形式の時刻を研修時刻に変換
+	 *
+	 * @param timeStr
+	 * @param defaultTime 未入力・不正な場合の時刻
+	 * @return 研修時刻
+	 */
+	private TrainingTime toTime(String timeStr, TrainingTime defaultTime) {
+		if (timeStr == null || timeStr.isEmpty() || !TrainingTime.isValidTrainingTime(timeStr)) {
+			return defaultTime;
+		}
+		return TrainingTime.parse(timeStr);
+	}
+
+	/**
+	 * 受講生名からシート名を作成（シート名に使用できない文字の置換・重複時の連番付与）
+	 *
+	 * @param userName
+	 * @param sheetNameSet 作成済みのシート名
+	 * @return シート名
+	 */
+	private String toSheetName(String userName, Set<String> sheetNameSet) {
+		String baseName = userName == null ? "" : userName.replaceAll("[\\\\/?*\\[\\]:]", "_");
+		if (baseName.length() > 28) {
+			baseName = baseName.substring(0, 28);
+		}
+		String sheetName = baseName;
+		for (int count = 1; sheetName.isEmpty() || !sheetNameSet.add(sheetName); count++) {
+			sheetName = baseName + "(" + count + ")";
+		}
+		return sheetName;
+	}
+
+	/**
+	 * 受講生数を取得
+	 *
+	 * @param attendanceList LMSユーザーID順の勤怠
+	 * @return 受講生数
+	 */
+	private long countUser(List<SubsidyAttendanceDto> attendanceList) {
+		return attendanceList.stream().map(SubsidyAttendanceDto::getLmsUserId).distinct().count();
+	}
+
+	/**
+	 * LocalDateを日付に変換
+	 *
+	 * @param localDate
+	 * @return 日付
+	 */
+	private Date toDate(LocalDate localDate) {
+		return Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+	/**
+	 * ブックの出力先<br>
+	 * 複数スレッドから書き出されるため、ファイル名の決定とZIPへの書き込みのみ1件ずつ行う。
+	 */
+	private static class WorkbookOutput implements AutoCloseable {
+
+		/** 出力先ディレクトリ（ZIP出力の場合はnull） */
+		private final Path directory;
+		/** ZIP出力 */
+		private final ZipOutputStream zipOutputStream;
+		/** 出力済みのファイル名 */
+		private final Set<String> wbNameSet = new HashSet<>();
+
+		WorkbookOutput(Path output) throws IOException {
+			if (output.getFileName().toString().endsWith(".zip")) {
+				if (output.getParent() != null) {
+					Files.createDirectories(output.getParent());
+				}
+				directory = null;
+				zipOutputStream = new ZipOutputStream(Files.newOutputStream(output),
+						Charset.forName("MS932"));
+			} else {
+				directory = Files.createDirectories(output);
+				zipOutputStream = null;
+			}
+		}
+
+		/**
+		 * ブックを書き出す
+		 *
+		 * @param workbookDto
+		 * @throws IOException
+		 */
+		void write(WorkbookDto workbookDto) throws IOException {
+			String wbName = reserveName(workbookDto.getWbName());
+			if (zipOutputStream == null) {
+				try (OutputStream out = Files.newOutputStream(directory.resolve(wbName))) {
+					workbookDto.getWb().write(out);
+				}
+				return;
+			}
+			// Workbook#writeは出力先を閉じるため、一旦メモリ上に書き出す
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			workbookDto.getWb().write(baos);
+			synchronized (zipOutputStream) {
+				zipOutputStream.putNextEntry(new ZipEntry(wbName));
+				baos.writeTo(zipOutputStream);
+				zipOutputStream.closeEntry();
+			}
+		}
+
+		/**
+		 * 出力ファイル名を決定（同名のファイルがあった場合ファイル名末尾に「(n)」を付与する）
+		 *
+		 * @param wbName
+		 * @return 出力ファイル名
+		 */
+		private synchronized String reserveName(String wbName) {
+			String name = wbName;
+			int index = wbName.lastIndexOf('.');
+			for (int count = 1; !wbNameSet.add(name); count++) {
+				name = wbName.substring(0, index) + "(" + count + ")" + wbName.substring(index);
+			}
+			return name;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (zipOutputStream != null) {
+				zipOutputStream.close();
+			}
+		}
+
+	}
+
+}
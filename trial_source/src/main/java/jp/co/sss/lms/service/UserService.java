@@ -6,6 +6,7 @@ import java.util.List;
 import jakarta.servlet.http.HttpSession;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import jp.co.sss.lms.dto.DailyReportDto;
@@ -14,6 +15,7 @@ import jp.co.sss.lms.dto.LmsUserDto;
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.dto.UserDetailDto;
 import jp.co.sss.lms.entity.MUser;
+import jp.co.sss.lms.event.LoginUserChangedEvent;
 import jp.co.sss.lms.mapper.MLmsUserMapper;
 import jp.co.sss.lms.mapper.MUserMapper;
 import jp.co.sss.lms.mapper.TDailyReportSubmitMapper;
@@ -29,6 +31,8 @@ import jp.co.sss.lms.util.LoginUserUtil;
 @Service
 public class UserService {
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
 	@Autowired
 	private LoginUserDto loginUserDto;
 	@Autowired
@@ -57,6 +61,7 @@ public class UserService {
 		if (updateFlg) {
 			loginUserDto.setSecurityAgreeFlg(Constants.CODE_VAL_SECURITY_AGREE);
 			session.setAttribute("loginUserDto", loginUserDto);
+			eventPublisher.publishEvent(new LoginUserChangedEvent(loginUserDto.getUserId()));
 		}
 	}
 
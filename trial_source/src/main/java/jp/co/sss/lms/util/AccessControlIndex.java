@@ -0,0 +1,169 @@
+package jp.co.sss.lms.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+/**
+ * 権限毎のアクセス可能URL<br>
+ * 設定ファイル（access.properties）の内容を起動時にURL→権限ビットマスクの索引に変換する。<br>
+ * 生成後は変更されないため、複数スレッドから参照できる。
+ *
+ * @author 東京ITスクール
+ */
+public final class AccessControlIndex {
+
+	/** 設定ファイル */
+	public static final String RESOURCE_NAME = "access.properties";
+	/** 権限毎のアクセス可能URLのキー接頭辞 */
+	private static final String KEY_ROLE_PREFIX = "access.role.";
+	/** 静的リソースのディレクトリのキー */
+	private static final String KEY_STATIC = "access.static";
+
+	/** コンテキストパス */
+	private final String contextPath;
+	/** 権限コード→権限ビット */
+	private final Map<String, Integer> roleBitMap;
+	/** URL（コンテキストパスを含む）→アクセス可能な権限のビットマスク */
+	private final Map<String, Integer> accessMap;
+	/** 静的リソースのディレクトリ */
+	private final String[] staticDirs;
+
+	private AccessControlIndex(String contextPath, Map<String, Integer> roleBitMap,
+			Map<String, Integer> accessMap, String[] staticDirs) {
+		this.contextPath = contextPath;
+		this.roleBitMap = roleBitMap;
+		this.accessMap = accessMap;
+		this.staticDirs = staticDirs;
+	}
+
+	/**
+	 * 設定ファイルから生成
+	 *
+	 * @param contextPath コンテキストパス
+	 * @return アクセス可能URL
+	 * @throws IOException
+	 */
+	public static AccessControlIndex load(String contextPath) throws IOException {
+		return of(contextPath,
+				PropertiesLoaderUtils.loadProperties(new ClassPathResource(RESOURCE_NAME)));
+	}
+
+	/**
+	 * 設定内容から生成
+	 *
+	 * @param contextPath コンテキストパス
+	 * @param properties  設定内容
+	 * @return アクセス可能URL
+	 */
+	public static AccessControlIndex of(String contextPath, Properties properties) {
+		String path = contextPath == null ? "" : contextPath;
+		Map<String, Integer> roleBitMap = new HashMap<>();
+		Map<String, Integer> accessMap = new HashMap<>();
+		for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+			if (!key.startsWith(KEY_ROLE_PREFIX)) {
+				continue;
+			}
+			String role = key.substring(KEY_ROLE_PREFIX.length());
+			if (roleBitMap.size() == Integer.SIZE) {
+				throw new IllegalStateException("権限の数が上限を超えています：" + role);
+			}
+			int roleBit = 1 << roleBitMap.size();
+			roleBitMap.put(role, roleBit);
+			for (String uri : split(properties.getProperty(key))) {
+				accessMap.merge(path + uri, roleBit, (a, b) -> a | b);
+			}
+		}
+		String[] staticDirs = split(properties.getProperty(KEY_STATIC, ""));
+		return new AccessControlIndex(path, Map.copyOf(roleBitMap), Map.copyOf(accessMap),
+				staticDirs);
+	}
+
+	/**
+	 * 権限がURLにアクセス可能か判定
+	 *
+	 * @param role 権限コード
+	 * @param uri  リクエストURI（コンテキストパスを含む）
+	 * @return アクセス可能な場合true
+	 */
+	public boolean isAccess(String role, String uri) {
+		if (role == null || uri == null) {
+			return false;
+		}
+		Integer roleBit = roleBitMap.get(role);
+		Integer roleMask = accessMap.get(uri);
+		return roleBit != null && roleMask != null && (roleMask & roleBit) != 0;
+	}
+
+	/**
+	 * 静的リソースのURIか判定
+	 *
+	 * @param uri リクエストURI（コンテキストパスを含む）
+	 * @return 静的リソースの場合true
+	 */
+	public boolean isStatic(String uri) {
+		if (uri == null || !uri.startsWith(contextPath)) {
+			return false;
+		}
+		for (String staticDir : staticDirs) {
+			if (uri.startsWith(staticDir, contextPath.length())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 有効なアクセス可能URLの一覧を取得
+	 *
+	 * @return URL→アクセス可能な権限コードのリスト（URL順）
+	 */
+	public Map<String, List<String>> getAccessTable() {
+		Map<String, List<String>> accessTable = new TreeMap<>();
+		Map<String, Integer> sortedRoleBitMap = new TreeMap<>(roleBitMap);
+		accessMap.forEach((uri, roleMask) -> {
+			List<String> roleList = new ArrayList<>();
+			sortedRoleBitMap.forEach((role, roleBit) -> {
+				if ((roleMask & roleBit) != 0) {
+					roleList.add(role);
+				}
+			});
+			accessTable.put(uri, roleList);
+		});
+		return accessTable;
+	}
+
+	/**
+	 * 静的リソースのディレクトリを取得
+	 *
+	 * @return 静的リソースのディレクトリ
+	 */
+	public List<String> getStaticDirs() {
+		return List.of(staticDirs);
+	}
+
+	/**
+	 * カンマ区切りの値を分割
+	 *
+	 * @param value
+	 * @return 空白を除いた値
+	 */
+	private static String[] split(String value) {
+		List<String> valueList = new ArrayList<>();
+		for (String s : value.split(",")) {
+			if (!s.isBlank()) {
+				valueList.add(s.strip());
+			}
+		}
+		return valueList.toArray(new String[0]);
+	}
+
+}
@@ -0,0 +1,249 @@
+package jp.co.sss.lms.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import jp.co.sss.lms.dto.AttendanceMatrixRowDto;
+import jp.co.sss.lms.enums.AttendanceStatusEnum;
+
+/**
+ * コース勤怠一覧（受講生×研修日）<br>
+ * ステータスと実働時間（分）を受講生・研修日の位置で管理する、読み取り専用のクラス
+ * 
+ * @author 東京ITスクール
+ */
+public final class AttendanceMatrix {
+
+	/** 勤怠未登録を表す値 */
+	public static final short NOT_ENTERED = -1;
+
+	/** 研修日カレンダー */
+	private final CourseCalendar courseCalendar;
+	/** 表示する最初のセクション位置 */
+	private final int fromIndex;
+	/** 表示する研修日数 */
+	private final int dayCount;
+	/** LMSユーザーID */
+	private final int[] lmsUserIds;
+	/** ユーザー名 */
+	private final String[] userNames;
+	/** ステータス（受講生位置×研修日数＋研修日位置） */
+	private final short[] statuses;
+	/** 実働時間（分）（受講生位置×研修日数＋研修日位置） */
+	private final short[] workMinutes;
+
+	private AttendanceMatrix(CourseCalendar courseCalendar, int fromIndex, int dayCount,
+			int[] lmsUserIds, String[] userNames, short[] statuses, short[] workMinutes) {
+		this.courseCalendar = courseCalendar;
+		this.fromIndex = fromIndex;
+		this.dayCount = dayCount;
+		this.lmsUserIds = lmsUserIds;
+		this.userNames = userNames;
+		this.statuses = statuses;
+		this.workMinutes = workMinutes;
+	}
+
+	/**
+	 * 取得結果を受講生×研修日に展開
+	 * 
+	 * @param courseCalendar 研修日カレンダー
+	 * @param fromIndex      表示する最初のセクション位置
+	 * @param toIndex        表示する最後のセクション位置（この位置を含まない）
+	 * @param rowList        LMSユーザーID順の取得結果
+	 * @return コース勤怠一覧
+	 */
+	public static AttendanceMatrix of(CourseCalendar courseCalendar, int fromIndex, int toIndex,
+			List<AttendanceMatrixRowDto> rowList) {
+		int dayCount = Math.max(toIndex - fromIndex, 0);
+		List<Integer> lmsUserIdList = new ArrayList<>();
+		List<String> userNameList = new ArrayList<>();
+		for (AttendanceMatrixRowDto row : rowList) {
+			int last = lmsUserIdList.size() - 1;
+			if (last < 0 || !lmsUserIdList.get(last).equals(row.getLmsUserId())) {
+				lmsUserIdList.add(row.getLmsUserId());
+				userNameList.add(row.getUserName());
+			}
+		}
+		int studentCount = lmsUserIdList.size();
+		short[] statuses = new short[studentCount * dayCount];
+		short[] workMinutes = new short[studentCount * dayCount];
+		Arrays.fill(statuses, NOT_ENTERED);
+		Arrays.fill(workMinutes, NOT_ENTERED);
+
+		int studentIndex = -1;
+		Integer currentLmsUserId = null;
+		for (AttendanceMatrixRowDto row : rowList) {
+			if (!row.getLmsUserId().equals(currentLmsUserId)) {
+				currentLmsUserId = row.getLmsUserId();
+				studentIndex++;
+			}
+			if (row.getTrainingDate() == null) {
+				continue;
+			}
+			long epochDay = CourseCalendar.toEpochDay(row.getTrainingDate());
+			int index = courseCalendar.indexOf(epochDay);
+			if (index < 0) {
+				continue;
+			}
+			short status = row.getStatus() == null ? AttendanceStatusEnum.NONE.code
+					: row.getStatus();
+			short minutes = toWorkMinutes(row);
+			// 同日に複数セクションがある場合は全ての位置に設定
+			for (; index < courseCalendar.size()
+					&& courseCalendar.getEpochDay(index) == epochDay; index++) {
+				if (index < fromIndex || index >= fromIndex + dayCount) {
+					continue;
+				}
+				int position = studentIndex * dayCount + index - fromIndex;
+				statuses[position] = status;
+				workMinutes[position] = minutes;
+			}
+		}
+		return new AttendanceMatrix(courseCalendar, fromIndex, dayCount,
+				lmsUserIdList.stream().mapToInt(Integer::intValue).toArray(),
+				userNameList.toArray(new String[0]), statuses, workMinutes);
+	}
+
+	/**
+	 * 出退勤時刻と中抜け時間から実働時間を算出
+	 * 
+	 * @param row 取得結果
+	 * @return 実働時間（分）（算出できない場合は{@link #NOT_ENTERED}）
+	 */
+	private static short toWorkMinutes(AttendanceMatrixRowDto row) {
+		String start = row.getTrainingStartTime();
+		String end = row.getTrainingEndTime();
+		if (start == null || start.isEmpty() || end == null || end.isEmpty()
+				|| !TrainingTime.isValidTrainingTime(start)
+				|| !TrainingTime.isValidTrainingTime(end)) {
+			return NOT_ENTERED;
+		}
+		int minutes = TrainingTime.parse(end).toMinutes() - TrainingTime.parse(start).toMinutes();
+		if (row.getBlankTime() != null) {
+			minutes -= row.getBlankTime();
+		}
+		return minutes < 0 ? NOT_ENTERED : (short) minutes;
+	}
+
+	/**
+	 * 受講生数を取得
+	 * 
+	 * @return 受講生数
+	 */
+	public int getStudentCount() {
+		return lmsUserIds.length;
+	}
+
+	/**
+	 * 研修日数を取得
+	 * 
+	 * @return 研修日数
+	 */
+	public int getDayCount() {
+		return dayCount;
+	}
+
+	/**
+	 * 指定位置の受講生のLMSユーザーIDを取得
+	 * 
+	 * @param studentIndex
+	 * @return LMSユーザーID
+	 */
+	public int getLmsUserId(int studentIndex) {
+		return lmsUserIds[studentIndex];
+	}
+
+	/**
+	 * 最後の受講生のLMSユーザーIDを取得
+	 * 
+	 * @return LMSユーザーID（受講生がいない場合はnull）
+	 */
+	public Integer getLastLmsUserId() {
+		return lmsUserIds.length == 0 ? null : lmsUserIds[lmsUserIds.length - 1];
+	}
+
+	/**
+	 * 指定位置の受講生のユーザー名を取得
+	 * 
+	 * @param studentIndex
+	 * @return ユーザー名
+	 */
+	public String getUserName(int studentIndex) {
+		return userNames[studentIndex];
+	}
+
+	/**
+	 * 指定位置の研修日を取得
+	 * 
+	 * @param dayIndex
+	 * @return 研修日
+	 */
+	public Date getDate(int dayIndex) {
+		return courseCalendar.getDate(fromIndex + dayIndex);
+	}
+
+	/**
+	 * 指定位置のセクション名を取得
+	 * 
+	 * @param dayIndex
+	 * @return セクション名
+	 */
+	public String getSectionName(int dayIndex) {
+		return courseCalendar.getSectionName(fromIndex + dayIndex);
+	}
+
+	/**
+	 * ステータスを取得
+	 * 
+	 * @param studentIndex
+	 * @param dayIndex
+	 * @return ステータス（未登録の場合は{@link #NOT_ENTERED}）
+	 */
+	public short getStatus(int studentIndex, int dayIndex) {
+		return statuses[studentIndex * dayCount + dayIndex];
+	}
+
+	/**
+	 * 実働時間を取得
+	 * 
+	 * @param studentIndex
+	 * @param dayIndex
+	 * @return 実働時間（分）（算出できない場合は{@link #NOT_ENTERED}）
+	 */
+	public short getWorkMinutes(int studentIndex, int dayIndex) {
+		return workMinutes[studentIndex * dayCount + dayIndex];
+	}
+
+	/**
+	 * 表示用の勤怠を取得
+	 * 
+	 * @param studentIndex
+	 * @param dayIndex
+	 * @return 欠席の場合はステータス名、それ以外は実働時間（H:mm）と遅刻早退のステータス名
+	 */
+	public String getDispValue(int studentIndex, int dayIndex) {
+		short status = getStatus(studentIndex, dayIndex);
+		if (status == NOT_ENTERED) {
+			return "";
+		}
+		AttendanceStatusEnum statusEnum = AttendanceStatusEnum.getEnum(status);
+		if (statusEnum == AttendanceStatusEnum.ABSENT) {
+			return statusEnum.name;
+		}
+		StringBuilder sb = new StringBuilder();
+		short minutes = getWorkMinutes(studentIndex, dayIndex);
+		if (minutes != NOT_ENTERED) {
+			sb.append(minutes / 60).append(':').append(String.format("%02d", minutes % 60));
+		}
+		if (statusEnum != null && statusEnum != AttendanceStatusEnum.NONE) {
+			if (sb.length() > 0) {
+				sb.append(' ');
+			}
+			sb.append(statusEnum.name);
+		}
+		return sb.toString();
+	}
+
+}
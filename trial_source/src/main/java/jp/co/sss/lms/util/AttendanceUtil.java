@@ -1,6 +1,7 @@
 package jp.co.sss.lms.util;
 
 import java.text.ParseException;
+import java.time.Clock;
 import java.util.Date;
 import java.util.LinkedHashMap;
 
@@ -8,7 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import jp.co.sss.lms.enums.AttendanceStatusEnum;
-import jp.co.sss.lms.mapper.MSectionMapper;
+import jp.co.sss.lms.service.CourseCalendarService;
 
 /**
  * 勤怠管理のユーティリティクラス
@@ -21,7 +22,9 @@ public class AttendanceUtil {
 	@Autowired
 	private DateUtil dateUtil;
 	@Autowired
-	private MSectionMapper mSectionMapper;
+	private Clock clock;
+	@Autowired
+	private CourseCalendarService courseCalendarService;
 
 	/**
 	 * SSS定時・出退勤時間を元に、遅刻早退を判定をする
@@ -36,6 +39,21 @@ public class AttendanceUtil {
 				Constants.SSS_WORK_END_TIME);
 	}
 
+	/**
+	 * コースの定時・出退勤時間を元に、遅刻早退を判定する
+	 * 
+	 * @param courseId          コースID
+	 * @param trainingStartTime 開始時刻
+	 * @param trainingEndTime   終了時刻
+	 * @return 判定結果
+	 */
+	public AttendanceStatusEnum getStatus(Integer courseId, TrainingTime trainingStartTime,
+			TrainingTime trainingEndTime) {
+		CourseCalendar courseCalendar = courseCalendarService.getCourseCalendar(courseId);
+		return getStatus(trainingStartTime, trainingEndTime, courseCalendar.getWorkStartTime(),
+				courseCalendar.getWorkEndTime());
+	}
+
 	/**
 	 * 与えられた定時・出退勤時間を元に、遅刻早退を判定する
 	 * 
@@ -45,7 +63,7 @@ public class AttendanceUtil {
 	 * @param workEndTime       定時終了時刻
 	 * @return 判定結果
 	 */
-	private AttendanceStatusEnum getStatus(TrainingTime trainingStartTime,
+	public AttendanceStatusEnum getStatus(TrainingTime trainingStartTime,
 			TrainingTime trainingEndTime, TrainingTime workStartTime, TrainingTime workEndTime) {
 		// 定時が不明な場合、NONEを返却する
 		if (workStartTime == null || workStartTime.isBlank() || workEndTime == null
@@ -61,6 +79,17 @@ public class AttendanceUtil {
 		if (trainingEndTime != null && trainingEndTime.isNotBlank()) {
 			isEarly = (trainingEndTime.compareTo(workEndTime) < 0);
 		}
+		return getStatus(isLate, isEarly);
+	}
+
+	/**
+	 * 遅刻・早退の有無から、遅刻早退ステータスを判定する
+	 * 
+	 * @param isLate  遅刻の有無
+	 * @param isEarly 早退の有無
+	 * @return 判定結果
+	 */
+	public AttendanceStatusEnum getStatus(boolean isLate, boolean isEarly) {
 		if (isLate && isEarly) {
 			return AttendanceStatusEnum.TARDY_AND_LEAVING_EARLY;
 		}
@@ -73,6 +102,39 @@ public class AttendanceUtil {
 		return AttendanceStatusEnum.NONE;
 	}
 
+	/**
+	 * SSS定時・退勤時間を元に、早退かを判定する
+	 * 
+	 * @param trainingEndTime 終了時刻
+	 * @return 定時より1分以上早く退社していればtrue
+	 */
+	public boolean isLeavingEarly(TrainingTime trainingEndTime) {
+		return trainingEndTime != null && trainingEndTime.isNotBlank()
+				&& trainingEndTime.compareTo(Constants.SSS_WORK_END_TIME) < 0;
+	}
+
+	/**
+	 * コースの定時・退勤時間を元に、早退かを判定する
+	 * 
+	 * @param courseId        コースID
+	 * @param trainingEndTime 終了時刻
+	 * @return 定時より1分以上早く退社していればtrue
+	 */
+	public boolean isLeavingEarly(Integer courseId, TrainingTime trainingEndTime) {
+		return trainingEndTime != null && trainingEndTime.isNotBlank() && trainingEndTime
+				.compareTo(courseCalendarService.getCourseCalendar(courseId).getWorkEndTime()) < 0;
+	}
+
+	/**
+	 * コースの定時開始時刻を取得
+	 * 
+	 * @param courseId コースID
+	 * @return 定時開始時刻
+	 */
+	public TrainingTime getWorkStartTime(Integer courseId) {
+		return courseCalendarService.getCourseCalendar(courseId).getWorkStartTime();
+	}
+
 	/**
 	 * 中抜け時間を時(hour)と分(minute)に変換
 	 *
@@ -80,10 +142,16 @@ public class AttendanceUtil {
 	 * @return 時(hour)と分(minute)に変換したクラス
 	 */
 	public TrainingTime calcBlankTime(int min) {
-		int hour = min / 60;
-		int minute = min % 60;
-		TrainingTime total = new TrainingTime(hour, minute);
-		return total;
+		return TrainingTime.ofMinutes(min);
+	}
+
+	/**
+	 * 現在の研修時刻を取得
+	 * 
+	 * @return 現在の研修時刻
+	 */
+	public TrainingTime getCurrentTime() {
+		return TrainingTime.now(clock);
 	}
 
 	/**
@@ -185,11 +253,7 @@ public class AttendanceUtil {
 	 * @return 判定結果
 	 */
 	public boolean isWorkDay(Integer courseId, Date trainingDate) {
-		Integer count = mSectionMapper.getSectionCountByCourseId(courseId, trainingDate);
-		if (count > 0) {
-			return true;
-		}
-		return false;
+		return courseCalendarService.isWorkDay(courseId, trainingDate);
 	}
 
 }
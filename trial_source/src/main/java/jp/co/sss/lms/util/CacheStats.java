@@ -0,0 +1,61 @@
+package jp.co.sss.lms.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * キャッシュのヒット率<br>
+ * 複数スレッドから同時に加算できる。
+ *
+ * @author 東京ITスクール
+ */
+public class CacheStats {
+
+	/** ヒット件数 */
+	private final LongAdder hitCount = new LongAdder();
+	/** ミス件数 */
+	private final LongAdder missCount = new LongAdder();
+
+	/**
+	 * ヒットを記録
+	 */
+	public void hit() {
+		hitCount.increment();
+	}
+
+	/**
+	 * ミスを記録
+	 */
+	public void miss() {
+		missCount.increment();
+	}
+
+	/**
+	 * ヒット件数を取得
+	 *
+	 * @return ヒット件数
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * ミス件数を取得
+	 *
+	 * @return ミス件数
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * ヒット率を取得
+	 *
+	 * @return ヒット率（参照がない場合は0）
+	 */
+	public double getHitRatio() {
+		long hit = hitCount.sum();
+		long total = hit + missCount.sum();
+		return total == 0 ? 0 : (double) hit / total;
+	}
+
+}
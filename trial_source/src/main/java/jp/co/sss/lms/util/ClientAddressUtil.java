@@ -0,0 +1,69 @@
+package jp.co.sss.lms.util;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 接続元IPアドレスのユーティリティ<br>
+ * 信頼するプロキシ（setting.proxy.trusted）を経由したリクエストのみ、
+ * X-Forwarded-Forヘッダを末尾から辿り、信頼するプロキシ以外の最初のアドレスを接続元とする。
+ *
+ * @author 東京ITスクール
+ */
+@Component
+public class ClientAddressUtil {
+
+	/** 転送元のヘッダ */
+	public static final String HEADER_FORWARDED_FOR = "X-Forwarded-For";
+
+	/** 信頼するプロキシのIPアドレス（カンマ区切り） */
+	@Value("${setting.proxy.trusted:}")
+	private String trustedProxies;
+
+	/** 信頼するプロキシのIPアドレス */
+	private Set<String> trustedProxySet;
+
+	/**
+	 * 信頼するプロキシの設定を読込
+	 */
+	@PostConstruct
+	public void init() {
+		trustedProxySet = Arrays.stream(trustedProxies.split(","))
+				.map(String::strip)
+				.filter(proxy -> !proxy.isEmpty())
+				.collect(Collectors.toUnmodifiableSet());
+	}
+
+	/**
+	 * 接続元IPアドレスを取得
+	 *
+	 * @param request リクエスト
+	 * @return 接続元IPアドレス
+	 */
+	public String getClientAddress(HttpServletRequest request) {
+		String address = request.getRemoteAddr();
+		String forwardedFor = request.getHeader(HEADER_FORWARDED_FOR);
+		if (forwardedFor == null || !trustedProxySet.contains(address)) {
+			return address;
+		}
+		String[] forwarded = forwardedFor.split(",");
+		for (int i = forwarded.length - 1; i >= 0; i--) {
+			String candidate = forwarded[i].strip();
+			if (candidate.isEmpty()) {
+				break;
+			}
+			address = candidate;
+			if (!trustedProxySet.contains(candidate)) {
+				break;
+			}
+		}
+		return address;
+	}
+
+}
@@ -28,6 +28,7 @@ public interface Constants {
 	public static final String VALID_KEY_LOGIN = "login";
 	public static final String VALID_KEY_LOGIN_LOCK = "login.lock";
 	public static final String VALID_KEY_LOGIN_PLACENODISPLAY = "login.placeNoDisplay";
+	public static final String VALID_KEY_LOGIN_BUSY = "login.busy";
 	public static final String VALID_KEY_MATCH = "match";
 	public static final String VALID_KEY_CHANGEPASSWORD_NG = "changePassword.ng";
 	public static final String VALID_KEY_USEDPASSWORD_NG = "usedPassword.ng";
@@ -155,6 +156,7 @@ public interface Constants {
 	public static final String VALID_KEY_WORK24TIME = "work24Time";
 	public static final String VALID_KEY_LOGINDATA_GET_FAILED = "logindata.getFailed";
 	public static final String VALID_KEY_PASSWORD_UPDATE_FAILED = "password.updateFailed";
+	public static final String VALID_KEY_PASSWORD_BUSY = "password.busy";
 
 	// message.propertyのリソースキー
 	public static final String PROP_KEY_MAIL_CONTRACT_SUBJECT = "mail.contract.subject";
@@ -241,6 +243,10 @@ public interface Constants {
 	/** 削除フラグオン */
 	public static final short DB_FLG_TRUE = 1;
 
+	// バッチ処理
+	/** バッチ処理の更新者（実行者の指定がない場合） */
+	public static final int BATCH_USER_ID = 0;
+
 	// レコードの非表示フラグ
 	public static final short DB_HIDDEN_FLG_FALSE = 0;
 	public static final short DB_HIDDEN_FLG_TRUE = 1;
@@ -276,13 +282,13 @@ public interface Constants {
 	public static final int SELECT_MAX_LENGTH = 70;
 
 	/** システムシェアード定時開始 */
-	public static final TrainingTime SSS_WORK_START_TIME = new TrainingTime("09:00");
+	public static final TrainingTime SSS_WORK_START_TIME = TrainingTime.of(9, 0);
 	/** システムシェアード定時終了 */
-	public static final TrainingTime SSS_WORK_END_TIME = new TrainingTime("18:00");
+	public static final TrainingTime SSS_WORK_END_TIME = TrainingTime.of(18, 0);
 	/** システムシェアード休憩開始 */
-	public static final TrainingTime SSS_REST_START_TIME = new TrainingTime("12:00");
+	public static final TrainingTime SSS_REST_START_TIME = TrainingTime.of(12, 0);
 	/** システムシェアード休憩終了 */
-	public static final TrainingTime SSS_REST_END_TIME = new TrainingTime("13:00");
+	public static final TrainingTime SSS_REST_END_TIME = TrainingTime.of(13, 0);
 
 	/** 勤怠タイプ：出勤 */
 	public static final short CODE_VAL_ATWORK = 0;
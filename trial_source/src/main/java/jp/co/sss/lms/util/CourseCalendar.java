@@ -0,0 +1,243 @@
+package jp.co.sss.lms.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+
+import jp.co.sss.lms.entity.MCourse;
+import jp.co.sss.lms.entity.MSection;
+
+/**
+ * コースの研修日カレンダー<br>
+ * 研修日を開始日からの経過日数で管理する、読み取り専用のクラス。コースの定時も併せて保持する。
+ * 
+ * @author 東京ITスクール
+ */
+public final class CourseCalendar {
+
+	/** 空のカレンダー */
+	public static final CourseCalendar EMPTY = new CourseCalendar(0, new int[0], new String[0],
+			Constants.SSS_WORK_START_TIME, Constants.SSS_WORK_END_TIME, 0);
+
+	/** 基準日（エポック日） */
+	private final long baseEpochDay;
+	/** 研修日（基準日からの経過日数） */
+	private final BitSet workDays;
+	/** セクションの研修日（基準日からの経過日数、日付順） */
+	private final int[] dayOffsets;
+	/** セクション名（dayOffsetsと同順） */
+	private final String[] sectionNames;
+	/** 定時開始時刻 */
+	private final TrainingTime workStartTime;
+	/** 定時終了時刻 */
+	private final TrainingTime workEndTime;
+	/** 読込日時（ミリ秒） */
+	private final long loadedTimeMillis;
+
+	private CourseCalendar(long baseEpochDay, int[] dayOffsets, String[] sectionNames,
+			TrainingTime workStartTime, TrainingTime workEndTime, long loadedTimeMillis) {
+		this.baseEpochDay = baseEpochDay;
+		this.dayOffsets = dayOffsets;
+		this.sectionNames = sectionNames;
+		this.workStartTime = workStartTime;
+		this.workEndTime = workEndTime;
+		this.loadedTimeMillis = loadedTimeMillis;
+		this.workDays = new BitSet();
+		for (int dayOffset : dayOffsets) {
+			workDays.set(dayOffset);
+		}
+	}
+
+	/**
+	 * コース・セクションリストからカレンダーを作成
+	 * 
+	 * @param mCourse     コース（開校日がnullの場合は最初のセクションの日付を基準日とする）
+	 * @param sectionList 日付順のセクションリスト
+	 * @param loadedTimeMillis 読込日時（ミリ秒）
+	 * @return コースの研修日カレンダー
+	 */
+	public static CourseCalendar of(MCourse mCourse, List<MSection> sectionList,
+			long loadedTimeMillis) {
+		TrainingTime workStartTime = toWorkTime(mCourse.getWorkStartTime(),
+				Constants.SSS_WORK_START_TIME);
+		TrainingTime workEndTime = toWorkTime(mCourse.getWorkEndTime(),
+				Constants.SSS_WORK_END_TIME);
+		if (sectionList.isEmpty()) {
+			return new CourseCalendar(0, new int[0], new String[0], workStartTime, workEndTime,
+					loadedTimeMillis);
+		}
+		long baseEpochDay = toEpochDay(sectionList.get(0).getDate());
+		if (mCourse.getOpenTime() != null) {
+			baseEpochDay = Math.min(baseEpochDay, toEpochDay(mCourse.getOpenTime()));
+		}
+		int[] dayOffsets = new int[sectionList.size()];
+		String[] sectionNames = new String[sectionList.size()];
+		for (int i = 0; i < sectionList.size(); i++) {
+			MSection mSection = sectionList.get(i);
+			dayOffsets[i] = (int) (toEpochDay(mSection.getDate()) - baseEpochDay);
+			sectionNames[i] = mSection.getSectionName();
+		}
+		return new CourseCalendar(baseEpochDay, dayOffsets, sectionNames, workStartTime,
+				workEndTime, loadedTimeMillis);
+	}
+
+	/**
+	 * コースの定時を研修時刻に変換
+	 * 
+	 * @param timeStr      HH:mm形式の定時
+	 * @param defaultTime 未設定・不正な場合の定時
+	 * @return 定時
+	 */
+	private static TrainingTime toWorkTime(String timeStr, TrainingTime defaultTime) {
+		if (timeStr == null || timeStr.isEmpty() || !TrainingTime.isValidTrainingTime(timeStr)) {
+			return defaultTime;
+		}
+		return TrainingTime.parse(timeStr);
+	}
+
+	/**
+	 * 研修日の判定
+	 * 
+	 * @param date
+	 * @return 研修日の場合true
+	 */
+	public boolean isWorkDay(Date date) {
+		long dayOffset = toEpochDay(date) - baseEpochDay;
+		return dayOffset >= 0 && dayOffset <= Integer.MAX_VALUE
+				&& workDays.get((int) dayOffset);
+	}
+
+	/**
+	 * 期間内の研修日数を取得
+	 * 
+	 * @param fromEpochDay 期間開始日（エポック日）
+	 * @param toEpochDay   期間終了日（エポック日、この日を含まない）
+	 * @return 研修日数
+	 */
+	public int countWorkDays(long fromEpochDay, long toEpochDay) {
+		long fromOffset = Math.max(fromEpochDay - baseEpochDay, 0);
+		long toOffset = Math.min(toEpochDay - baseEpochDay, workDays.length());
+		if (fromOffset >= toOffset) {
+			return 0;
+		}
+		return workDays.get((int) fromOffset, (int) toOffset).cardinality();
+	}
+
+	/**
+	 * セクション数を取得
+	 * 
+	 * @return セクション数
+	 */
+	public int size() {
+		return dayOffsets.length;
+	}
+
+	/**
+	 * 指定位置のセクションの研修日（エポック日）を取得
+	 * 
+	 * @param index
+	 * @return エポック日
+	 */
+	public long getEpochDay(int index) {
+		return baseEpochDay + dayOffsets[index];
+	}
+
+	/**
+	 * 指定位置のセクションの研修日を取得
+	 * 
+	 * @param index
+	 * @return 研修日
+	 */
+	public Date getDate(int index) {
+		return Date.from(LocalDate.ofEpochDay(getEpochDay(index))
+				.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+	/**
+	 * 指定位置のセクション名を取得
+	 * 
+	 * @param index
+	 * @return セクション名
+	 */
+	public String getSectionName(int index) {
+		return sectionNames[index];
+	}
+
+	/**
+	 * 研修日のセクション位置を取得
+	 * 
+	 * @param epochDay エポック日
+	 * @return 研修日の最初のセクション位置（研修日でない場合は-1）
+	 */
+	public int indexOf(long epochDay) {
+		long dayOffset = epochDay - baseEpochDay;
+		if (dayOffset < 0 || dayOffset > Integer.MAX_VALUE) {
+			return -1;
+		}
+		int index = Arrays.binarySearch(dayOffsets, (int) dayOffset);
+		if (index < 0) {
+			return -1;
+		}
+		// 同日に複数セクションがある場合は最初の位置
+		while (index > 0 && dayOffsets[index - 1] == dayOffsets[index]) {
+			index--;
+		}
+		return index;
+	}
+
+	/**
+	 * 指定位置のセクションの研修日が当日か判定
+	 * 
+	 * @param index
+	 * @param todayEpochDay 当日のエポック日
+	 * @return 当日の場合true
+	 */
+	public boolean isToday(int index, long todayEpochDay) {
+		return getEpochDay(index) == todayEpochDay;
+	}
+
+	/**
+	 * 定時開始時刻を取得
+	 * 
+	 * @return 定時開始時刻
+	 */
+	public TrainingTime getWorkStartTime() {
+		return workStartTime;
+	}
+
+	/**
+	 * 定時終了時刻を取得
+	 * 
+	 * @return 定時終了時刻
+	 */
+	public TrainingTime getWorkEndTime() {
+		return workEndTime;
+	}
+
+	/**
+	 * 読込から指定時間が経過しているか判定
+	 * 
+	 * @param nowMillis    現在日時（ミリ秒）
+	 * @param expireMillis 有効期間（ミリ秒）
+	 * @return 経過している場合true
+	 */
+	public boolean isExpired(long nowMillis, long expireMillis) {
+		return nowMillis - loadedTimeMillis >= expireMillis;
+	}
+
+	/**
+	 * 日付をエポック日に変換
+	 * 
+	 * @param date
+	 * @return エポック日
+	 */
+	public static long toEpochDay(Date date) {
+		return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate()
+				.toEpochDay();
+	}
+
+}
@@ -0,0 +1,299 @@
+package jp.co.sss.lms.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import jp.co.sss.lms.dto.ExamQuestionDto;
+import jp.co.sss.lms.dto.QuestionDto;
+
+/**
+ * 試験定義<br>
+ * 試験名・制限時間と、問題・選択肢・正答を保持する読み取り専用のクラス。
+ * 複数の受験者で共有するため、画面に渡す問題DTOは都度複製して返す。
+ *
+ * @author 東京ITスクール
+ */
+public final class ExamDefinition {
+
+	/** 試験ID */
+	private final Integer examId;
+	/** 試験名 */
+	private final String examName;
+	/** 制限時間 */
+	private final Integer limitTime;
+	/** 問題リスト（問題ID順） */
+	private final List<Question> questionList;
+	/** バージョン */
+	private final String version;
+
+	private ExamDefinition(Integer examId, String examName, Integer limitTime,
+			List<Question> questionList, String version) {
+		this.examId = examId;
+		this.examName = examName;
+		this.limitTime = limitTime;
+		this.questionList = questionList;
+		this.version = version;
+	}
+
+	/**
+	 * 試験問題DTOから試験定義を作成
+	 *
+	 * @param examQuestionDto 正答を含む試験問題DTO
+	 * @param version         バージョン
+	 * @return 試験定義
+	 */
+	public static ExamDefinition of(ExamQuestionDto examQuestionDto, String version) {
+		List<Question> questionList = new ArrayList<>();
+		if (examQuestionDto.getQuestionDtoList() != null) {
+			for (QuestionDto questionDto : examQuestionDto.getQuestionDtoList()) {
+				// 問題が存在しない試験の場合、外部結合により問題IDがnullの行が返る
+				if (questionDto.getQuestionId() != null) {
+					questionList.add(new Question(questionDto));
+				}
+			}
+		}
+		return new ExamDefinition(examQuestionDto.getExamId(), examQuestionDto.getExamName(),
+				examQuestionDto.getLimitTime(), Collections.unmodifiableList(questionList),
+				version);
+	}
+
+	/**
+	 * 画面表示用の問題DTOリストを作成（正答・解説は含まない）
+	 *
+	 * @return 問題DTOリスト
+	 */
+	public List<QuestionDto> toQuestionDtoList() {
+		List<QuestionDto> questionDtoList = new ArrayList<>(questionList.size());
+		for (Question question : questionList) {
+			questionDtoList.add(toQuestionDto(question));
+		}
+		return questionDtoList;
+	}
+
+	/**
+	 * 結果画面表示用の問題DTOリストを作成（回答・正答・解説を含む）
+	 *
+	 * @param replyArray 回答（問題リストと同順）
+	 * @return 問題DTOリスト
+	 */
+	public List<QuestionDto> toResultQuestionDtoList(Short[] replyArray) {
+		List<QuestionDto> questionDtoList = new ArrayList<>(questionList.size());
+		for (int i = 0; i < questionList.size(); i++) {
+			Question question = questionList.get(i);
+			QuestionDto questionDto = toQuestionDto(question);
+			questionDto.setReply(getReply(replyArray, i));
+			questionDto.setAnswerNum(question.answerNum);
+			questionDto.setExplain(question.explain);
+			questionDtoList.add(questionDto);
+		}
+		return questionDtoList;
+	}
+
+	/**
+	 * 登録する回答を取得
+	 *
+	 * @param replyArray 回答（問題リストと同順）
+	 * @param index      問題の位置
+	 * @return 回答（未回答の場合はnull、回答の送信が無い問題の場合は0）
+	 */
+	public static Short getReply(Short[] replyArray, int index) {
+		if (replyArray == null || index >= replyArray.length) {
+			return 0;
+		}
+		return replyArray[index];
+	}
+
+	/**
+	 * 得点を点数（100点満点、小数第1位まで）に換算
+	 *
+	 * @param score 正答数
+	 * @return 点数（問題が無い場合はnull）
+	 */
+	public Double getPoint(int score) {
+		if (questionList.isEmpty()) {
+			return null;
+		}
+		return BigDecimal.valueOf(score * 100L)
+				.divide(BigDecimal.valueOf(questionList.size()), 1, RoundingMode.HALF_UP)
+				.doubleValue();
+	}
+
+	/**
+	 * 回答を採点
+	 *
+	 * @param answer 回答（問題リストと同順、未回答はnull）
+	 * @return 正答数
+	 */
+	public short score(Short[] answer) {
+		short score = 0;
+		if (answer == null) {
+			return score;
+		}
+		int count = Math.min(answer.length, questionList.size());
+		for (int i = 0; i < count; i++) {
+			if (answer[i] != null && answer[i].equals(questionList.get(i).answerNum)) {
+				score++;
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * 試験IDを取得
+	 * 
+	 * @return 試験ID
+	 */
+	public Integer getExamId() {
+		return examId;
+	}
+
+	/**
+	 * 試験名を取得
+	 * 
+	 * @return 試験名
+	 */
+	public String getExamName() {
+		return examName;
+	}
+
+	/**
+	 * 制限時間を取得
+	 * 
+	 * @return 制限時間
+	 */
+	public Integer getLimitTime() {
+		return limitTime;
+	}
+
+	/**
+	 * 問題リストを取得
+	 * 
+	 * @return 問題リスト（変更不可）
+	 */
+	public List<Question> getQuestionList() {
+		return questionList;
+	}
+
+	/**
+	 * 問題数を取得
+	 * 
+	 * @return 問題数
+	 */
+	public int getQuestionCount() {
+		return questionList.size();
+	}
+
+	/**
+	 * バージョンを取得
+	 * 
+	 * @return バージョン
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	/**
+	 * 問題DTOを作成（正答・解説は含まない）
+	 */
+	private static QuestionDto toQuestionDto(Question question) {
+		QuestionDto questionDto = new QuestionDto();
+		questionDto.setQuestionId(question.questionId);
+		questionDto.setGenreDetailName(question.genreDetailName);
+		questionDto.setQuestion(question.question);
+		questionDto.setChoice1(question.answerList.get(0));
+		questionDto.setChoice2(question.answerList.get(1));
+		questionDto.setChoice3(question.answerList.get(2));
+		questionDto.setChoice4(question.answerList.get(3));
+		questionDto.setAnswerList(question.answerList);
+		return questionDto;
+	}
+
+	/**
+	 * 試験定義の問題
+	 */
+	public static final class Question {
+
+		/** 問題ID */
+		private final Integer questionId;
+		/** ジャンル詳細 */
+		private final String genreDetailName;
+		/** 問題 */
+		private final String question;
+		/** 選択肢（選択肢1～4） */
+		private final List<String> answerList;
+		/** 正答 */
+		private final Short answerNum;
+		/** 解説 */
+		private final String explain;
+
+		private Question(QuestionDto questionDto) {
+			this.questionId = questionDto.getQuestionId();
+			this.genreDetailName = questionDto.getGenreDetailName();
+			this.question = questionDto.getQuestion();
+			this.answerList = Collections.unmodifiableList(Arrays.asList(questionDto.getChoice1(),
+					questionDto.getChoice2(), questionDto.getChoice3(), questionDto.getChoice4()));
+			this.answerNum = questionDto.getAnswerNum();
+			this.explain = questionDto.getExplain();
+		}
+
+		/**
+		 * 問題IDを取得
+		 * 
+		 * @return 問題ID
+		 */
+		public Integer getQuestionId() {
+			return questionId;
+		}
+
+		/**
+		 * ジャンル詳細を取得
+		 * 
+		 * @return ジャンル詳細
+		 */
+		public String getGenreDetailName() {
+			return genreDetailName;
+		}
+
+		/**
+		 * 問題を取得
+		 * 
+		 * @return 問題
+		 */
+		public String getQuestion() {
+			return question;
+		}
+
+		/**
+		 * 選択肢を取得
+		 * 
+		 * @return 選択肢（変更不可）
+		 */
+		public List<String> getAnswerList() {
+			return answerList;
+		}
+
+		/**
+		 * 正答を取得
+		 * 
+		 * @return 正答
+		 */
+		public Short getAnswerNum() {
+			return answerNum;
+		}
+
+		/**
+		 * 解説を取得
+		 * 
+		 * @return 解説
+		 */
+		public String getExplain() {
+			return explain;
+		}
+
+	}
+
+}
@@ -0,0 +1,232 @@
+package jp.co.sss.lms.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jp.co.sss.lms.dto.ExamReplyDto;
+import jp.co.sss.lms.entity.TExamQuestionAnalysis;
+
+/**
+ * 試験問題分析の集計<br>
+ * 1試験分の回答を試験結果ID順に1件ずつ受け取り、問題毎の回答件数・正答件数・選択肢毎の選択件数と、
+ * 識別力（点双列相関係数）の算出に必要な合計値を問題位置の配列に加算する。<br>
+ * 回答を保持しないため、試験結果の件数によらずメモリ使用量は問題数分となる。
+ * 1試験につき1スレッドで使用すること。
+ *
+ * @author 東京ITスクール
+ */
+public class ExamQuestionAnalyzer {
+
+	/** 選択肢数（0は未回答） */
+	private static final int CHOICE_COUNT = 5;
+	/** 配列の初期長 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** 試験ID */
+	private final Integer examId;
+	/** 問題ID→問題位置 */
+	private final Map<Integer, Integer> questionIndexMap = new HashMap<>();
+
+	/** 問題ID（問題位置順） */
+	private int[] questionIds = new int[INITIAL_CAPACITY];
+	/** ジャンル詳細ID（未設定は0） */
+	private int[] genreDetailIds = new int[INITIAL_CAPACITY];
+	/** 正答 */
+	private short[] answerNums = new short[INITIAL_CAPACITY];
+	/** 回答件数 */
+	private int[] answerCounts = new int[INITIAL_CAPACITY];
+	/** 正答件数 */
+	private int[] correctCounts = new int[INITIAL_CAPACITY];
+	/** 選択件数（問題位置×選択肢数＋選択肢） */
+	private int[] choiceCounts = new int[INITIAL_CAPACITY * CHOICE_COUNT];
+	/** 回答した受験者の得点の合計 */
+	private long[] scoreSums = new long[INITIAL_CAPACITY];
+	/** 回答した受験者の得点の二乗の合計 */
+	private long[] scoreSquareSums = new long[INITIAL_CAPACITY];
+	/** 正答した受験者の得点の合計 */
+	private long[] correctScoreSums = new long[INITIAL_CAPACITY];
+	/** 問題数 */
+	private int questionCount;
+
+	/** 集計中の試験結果ID */
+	private Integer currentExamResultId;
+	/** 集計中の試験結果の問題位置 */
+	private int[] attemptIndexes = new int[INITIAL_CAPACITY];
+	/** 集計中の試験結果の正誤 */
+	private boolean[] attemptCorrects = new boolean[INITIAL_CAPACITY];
+	/** 集計中の試験結果の回答数 */
+	private int attemptSize;
+	/** 試験結果件数 */
+	private int resultCount;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param examId 試験ID
+	 */
+	public ExamQuestionAnalyzer(Integer examId) {
+		this.examId = examId;
+	}
+
+	/**
+	 * 回答を加算
+	 *
+	 * @param examReplyDto 試験結果ID順の回答
+	 */
+	public void add(ExamReplyDto examReplyDto) {
+		if (!examReplyDto.getExamResultId().equals(currentExamResultId)) {
+			finishAttempt();
+			currentExamResultId = examReplyDto.getExamResultId();
+		}
+		int index = getQuestionIndex(examReplyDto);
+		short reply = examReplyDto.getReply() == null ? 0 : examReplyDto.getReply();
+		boolean correct = reply != 0 && reply == answerNums[index];
+		answerCounts[index]++;
+		if (correct) {
+			correctCounts[index]++;
+		}
+		choiceCounts[index * CHOICE_COUNT + (reply >= 1 && reply < CHOICE_COUNT ? reply : 0)]++;
+		if (attemptSize == attemptIndexes.length) {
+			attemptIndexes = Arrays.copyOf(attemptIndexes, attemptSize * 2);
+			attemptCorrects = Arrays.copyOf(attemptCorrects, attemptSize * 2);
+		}
+		attemptIndexes[attemptSize] = index;
+		attemptCorrects[attemptSize] = correct;
+		attemptSize++;
+	}
+
+	/**
+	 * 集計結果を取得
+	 *
+	 * @param lastModifiedDate 分析日時
+	 * @return 問題毎の分析結果（問題ID順）
+	 */
+	public List<TExamQuestionAnalysis> toAnalysisList(Date lastModifiedDate) {
+		finishAttempt();
+		List<TExamQuestionAnalysis> analysisList = new ArrayList<>(questionCount);
+		for (int i = 0; i < questionCount; i++) {
+			TExamQuestionAnalysis analysis = new TExamQuestionAnalysis();
+			analysis.setExamId(examId);
+			analysis.setQuestionId(questionIds[i]);
+			analysis.setGenreDetailId(genreDetailIds[i] == 0 ? null : genreDetailIds[i]);
+			analysis.setAnswerNum(answerNums[i]);
+			analysis.setAnswerCount(answerCounts[i]);
+			analysis.setCorrectCount(correctCounts[i]);
+			analysis.setCorrectRate(
+					answerCounts[i] == 0 ? null : (double) correctCounts[i] / answerCounts[i]);
+			analysis.setDiscrimination(getDiscrimination(i));
+			analysis.setNoAnswerCount(choiceCounts[i * CHOICE_COUNT]);
+			analysis.setChoice1Count(choiceCounts[i * CHOICE_COUNT + 1]);
+			analysis.setChoice2Count(choiceCounts[i * CHOICE_COUNT + 2]);
+			analysis.setChoice3Count(choiceCounts[i * CHOICE_COUNT + 3]);
+			analysis.setChoice4Count(choiceCounts[i * CHOICE_COUNT + 4]);
+			analysis.setLastModifiedDate(lastModifiedDate);
+			analysisList.add(analysis);
+		}
+		analysisList.sort((a, b) -> Integer.compare(a.getQuestionId(), b.getQuestionId()));
+		return analysisList;
+	}
+
+	/**
+	 * 試験結果件数を取得
+	 *
+	 * @return 集計した試験結果件数
+	 */
+	public int getResultCount() {
+		finishAttempt();
+		return resultCount;
+	}
+
+	/**
+	 * 識別力（点双列相関係数）を算出<br>
+	 * 問題に回答した受験者の得点について、正答者と誤答者の平均の差を標準偏差で割り、
+	 * 正答率pに対する√(p(1-p))を掛ける。
+	 *
+	 * @param index 問題位置
+	 * @return 識別力（全員正答・全員誤答・全員同点の場合はnull）
+	 */
+	private Double getDiscrimination(int index) {
+		int n = answerCounts[index];
+		int correct = correctCounts[index];
+		if (correct == 0 || correct == n) {
+			return null;
+		}
+		double mean = (double) scoreSums[index] / n;
+		double variance = (double) scoreSquareSums[index] / n - mean * mean;
+		if (variance <= 0) {
+			return null;
+		}
+		double correctMean = (double) correctScoreSums[index] / correct;
+		double incorrectMean = (double) (scoreSums[index] - correctScoreSums[index])
+				/ (n - correct);
+		double p = (double) correct / n;
+		return (correctMean - incorrectMean) / Math.sqrt(variance) * Math.sqrt(p * (1 - p));
+	}
+
+	/**
+	 * 集計中の試験結果の得点（正答数）を、回答した問題の合計値に加算
+	 */
+	private void finishAttempt() {
+		if (attemptSize == 0) {
+			return;
+		}
+		int score = 0;
+		for (int i = 0; i < attemptSize; i++) {
+			if (attemptCorrects[i]) {
+				score++;
+			}
+		}
+		for (int i = 0; i < attemptSize; i++) {
+			int index = attemptIndexes[i];
+			scoreSums[index] += score;
+			scoreSquareSums[index] += (long) score * score;
+			if (attemptCorrects[i]) {
+				correctScoreSums[index] += score;
+			}
+		}
+		attemptSize = 0;
+		resultCount++;
+	}
+
+	/**
+	 * 問題位置を取得（初出の問題は末尾に追加）
+	 */
+	private int getQuestionIndex(ExamReplyDto examReplyDto) {
+		Integer index = questionIndexMap.get(examReplyDto.getQuestionId());
+		if (index != null) {
+			return index;
+		}
+		if (questionCount == questionIds.length) {
+			grow();
+		}
+		int newIndex = questionCount++;
+		questionIndexMap.put(examReplyDto.getQuestionId(), newIndex);
+		questionIds[newIndex] = examReplyDto.getQuestionId();
+		genreDetailIds[newIndex] = examReplyDto.getGenreDetailId() == null ? 0
+				: examReplyDto.getGenreDetailId();
+		answerNums[newIndex] = examReplyDto.getAnswerNum() == null ? 0
+				: examReplyDto.getAnswerNum();
+		return newIndex;
+	}
+
+	/**
+	 * 問題位置の配列を拡張
+	 */
+	private void grow() {
+		int capacity = questionIds.length * 2;
+		questionIds = Arrays.copyOf(questionIds, capacity);
+		genreDetailIds = Arrays.copyOf(genreDetailIds, capacity);
+		answerNums = Arrays.copyOf(answerNums, capacity);
+		answerCounts = Arrays.copyOf(answerCounts, capacity);
+		correctCounts = Arrays.copyOf(correctCounts, capacity);
+		choiceCounts = Arrays.copyOf(choiceCounts, capacity * CHOICE_COUNT);
+		scoreSums = Arrays.copyOf(scoreSums, capacity);
+		scoreSquareSums = Arrays.copyOf(scoreSquareSums, capacity);
+		correctScoreSums = Arrays.copyOf(correctScoreSums, capacity);
+	}
+
+}
@@ -0,0 +1,265 @@
+package jp.co.sss.lms.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jp.co.sss.lms.dto.ExamResultMatrixColumnDto;
+import jp.co.sss.lms.dto.ExamResultMatrixRowDto;
+
+/**
+ * コース試験結果一覧（受講生×試験・セクション紐付け）<br>
+ * 初回・最高・最新の得点と所要時間を受講生・試験の位置で管理する、読み取り専用のクラス
+ *
+ * @author 東京ITスクール
+ */
+public final class ExamResultMatrix {
+
+	/** 初回 */
+	public static final int FIRST = 0;
+	/** 最高得点 */
+	public static final int BEST = 1;
+	/** 最新 */
+	public static final int LATEST = 2;
+	/** 未受験を表す値 */
+	public static final short NOT_TAKEN = -1;
+
+	/** 結果の種類数（初回・最高得点・最新） */
+	private static final int KIND_COUNT = 3;
+
+	/** 列（試験・セクション紐付け） */
+	private final List<ExamResultMatrixColumnDto> columnList;
+	/** LMSユーザーID */
+	private final int[] lmsUserIds;
+	/** ユーザー名 */
+	private final String[] userNames;
+	/** 受験回数（受講生位置×試験数＋試験位置） */
+	private final int[] resultCounts;
+	/** 得点（(受講生位置×試験数＋試験位置)×種類数＋種類） */
+	private final short[] scores;
+	/** 所要時間（ミリ秒）（(受講生位置×試験数＋試験位置)×種類数＋種類） */
+	private final int[] times;
+
+	private ExamResultMatrix(List<ExamResultMatrixColumnDto> columnList, int[] lmsUserIds,
+			String[] userNames, int[] resultCounts, short[] scores, int[] times) {
+		this.columnList = columnList;
+		this.lmsUserIds = lmsUserIds;
+		this.userNames = userNames;
+		this.resultCounts = resultCounts;
+		this.scores = scores;
+		this.times = times;
+	}
+
+	/**
+	 * 取得結果を受講生×試験・セクション紐付けに展開
+	 *
+	 * @param columnList 日付順の試験・セクション紐付け
+	 * @param rowList    LMSユーザーID順の取得結果
+	 * @return コース試験結果一覧
+	 */
+	public static ExamResultMatrix of(List<ExamResultMatrixColumnDto> columnList,
+			List<ExamResultMatrixRowDto> rowList) {
+		int examCount = columnList.size();
+		Map<Integer, Integer> examIndexMap = new HashMap<>();
+		for (int i = 0; i < examCount; i++) {
+			examIndexMap.put(columnList.get(i).getExamSectionId(), i);
+		}
+		List<Integer> lmsUserIdList = new ArrayList<>();
+		List<String> userNameList = new ArrayList<>();
+		for (ExamResultMatrixRowDto row : rowList) {
+			int last = lmsUserIdList.size() - 1;
+			if (last < 0 || !lmsUserIdList.get(last).equals(row.getLmsUserId())) {
+				lmsUserIdList.add(row.getLmsUserId());
+				userNameList.add(row.getUserName());
+			}
+		}
+		int studentCount = lmsUserIdList.size();
+		int[] resultCounts = new int[studentCount * examCount];
+		short[] scores = new short[studentCount * examCount * KIND_COUNT];
+		int[] times = new int[studentCount * examCount * KIND_COUNT];
+		Arrays.fill(scores, NOT_TAKEN);
+		Arrays.fill(times, NOT_TAKEN);
+
+		int studentIndex = -1;
+		Integer currentLmsUserId = null;
+		for (ExamResultMatrixRowDto row : rowList) {
+			if (!row.getLmsUserId().equals(currentLmsUserId)) {
+				currentLmsUserId = row.getLmsUserId();
+				studentIndex++;
+			}
+			Integer examIndex = row.getExamSectionId() == null ? null
+					: examIndexMap.get(row.getExamSectionId());
+			if (examIndex == null) {
+				continue;
+			}
+			int position = studentIndex * examCount + examIndex;
+			resultCounts[position] = row.getResultCount() == null ? 0 : row.getResultCount();
+			set(scores, times, position * KIND_COUNT + FIRST, row.getFirstScore(),
+					row.getFirstTime());
+			set(scores, times, position * KIND_COUNT + BEST, row.getBestScore(),
+					row.getBestTime());
+			set(scores, times, position * KIND_COUNT + LATEST, row.getLatestScore(),
+					row.getLatestTime());
+		}
+		return new ExamResultMatrix(List.copyOf(columnList),
+				lmsUserIdList.stream().mapToInt(Integer::intValue).toArray(),
+				userNameList.toArray(new String[0]), resultCounts, scores, times);
+	}
+
+	/**
+	 * 得点・所要時間を設定（nullの場合は未受験のまま）
+	 */
+	private static void set(short[] scores, int[] times, int index, Short score, Integer time) {
+		if (score != null) {
+			scores[index] = score;
+		}
+		if (time != null) {
+			times[index] = time;
+		}
+	}
+
+	/**
+	 * 受講生数を取得
+	 *
+	 * @return 受講生数
+	 */
+	public int getStudentCount() {
+		return lmsUserIds.length;
+	}
+
+	/**
+	 * 試験数を取得
+	 *
+	 * @return 試験・セクション紐付け数
+	 */
+	public int getExamCount() {
+		return columnList.size();
+	}
+
+	/**
+	 * 指定位置の受講生のLMSユーザーIDを取得
+	 *
+	 * @param studentIndex
+	 * @return LMSユーザーID
+	 */
+	public int getLmsUserId(int studentIndex) {
+		return lmsUserIds[studentIndex];
+	}
+
+	/**
+	 * 最後の受講生のLMSユーザーIDを取得
+	 *
+	 * @return LMSユーザーID（受講生がいない場合はnull）
+	 */
+	public Integer getLastLmsUserId() {
+		return lmsUserIds.length == 0 ? null : lmsUserIds[lmsUserIds.length - 1];
+	}
+
+	/**
+	 * 指定位置の受講生のユーザー名を取得
+	 *
+	 * @param studentIndex
+	 * @return ユーザー名
+	 */
+	public String getUserName(int studentIndex) {
+		return userNames[studentIndex];
+	}
+
+	/**
+	 * 指定位置の試験・セクション紐付けを取得
+	 *
+	 * @param examIndex
+	 * @return コース試験結果一覧の列DTO
+	 */
+	public ExamResultMatrixColumnDto getColumn(int examIndex) {
+		return columnList.get(examIndex);
+	}
+
+	/**
+	 * 受験回数を取得
+	 *
+	 * @param studentIndex
+	 * @param examIndex
+	 * @return 受験回数
+	 */
+	public int getResultCount(int studentIndex, int examIndex) {
+		return resultCounts[studentIndex * columnList.size() + examIndex];
+	}
+
+	/**
+	 * 得点を取得
+	 *
+	 * @param studentIndex
+	 * @param examIndex
+	 * @param kind         {@link #FIRST}・{@link #BEST}・{@link #LATEST}
+	 * @return 得点（未受験の場合は{@link #NOT_TAKEN}）
+	 */
+	public short getScore(int studentIndex, int examIndex, int kind) {
+		return scores[(studentIndex * columnList.size() + examIndex) * KIND_COUNT + kind];
+	}
+
+	/**
+	 * 所要時間を取得
+	 *
+	 * @param studentIndex
+	 * @param examIndex
+	 * @param kind         {@link #FIRST}・{@link #BEST}・{@link #LATEST}
+	 * @return 所要時間（ミリ秒）（未受験の場合は{@link #NOT_TAKEN}）
+	 */
+	public int getTime(int studentIndex, int examIndex, int kind) {
+		return times[(studentIndex * columnList.size() + examIndex) * KIND_COUNT + kind];
+	}
+
+	/**
+	 * 点数（100点満点）を取得
+	 *
+	 * @param studentIndex
+	 * @param examIndex
+	 * @param kind         {@link #FIRST}・{@link #BEST}・{@link #LATEST}
+	 * @return 小数第1位までの点数（未受験・問題が無い場合はnull）
+	 */
+	public BigDecimal getPoint(int studentIndex, int examIndex, int kind) {
+		short score = getScore(studentIndex, examIndex, kind);
+		Integer numOfQuestion = columnList.get(examIndex).getNumOfQuestion();
+		if (score == NOT_TAKEN || numOfQuestion == null || numOfQuestion == 0) {
+			return null;
+		}
+		return BigDecimal.valueOf(score * 100L)
+				.divide(BigDecimal.valueOf(numOfQuestion), 1, RoundingMode.HALF_UP);
+	}
+
+	/**
+	 * 表示用の点数を取得
+	 *
+	 * @param studentIndex
+	 * @param examIndex
+	 * @param kind         {@link #FIRST}・{@link #BEST}・{@link #LATEST}
+	 * @return 小数第1位までの点数（未受験・問題が無い場合は空文字）
+	 */
+	public String getDispPoint(int studentIndex, int examIndex, int kind) {
+		BigDecimal point = getPoint(studentIndex, examIndex, kind);
+		return point == null ? "" : point.toString();
+	}
+
+	/**
+	 * 表示用の所要時間を取得
+	 *
+	 * @param studentIndex
+	 * @param examIndex
+	 * @param kind         {@link #FIRST}・{@link #BEST}・{@link #LATEST}
+	 * @return 所要時間（m:ss）（未受験の場合は空文字）
+	 */
+	public String getDispTime(int studentIndex, int examIndex, int kind) {
+		int time = getTime(studentIndex, examIndex, kind);
+		if (time == NOT_TAKEN) {
+			return "";
+		}
+		int seconds = time / 1000;
+		return seconds / 60 + ":" + String.format("%02d", seconds % 60);
+	}
+
+}
@@ -0,0 +1,142 @@
+package jp.co.sss.lms.util;
+
+import jp.co.sss.lms.entity.TExamStatistics;
+
+/**
+ * 試験統計<br>
+ * 採点対象の試験結果の件数・合計・二乗の合計・得点毎の件数を保持する読み取り専用のクラス。
+ * 平均・標準偏差は合計から、パーセンタイルは得点毎の件数から求めるため、
+ * 試験結果の件数によらず一定の計算量で算出できる。
+ *
+ * @author 東京ITスクール
+ */
+public final class ExamStatistics {
+
+	/** 試験結果が無い場合の統計 */
+	public static final ExamStatistics EMPTY = new ExamStatistics(0, 0, 0, new int[0]);
+
+	/** 試験結果件数 */
+	private final int count;
+	/** 得点の合計 */
+	private final long sum;
+	/** 得点の二乗の合計 */
+	private final long squareSum;
+	/** 得点毎の件数（得点0から順） */
+	private final int[] histogram;
+
+	private ExamStatistics(int count, long sum, long squareSum, int[] histogram) {
+		this.count = count;
+		this.sum = sum;
+		this.squareSum = squareSum;
+		this.histogram = histogram;
+	}
+
+	/**
+	 * 試験統計エンティティから作成
+	 *
+	 * @param tExamStatistics 試験統計エンティティ（未登録の場合はnull）
+	 * @return 試験統計
+	 */
+	public static ExamStatistics of(TExamStatistics tExamStatistics) {
+		if (tExamStatistics == null || tExamStatistics.getResultCount() == null
+				|| tExamStatistics.getResultCount() == 0) {
+			return EMPTY;
+		}
+		Integer[] scoreHistogram = tExamStatistics.getScoreHistogram();
+		int[] histogram = new int[scoreHistogram == null ? 0 : scoreHistogram.length];
+		for (int i = 0; i < histogram.length; i++) {
+			// 加算時の配列の拡張により、件数の無い得点はNULLとなる
+			histogram[i] = scoreHistogram[i] == null ? 0 : scoreHistogram[i];
+		}
+		return new ExamStatistics(tExamStatistics.getResultCount(),
+				tExamStatistics.getScoreSum(), tExamStatistics.getScoreSquareSum(), histogram);
+	}
+
+	/**
+	 * 試験結果件数を取得
+	 *
+	 * @return 試験結果件数
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * 平均得点を取得
+	 *
+	 * @return 平均得点（試験結果が無い場合はnull）
+	 */
+	public Double getAverage() {
+		return count == 0 ? null : (double) sum / count;
+	}
+
+	/**
+	 * 得点の標準偏差（母標準偏差）を取得
+	 *
+	 * @return 標準偏差（試験結果が無い場合はnull）
+	 */
+	public Double getStandardDeviation() {
+		if (count == 0) {
+			return null;
+		}
+		double average = (double) sum / count;
+		return Math.sqrt(Math.max((double) squareSum / count - average * average, 0));
+	}
+
+	/**
+	 * 指定したパーセンタイルの得点を取得
+	 *
+	 * @param percentile パーセンタイル（0～100）
+	 * @return 得点（試験結果が無い場合はnull）
+	 */
+	public Integer getScoreAtPercentile(double percentile) {
+		if (count == 0) {
+			return null;
+		}
+		long rank = Math.max((long) Math.ceil(count * percentile / 100), 1);
+		long cumulative = 0;
+		for (int score = 0; score < histogram.length; score++) {
+			cumulative += histogram[score];
+			if (cumulative >= rank) {
+				return score;
+			}
+		}
+		return histogram.length - 1;
+	}
+
+	/**
+	 * 指定した得点が上位何パーセントかを取得
+	 *
+	 * @param score 得点
+	 * @return 指定した得点以上の試験結果の割合（試験結果が無い場合はnull）
+	 */
+	public Double getTopPercent(int score) {
+		if (count == 0) {
+			return null;
+		}
+		long upperCount = 0;
+		for (int i = Math.max(score, 0); i < histogram.length; i++) {
+			upperCount += histogram[i];
+		}
+		// 採点対象外（再受験）の得点が全員を上回る場合も0%とはしない
+		return Math.max(upperCount, 1) * 100.0 / count;
+	}
+
+	/**
+	 * 指定した得点の偏差値を取得
+	 *
+	 * @param score 得点
+	 * @return 偏差値（試験結果が無い場合はnull、全員同点の場合は50）
+	 */
+	public Double getDeviationValue(int score) {
+		if (count == 0) {
+			return null;
+		}
+		double standardDeviation = getStandardDeviation();
+		if (standardDeviation == 0) {
+			return 50.0;
+		}
+		return 50 + 10 * (score - (double) sum / count) / standardDeviation;
+	}
+
+}
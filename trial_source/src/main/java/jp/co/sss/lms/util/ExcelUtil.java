@@ -162,6 +162,27 @@ public class ExcelUtil {
 		return wb;
 	}
 
+	/**
+	 * シートを複製する<br>
+	 * 複製したシートはブックの末尾に追加される
+	 * 
+	 * @param sheetName    複製元のシート名
+	 * @param newSheetName 複製後のシート名
+	 */
+	public void cloneSheet(String sheetName, String newSheetName) {
+		Sheet sheet = wb.cloneSheet(wb.getSheetIndex(sheetName));
+		wb.setSheetName(wb.getSheetIndex(sheet), newSheetName);
+	}
+
+	/**
+	 * シートを削除する
+	 * 
+	 * @param sheetName シート名
+	 */
+	public void removeSheet(String sheetName) {
+		wb.removeSheetAt(wb.getSheetIndex(sheetName));
+	}
+
 	/**
 	 * 印刷範囲を設定する
 	 * 
@@ -0,0 +1,156 @@
+package jp.co.sss.lms.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * ファイルIDトークンユーティリティ<br>
+ * ファイルID・ユーザーID・有効期限をHMAC-SHA256で署名したトークンに変換する。<br>
+ * トークンのみで復元できるため、ファイルIDの対応表を保持する必要はない。
+ *
+ * @author 東京ITスクール
+ */
+@Component
+public class FileTokenUtil {
+
+	/** 署名アルゴリズム */
+	private static final String ALGORITHM = "HmacSHA256";
+	/** ペイロード長（ファイルID・ユーザーID・有効期限（エポック秒）） */
+	private static final int PAYLOAD_LENGTH = Integer.BYTES * 2 + Long.BYTES;
+	/** トークンに含める署名の長さ */
+	private static final int SIGNATURE_LENGTH = 16;
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	/** 署名鍵を起動毎に生成してよいプロファイル */
+	private static final String PROFILE_DEV = "dev";
+
+	@Autowired
+	private Clock clock;
+	@Autowired
+	private Environment environment;
+
+	/** 署名鍵（開発環境で未設定の場合は起動毎に生成） */
+	@Value("${setting.file.token.secret}")
+	private String secret;
+	/** トークンの有効期間（分） */
+	@Value("${setting.file.token.expire.minute}")
+	private long expireMinute;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	/** スレッド毎のMacインスタンス */
+	private ThreadLocal<Mac> macHolder;
+
+	/**
+	 * 署名鍵を初期化<br>
+	 * 複数サーバー・再起動後もトークンを復元できるよう、開発環境以外では署名鍵の設定を必須とする。
+	 */
+	@PostConstruct
+	public void init() {
+		byte[] key;
+		if (secret == null || secret.isBlank()) {
+			if (!environment.acceptsProfiles(Profiles.of(PROFILE_DEV))) {
+				throw new IllegalStateException(
+						"ファイルIDトークンの署名鍵（setting.file.token.secret）が未設定です");
+			}
+			logger.warn("ファイルIDトークンの署名鍵が未設定のため、起動毎に生成します");
+			key = new byte[32];
+			new SecureRandom().nextBytes(key);
+		} else {
+			key = secret.getBytes(StandardCharsets.UTF_8);
+		}
+		SecretKeySpec keySpec = new SecretKeySpec(key, ALGORITHM);
+		macHolder = ThreadLocal.withInitial(() -> {
+			try {
+				Mac mac = Mac.getInstance(ALGORITHM);
+				mac.init(keySpec);
+				return mac;
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	/**
+	 * ファイルIDをトークンに変換
+	 *
+	 * @param fileId ファイルID
+	 * @param userId ユーザーID
+	 * @return トークン
+	 */
+	public String encode(Integer fileId, Integer userId) {
+		long expireSeconds = clock.millis() / 1000 + expireMinute * 60;
+		byte[] token = new byte[PAYLOAD_LENGTH + SIGNATURE_LENGTH];
+		ByteBuffer.wrap(token).putInt(fileId).putInt(userId).putLong(expireSeconds);
+		System.arraycopy(sign(token), 0, token, PAYLOAD_LENGTH, SIGNATURE_LENGTH);
+		return ENCODER.encodeToString(token);
+	}
+
+	/**
+	 * トークンからファイルIDを取得
+	 *
+	 * @param token  トークン
+	 * @param userId ユーザーID
+	 * @return ファイルID（改ざん・期限切れ・他ユーザーのトークンの場合はnull）
+	 */
+	public Integer decode(String token, Integer userId) {
+		if (token == null || userId == null) {
+			return null;
+		}
+		byte[] bytes;
+		try {
+			bytes = DECODER.decode(token);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		if (bytes.length != PAYLOAD_LENGTH + SIGNATURE_LENGTH) {
+			return null;
+		}
+		byte[] signature = Arrays.copyOf(sign(bytes), SIGNATURE_LENGTH);
+		if (!MessageDigest.isEqual(signature,
+				Arrays.copyOfRange(bytes, PAYLOAD_LENGTH, bytes.length))) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		int fileId = buffer.getInt();
+		int tokenUserId = buffer.getInt();
+		long expireSeconds = buffer.getLong();
+		if (tokenUserId != userId || expireSeconds < clock.millis() / 1000) {
+			return null;
+		}
+		return fileId;
+	}
+
+	/**
+	 * ペイロード部分の署名を計算
+	 *
+	 * @param token トークン（先頭がペイロード）
+	 * @return 署名
+	 */
+	private byte[] sign(byte[] token) {
+		Mac mac = macHolder.get();
+		mac.update(token, 0, PAYLOAD_LENGTH);
+		return mac.doFinal();
+	}
+
+}
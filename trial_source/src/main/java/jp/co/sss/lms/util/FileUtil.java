@@ -2,9 +2,10 @@ package jp.co.sss.lms.util;
 
 import java.math.BigDecimal;
 import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import jp.co.sss.lms.dto.FileDownloadDto;
+import jp.co.sss.lms.dto.LoginUserDto;
 
 /**
  * FileUtil<br>
@@ -24,8 +25,19 @@ public class FileUtil {
 	/** GB[1024MB] */
 	private static final Long GB = (long) MB * 1024;
 
-	public Integer getPlaneFileId(FileDownloadDto fileDownloadDto, String hashedFileId) {
-		return fileDownloadDto.getFileIdMap().get(hashedFileId);
+	@Autowired
+	private FileTokenUtil fileTokenUtil;
+	@Autowired
+	private LoginUserDto loginUserDto;
+
+	/**
+	 * ファイルIDトークンからファイルIDを取得
+	 * 
+	 * @param fileToken ファイルIDトークン
+	 * @return ファイルID（ログイン中のユーザーのトークンでない場合・期限切れの場合はnull）
+	 */
+	public Integer getPlaneFileId(String fileToken) {
+		return fileTokenUtil.decode(fileToken, loginUserDto.getUserId());
 	}
 
 	/**
@@ -0,0 +1,97 @@
+package jp.co.sss.lms.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 処理時間のヒストグラム<br>
+ * 固定の区間毎の件数のみを保持するため、記録件数によらずメモリ使用量は一定となる。<br>
+ * 複数スレッドから同時に記録できる。
+ *
+ * @author 東京ITスクール
+ */
+public class LatencyHistogram {
+
+	/** 区間の上限（秒） */
+	public static final double[] BUCKET_SECONDS = { 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1,
+			2.5, 5, 10 };
+	/** 区間の上限（ナノ秒） */
+	private static final long[] BUCKET_NANOS = new long[BUCKET_SECONDS.length];
+	static {
+		for (int i = 0; i < BUCKET_SECONDS.length; i++) {
+			BUCKET_NANOS[i] = (long) (BUCKET_SECONDS[i] * 1_000_000_000L);
+		}
+	}
+
+	/** 区間毎の件数（最後の要素は上限超過） */
+	private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_SECONDS.length + 1);
+	/** 処理時間の合計（ナノ秒） */
+	private final LongAdder sumNanos = new LongAdder();
+
+	/**
+	 * 処理時間を記録
+	 *
+	 * @param nanos 処理時間（ナノ秒）
+	 */
+	public void record(long nanos) {
+		int index = 0;
+		while (index < BUCKET_NANOS.length && nanos > BUCKET_NANOS[index]) {
+			index++;
+		}
+		bucketCounts.incrementAndGet(index);
+		sumNanos.add(nanos);
+	}
+
+	/**
+	 * 区間毎の累積件数を取得
+	 *
+	 * @return 各区間の上限以下の件数（最後の要素は全件数）
+	 */
+	public long[] getCumulativeCounts() {
+		long[] counts = new long[bucketCounts.length()];
+		long total = 0;
+		for (int i = 0; i < counts.length; i++) {
+			total += bucketCounts.get(i);
+			counts[i] = total;
+		}
+		return counts;
+	}
+
+	/**
+	 * 処理時間の合計を取得
+	 *
+	 * @return 合計（秒）
+	 */
+	public double getSumSeconds() {
+		return sumNanos.sum() / 1_000_000_000d;
+	}
+
+	/**
+	 * 処理時間のパーセンタイルを推定（区間内は線形補間）
+	 *
+	 * @param cumulativeCounts 区間毎の累積件数
+	 * @param quantile         分位（0～1）
+	 * @return 推定値（秒、記録がない場合はNaN）
+	 */
+	public static double getQuantileSeconds(long[] cumulativeCounts, double quantile) {
+		long total = cumulativeCounts[cumulativeCounts.length - 1];
+		if (total == 0) {
+			return Double.NaN;
+		}
+		double rank = quantile * total;
+		for (int i = 0; i < BUCKET_SECONDS.length; i++) {
+			if (cumulativeCounts[i] >= rank) {
+				double lower = i == 0 ? 0 : BUCKET_SECONDS[i - 1];
+				long lowerCount = i == 0 ? 0 : cumulativeCounts[i - 1];
+				long bucketCount = cumulativeCounts[i] - lowerCount;
+				if (bucketCount == 0) {
+					return lower;
+				}
+				return lower + (BUCKET_SECONDS[i] - lower) * (rank - lowerCount) / bucketCount;
+			}
+		}
+		// 最大の区間を超える場合は上限値
+		return BUCKET_SECONDS[BUCKET_SECONDS.length - 1];
+	}
+
+}
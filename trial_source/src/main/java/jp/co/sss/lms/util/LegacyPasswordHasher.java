@@ -0,0 +1,58 @@
+package jp.co.sss.lms.util;
+
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 従来方式（ログインIDをsaltとしたSHA-256のストレッチング）のパスワードハッシュ化<br>
+ * 既存ユーザーの照合のために残す。
+ *
+ * @author 東京ITスクール
+ */
+@Component
+public class LegacyPasswordHasher implements PasswordHasher {
+
+	/** 方式名 */
+	public static final String ALGORITHM = "legacy";
+	/** ハッシュ長（SHA-256の16進表記） */
+	private static final int HASH_LENGTH = 64;
+
+	@Autowired
+	private PasswordUtil passwordUtil;
+
+	@Override
+	public String getAlgorithm() {
+		return ALGORITHM;
+	}
+
+	@Override
+	public boolean supports(String storedHash) {
+		if (storedHash == null || storedHash.length() != HASH_LENGTH) {
+			return false;
+		}
+		for (int i = 0; i < HASH_LENGTH; i++) {
+			if (Character.digit(storedHash.charAt(i), 16) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String hash(String password, String loginId) {
+		return passwordUtil.getSaltedAndStrechedPassword(password, loginId);
+	}
+
+	@Override
+	public boolean matches(String password, String loginId, String storedHash) {
+		return MessageDigest.isEqual(hash(password, loginId).getBytes(), storedHash.getBytes());
+	}
+
+	@Override
+	public boolean needsRehash(String storedHash) {
+		return false;
+	}
+
+}
@@ -2,12 +2,22 @@ package jp.co.sss.lms.util;
 
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import jp.co.sss.lms.dto.LoginUserDto;
 
 /**
@@ -18,10 +28,34 @@ import jp.co.sss.lms.dto.LoginUserDto;
 @Component
 public class LoggingUtil {
 
+	/** アクセスログのロガー名 */
+	public static final String ACCESS_LOGGER_NAME = "jp.co.sss.lms.access";
+
 	@Autowired
 	LoginUserDto loginUserDto;
 	@Autowired
 	HttpServletRequest request;
+	@Autowired
+	ObjectMapper objectMapper;
+	@Autowired
+	ClientAddressUtil clientAddressUtil;
+
+	/** アクセスログに出力するヘッダ（カンマ区切り） */
+	@Value("${setting.log.access.headers}")
+	private String accessLogHeaders;
+	/** アクセスログに入力情報を出力する割合（0～1） */
+	@Value("${setting.log.access.param.sample}")
+	private double paramSampleRate;
+	/** URI毎の入力情報を出力する割合（URI:割合のカンマ区切り、URIはコンテキストパスを除く） */
+	@Value("${setting.log.access.param.sample.uri:}")
+	private String paramSampleRateByUri;
+	@Value("${server.servlet.context-path:}")
+	private String contextPath;
+
+	/** アクセスログに出力するヘッダ（小文字） */
+	private Set<String> accessLogHeaderSet;
+	/** URI（コンテキストパスを含む）毎の入力情報を出力する割合 */
+	private Map<String, Double> paramSampleRateMap;
 
 	/**
 	 * 権限マップ
@@ -35,6 +69,29 @@ public class LoggingUtil {
 		ROLE_MAP.put(Constants.CODE_VAL_ROLL_TRAINING, "育成担当者");
 	}
 
+	/**
+	 * アクセスログの設定を読込
+	 */
+	@PostConstruct
+	public void init() {
+		Set<String> headerSet = new HashSet<>();
+		for (String header : accessLogHeaders.split(",")) {
+			if (!header.isBlank()) {
+				headerSet.add(header.strip().toLowerCase(Locale.ROOT));
+			}
+		}
+		accessLogHeaderSet = Set.copyOf(headerSet);
+		Map<String, Double> rateMap = new HashMap<>();
+		for (String entry : paramSampleRateByUri.split(",")) {
+			int index = entry.lastIndexOf(':');
+			if (index > 0) {
+				rateMap.put(contextPath + entry.substring(0, index).strip(),
+						Double.valueOf(entry.substring(index + 1).strip()));
+			}
+		}
+		paramSampleRateMap = Map.copyOf(rateMap);
+	}
+
 	/**
 	 * ログの追加
 	 * 
@@ -61,12 +118,7 @@ public class LoggingUtil {
 				sb.append("\n[param]");
 				sb.append(name);
 				sb.append("=");
-				if (name.equals("password") || name.equals("passwordConfirm")) {
-					// パスワードは表示させない
-					sb.append("*****************");
-				} else {
-					sb.append(request.getParameter(name));
-				}
+				sb.append(getMaskedParameter(name));
 			}
 		}
 
@@ -91,4 +143,71 @@ public class LoggingUtil {
 		}
 
 	}
+
+	/**
+	 * 1リクエスト分のアクセスログ（JSON形式の1行）を作成<br>
+	 * 入力情報はURI毎の割合で抽出したリクエストのみ出力する。
+	 * 
+	 * @param status         レスポンスのステータスコード
+	 * @param durationMillis 処理時間（ミリ秒）
+	 * @return アクセスログ
+	 */
+	public String createAccessLog(int status, long durationMillis) {
+		String uri = request.getRequestURI();
+		Map<String, Object> accessLog = new LinkedHashMap<>();
+		accessLog.put("method", request.getMethod());
+		accessLog.put("uri", uri);
+		accessLog.put("status", status);
+		accessLog.put("duration", durationMillis);
+		accessLog.put("address", clientAddressUtil.getClientAddress(request));
+		if (loginUserDto != null) {
+			accessLog.put("lmsUserId", loginUserDto.getLmsUserId());
+			accessLog.put("role", loginUserDto.getRole());
+		}
+
+		// ヘッダ情報（設定したもののみ）
+		Map<String, String> headerMap = new LinkedHashMap<>();
+		for (Enumeration<String> headerNames = request.getHeaderNames(); headerNames
+				.hasMoreElements();) {
+			String key = headerNames.nextElement();
+			if (accessLogHeaderSet.contains(key.toLowerCase(Locale.ROOT))) {
+				headerMap.put(key, request.getHeader(key));
+			}
+		}
+		accessLog.put("header", headerMap);
+
+		// 入力情報（抽出対象のリクエストのみ）
+		double sampleRate = paramSampleRateMap.getOrDefault(uri, paramSampleRate);
+		if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+			Map<String, String> paramMap = new LinkedHashMap<>();
+			for (Enumeration<String> paramNames = request.getParameterNames(); paramNames
+					.hasMoreElements();) {
+				String name = paramNames.nextElement();
+				paramMap.put(name, getMaskedParameter(name));
+			}
+			accessLog.put("param", paramMap);
+		}
+
+		try {
+			return objectMapper.writeValueAsString(accessLog);
+		} catch (JsonProcessingException e) {
+			// Mapと文字列・数値のみのため、起こりえないエラー
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * ログ出力用の入力値を取得
+	 * 
+	 * @param name 項目名
+	 * @return 入力値（パスワードはマスク）
+	 */
+	private String getMaskedParameter(String name) {
+		if (name.equals("password") || name.equals("passwordConfirm")) {
+			// パスワードは表示させない
+			return "*****************";
+		}
+		return request.getParameter(name);
+	}
+
 }
@@ -0,0 +1,53 @@
+package jp.co.sss.lms.util;
+
+/**
+ * パスワードハッシュ化方式<br>
+ * 登録済みハッシュの形式から方式を判別し、照合・再ハッシュ化の要否を判定する。
+ *
+ * @author 東京ITスクール
+ */
+public interface PasswordHasher {
+
+	/**
+	 * 方式名を取得
+	 *
+	 * @return 方式名（setting.password.hash.algorithmの値）
+	 */
+	String getAlgorithm();
+
+	/**
+	 * 登録済みハッシュがこの方式の形式か判定
+	 *
+	 * @param storedHash 登録済みハッシュ
+	 * @return この方式の形式の場合true
+	 */
+	boolean supports(String storedHash);
+
+	/**
+	 * パスワードをハッシュ化
+	 *
+	 * @param password パスワード
+	 * @param loginId  ログインID
+	 * @return ハッシュ
+	 */
+	String hash(String password, String loginId);
+
+	/**
+	 * パスワードを照合
+	 *
+	 * @param password   パスワード
+	 * @param loginId    ログインID
+	 * @param storedHash 登録済みハッシュ
+	 * @return 一致する場合true
+	 */
+	boolean matches(String password, String loginId, String storedHash);
+
+	/**
+	 * 現在のパラメータでの再ハッシュ化が必要か判定
+	 *
+	 * @param storedHash 登録済みハッシュ
+	 * @return 再ハッシュ化が必要な場合true
+	 */
+	boolean needsRehash(String storedHash);
+
+}
@@ -16,6 +16,18 @@ public class PasswordUtil {
 
 	private static int STRETCH_COUNT = 10;
 
+	/** 16進表記の文字 */
+	private static final char[] HEX_CHAR = "0123456789abcdef".toCharArray();
+
+	/** スレッド毎のSHA-256（digest後は初期状態に戻るため再利用できる） */
+	private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	});
+
 	/** パスワードポリシー */
 	public final static String PASSWORD_POLICY = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])[0-9a-zA-Z\\-]{8,}$";
 
@@ -26,7 +38,8 @@ public class PasswordUtil {
 			'3', '4', '5', '6', '7', '8', '9' };
 
 	/**
-	 * salt +ハッシュ化+ストレッチングしたパスワ-ドを 取得
+	 * salt +ハッシュ化+ストレッチングしたパスワ-ドを 取得（従来方式）<br>
+	 * 照合・登録はPasswordHashServiceを使用すること
 	 * 
 	 * @param password
 	 * @param userId
@@ -74,22 +87,14 @@ public class PasswordUtil {
 	 * @return SHA256 のハッシュ値
 	 */
 	private String getSha256(String target) {
-		MessageDigest md = null;
-		StringBuffer buf = new StringBuffer();
-		try {
-			md = MessageDigest.getInstance("SHA-256");
-			md.update(target.getBytes());
-			byte[] digest = md.digest();
-
-			for (int i = 0; i < digest.length; i++) {
-				buf.append(String.format("%02x", digest[i]));
-			}
-
-		} catch (NoSuchAlgorithmException e) {
-			throw new RuntimeException(e);
+		MessageDigest md = SHA256.get();
+		byte[] digest = md.digest(target.getBytes());
+		char[] buf = new char[digest.length * 2];
+		for (int i = 0; i < digest.length; i++) {
+			buf[i * 2] = HEX_CHAR[(digest[i] >> 4) & 0x0f];
+			buf[i * 2 + 1] = HEX_CHAR[digest[i] & 0x0f];
 		}
-
-		return buf.toString();
+		return new String(buf);
 	}
 
 	/**
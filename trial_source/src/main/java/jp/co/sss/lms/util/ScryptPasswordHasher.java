@@ -0,0 +1,292 @@
+package jp.co.sss.lms.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * scrypt（RFC 7914）によるパスワードハッシュ化<br>
+ * 1回の計算に128×r×Nバイトのメモリを使用する。<br>
+ * ハッシュは「$scrypt$ln=log2(N),r=r,p=p$salt$hash」（Base64）の形式で保存する。
+ *
+ * @author 東京ITスクール
+ */
+@Component
+public class ScryptPasswordHasher implements PasswordHasher {
+
+	/** 方式名 */
+	public static final String ALGORITHM = "scrypt";
+	/** ハッシュの接頭辞 */
+	private static final String PREFIX = "$scrypt$";
+	/** saltの長さ */
+	private static final int SALT_LENGTH = 16;
+	/** ハッシュの長さ */
+	private static final int HASH_LENGTH = 32;
+	private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+	private final SecureRandom random = new SecureRandom();
+
+	/** コストパラメータNの2を底とする対数 */
+	@Value("${setting.password.scrypt.ln}")
+	private int logN;
+	/** ブロックサイズ */
+	@Value("${setting.password.scrypt.r}")
+	private int r;
+	/** 並列度 */
+	@Value("${setting.password.scrypt.p}")
+	private int p;
+
+	@Override
+	public String getAlgorithm() {
+		return ALGORITHM;
+	}
+
+	@Override
+	public boolean supports(String storedHash) {
+		return storedHash != null && storedHash.startsWith(PREFIX);
+	}
+
+	@Override
+	public String hash(String password, String loginId) {
+		byte[] salt = new byte[SALT_LENGTH];
+		random.nextBytes(salt);
+		byte[] hash = scrypt(password.getBytes(StandardCharsets.UTF_8), salt, 1 << logN, r, p,
+				HASH_LENGTH);
+		return PREFIX + getParameter(logN, r, p) + "$" + ENCODER.encodeToString(salt) + "$"
+				+ ENCODER.encodeToString(hash);
+	}
+
+	@Override
+	public boolean matches(String password, String loginId, String storedHash) {
+		String[] parts = storedHash.split("\\$");
+		// ["", "scrypt", "ln=..,r=..,p=..", salt, hash]
+		if (parts.length != 5) {
+			return false;
+		}
+		int[] parameter = parseParameter(parts[2]);
+		if (parameter == null) {
+			return false;
+		}
+		byte[] salt;
+		byte[] expected;
+		try {
+			salt = DECODER.decode(parts[3]);
+			expected = DECODER.decode(parts[4]);
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+		byte[] actual = scrypt(password.getBytes(StandardCharsets.UTF_8), salt,
+				1 << parameter[0], parameter[1], parameter[2], expected.length);
+		return MessageDigest.isEqual(expected, actual);
+	}
+
+	@Override
+	public boolean needsRehash(String storedHash) {
+		String[] parts = storedHash.split("\\$");
+		return parts.length != 5 || !parts[2].equals(getParameter(logN, r, p));
+	}
+
+	/**
+	 * パラメータ部分の文字列を取得
+	 */
+	private static String getParameter(int logN, int r, int p) {
+		return "ln=" + logN + ",r=" + r + ",p=" + p;
+	}
+
+	/**
+	 * パラメータ部分を解析
+	 *
+	 * @param parameter パラメータ部分
+	 * @return log2(N)・r・p（形式・範囲が不正な場合はnull）
+	 */
+	private static int[] parseParameter(String parameter) {
+		String[] values = parameter.split(",");
+		if (values.length != 3 || !values[0].startsWith("ln=") || !values[1].startsWith("r=")
+				|| !values[2].startsWith("p=")) {
+			return null;
+		}
+		try {
+			int logN = Integer.parseInt(values[0].substring(3));
+			int r = Integer.parseInt(values[1].substring(2));
+			int p = Integer.parseInt(values[2].substring(2));
+			if (logN < 1 || logN > 20 || r < 1 || r > 32 || p < 1 || p > 16) {
+				return null;
+			}
+			return new int[] { logN, r, p };
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * scryptで鍵を導出
+	 *
+	 * @param password パスワード
+	 * @param salt     salt
+	 * @param n        コストパラメータ（2のべき乗）
+	 * @param r        ブロックサイズ
+	 * @param p        並列度
+	 * @param length   導出する鍵の長さ
+	 * @return 導出した鍵
+	 */
+	static byte[] scrypt(byte[] password, byte[] salt, int n, int r, int p, int length) {
+		Mac mac = createMac(password);
+		byte[] b = pbkdf2(mac, salt, p * 128 * r);
+		int[] x = new int[32 * r];
+		int[] y = new int[32 * r];
+		int[] v = new int[32 * r * n];
+		for (int i = 0; i < p; i++) {
+			smix(b, i * 128 * r, r, n, x, y, v);
+		}
+		return pbkdf2(mac, b, length);
+	}
+
+	/**
+	 * 鍵を設定したHMAC-SHA256を生成
+	 */
+	private static Mac createMac(byte[] key) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			// 空の鍵は0x00で埋めた鍵と等価
+			mac.init(new SecretKeySpec(key.length == 0 ? new byte[1] : key, "HmacSHA256"));
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * PBKDF2-HMAC-SHA256（繰り返し回数1）
+	 */
+	private static byte[] pbkdf2(Mac mac, byte[] salt, int length) {
+		byte[] result = new byte[length];
+		byte[] index = new byte[4];
+		int macLength = mac.getMacLength();
+		for (int offset = 0, block = 1; offset < length; offset += macLength, block++) {
+			index[0] = (byte) (block >>> 24);
+			index[1] = (byte) (block >>> 16);
+			index[2] = (byte) (block >>> 8);
+			index[3] = (byte) block;
+			mac.update(salt);
+			byte[] u = mac.doFinal(index);
+			System.arraycopy(u, 0, result, offset, Math.min(macLength, length - offset));
+		}
+		return result;
+	}
+
+	/**
+	 * ROMix
+	 */
+	private static void smix(byte[] b, int offset, int r, int n, int[] x, int[] y, int[] v) {
+		int words = 32 * r;
+		for (int i = 0; i < words; i++) {
+			int k = offset + i * 4;
+			x[i] = (b[k] & 0xff) | (b[k + 1] & 0xff) << 8 | (b[k + 2] & 0xff) << 16
+					| (b[k + 3] & 0xff) << 24;
+		}
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(x, 0, v, i * words, words);
+			blockMix(x, y, r);
+		}
+		for (int i = 0; i < n; i++) {
+			int j = x[(2 * r - 1) * 16] & (n - 1);
+			for (int k = 0; k < words; k++) {
+				x[k] ^= v[j * words + k];
+			}
+			blockMix(x, y, r);
+		}
+		for (int i = 0; i < words; i++) {
+			int k = offset + i * 4;
+			b[k] = (byte) x[i];
+			b[k + 1] = (byte) (x[i] >>> 8);
+			b[k + 2] = (byte) (x[i] >>> 16);
+			b[k + 3] = (byte) (x[i] >>> 24);
+		}
+	}
+
+	/**
+	 * BlockMix（結果はbに格納し、yは作業領域として使用）
+	 */
+	private static void blockMix(int[] b, int[] y, int r) {
+		int[] t = new int[16];
+		System.arraycopy(b, (2 * r - 1) * 16, t, 0, 16);
+		for (int i = 0; i < 2 * r; i++) {
+			for (int k = 0; k < 16; k++) {
+				t[k] ^= b[i * 16 + k];
+			}
+			salsa20_8(t);
+			// 偶数番目を前半、奇数番目を後半に並べる
+			System.arraycopy(t, 0, y, ((i & 1) * r + (i >>> 1)) * 16, 16);
+		}
+		System.arraycopy(y, 0, b, 0, 32 * r);
+	}
+
+	/**
+	 * Salsa20/8
+	 */
+	private static void salsa20_8(int[] b) {
+		int x0 = b[0], x1 = b[1], x2 = b[2], x3 = b[3], x4 = b[4], x5 = b[5], x6 = b[6],
+				x7 = b[7], x8 = b[8], x9 = b[9], x10 = b[10], x11 = b[11], x12 = b[12],
+				x13 = b[13], x14 = b[14], x15 = b[15];
+		for (int i = 0; i < 8; i += 2) {
+			x4 ^= Integer.rotateLeft(x0 + x12, 7);
+			x8 ^= Integer.rotateLeft(x4 + x0, 9);
+			x12 ^= Integer.rotateLeft(x8 + x4, 13);
+			x0 ^= Integer.rotateLeft(x12 + x8, 18);
+			x9 ^= Integer.rotateLeft(x5 + x1, 7);
+			x13 ^= Integer.rotateLeft(x9 + x5, 9);
+			x1 ^= Integer.rotateLeft(x13 + x9, 13);
+			x5 ^= Integer.rotateLeft(x1 + x13, 18);
+			x14 ^= Integer.rotateLeft(x10 + x6, 7);
+			x2 ^= Integer.rotateLeft(x14 + x10, 9);
+			x6 ^= Integer.rotateLeft(x2 + x14, 13);
+			x10 ^= Integer.rotateLeft(x6 + x2, 18);
+			x3 ^= Integer.rotateLeft(x15 + x11, 7);
+			x7 ^= Integer.rotateLeft(x3 + x15, 9);
+			x11 ^= Integer.rotateLeft(x7 + x3, 13);
+			x15 ^= Integer.rotateLeft(x11 + x7, 18);
+			x1 ^= Integer.rotateLeft(x0 + x3, 7);
+			x2 ^= Integer.rotateLeft(x1 + x0, 9);
+			x3 ^= Integer.rotateLeft(x2 + x1, 13);
+			x0 ^= Integer.rotateLeft(x3 + x2, 18);
+			x6 ^= Integer.rotateLeft(x5 + x4, 7);
+			x7 ^= Integer.rotateLeft(x6 + x5, 9);
+			x4 ^= Integer.rotateLeft(x7 + x6, 13);
+			x5 ^= Integer.rotateLeft(x4 + x7, 18);
+			x11 ^= Integer.rotateLeft(x10 + x9, 7);
+			x8 ^= Integer.rotateLeft(x11 + x10, 9);
+			x9 ^= Integer.rotateLeft(x8 + x11, 13);
+			x10 ^= Integer.rotateLeft(x9 + x8, 18);
+			x12 ^= Integer.rotateLeft(x15 + x14, 7);
+			x13 ^= Integer.rotateLeft(x12 + x15, 9);
+			x14 ^= Integer.rotateLeft(x13 + x12, 13);
+			x15 ^= Integer.rotateLeft(x14 + x13, 18);
+		}
+		b[0] += x0;
+		b[1] += x1;
+		b[2] += x2;
+		b[3] += x3;
+		b[4] += x4;
+		b[5] += x5;
+		b[6] += x6;
+		b[7] += x7;
+		b[8] += x8;
+		b[9] += x9;
+		b[10] += x10;
+		b[11] += x11;
+		b[12] += x12;
+		b[13] += x13;
+		b[14] += x14;
+		b[15] += x15;
+	}
+
+}
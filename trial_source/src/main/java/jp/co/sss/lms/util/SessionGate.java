@@ -0,0 +1,72 @@
+package jp.co.sss.lms.util;
+
+import java.io.Serializable;
+
+/**
+ * ログインセッションの画面遷移判定結果<br>
+ * ログイン後の初回リクエスト時に利用規約同意・パスワード変更の要否を判定して保持し、<br>
+ * 以降のリクエストでは再判定しない。生成後は変更されない。
+ *
+ * @author 東京ITスクール
+ */
+public final class SessionGate implements Serializable {
+
+	/** シリアルバージョンUID */
+	private static final long serialVersionUID = 1L;
+
+	/** ユーザーID */
+	private final Integer userId;
+	/** セキュリティ同意済みフラグ */
+	private final boolean securityAgreed;
+	/** パスワードの有効期限（エポックミリ秒、パスワード変更日がない場合は0） */
+	private final long passwordExpireMillis;
+	/** 判定結果の有効期限（エポックミリ秒） */
+	private final long expireMillis;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param userId               ユーザーID
+	 * @param securityAgreed       セキュリティ同意済みフラグ
+	 * @param passwordExpireMillis パスワードの有効期限
+	 * @param expireMillis         判定結果の有効期限
+	 */
+	public SessionGate(Integer userId, boolean securityAgreed, long passwordExpireMillis,
+			long expireMillis) {
+		this.userId = userId;
+		this.securityAgreed = securityAgreed;
+		this.passwordExpireMillis = passwordExpireMillis;
+		this.expireMillis = expireMillis;
+	}
+
+	/**
+	 * 判定結果が利用できるか判定
+	 *
+	 * @param userId    ログイン中のユーザーID
+	 * @param nowMillis 現在日時（エポックミリ秒）
+	 * @return 同一ユーザーかつ有効期限内の場合true
+	 */
+	public boolean isValid(Integer userId, long nowMillis) {
+		return nowMillis < expireMillis && this.userId != null && this.userId.equals(userId);
+	}
+
+	/**
+	 * セキュリティ同意済みか判定
+	 *
+	 * @return 同意済みの場合true
+	 */
+	public boolean isSecurityAgreed() {
+		return securityAgreed;
+	}
+
+	/**
+	 * パスワードの有効期限切れか判定
+	 *
+	 * @param nowMillis 現在日時（エポックミリ秒）
+	 * @return パスワード変更日がない・変更日から1ヶ月を経過している場合true
+	 */
+	public boolean isPasswordExpired(long nowMillis) {
+		return nowMillis > passwordExpireMillis;
+	}
+
+}
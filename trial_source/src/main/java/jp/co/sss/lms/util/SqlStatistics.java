@@ -0,0 +1,82 @@
+package jp.co.sss.lms.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 1リクエスト分のSQL実行状況<br>
+ * リクエストを処理するスレッドでのみ参照・更新する。
+ *
+ * @author 東京ITスクール
+ */
+public class SqlStatistics {
+
+	/** 実行中のリクエストのSQL実行状況 */
+	private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+	/** SQL実行回数 */
+	private int statementCount;
+	/** SQL実行時間の合計（ナノ秒） */
+	private long totalNanos;
+	/** ステートメントID毎の実行回数 */
+	private final Map<String, Integer> countMap = new HashMap<>();
+
+	/**
+	 * リクエストの集計を開始
+	 *
+	 * @return SQL実行状況
+	 */
+	public static SqlStatistics start() {
+		SqlStatistics sqlStatistics = new SqlStatistics();
+		CURRENT.set(sqlStatistics);
+		return sqlStatistics;
+	}
+
+	/**
+	 * リクエストの集計を終了
+	 */
+	public static void end() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * 実行中のリクエストのSQL実行状況を取得
+	 *
+	 * @return SQL実行状況（リクエスト外の場合はnull）
+	 */
+	public static SqlStatistics current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * SQLの実行を記録
+	 *
+	 * @param statementId ステートメントID
+	 * @param nanos       実行時間（ナノ秒）
+	 * @return 同一ステートメントIDのリクエスト内での実行回数
+	 */
+	public int record(String statementId, long nanos) {
+		statementCount++;
+		totalNanos += nanos;
+		return countMap.merge(statementId, 1, Integer::sum);
+	}
+
+	/**
+	 * SQL実行回数を取得
+	 *
+	 * @return SQL実行回数
+	 */
+	public int getStatementCount() {
+		return statementCount;
+	}
+
+	/**
+	 * SQL実行時間の合計を取得
+	 *
+	 * @return 合計（ミリ秒）
+	 */
+	public long getTotalMillis() {
+		return totalNanos / 1_000_000;
+	}
+
+}
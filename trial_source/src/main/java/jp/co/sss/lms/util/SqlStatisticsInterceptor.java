@@ -0,0 +1,140 @@
+package jp.co.sss.lms.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * SQL実行状況インターセプター（MyBatisプラグイン）<br>
+ * ステートメント毎に実行時間を計測し、閾値を超えたものをパラメータ・件数付きで出力する。
+ * また、1リクエスト内で同一ステートメントが閾値を超えて実行された場合（N+1）に警告を出力する。<br>
+ * カーソルで取得するステートメントは、カーソルを開くまでの時間を計測する。
+ *
+ * @author 東京ITスクール
+ */
+@Component
+@Intercepts({
+		@Signature(type = Executor.class, method = "update", args = { MappedStatement.class,
+				Object.class }),
+		@Signature(type = Executor.class, method = "query", args = { MappedStatement.class,
+				Object.class, RowBounds.class, ResultHandler.class }),
+		@Signature(type = Executor.class, method = "query", args = { MappedStatement.class,
+				Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+				BoundSql.class }),
+		@Signature(type = Executor.class, method = "queryCursor", args = { MappedStatement.class,
+				Object.class, RowBounds.class }) })
+public class SqlStatisticsInterceptor implements Interceptor {
+
+	/** パラメータ値をマスクする項目名（小文字で部分一致） */
+	private static final String MASK_PROPERTY = "password";
+
+	/** スロークエリとする実行時間（ミリ秒） */
+	@Value("${setting.sql.slow.millis}")
+	private long slowMillis;
+	/** N+1とする1リクエスト内の同一ステートメントの実行回数 */
+	@Value("${setting.sql.repeat.threshold}")
+	private int repeatThreshold;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		long startNanos = System.nanoTime();
+		Object result = invocation.proceed();
+		long nanos = System.nanoTime() - startNanos;
+
+		MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+		String statementId = mappedStatement.getId();
+		long millis = nanos / 1_000_000;
+		if (millis >= slowMillis) {
+			Object parameter = invocation.getArgs()[1];
+			BoundSql boundSql = invocation.getArgs().length == 6
+					? (BoundSql) invocation.getArgs()[5]
+					: mappedStatement.getBoundSql(parameter);
+			logger.warn("スロークエリ：{}, 実行時間={}ms, 件数={}, パラメータ={}", statementId, millis,
+					getRowCount(result),
+					getParameters(mappedStatement.getConfiguration(), boundSql, parameter));
+		}
+
+		SqlStatistics sqlStatistics = SqlStatistics.current();
+		if (sqlStatistics != null) {
+			int count = sqlStatistics.record(statementId, nanos);
+			// 閾値を超えた時点で1回のみ警告
+			if (count == repeatThreshold + 1) {
+				logger.warn("N+1の疑い：{}が1リクエスト内で{}回を超えて実行されました", statementId,
+						repeatThreshold);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 件数を取得
+	 *
+	 * @param result 実行結果
+	 * @return 取得件数または更新件数（カーソルの場合は件数未確定）
+	 */
+	private Object getRowCount(Object result) {
+		if (result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		}
+		if (result instanceof Cursor) {
+			return "カーソル";
+		}
+		return result;
+	}
+
+	/**
+	 * バインドパラメータを取得
+	 *
+	 * @param configuration
+	 * @param boundSql
+	 * @param parameter     パラメータオブジェクト
+	 * @return 「項目名=値」のカンマ区切り（パスワードはマスク）
+	 */
+	private String getParameters(Configuration configuration, BoundSql boundSql,
+			Object parameter) {
+		List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+		StringJoiner joiner = new StringJoiner(", ", "[", "]");
+		MetaObject metaObject = parameter == null ? null : configuration.newMetaObject(parameter);
+		for (ParameterMapping parameterMapping : parameterMappings) {
+			String property = parameterMapping.getProperty();
+			Object value;
+			if (property.toLowerCase(Locale.ROOT).contains(MASK_PROPERTY)) {
+				value = "*****";
+			} else if (boundSql.hasAdditionalParameter(property)) {
+				value = boundSql.getAdditionalParameter(property);
+			} else if (parameter == null) {
+				value = null;
+			} else if (configuration.getTypeHandlerRegistry()
+					.hasTypeHandler(parameter.getClass())) {
+				value = parameter;
+			} else {
+				value = metaObject.getValue(property);
+			}
+			joiner.add(property + "=" + value);
+		}
+		return joiner.toString();
+	}
+
+}
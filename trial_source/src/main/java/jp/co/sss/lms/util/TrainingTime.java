@@ -1,100 +1,143 @@
 package jp.co.sss.lms.util;
 
 import java.io.Serializable;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-
-import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
-
-import lombok.Getter;
-import lombok.Setter;
+import java.time.Clock;
+import java.time.LocalTime;
 
 /**
- * 研修時刻ユーティリティ
- * 
+ * 研修時刻ユーティリティ<br>
+ * 0時0分からの経過分で時刻（または時間）を保持する、不変クラス。<br>
+ * 0:00～23:59の1440分はキャッシュ済みのインスタンスを返却する。
+ *
  * @author 東京ITスクール
  */
-@Component
-@Getter
-@Setter
-public class TrainingTime implements Comparable<TrainingTime>, Serializable {
+public final class TrainingTime implements Comparable<TrainingTime>, Serializable {
 
 	/** シリアルバージョンUID */
-	private static final long serialVersionUID = 1L;
+	private static final long serialVersionUID = 2L;
+
+	/** 1時間の分数 */
+	private static final int MINUTES_PER_HOUR = 60;
+	/** 1日の分数 */
+	private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+	/** 丸め単位（分） */
+	private static final int ROUND_MINUTES = 15;
+	/** 未設定を表す経過分 */
+	private static final int BLANK_MINUTES = -1;
+
+	/** 0:00～23:59のインスタンス */
+	private static final TrainingTime[] CACHE = new TrainingTime[MINUTES_PER_DAY];
+	static {
+		for (int i = 0; i < MINUTES_PER_DAY; i++) {
+			CACHE[i] = new TrainingTime(i);
+		}
+	}
+
+	/** 未設定の研修時刻 */
+	public static final TrainingTime BLANK = new TrainingTime(BLANK_MINUTES);
+
+	/** 0時0分からの経過分（未設定の場合は-1） */
+	private final int minutes;
 
-	/** 時間 */
-	private Integer hour;
-	/** 分 */
-	private Integer minute;
+	private TrainingTime(int minutes) {
+		this.minutes = minutes;
+	}
 
 	/**
-	 * 現在時刻でインスタンスを作成する
+	 * 経過分から研修時刻を取得
+	 *
+	 * @param minutes 0時0分からの経過分
+	 * @return 研修時刻
 	 */
-	public TrainingTime() {
-		SimpleDateFormat sdf = new SimpleDateFormat("HH:mm");
-		String timeStr = sdf.format(new Date());
-		setTimeStr(timeStr);
+	public static TrainingTime ofMinutes(int minutes) {
+		if (minutes < 0) {
+			throw new IllegalArgumentException(minutes + " is Illegal.");
+		}
+		if (minutes < MINUTES_PER_DAY) {
+			return CACHE[minutes];
+		}
+		return new TrainingTime(minutes);
 	}
 
 	/**
-	 * 指定時刻でインスタンスを作成
-	 * 
+	 * 時・分から研修時刻を取得
+	 *
 	 * @param hour
 	 * @param minute
+	 * @return 研修時刻
 	 */
-	public TrainingTime(Integer hour, Integer minute) {
+	public static TrainingTime of(int hour, int minute) {
 		if (!isValidTrainingTime(hour, minute)) {
-			throw new IllegalArgumentException();
+			throw new IllegalArgumentException(hour + ":" + minute + " is Illegal.");
+		}
+		return ofMinutes(hour * MINUTES_PER_HOUR + minute);
+	}
+
+	/**
+	 * 現在時刻の研修時刻を取得
+	 *
+	 * @return 研修時刻
+	 */
+	public static TrainingTime now() {
+		return now(Clock.systemDefaultZone());
+	}
+
+	/**
+	 * 指定した時計の現在時刻から研修時刻を取得
+	 *
+	 * @param clock
+	 * @return 研修時刻
+	 */
+	public static TrainingTime now(Clock clock) {
+		LocalTime localTime = LocalTime.now(clock);
+		return CACHE[localTime.getHour() * MINUTES_PER_HOUR + localTime.getMinute()];
+	}
+
+	/**
+	 * 文字列から研修時刻を取得する。 有効フォーマット："9:00", "18:00", "0900", "1800"<br>
+	 * 空文字・nullの場合は未設定の研修時刻を返却する。
+	 *
+	 * @param timeStr
+	 * @return 研修時刻
+	 */
+	public static TrainingTime parse(String timeStr) {
+		if (timeStr == null || timeStr.isEmpty()) {
+			return BLANK;
+		}
+		int minutes = parseMinutes(timeStr);
+		if (minutes < 0) {
+			throw new IllegalArgumentException(timeStr + " is Illegal.");
 		}
-		this.hour = hour;
-		this.minute = minute;
+		return ofMinutes(minutes);
 	}
 
 	/**
 	 * インスタンス可能か返却する
-	 * 
+	 *
 	 * @param timeStr
 	 * @return boolean
 	 */
-	public boolean isValidTrainingTime(String timeStr) {
-		if (StringUtils.isEmpty(timeStr)) {
+	public static boolean isValidTrainingTime(String timeStr) {
+		if (timeStr == null || timeStr.isEmpty()) {
 			return true;
 		}
-		Integer hour, minute;
-		if (timeStr.indexOf(":") >= 0) {
-			String[] times = timeStr.split(":");
-			final String numRegex = "[0-9]+";
-			if (times.length == 2 && times[0].matches(numRegex) && times[1].matches(numRegex)) {
-				hour = Integer.parseInt(times[0]);
-				minute = Integer.parseInt(times[1]);
-				return isValidTrainingTime(hour, minute);
-			} else {
-				return false;
-			}
-		} else if (timeStr.matches("[0-9]{4}")) {
-			// 数値4桁の場合
-			String hourStr = timeStr.substring(0, 2);
-			String minuteStr = timeStr.substring(2, 4);
-			hour = Integer.parseInt(hourStr);
-			minute = Integer.parseInt(minuteStr);
-			return isValidTrainingTime(hour, minute);
-		} else {
-			return false;
-		}
+		return parseMinutes(timeStr) >= 0;
 	}
 
 	/**
 	 * インスタンス可能か返却する
-	 * 
+	 *
 	 * @param hour
 	 * @param minute
 	 * @return boolean
 	 */
-	public boolean isValidTrainingTime(Integer hour, Integer minute) {
+	public static boolean isValidTrainingTime(Integer hour, Integer minute) {
 		if (hour == null || minute == null) {
 			return false;
 		}
+		if (hour < 0 || hour > Integer.MAX_VALUE / MINUTES_PER_HOUR - 1) {
+			return false;
+		}
 		if (minute > 59 || minute < 0) {
 			return false;
 		}
@@ -102,100 +145,126 @@ public class TrainingTime implements Comparable<TrainingTime>, Serializable {
 	}
 
 	/**
-	 * 文字列からインスタンス化する。 有効フォーマット："9:00", "18:00", "0900", "1800"
+	 * "H:m"形式または"HHmm"形式の文字列を経過分に変換
 	 *
 	 * @param timeStr
+	 * @return 0時0分からの経過分（不正な形式の場合は-1）
 	 */
-	public TrainingTime(String timeStr) {
-		if (StringUtils.isEmpty(timeStr)) {
-			return;
+	private static int parseMinutes(String timeStr) {
+		int length = timeStr.length();
+		int colon = timeStr.indexOf(':');
+		int hour, minute;
+		if (colon >= 0) {
+			// "H:m"形式の場合
+			hour = parseDigits(timeStr, 0, colon);
+			minute = parseDigits(timeStr, colon + 1, length);
+		} else if (length == 4) {
+			// 数値4桁の場合
+			hour = parseDigits(timeStr, 0, 2);
+			minute = parseDigits(timeStr, 2, 4);
+		} else {
+			return -1;
 		}
-		setTimeStr(timeStr);
+		if (hour < 0 || minute < 0 || !isValidTrainingTime(hour, minute)) {
+			return -1;
+		}
+		return hour * MINUTES_PER_HOUR + minute;
 	}
 
 	/**
-	 * 時刻を設定
+	 * 指定範囲の数字を数値に変換
 	 *
-	 * @param timeStr
+	 * @param str
+	 * @param begin
+	 * @param end
+	 * @return 数値（数字以外を含む・空・9桁を超える場合は-1）
 	 */
-	private void setTimeStr(String timeStr) {
-		// 有効フォーマットかどうかチェックを行う
-		if (!isValidTrainingTime(timeStr)) {
-			throw new IllegalArgumentException(timeStr + " is Illegal.");
-		}
-		Integer hour, minute;
-		if (timeStr.indexOf(":") >= 0) {
-			String[] times = timeStr.split(":");
-			// isValidTrainingTimeでチェック済のためそのまま変換する
-			hour = Integer.parseInt(times[0]);
-			minute = Integer.parseInt(times[1]);
-		} else if (timeStr.matches("[0-9]{4}")) {
-			// 数値4桁の場合
-			String hourStr = timeStr.substring(0, 2);
-			String minuteStr = timeStr.substring(2, 4);
-			hour = Integer.parseInt(hourStr);
-			minute = Integer.parseInt(minuteStr);
-		} else {
-			throw new IllegalArgumentException();
+	private static int parseDigits(String str, int begin, int end) {
+		if (begin >= end || end - begin > 9) {
+			return -1;
 		}
-		// 数値的なチェックを行う
-		if (!isValidTrainingTime(hour, minute)) {
-			throw new IllegalArgumentException();
+		int value = 0;
+		for (int i = begin; i < end; i++) {
+			char c = str.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
 		}
-		this.hour = hour;
-		this.minute = minute;
+		return value;
+	}
+
+	/**
+	 * 時間を取得
+	 *
+	 * @return 時間（未設定の場合はnull）
+	 */
+	public Integer getHour() {
+		return isBlank() ? null : minutes / MINUTES_PER_HOUR;
+	}
+
+	/**
+	 * 分を取得
+	 *
+	 * @return 分（未設定の場合はnull）
+	 */
+	public Integer getMinute() {
+		return isBlank() ? null : minutes % MINUTES_PER_HOUR;
+	}
+
+	/**
+	 * 0時0分からの経過分を取得
+	 *
+	 * @return 経過分（未設定の場合は-1）
+	 */
+	public int toMinutes() {
+		return minutes;
 	}
 
 	/**
 	 * 値が (this + augend) の TrainingTime を返します。
-	 * 
+	 *
 	 * @param augend - この TrainingTime に加算する値
 	 * @return this + augend
 	 */
 	public TrainingTime add(TrainingTime augend) {
-		Integer retHour = this.hour;
-		Integer retMinute = this.minute;
-		retHour += augend.hour;
-		retMinute += augend.minute;
-		while (retMinute >= 60) {
-			retHour += 1;
-			retMinute -= 60;
-		}
-		return new TrainingTime(retHour, retMinute);
+		checkNotBlank(augend);
+		return ofMinutes(this.minutes + augend.minutes);
 	}
 
 	/**
 	 * 値が (this - augend) の TrainingTime を返します。
-	 * 
-	 * @param augend - この TrainingTime から減産する値
+	 *
+	 * @param subtrahend - この TrainingTime から減産する値
 	 * @return this - augend
 	 */
 	public TrainingTime subtract(TrainingTime subtrahend) {
-		if (this.compareTo(subtrahend) > 0) {
-			Integer retHour = this.hour;
-			Integer retMinute = this.minute;
-			retHour -= subtrahend.hour;
-			retMinute -= subtrahend.minute;
-			while (retHour > 0 && retMinute < 0) {
-				retHour -= 1;
-				retMinute += 60;
-			}
-			return new TrainingTime(retHour, retMinute);
-		} else if (this.equals(subtrahend)) {
-			return new TrainingTime(0, 0);
-		} else {
+		checkNotBlank(subtrahend);
+		if (this.minutes < subtrahend.minutes) {
 			throw new UnsupportedOperationException("未実装");
 		}
+		return ofMinutes(this.minutes - subtrahend.minutes);
+	}
+
+	/**
+	 * 自身と引数がともに設定済みであることを確認
+	 *
+	 * @param other
+	 */
+	private void checkNotBlank(TrainingTime other) {
+		if (this.isBlank() || other == null || other.isBlank()) {
+			throw new IllegalStateException("TrainingTime is blank.");
+		}
 	}
 
 	/**
 	 * 与えられた引数のうち、最大を返却します
-	 * 
+	 *
 	 * @param times
 	 * @return
 	 * @see #compareTo(TrainingTime)
 	 */
-	public TrainingTime max(TrainingTime... times) {
+	public static TrainingTime max(TrainingTime... times) {
 		if (times.length <= 0) {
 			return null;
 		}
@@ -210,12 +279,12 @@ public class TrainingTime implements Comparable<TrainingTime>, Serializable {
 
 	/**
 	 * 与えられた引数のうち、最小を返却します
-	 * 
+	 *
 	 * @param times
 	 * @return
 	 * @see #compareTo(TrainingTime)
 	 */
-	public TrainingTime min(TrainingTime... times) {
+	public static TrainingTime min(TrainingTime... times) {
 		if (times.length <= 0) {
 			return null;
 		}
@@ -238,62 +307,52 @@ public class TrainingTime implements Comparable<TrainingTime>, Serializable {
 
 	/**
 	 * 指定した研修時間インスタンスが一致しているか判定
-	 * 
+	 *
 	 * @param anObject
 	 * @return boolean
 	 */
 	@Override
 	public boolean equals(Object anObject) {
+		if (this == anObject) {
+			return true;
+		}
 		if (anObject instanceof TrainingTime) {
-			TrainingTime target = (TrainingTime) anObject;
-			if (target.hour == this.hour && target.minute == this.minute) {
-				return true;
-			} else {
-				return false;
-			}
-		} else {
-			return false;
+			return ((TrainingTime) anObject).minutes == this.minutes;
 		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return Integer.hashCode(minutes);
 	}
 
 	/**
-	 * 指定した研修時間インスタンスの比較
-	 * 
+	 * 指定した研修時間インスタンスの比較<br>
+	 * 未設定（null含む）は設定済みより小さいものとして扱う
+	 *
 	 * @param anotherTrainingTime
 	 * @return 比較結果
 	 */
 	@Override
 	public int compareTo(TrainingTime anotherTrainingTime) {
-		if (this.isBlank() && anotherTrainingTime != null && !anotherTrainingTime.isBlank()) {
-			return -1;
-		}
-		if (!this.isBlank() && (anotherTrainingTime == null || anotherTrainingTime.isBlank())) {
-			return 1;
-		}
-		if (this.isBlank() && (anotherTrainingTime == null || anotherTrainingTime.isBlank())) {
-			return 0;
-		}
-		if (this.equals(anotherTrainingTime)) {
-			return 0;
-		}
-		if (this.hour != anotherTrainingTime.hour) {
-			return this.hour.compareTo(anotherTrainingTime.hour);
-		}
-		return this.minute.compareTo(anotherTrainingTime.minute);
+		int anotherMinutes = anotherTrainingTime == null ? BLANK_MINUTES
+				: anotherTrainingTime.minutes;
+		return Integer.compare(this.minutes, anotherMinutes);
 	}
 
 	/**
 	 * フィールド変数に値が設定されているかどうか
-	 * 
+	 *
 	 * @return boolean
 	 */
 	public boolean isBlank() {
-		return (this.hour == null || this.minute == null);
+		return minutes == BLANK_MINUTES;
 	}
 
 	/**
 	 * フィールド変数に値が設定されていないかどうか
-	 * 
+	 *
 	 * @return boolean
 	 */
 	public boolean isNotBlank() {
@@ -302,115 +361,84 @@ public class TrainingTime implements Comparable<TrainingTime>, Serializable {
 
 	/**
 	 * 時刻をHH:mm形式で返却
-	 * 
+	 *
 	 * @return HH:mm
 	 */
 	public String getFormattedString() {
-		if (hour == null || minute == null) {
+		if (isBlank()) {
 			return "";
-		} else {
-			return String.format("%1$02d:%2$02d", hour, minute);
 		}
+		int hour = minutes / MINUTES_PER_HOUR;
+		int minute = minutes % MINUTES_PER_HOUR;
+		if (hour >= 100) {
+			return hour + ":" + (char) ('0' + minute / 10) + (char) ('0' + minute % 10);
+		}
+		char[] chars = { (char) ('0' + hour / 10), (char) ('0' + hour % 10), ':',
+				(char) ('0' + minute / 10), (char) ('0' + minute % 10) };
+		return new String(chars);
 	}
 
 	/**
 	 * 分を15分刻みで切り上げる。出社に仕様
-	 * 
-	 * @return
+	 *
+	 * @return 切り上げた研修時刻
 	 */
 	public TrainingTime roundUp() {
-		if (between(this.minute, 46, 59)) {
-			this.hour++;
-			this.minute = 0;
-		} else if (between(this.minute, 1, 15)) {
-			this.minute = 15;
-		} else if (between(this.minute, 16, 30)) {
-			this.minute = 30;
-		} else if (between(this.minute, 31, 45)) {
-			this.minute = 45;
+		if (isBlank()) {
+			return this;
 		}
-		return this;
+		return ofMinutes((minutes + ROUND_MINUTES - 1) / ROUND_MINUTES * ROUND_MINUTES);
 	}
 
 	/**
 	 * 分を15分刻みで切り捨てる。退社に仕様
-	 * 
-	 * @return
+	 *
+	 * @return 切り捨てた研修時刻
 	 */
 	public TrainingTime roundDown() {
-		if (between(this.minute, 45, 59)) {
-			this.minute = 45;
-		} else if (between(this.minute, 0, 14)) {
-			this.minute = 0;
-		} else if (between(this.minute, 15, 29)) {
-			this.minute = 15;
-		} else if (between(this.minute, 30, 44)) {
-			this.minute = 30;
+		if (isBlank()) {
+			return this;
 		}
-		return this;
-	}
-
-	/**
-	 * 指定された数値間か判定
-	 * 
-	 * @param minute
-	 * @param a
-	 * @param b
-	 * 
-	 * @return boolean
-	 */
-	private boolean between(int minute, int a, int b) {
-		if (a > b) {
-			int tmp = b;
-			b = a;
-			a = tmp;
-		}
-		return (minute >= a && minute <= b);
+		return ofMinutes(minutes / ROUND_MINUTES * ROUND_MINUTES);
 	}
 
 	/**
 	 * 空か判定
-	 * 
+	 *
 	 * @return boolean
 	 */
 	public boolean isEmpty() {
-		return hour == null || minute == null;
+		return isBlank();
 	}
 
 	/**
-	 * 企業の休憩取得時間を考慮
-	 * 
-	 * @return
+	 * 企業の休憩取得時間を考慮<br>
+	 * 企業規定の休憩取得時間が1時間を超える場合、超過分を差し引いた時間をHH:mm形式で返却する
+	 *
+	 * @return HH:mm
 	 */
 	public String restTimeZone(TrainingTime total, TrainingTime companyRestStartTime,
 			TrainingTime companyRestEndTime) {
-		int startTime = Integer.parseInt(companyRestStartTime.toString().replace(":", ""));
-		int endTime = Integer.parseInt(companyRestEndTime.toString().replace(":", ""));
-
-		int startTimeMin = startTime / 100 * 60 + startTime % 100;
-		int endTimeMin = endTime / 100 * 60 + endTime % 100;
-		int diffMin = endTimeMin - startTimeMin;
-		String chinginTime = total.toString();
+		int diffMin = companyRestEndTime.minutes - companyRestStartTime.minutes;
 
 		// 企業規定の休憩取得時間が1時間を超える場合、totalから超過分を差し引く
-		if (diffMin > 60) {
-			int totalMin = Integer.parseInt(total.toString().replace(":", ""));
-			;
-			totalMin = totalMin / 100 * 60 + totalMin % 100;
-			diffMin -= 60;
-			totalMin -= diffMin;
-			totalMin = totalMin / 60 * 100 + totalMin % 60;
-
-			// 元のフォーマットに戻す
-			String strTotalMin = String.valueOf(totalMin);
-			if (strTotalMin.length() < 4) {
-				StringBuffer sb = new StringBuffer();
-				sb.append("0");
-				sb.append(strTotalMin);
-				chinginTime = sb.toString();
-			}
+		if (diffMin > MINUTES_PER_HOUR) {
+			int totalMin = total.minutes - (diffMin - MINUTES_PER_HOUR);
+			return ofMinutes(Math.max(totalMin, 0)).getFormattedString();
+		}
+		return total.getFormattedString();
+	}
+
+	/**
+	 * デシリアライズ時にキャッシュ済みのインスタンスへ置き換える
+	 *
+	 * @return 研修時刻
+	 */
+	private Object readResolve() {
+		if (minutes == BLANK_MINUTES) {
+			return BLANK;
 		}
-		return chinginTime;
+		return ofMinutes(minutes);
 	}
 
 }
@@ -0,0 +1,3 @@
+-- コース毎の定時（未設定の場合はシステムシェアード定時 09:00～18:00 を使用）
+ALTER TABLE m_course ADD COLUMN IF NOT EXISTS work_start_time varchar(5);
+ALTER TABLE m_course ADD COLUMN IF NOT EXISTS work_end_time varchar(5);
@@ -0,0 +1,6 @@
+-- scrypt形式のパスワードハッシュ（$scrypt$ln=..,r=..,p=..$salt$hash）を格納できる長さに拡張
+-- 従来方式（SHA-256の16進表記64文字）のハッシュは次回ログイン時に再ハッシュ化される
+ALTER TABLE m_user ALTER COLUMN password TYPE varchar(255);
+
+-- ログイン時の登録パスワード取得（ログインIDでの検索）で使用
+CREATE INDEX IF NOT EXISTS m_user_idx_login_id ON m_user (login_id);
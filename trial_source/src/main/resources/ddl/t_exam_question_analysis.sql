@@ -0,0 +1,24 @@
+-- 試験問題分析（試験・問題単位、採点対象の試験結果のみ）
+-- 講師の試験問題分析画面で表示するスナップショットで、分析時に試験単位で削除・再作成される
+-- 全試験の再作成は「--batch=rebuildExamAnalysis」で行うこと
+CREATE TABLE IF NOT EXISTS t_exam_question_analysis (
+	exam_id integer NOT NULL,
+	question_id integer NOT NULL,
+	genre_detail_id integer,
+	answer_num smallint,
+	answer_count integer NOT NULL DEFAULT 0,
+	correct_count integer NOT NULL DEFAULT 0,
+	correct_rate numeric(5, 4),
+	discrimination numeric(5, 4),
+	choice_1_count integer NOT NULL DEFAULT 0,
+	choice_2_count integer NOT NULL DEFAULT 0,
+	choice_3_count integer NOT NULL DEFAULT 0,
+	choice_4_count integer NOT NULL DEFAULT 0,
+	no_answer_count integer NOT NULL DEFAULT 0,
+	last_modified_date timestamp NOT NULL,
+	CONSTRAINT t_exam_question_analysis_pk PRIMARY KEY (exam_id, question_id)
+);
+
+-- 分析時に試験結果詳細を試験結果単位で読み込むための索引
+CREATE INDEX IF NOT EXISTS t_exam_result_detail_idx1
+	ON t_exam_result_detail (exam_result_id, question_id);
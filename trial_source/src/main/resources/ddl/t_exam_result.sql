@@ -0,0 +1,21 @@
+-- 試験結果の採点対象（初回受験）を一意にする制約
+-- 試験結果登録（ON CONFLICT）で初回受験かどうかの判定に使用する
+-- 同時送信等により採点対象が重複している場合は、最も古い結果以外を採点対象外にしてから作成する
+UPDATE t_exam_result t1
+SET mark_flg = 0
+WHERE t1.mark_flg = 1
+	AND t1.delete_flg = 0
+	AND EXISTS (SELECT 1 FROM t_exam_result t2
+		WHERE t2.exam_section_id = t1.exam_section_id
+			AND t2.lms_user_id = t1.lms_user_id
+			AND t2.mark_flg = 1
+			AND t2.delete_flg = 0
+			AND t2.exam_result_id < t1.exam_result_id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS t_exam_result_uk1
+	ON t_exam_result (exam_section_id, lms_user_id)
+	WHERE mark_flg = 1 AND delete_flg = 0;
+
+-- コース試験結果一覧で受講生毎の試験結果を取得するための索引
+CREATE INDEX IF NOT EXISTS t_exam_result_idx1
+	ON t_exam_result (lms_user_id, exam_section_id, exam_result_id);
@@ -0,0 +1,15 @@
+-- 試験統計（試験・セクション紐付け単位、採点対象の試験結果のみ）
+-- 採点対象の試験結果の登録と同一トランザクションで加算される
+-- score_histogram は得点（正答数）毎の件数で、得点0の件数を1番目の要素とする
+-- 初回作成後・不整合時は「--batch=rebuildExamStatistics」で全件再作成すること
+CREATE TABLE IF NOT EXISTS t_exam_statistics (
+	exam_section_id integer NOT NULL,
+	result_count integer NOT NULL DEFAULT 0,
+	score_sum bigint NOT NULL DEFAULT 0,
+	score_square_sum bigint NOT NULL DEFAULT 0,
+	score_min smallint,
+	score_max smallint,
+	score_histogram integer[] NOT NULL DEFAULT '{}',
+	last_modified_date timestamp NOT NULL,
+	CONSTRAINT t_exam_statistics_pk PRIMARY KEY (exam_section_id)
+);
@@ -0,0 +1,11 @@
+-- ログイン失敗履歴（ログイン試行回数の制限を複数サーバーで共有する場合に使用）
+-- setting.lock.shared=true の場合のみ登録・参照される
+CREATE TABLE IF NOT EXISTS t_login_failure (
+	login_failure_id serial NOT NULL,
+	throttle_key varchar(300) NOT NULL,
+	failure_date timestamp NOT NULL,
+	CONSTRAINT t_login_failure_pk PRIMARY KEY (login_failure_id)
+);
+
+CREATE INDEX IF NOT EXISTS t_login_failure_idx1
+	ON t_login_failure (throttle_key, failure_date);
@@ -0,0 +1,4 @@
+-- 勤怠情報（受講生入力）の一括登録・更新（ON CONFLICT）で使用する一意制約
+-- 同一ユーザー・同一研修日の重複行が存在する場合は、事前に整理してから作成すること
+CREATE UNIQUE INDEX IF NOT EXISTS t_student_attendance_uk1
+	ON t_student_attendance (lms_user_id, training_date);
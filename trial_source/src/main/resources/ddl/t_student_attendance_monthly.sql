@@ -0,0 +1,18 @@
+-- 勤怠月次集計（受講生・月単位）
+-- 勤怠情報（受講生入力）の登録・更新と同一トランザクションで再集計される
+-- 初回作成後・不整合時は「--batch=rebuildAttendanceMonthly」で全件再作成すること
+CREATE TABLE IF NOT EXISTS t_student_attendance_monthly (
+	lms_user_id integer NOT NULL,
+	target_month date NOT NULL,
+	present_count integer NOT NULL DEFAULT 0,
+	absent_count integer NOT NULL DEFAULT 0,
+	tardy_count integer NOT NULL DEFAULT 0,
+	leaving_early_count integer NOT NULL DEFAULT 0,
+	not_entered_count integer NOT NULL DEFAULT 0,
+	blank_time_total integer NOT NULL DEFAULT 0,
+	last_modified_date timestamp NOT NULL,
+	CONSTRAINT t_student_attendance_monthly_pk PRIMARY KEY (lms_user_id, target_month)
+);
+
+CREATE INDEX IF NOT EXISTS t_student_attendance_monthly_idx1
+	ON t_student_attendance_monthly (target_month);
@@ -0,0 +1,62 @@
+package jp.co.sss.lms;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * 試験用の組み込みPostgreSQL<br>
+ * 試験用スキーマ・差分DDL（ddl/*.sql）・試験用データ（db/fixture.sql）を適用して起動し、
+ * 接続先に設定する。
+ */
+public final class TestDatabase {
+
+	private TestDatabase() {
+	}
+
+	/**
+	 * 組み込みのPostgreSQLを起動して試験用データを登録し、接続先に設定
+	 *
+	 * @param registry 試験時のプロパティ
+	 * @return 起動した組み込みのPostgreSQL（試験後に停止すること）
+	 */
+	public static EmbeddedPostgres start(DynamicPropertyRegistry registry) throws Exception {
+		EmbeddedPostgres embeddedPostgres = EmbeddedPostgres.start();
+		DataSource dataSource = embeddedPostgres.getPostgresDatabase();
+		try (Connection connection = dataSource.getConnection()) {
+			ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/schema.sql"));
+			for (Resource ddl : getDdlResources()) {
+				ScriptUtils.executeSqlScript(connection, ddl);
+			}
+			ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/fixture.sql"));
+		}
+		registry.add("spring.datasource.url",
+				() -> embeddedPostgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "postgres");
+		return embeddedPostgres;
+	}
+
+	/**
+	 * 差分DDLをファイル名順に取得
+	 */
+	private static List<Resource> getDdlResources() throws IOException {
+		Resource[] resources = new PathMatchingResourcePatternResolver()
+				.getResources("classpath:ddl/*.sql");
+		Arrays.sort(resources, Comparator.comparing(Resource::getFilename));
+		return Arrays.asList(resources);
+	}
+
+}
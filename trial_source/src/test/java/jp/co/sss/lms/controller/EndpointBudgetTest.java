@@ -0,0 +1,260 @@
+package jp.co.sss.lms.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jp.co.sss.lms.TestDatabase;
+import jp.co.sss.lms.filter.SqlStatisticsFilter;
+import jp.co.sss.lms.service.PasswordHashService;
+
+/**
+ * 画面毎のSQL実行回数・応答時間の試験<br>
+ * 組み込みのPostgreSQLに試験用スキーマ・差分DDL（ddl/*.sql）を適用し、
+ * 10コース×受講生30名×セクション60件の試験用データ（db/fixture.sql）を登録して実行する。<br>
+ * 受講生1（student001、コース1）でログインし、
+ * 各画面のSQL実行回数・95パーセンタイルの応答時間を検証する。<br>
+ * 応答時間は実行環境に依存するため、通常の試験では出力のみ行い、
+ * -Dlms.loadtest=true を指定した場合に上限を検証する。
+ */
+@SpringBootTest(properties = "setting.sql.debug.header=true")
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+public class EndpointBudgetTest {
+
+	/** コンテキストパス */
+	private static final String CONTEXT_PATH = "/lms";
+	/** 計測前の実行回数 */
+	private static final int WARMUP_COUNT = 5;
+	/** 計測する実行回数 */
+	private static final int MEASURE_COUNT = 30;
+	/** 応答時間の上限を検証するか */
+	private static final boolean LATENCY_CHECK = Boolean.getBoolean("lms.loadtest");
+	/** ログインID */
+	private static final String LOGIN_ID = "student001";
+	/** パスワード */
+	private static final String PASSWORD = "Password1";
+	/** LMSユーザーID（受講生1） */
+	private static final int LMS_USER_ID = 1;
+	/** セクションID（コース1の試験・日報提出があるセクション） */
+	private static final int SECTION_ID = 8;
+	/** 試験・セクション紐付けID（コース1の試験1） */
+	private static final int EXAM_SECTION_ID = 1;
+	/** 日報ID */
+	private static final int DAILY_REPORT_ID = 1;
+
+	private static final Logger logger = LoggerFactory.getLogger(EndpointBudgetTest.class);
+
+	private static EmbeddedPostgres embeddedPostgres;
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PasswordHashService passwordHashService;
+
+	private MockHttpSession session;
+
+	/**
+	 * 組み込みのPostgreSQLを起動して試験用データを登録し、接続先に設定
+	 */
+	@DynamicPropertySource
+	public static void setDataSource(DynamicPropertyRegistry registry) throws Exception {
+		embeddedPostgres = TestDatabase.start(registry);
+	}
+
+	@AfterAll
+	public static void shutdown() throws IOException {
+		if (embeddedPostgres != null) {
+			embeddedPostgres.close();
+		}
+	}
+
+	@BeforeEach
+	public void setup() throws Exception {
+		jdbcTemplate.update("UPDATE m_user SET password = ? WHERE login_id = ?",
+				passwordHashService.hash(PASSWORD, LOGIN_ID), LOGIN_ID);
+		session = new MockHttpSession();
+		mockMvc.perform(postScreen("/login").session(session).param("loginId", LOGIN_ID)
+				.param("password", PASSWORD));
+		assertNotNull(session.getAttribute("loginUserDto"), "ログインできませんでした");
+	}
+
+	/**
+	 * コース詳細画面<br>
+	 * ■試験観点：<br>
+	 * ・SQL実行回数・95パーセンタイルの応答時間が上限以内であること
+	 */
+	@Test
+	public void testCourseDetail() throws Exception {
+		assertBudget(getScreen("/course/detail"), 10, 300);
+	}
+
+	/**
+	 * セクション詳細画面<br>
+	 * ■試験観点：<br>
+	 * ・SQL実行回数・95パーセンタイルの応答時間が上限以内であること
+	 */
+	@Test
+	public void testSectionDetail() throws Exception {
+		assertBudget(getScreen("/section/detail").param("sectionId", String.valueOf(SECTION_ID)),
+				10, 300);
+	}
+
+	/**
+	 * 勤怠情報画面<br>
+	 * ■試験観点：<br>
+	 * ・勤怠情報の件数によらずSQL実行回数が上限以内であること<br>
+	 * ・95パーセンタイルの応答時間が上限以内であること
+	 */
+	@Test
+	public void testAttendanceDetail() throws Exception {
+		assertBudget(getScreen("/attendance/detail"), 8, 300);
+	}
+
+	/**
+	 * 勤怠情報直接編集画面<br>
+	 * ■試験観点：<br>
+	 * ・勤怠情報の件数によらずSQL実行回数が上限以内であること<br>
+	 * ・95パーセンタイルの応答時間が上限以内であること<br>
+	 * （研修日毎に時・分・中抜け時間の選択肢を描画するため、上限を他の画面より長くする）
+	 */
+	@Test
+	public void testAttendanceUpdate() throws Exception {
+		assertBudget(getScreen("/attendance/update"), 8, 1000);
+	}
+
+	/**
+	 * 試験開始画面<br>
+	 * ■試験観点：<br>
+	 * ・SQL実行回数・95パーセンタイルの応答時間が上限以内であること
+	 */
+	@Test
+	public void testExamStart() throws Exception {
+		assertBudget(postScreen("/exam/start").param("examSectionId", String.valueOf(EXAM_SECTION_ID)),
+				10, 300);
+	}
+
+	/**
+	 * 試験結果詳細画面<br>
+	 * ■試験観点：<br>
+	 * ・SQL実行回数・95パーセンタイルの応答時間が上限以内であること
+	 */
+	@Test
+	public void testExamResultDetail() throws Exception {
+		Integer examResultId = jdbcTemplate.queryForObject(
+				"SELECT MIN(exam_result_id) FROM t_exam_result"
+						+ " WHERE lms_user_id = ? AND exam_section_id = ?",
+				Integer.class, LMS_USER_ID, EXAM_SECTION_ID);
+		assertBudget(postScreen("/exam/resultDetail").param("examResultId",
+				String.valueOf(examResultId)), 10, 300);
+	}
+
+	/**
+	 * レポート登録画面<br>
+	 * ■試験観点：<br>
+	 * ・SQL実行回数・95パーセンタイルの応答時間が上限以内であること
+	 */
+	@Test
+	public void testReportRegist() throws Exception {
+		assertBudget(postScreen("/report/regist")
+				.param("dailyReportId", String.valueOf(DAILY_REPORT_ID))
+				.param("sectionId", String.valueOf(SECTION_ID)), 10, 300);
+	}
+
+	/**
+	 * レポートダウンロード<br>
+	 * ■試験観点：<br>
+	 * ・SQL実行回数・95パーセンタイルの応答時間が上限以内であること
+	 */
+	@Test
+	public void testReportDownload() throws Exception {
+		Integer dailyReportSubmitId = jdbcTemplate.queryForObject(
+				"SELECT MIN(daily_report_submit_id) FROM t_daily_report_submit WHERE lms_user_id = ?",
+				Integer.class, LMS_USER_ID);
+		assertBudget(postScreen("/report/download")
+				.param("dailyReportId", String.valueOf(DAILY_REPORT_ID))
+				.param("dailyReportSubmitId", String.valueOf(dailyReportSubmitId)), 8, 1000);
+	}
+
+	/**
+	 * 画面を繰り返し実行し、SQL実行回数・応答時間を検証
+	 *
+	 * @param request            リクエスト
+	 * @param maxStatementCount  SQL実行回数の上限
+	 * @param p95BudgetMillis    95パーセンタイルの応答時間の上限（ミリ秒、-Dlms.loadtest=true の場合のみ検証）
+	 */
+	private void assertBudget(MockHttpServletRequestBuilder request, int maxStatementCount,
+			long p95BudgetMillis) throws Exception {
+		request.session(session);
+		for (int i = 0; i < WARMUP_COUNT; i++) {
+			mockMvc.perform(request);
+		}
+		List<Long> latencies = new ArrayList<>();
+		int statementCount = 0;
+		for (int i = 0; i < MEASURE_COUNT; i++) {
+			long start = System.nanoTime();
+			MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+			latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			assertTrue(response.getStatus() < 400, "status=" + response.getStatus());
+			assertNull(response.getRedirectedUrl(), "redirect=" + response.getRedirectedUrl());
+			statementCount = Math.max(statementCount, getStatementCount(response));
+		}
+		latencies.sort(null);
+		long p95 = latencies.get(latencies.size() * 95 / 100);
+		logger.info("{}: statements={} p95={}ms",
+				request.buildRequest(new MockServletContext()).getRequestURI(), statementCount, p95);
+		assertTrue(statementCount <= maxStatementCount,
+				"statements=" + statementCount + " > " + maxStatementCount);
+		if (LATENCY_CHECK) {
+			assertTrue(p95 <= p95BudgetMillis, "p95=" + p95 + "ms > " + p95BudgetMillis + "ms");
+		}
+	}
+
+	/**
+	 * コンテキストパスを含むGETリクエストを生成
+	 */
+	private static MockHttpServletRequestBuilder getScreen(String path) {
+		return get(CONTEXT_PATH + path).contextPath(CONTEXT_PATH);
+	}
+
+	/**
+	 * コンテキストパスを含むPOSTリクエストを生成
+	 */
+	private static MockHttpServletRequestBuilder postScreen(String path) {
+		return post(CONTEXT_PATH + path).contextPath(CONTEXT_PATH);
+	}
+
+	/**
+	 * デバッグ用ヘッダーからSQL実行回数を取得
+	 */
+	private int getStatementCount(MockHttpServletResponse response) {
+		String header = response.getHeader(SqlStatisticsFilter.HEADER_SQL_STATEMENTS);
+		assertNotNull(header, "SQL実行回数のヘッダーがありません");
+		return Integer.parseInt(header.substring(0, header.indexOf('/')));
+	}
+
+}
@@ -0,0 +1,178 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jp.co.sss.lms.TestDatabase;
+import jp.co.sss.lms.dto.AttendanceMonthlyDto;
+import jp.co.sss.lms.enums.AttendanceStatusEnum;
+
+/**
+ * 勤怠月次集計サービスの試験<br>
+ * 組み込みのPostgreSQLに試験用データ（db/fixture.sql）を登録し、
+ * コース1（受講生30名）の前日を含む月の集計を検証する。
+ */
+@SpringBootTest
+public class AttendanceMonthlyServiceTest {
+
+	/** LMSユーザーID（受講生1） */
+	private static final int LMS_USER_ID = 1;
+	/** コースID（コース1） */
+	private static final int COURSE_ID = 1;
+	/** コース1の受講生数 */
+	private static final int COURSE_STUDENT_COUNT = 30;
+
+	private static EmbeddedPostgres embeddedPostgres;
+
+	@Autowired
+	private AttendanceMonthlyService attendanceMonthlyService;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/** 勤怠を編集する研修日（前日） */
+	private LocalDate trainingDate;
+	/** 対象月（月初日） */
+	private LocalDate targetMonth;
+
+	@DynamicPropertySource
+	public static void setDataSource(DynamicPropertyRegistry registry) throws Exception {
+		embeddedPostgres = TestDatabase.start(registry);
+	}
+
+	@AfterAll
+	public static void shutdown() throws IOException {
+		if (embeddedPostgres != null) {
+			embeddedPostgres.close();
+		}
+	}
+
+	@BeforeEach
+	public void setup() throws Exception {
+		trainingDate = LocalDate.now().minusDays(1);
+		targetMonth = trainingDate.withDayOfMonth(1);
+		jdbcTemplate.update("UPDATE t_student_attendance SET status = 0, training_start_time = '09:00',"
+				+ " training_end_time = '18:00' WHERE lms_user_id = ?", LMS_USER_ID);
+		attendanceMonthlyService.rebuild();
+	}
+
+	/**
+	 * 勤怠編集後の月次集計の更新<br>
+	 * ■試験観点：<br>
+	 * ・編集した月の出勤・欠席・遅刻件数が勤怠情報と一致すること<br>
+	 * ・研修日数がコースの対象月のセクション数、出勤率が出勤件数÷研修日数であること
+	 */
+	@Test
+	public void testRefresh() {
+		int attendanceCount = countAttendance();
+		jdbcTemplate.update("UPDATE t_student_attendance SET status = ?, training_start_time = '',"
+				+ " training_end_time = '' WHERE lms_user_id = ? AND training_date = ?",
+				AttendanceStatusEnum.ABSENT.code, LMS_USER_ID, java.sql.Date.valueOf(trainingDate));
+		// 月初日が前日でない場合は月初日を遅刻に変更
+		boolean hasTardy = !trainingDate.equals(targetMonth);
+		if (hasTardy) {
+			jdbcTemplate.update("UPDATE t_student_attendance SET status = ?,"
+					+ " training_start_time = '09:30' WHERE lms_user_id = ? AND training_date = ?",
+					AttendanceStatusEnum.TARDY.code, LMS_USER_ID,
+					java.sql.Date.valueOf(targetMonth));
+		}
+
+		transactionTemplate.executeWithoutResult(status -> attendanceMonthlyService
+				.refresh(LMS_USER_ID, List.of(toDate(trainingDate), toDate(targetMonth))));
+
+		AttendanceMonthlyDto dto = findStudent(
+				attendanceMonthlyService.getCourseMonthly(COURSE_ID, toDate(trainingDate)));
+		int workDayCount = jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM m_section WHERE course_id = ? AND date >= ?"
+						+ " AND date < ?::date + INTERVAL '1 month'",
+				Integer.class, COURSE_ID, java.sql.Date.valueOf(targetMonth),
+				java.sql.Date.valueOf(targetMonth));
+		assertEquals(attendanceCount - 1, dto.getPresentCount());
+		assertEquals(1, dto.getAbsentCount());
+		assertEquals(hasTardy ? 1 : 0, dto.getTardyCount());
+		assertEquals(workDayCount, dto.getWorkDayCount());
+		assertEquals((attendanceCount - 1) * 100.0 / workDayCount, dto.getAttendanceRate(), 0.001);
+	}
+
+	/**
+	 * 月次集計の全件再作成・取得対象<br>
+	 * ■試験観点：<br>
+	 * ・勤怠の登録がある全ユーザーの月次集計が再作成されること<br>
+	 * ・コースの受講生のみ（講師を除く）、複数コースに所属する受講生は対象月のコースのみで取得されること
+	 */
+	@Test
+	public void testRebuild() throws Exception {
+		jdbcTemplate.update("DELETE FROM t_student_attendance_monthly");
+		assertEquals(300, attendanceMonthlyService.rebuild());
+		assertEquals(jdbcTemplate.queryForObject(
+				"SELECT count(DISTINCT (lms_user_id, date_trunc('month', training_date)))"
+						+ " FROM t_student_attendance",
+				Integer.class),
+				jdbcTemplate.queryForObject("SELECT count(*) FROM t_student_attendance_monthly",
+						Integer.class));
+
+		// 講師（コース1）・受講生1の次期コース（コース2、対象月と期間が重ならない）を追加
+		jdbcTemplate.update("INSERT INTO m_user (user_id, login_id, password, user_name, kana,"
+				+ " mail_address, security_agree_flg, leave_flg, delete_flg)"
+				+ " VALUES (901, 'teacher901', '', '講師', 'コウシ', 'teacher901@example.com', 1, 0, 0)");
+		jdbcTemplate.update("INSERT INTO m_lms_user (lms_user_id, user_id, role, delete_flg)"
+				+ " VALUES (901, 901, '0002', 0)");
+		jdbcTemplate.update("INSERT INTO t_course_user (course_user_id, course_id, lms_user_id,"
+				+ " delete_flg) VALUES (901, ?, 901, 0), (902, 2, ?, 0)", COURSE_ID, LMS_USER_ID);
+		jdbcTemplate.update("UPDATE m_course SET open_time = ?::date + INTERVAL '2 month',"
+				+ " close_time = ?::date + INTERVAL '3 month' WHERE course_id = 2",
+				java.sql.Date.valueOf(targetMonth), java.sql.Date.valueOf(targetMonth));
+		try {
+			List<AttendanceMonthlyDto> dtoList = attendanceMonthlyService
+					.getCourseMonthly(COURSE_ID, toDate(trainingDate));
+			assertEquals(COURSE_STUDENT_COUNT, dtoList.size());
+			assertEquals(countAttendance(), findStudent(dtoList).getPresentCount());
+			assertTrue(attendanceMonthlyService.getCourseMonthly(2, toDate(trainingDate)).stream()
+					.noneMatch(dto -> dto.getLmsUserId() == LMS_USER_ID));
+		} finally {
+			jdbcTemplate.update("DELETE FROM t_course_user WHERE course_user_id IN (901, 902)");
+			jdbcTemplate.update("DELETE FROM m_lms_user WHERE lms_user_id = 901");
+			jdbcTemplate.update("DELETE FROM m_user WHERE user_id = 901");
+			jdbcTemplate.update("UPDATE m_course SET open_time = CURRENT_DATE - 40,"
+					+ " close_time = CURRENT_DATE + 19 WHERE course_id = 2");
+		}
+	}
+
+	/**
+	 * 対象月の受講生1の勤怠件数
+	 */
+	private int countAttendance() {
+		return jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM t_student_attendance WHERE lms_user_id = ?"
+						+ " AND training_date >= ? AND training_date < ?::date + INTERVAL '1 month'",
+				Integer.class, LMS_USER_ID, java.sql.Date.valueOf(targetMonth),
+				java.sql.Date.valueOf(targetMonth));
+	}
+
+	private static AttendanceMonthlyDto findStudent(List<AttendanceMonthlyDto> dtoList) {
+		return dtoList.stream().filter(dto -> dto.getLmsUserId() == LMS_USER_ID).findFirst()
+				.orElseThrow();
+	}
+
+	private static Date toDate(LocalDate localDate) {
+		return Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+}
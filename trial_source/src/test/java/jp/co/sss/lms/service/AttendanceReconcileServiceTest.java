@@ -0,0 +1,156 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jp.co.sss.lms.dto.AttendanceMismatchDto;
+import jp.co.sss.lms.dto.AttendanceReconcileResultDto;
+import jp.co.sss.lms.entity.TCompanyAttendance;
+import jp.co.sss.lms.entity.TStudentAttendance;
+import jp.co.sss.lms.enums.AttendanceMismatchTypeEnum;
+import jp.co.sss.lms.enums.AttendanceStatusEnum;
+
+/**
+ * 勤怠突合サービスの試験
+ */
+public class AttendanceReconcileServiceTest {
+
+	/** 時刻差異とする差（分） */
+	private static final int THRESHOLD = 10;
+
+	private final List<AttendanceMismatchDto> mismatchList = new ArrayList<>();
+
+	/**
+	 * 一致<br>
+	 * ■試験観点：<br>
+	 * ・時刻の差が閾値以内、ステータスが同一（未設定は通常扱い）の場合は差異なしとなること<br>
+	 * ・両方未入力の時刻は差異としないこと
+	 */
+	@Test
+	public void testMatch() {
+		AttendanceReconcileResultDto resultDto = merge(
+				List.of(student(1, 1, "09:00", "18:00", null), student(1, 2, "", "", null)),
+				List.of(company(1, 1, "09:10", "17:50", AttendanceStatusEnum.NONE.code),
+						company(1, 2, "", "", null)));
+		assertTrue(mismatchList.isEmpty());
+		assertEquals(2, resultDto.getStudentCount());
+		assertEquals(2, resultDto.getCompanyCount());
+	}
+
+	/**
+	 * 片方のみの入力<br>
+	 * ■試験観点：<br>
+	 * ・企業入力のみ、受講生入力のみのキーがそれぞれの種別で出力されること<br>
+	 * ・先頭・途中・末尾のいずれでも検出されること
+	 */
+	@Test
+	public void testMissing() {
+		AttendanceReconcileResultDto resultDto = merge(
+				List.of(student(1, 1, "09:00", "18:00", null), student(1, 3, "09:00", "18:00", null),
+						student(3, 1, "09:00", "18:00", null)),
+				List.of(company(0, 5, "09:00", "18:00", null), company(1, 1, "09:00", "18:00", null),
+						company(2, 1, "09:00", "18:00", null)));
+		assertEquals(List.of(AttendanceMismatchTypeEnum.MISSING_STUDENT,
+				AttendanceMismatchTypeEnum.MISSING_COMPANY, AttendanceMismatchTypeEnum.MISSING_STUDENT,
+				AttendanceMismatchTypeEnum.MISSING_COMPANY), types());
+		assertEquals(2, resultDto.getMissingCompanyCount());
+		assertEquals(2, resultDto.getMissingStudentCount());
+		assertEquals(0, mismatchList.get(0).getLmsUserId());
+		assertEquals(date(3).getTime(), mismatchList.get(1).getTrainingDate().getTime());
+		assertEquals(3, mismatchList.get(3).getLmsUserId());
+	}
+
+	/**
+	 * 重複したキー<br>
+	 * ■試験観点：<br>
+	 * ・同一キーの2件目以降が重複として出力され、入力なしとして出力されないこと<br>
+	 * ・重複の後続のキーが正しく突き合わされること
+	 */
+	@Test
+	public void testDuplicate() {
+		AttendanceReconcileResultDto resultDto = merge(
+				List.of(student(1, 1, "09:00", "18:00", null), student(1, 1, "09:00", "18:00", null),
+						student(1, 2, "09:00", "18:00", null)),
+				List.of(company(1, 1, "09:00", "18:00", null), company(1, 2, "09:00", "18:00", null),
+						company(1, 2, "09:00", "18:00", null), company(1, 2, "09:00", "18:00", null)));
+		assertEquals(List.of(AttendanceMismatchTypeEnum.DUPLICATE_STUDENT,
+				AttendanceMismatchTypeEnum.DUPLICATE_COMPANY,
+				AttendanceMismatchTypeEnum.DUPLICATE_COMPANY), types());
+		assertEquals(1, resultDto.getDuplicateStudentCount());
+		assertEquals(2, resultDto.getDuplicateCompanyCount());
+		assertEquals(0, resultDto.getMissingCompanyCount());
+		assertEquals(0, resultDto.getMissingStudentCount());
+		assertEquals(3, resultDto.getStudentCount());
+		assertEquals(4, resultDto.getCompanyCount());
+	}
+
+	/**
+	 * 時刻差異・ステータス差異<br>
+	 * ■試験観点：<br>
+	 * ・閾値ちょうどの差は差異とせず、閾値を超える差を差異とすること<br>
+	 * ・片方のみ入力された時刻は差異とし、差は空となること<br>
+	 * ・ステータスが異なる場合は時刻差異と別に出力されること
+	 */
+	@Test
+	public void testThreshold() {
+		merge(List.of(student(1, 1, "09:00", "18:00", null), student(1, 2, "09:00", "18:00", null),
+				student(1, 3, "09:00", "", null),
+				student(1, 4, "09:30", "18:00", AttendanceStatusEnum.TARDY.code)),
+				List.of(company(1, 1, "09:10", "18:00", null), company(1, 2, "09:11", "18:00", null),
+						company(1, 3, "09:00", "18:00", null), company(1, 4, "09:00", "18:00", null)));
+		assertEquals(List.of(AttendanceMismatchTypeEnum.TIME_DIFFERENCE,
+				AttendanceMismatchTypeEnum.TIME_DIFFERENCE, AttendanceMismatchTypeEnum.TIME_DIFFERENCE,
+				AttendanceMismatchTypeEnum.STATUS_DIFFERENCE), types());
+		assertEquals(11, mismatchList.get(0).getStartDeltaMinutes());
+		assertEquals(0, mismatchList.get(1).getStartDeltaMinutes());
+		assertNull(mismatchList.get(1).getEndDeltaMinutes());
+		assertEquals(30, mismatchList.get(2).getStartDeltaMinutes());
+	}
+
+	private AttendanceReconcileResultDto merge(List<TStudentAttendance> studentList,
+			List<TCompanyAttendance> companyList) {
+		return AttendanceReconcileService.merge(studentList.iterator(), companyList.iterator(),
+				THRESHOLD, mismatchList::add);
+	}
+
+	private List<AttendanceMismatchTypeEnum> types() {
+		return mismatchList.stream().map(AttendanceMismatchDto::getType).toList();
+	}
+
+	private TStudentAttendance student(int lmsUserId, int day, String start, String end,
+			Short status) {
+		TStudentAttendance entity = new TStudentAttendance();
+		entity.setLmsUserId(lmsUserId);
+		entity.setTrainingDate(date(day));
+		entity.setTrainingStartTime(start);
+		entity.setTrainingEndTime(end);
+		entity.setStatus(status);
+		return entity;
+	}
+
+	private TCompanyAttendance company(int lmsUserId, int day, String start, String end,
+			Short status) {
+		TCompanyAttendance entity = new TCompanyAttendance();
+		entity.setLmsUserId(lmsUserId);
+		entity.setTrainingDate(date(day));
+		entity.setTrainingStartTime(start);
+		entity.setTrainingEndTime(end);
+		entity.setStatus(status);
+		return entity;
+	}
+
+	/**
+	 * 研修日（同一の日は同一インスタンスとならないよう毎回生成）
+	 */
+	private Date date(int day) {
+		return Date.from(LocalDate.of(2024, 4, day).atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+}
@@ -0,0 +1,161 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jp.co.sss.lms.dto.AttendanceStatusRecomputeResultDto;
+import jp.co.sss.lms.dto.StudentAttendanceStatusDto;
+import jp.co.sss.lms.entity.MCourse;
+import jp.co.sss.lms.enums.AttendanceStatusEnum;
+import jp.co.sss.lms.mapper.TStudentAttendanceMapper;
+import jp.co.sss.lms.util.AttendanceUtil;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.CourseCalendar;
+
+/**
+ * 勤怠ステータス再計算サービスの試験
+ */
+public class AttendanceStatusRecomputeServiceTest {
+
+	/** コースID（定時を10:00～17:00に変更したコース） */
+	private static final int COURSE_ID = 1;
+	/** 更新者 */
+	private static final int LAST_MODIFIED_USER = 5;
+	/** 1回に読み込む勤怠件数 */
+	private static final int CHUNK_SIZE = 1000;
+
+	private TStudentAttendanceMapper tStudentAttendanceMapper;
+	private AttendanceMonthlyService attendanceMonthlyService;
+	private AttendanceStatusRecomputeService attendanceStatusRecomputeService;
+
+	@BeforeEach
+	public void setup() {
+		tStudentAttendanceMapper = mock(TStudentAttendanceMapper.class);
+		when(tStudentAttendanceMapper.bulkUpdateStatus(anyList(), any(), any()))
+				.thenAnswer(invocation -> invocation.<List<?>> getArgument(0).size());
+		MCourse mCourse = new MCourse();
+		mCourse.setWorkStartTime("10:00");
+		mCourse.setWorkEndTime("17:00");
+		CourseCalendarService courseCalendarService = mock(CourseCalendarService.class);
+		when(courseCalendarService.getCourseCalendar(COURSE_ID))
+				.thenReturn(CourseCalendar.of(mCourse, Collections.emptyList(), 0L));
+		attendanceMonthlyService = mock(AttendanceMonthlyService.class);
+
+		attendanceStatusRecomputeService = new AttendanceStatusRecomputeService();
+		ReflectionTestUtils.setField(attendanceStatusRecomputeService, "tStudentAttendanceMapper",
+				tStudentAttendanceMapper);
+		ReflectionTestUtils.setField(attendanceStatusRecomputeService, "courseCalendarService",
+				courseCalendarService);
+		ReflectionTestUtils.setField(attendanceStatusRecomputeService, "attendanceUtil",
+				new AttendanceUtil());
+		ReflectionTestUtils.setField(attendanceStatusRecomputeService, "attendanceMonthlyService",
+				attendanceMonthlyService);
+		ReflectionTestUtils.setField(attendanceStatusRecomputeService, "transactionTemplate",
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+	}
+
+	/**
+	 * 勤怠ステータスの再計算<br>
+	 * ■試験観点：<br>
+	 * ・変更後の定時で判定し、ステータスが変わる勤怠のみ更新すること<br>
+	 * ・時刻が不正な勤怠は更新せず、スキップ件数に数えること<br>
+	 * ・更新した勤怠のユーザー・研修日の月次集計のみ更新すること
+	 */
+	@Test
+	public void testRecompute() {
+		when(tStudentAttendanceMapper.findForStatusRecompute(COURSE_ID, null, CHUNK_SIZE,
+				AttendanceStatusEnum.ABSENT.code, Constants.DB_FLG_FALSE)).thenReturn(List.of(
+						createDto(101, 10, 1, "09:50", "17:00", AttendanceStatusEnum.NONE),
+						createDto(102, 10, 2, "09:30", "18:00", AttendanceStatusEnum.TARDY),
+						createDto(103, 11, 1, "10:30", "16:00", AttendanceStatusEnum.NONE),
+						createDto(104, 11, 2, "09:75", "18:00", AttendanceStatusEnum.NONE)));
+
+		AttendanceStatusRecomputeResultDto resultDto = attendanceStatusRecomputeService
+				.recompute(COURSE_ID, null, LAST_MODIFIED_USER);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<StudentAttendanceStatusDto>> captor = ArgumentCaptor
+				.forClass(List.class);
+		verify(tStudentAttendanceMapper).bulkUpdateStatus(captor.capture(),
+				eq(LAST_MODIFIED_USER), any());
+		List<StudentAttendanceStatusDto> changedList = captor.getValue();
+		assertEquals(2, changedList.size());
+		assertEquals(102, changedList.get(0).getStudentAttendanceId());
+		assertEquals(AttendanceStatusEnum.NONE.code, changedList.get(0).getStatus());
+		assertEquals(103, changedList.get(1).getStudentAttendanceId());
+		assertEquals(AttendanceStatusEnum.TARDY_AND_LEAVING_EARLY.code,
+				changedList.get(1).getStatus());
+
+		verify(attendanceMonthlyService).refresh(10, List.of(toDate(2)));
+		verify(attendanceMonthlyService).refresh(11, List.of(toDate(1)));
+		verifyNoMoreInteractions(attendanceMonthlyService);
+
+		assertEquals(4, resultDto.getProcessedCount());
+		assertEquals(2, resultDto.getUpdatedCount());
+		assertEquals(1, resultDto.getSkippedCount());
+		assertEquals(104, resultDto.getLastStudentAttendanceId());
+	}
+
+	/**
+	 * 中断後の再開<br>
+	 * ■試験観点：<br>
+	 * ・指定した受講生勤怠IDより後から読み込むこと<br>
+	 * ・変更がない場合は勤怠・月次集計を更新しないこと<br>
+	 * ・対象がない場合は指定した受講生勤怠IDを最終IDとして返却すること
+	 */
+	@Test
+	public void testResume() {
+		when(tStudentAttendanceMapper.findForStatusRecompute(COURSE_ID, 200, CHUNK_SIZE,
+				AttendanceStatusEnum.ABSENT.code, Constants.DB_FLG_FALSE)).thenReturn(List.of(
+						createDto(201, 10, 3, "10:00", "17:00", AttendanceStatusEnum.NONE),
+						createDto(202, 10, 4, "", "", AttendanceStatusEnum.NONE)));
+
+		AttendanceStatusRecomputeResultDto resultDto = attendanceStatusRecomputeService
+				.recompute(COURSE_ID, 200, LAST_MODIFIED_USER);
+		assertEquals(2, resultDto.getProcessedCount());
+		assertEquals(0, resultDto.getUpdatedCount());
+		assertEquals(202, resultDto.getLastStudentAttendanceId());
+
+		resultDto = attendanceStatusRecomputeService.recompute(COURSE_ID, 202,
+				LAST_MODIFIED_USER);
+		assertEquals(0, resultDto.getProcessedCount());
+		assertEquals(202, resultDto.getLastStudentAttendanceId());
+		verify(tStudentAttendanceMapper).findForStatusRecompute(COURSE_ID, 202, CHUNK_SIZE,
+				AttendanceStatusEnum.ABSENT.code, Constants.DB_FLG_FALSE);
+		verify(tStudentAttendanceMapper, never()).bulkUpdateStatus(any(), any(), any());
+		verifyNoInteractions(attendanceMonthlyService);
+	}
+
+	private static StudentAttendanceStatusDto createDto(int studentAttendanceId, int lmsUserId,
+			int day, String trainingStartTime, String trainingEndTime,
+			AttendanceStatusEnum attendanceStatusEnum) {
+		StudentAttendanceStatusDto dto = new StudentAttendanceStatusDto();
+		dto.setStudentAttendanceId(studentAttendanceId);
+		dto.setLmsUserId(lmsUserId);
+		dto.setTrainingDate(toDate(day));
+		dto.setCourseId(COURSE_ID);
+		dto.setTrainingStartTime(trainingStartTime);
+		dto.setTrainingEndTime(trainingEndTime);
+		dto.setStatus(attendanceStatusEnum.code);
+		return dto;
+	}
+
+	private static Date toDate(int day) {
+		return Date.from(LocalDate.of(2024, 4, day).atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+}
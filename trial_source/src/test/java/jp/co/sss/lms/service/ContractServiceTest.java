@@ -0,0 +1,153 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.co.sss.lms.dto.AgreementConsentDto;
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.mapper.TAgreementConsentMapper;
+import jp.co.sss.lms.util.Constants;
+
+/**
+ * 契約情報サービスの試験
+ */
+public class ContractServiceTest {
+
+	private static final Instant NOW = Instant.parse("2024-04-01T00:00:00Z");
+
+	private TAgreementConsentMapper tAgreementConsentMapper;
+	private ContractService contractService;
+
+	@BeforeEach
+	public void setup() {
+		tAgreementConsentMapper = mock(TAgreementConsentMapper.class);
+		// 企業1：未同意の契約あり、企業2：未同意の契約なし
+		when(tAgreementConsentMapper.getAgreementConsentDtoList(eq(1), any(),
+				eq(Constants.CODE_VAL_CONTRACT_DISAGREE), eq(Constants.DB_FLG_FALSE)))
+				.thenReturn(List.of(new AgreementConsentDto()));
+		when(tAgreementConsentMapper.getAgreementConsentDtoList(eq(2), any(),
+				eq(Constants.CODE_VAL_CONTRACT_DISAGREE), eq(Constants.DB_FLG_FALSE)))
+				.thenReturn(List.of());
+		contractService = new ContractService();
+		ReflectionTestUtils.setField(contractService, "tAgreementConsentMapper",
+				tAgreementConsentMapper);
+		ReflectionTestUtils.setField(contractService, "loginUserDto", new LoginUserDto());
+		ReflectionTestUtils.setField(contractService, "refreshMinute", 5);
+		setNow(NOW);
+	}
+
+	/**
+	 * 未同意の契約の有無<br>
+	 * ■試験観点：<br>
+	 * ・企業毎に判定されること<br>
+	 * ・企業IDがない場合はデータベースを参照せずに未同意なしとなること<br>
+	 * ・基準日に現在日時（時計）が使用されること
+	 */
+	@Test
+	public void testHasDisagreement() {
+		assertTrue(contractService.hasDisagreement(1));
+		assertFalse(contractService.hasDisagreement(2));
+		assertFalse(contractService.hasDisagreement(null));
+		verify(tAgreementConsentMapper).getAgreementConsentDtoList(1, Date.from(NOW),
+				Constants.CODE_VAL_CONTRACT_DISAGREE, Constants.DB_FLG_FALSE);
+		verify(tAgreementConsentMapper, never()).getAgreementConsentDtoList(isNull(), any(),
+				any(), any());
+	}
+
+	/**
+	 * 判定結果の保持<br>
+	 * ■試験観点：<br>
+	 * ・再読込間隔内はデータベースを参照しないこと<br>
+	 * ・再読込間隔を経過した場合は再読込すること<br>
+	 * ・破棄した場合は再読込すること
+	 */
+	@Test
+	public void testExpire() {
+		contractService.hasDisagreement(1);
+		setNow(NOW.plus(Duration.ofMinutes(4)));
+		assertTrue(contractService.hasDisagreement(1));
+		verify(tAgreementConsentMapper, times(1)).getAgreementConsentDtoList(eq(1), any(),
+				any(), any());
+		assertEquals(1, contractService.getCacheStats().getHitCount());
+
+		// 同意済みとなった後、再読込間隔の経過で反映
+		when(tAgreementConsentMapper.getAgreementConsentDtoList(eq(1), any(),
+				eq(Constants.CODE_VAL_CONTRACT_DISAGREE), eq(Constants.DB_FLG_FALSE)))
+				.thenReturn(List.of());
+		assertTrue(contractService.hasDisagreement(1));
+		setNow(NOW.plus(Duration.ofMinutes(5)));
+		assertFalse(contractService.hasDisagreement(1));
+		verify(tAgreementConsentMapper, times(2)).getAgreementConsentDtoList(eq(1), any(),
+				any(), any());
+
+		contractService.refreshDisagreement(1);
+		contractService.hasDisagreement(1);
+		verify(tAgreementConsentMapper, times(3)).getAgreementConsentDtoList(eq(1), any(),
+				any(), any());
+	}
+
+	/**
+	 * 同時参照<br>
+	 * ■試験観点：<br>
+	 * ・同一企業の読込中に参照した場合、再読込せずに読込結果を待つこと<br>
+	 * ・読込中も他の企業は待たずに判定できること<br>
+	 * ・読込に失敗した場合は例外となり、次の参照で再読込すること
+	 */
+	@Test
+	public void testConcurrentLoad() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(tAgreementConsentMapper.getAgreementConsentDtoList(eq(1), any(),
+				eq(Constants.CODE_VAL_CONTRACT_DISAGREE), eq(Constants.DB_FLG_FALSE)))
+				.thenAnswer(invocation -> {
+					loading.countDown();
+					assertTrue(release.await(10, TimeUnit.SECONDS));
+					return List.of(new AgreementConsentDto());
+				});
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Boolean> first = executor.submit(() -> contractService.hasDisagreement(1));
+			assertTrue(loading.await(10, TimeUnit.SECONDS));
+			Future<Boolean> second = executor.submit(() -> contractService.hasDisagreement(1));
+			assertFalse(contractService.hasDisagreement(2));
+			assertFalse(second.isDone());
+			release.countDown();
+			assertTrue(first.get(10, TimeUnit.SECONDS));
+			assertTrue(second.get(10, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+		verify(tAgreementConsentMapper, times(1)).getAgreementConsentDtoList(eq(1), any(),
+				any(), any());
+
+		when(tAgreementConsentMapper.getAgreementConsentDtoList(eq(3), any(),
+				eq(Constants.CODE_VAL_CONTRACT_DISAGREE), eq(Constants.DB_FLG_FALSE)))
+				.thenThrow(new IllegalStateException("connection refused"))
+				.thenReturn(List.of());
+		assertThrows(IllegalStateException.class, () -> contractService.hasDisagreement(3));
+		assertFalse(contractService.hasDisagreement(3));
+	}
+
+	private void setNow(Instant now) {
+		ReflectionTestUtils.setField(contractService, "clock",
+				Clock.fixed(now, ZoneId.systemDefault()));
+	}
+
+}
@@ -0,0 +1,74 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.mapper.MCourseMapper;
+import jp.co.sss.lms.util.Constants;
+
+/**
+ * コース情報サービスの試験
+ */
+public class CourseServiceTest {
+
+	private MCourseMapper mCourseMapper;
+	private LoginUserDto loginUserDto;
+	private CourseService courseService;
+
+	@BeforeEach
+	public void setup() {
+		mCourseMapper = mock(MCourseMapper.class);
+		when(mCourseMapper.getAccessibleCourseCount(anyInt(), any(), any(), anyShort()))
+				.thenReturn(0);
+		when(mCourseMapper.getAccessibleCourseCount(1, 10, null, Constants.DB_FLG_FALSE))
+				.thenReturn(1);
+		when(mCourseMapper.getAccessibleCourseCount(2, null, 5, Constants.DB_FLG_FALSE))
+				.thenReturn(1);
+		loginUserDto = new LoginUserDto();
+		loginUserDto.setLmsUserId(10);
+		loginUserDto.setCourseId(1);
+		courseService = new CourseService();
+		ReflectionTestUtils.setField(courseService, "mCourseMapper", mCourseMapper);
+		ReflectionTestUtils.setField(courseService, "loginUserDto", loginUserDto);
+	}
+
+	/**
+	 * 講師の参照可能なコース<br>
+	 * ■試験観点：<br>
+	 * ・未指定の場合はログインユーザーのコースとなること<br>
+	 * ・所属コースは参照でき、所属していないコースは参照できないこと
+	 */
+	@Test
+	public void testTeacher() {
+		loginUserDto.setRole(Constants.CODE_VAL_ROLL_TEACHER);
+		assertEquals(1, courseService.getAccessibleCourseId(null));
+		assertEquals(1, courseService.getAccessibleCourseId(1));
+		assertNull(courseService.getAccessibleCourseId(2));
+	}
+
+	/**
+	 * 企業担当者の参照可能なコース<br>
+	 * ■試験観点：<br>
+	 * ・自企業の受講生が所属するコースのみ参照できること<br>
+	 * ・企業IDがない場合はデータベースを参照せずに参照不可となること
+	 */
+	@Test
+	public void testCompany() {
+		loginUserDto.setRole(Constants.CODE_VAL_ROLL_COMPANY);
+		loginUserDto.setCompanyId(5);
+		assertEquals(2, courseService.getAccessibleCourseId(2));
+		assertNull(courseService.getAccessibleCourseId(1));
+
+		loginUserDto.setCompanyId(null);
+		assertNull(courseService.getAccessibleCourseId(2));
+		verify(mCourseMapper, never()).getAccessibleCourseCount(2, null, null,
+				Constants.DB_FLG_FALSE);
+	}
+
+}
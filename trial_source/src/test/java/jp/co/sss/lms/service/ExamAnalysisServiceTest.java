@@ -0,0 +1,141 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jp.co.sss.lms.dto.ExamQuestionAnalysisDto;
+import jp.co.sss.lms.dto.ExamReplyDto;
+import jp.co.sss.lms.mapper.TExamQuestionAnalysisMapper;
+import jp.co.sss.lms.mapper.TExamResultDetailMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.MessageUtil;
+
+/**
+ * 試験問題分析サービスの試験
+ */
+public class ExamAnalysisServiceTest {
+
+	private TExamResultDetailMapper tExamResultDetailMapper;
+	private TExamQuestionAnalysisMapper tExamQuestionAnalysisMapper;
+	private ExamAnalysisService examAnalysisService;
+
+	@BeforeEach
+	public void setup() {
+		tExamResultDetailMapper = mock(TExamResultDetailMapper.class);
+		tExamQuestionAnalysisMapper = mock(TExamQuestionAnalysisMapper.class);
+		examAnalysisService = new ExamAnalysisService();
+		ReflectionTestUtils.setField(examAnalysisService, "tExamResultDetailMapper",
+				tExamResultDetailMapper);
+		ReflectionTestUtils.setField(examAnalysisService, "tExamQuestionAnalysisMapper",
+				tExamQuestionAnalysisMapper);
+		ReflectionTestUtils.setField(examAnalysisService, "transactionTemplate",
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+		messageSource.setBasename("messages");
+		MessageUtil messageUtil = new MessageUtil();
+		ReflectionTestUtils.setField(messageUtil, "messageSource", messageSource);
+		ReflectionTestUtils.setField(examAnalysisService, "messageUtil", messageUtil);
+		examAnalysisService.init();
+	}
+
+	@AfterEach
+	public void teardown() {
+		examAnalysisService.destroy();
+	}
+
+	/**
+	 * 再分析の受付<br>
+	 * ■試験観点：<br>
+	 * ・再分析は呼出し元のスレッドを待たせず、非同期に実行されること<br>
+	 * ・同一試験の再分析中は受け付けないこと<br>
+	 * ・完了後は再度受け付けること
+	 */
+	@Test
+	public void testRequestAnalyze() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(tExamResultDetailMapper.findReplyCursorByExamId(1, Constants.DB_FLG_FALSE))
+				.thenAnswer(invocation -> {
+					started.countDown();
+					release.await(5, TimeUnit.SECONDS);
+					return createCursor();
+				});
+		CountDownLatch deleted = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			deleted.countDown();
+			return 0;
+		}).when(tExamQuestionAnalysisMapper).deleteByExamId(1);
+
+		assertTrue(examAnalysisService.requestAnalyze(1));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertTrue(examAnalysisService.isAnalyzing(1));
+		assertFalse(examAnalysisService.requestAnalyze(1));
+
+		release.countDown();
+		assertTrue(deleted.await(5, TimeUnit.SECONDS));
+		long deadline = System.currentTimeMillis() + 5000;
+		while (examAnalysisService.isAnalyzing(1) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertFalse(examAnalysisService.isAnalyzing(1));
+		verify(tExamQuestionAnalysisMapper, never()).bulkInsert(any());
+		assertTrue(examAnalysisService.requestAnalyze(1));
+	}
+
+	/**
+	 * 空のカーソルを作成
+	 */
+	@SuppressWarnings("unchecked")
+	private static Cursor<ExamReplyDto> createCursor() {
+		Cursor<ExamReplyDto> cursor = mock(Cursor.class);
+		when(cursor.iterator()).thenReturn(Collections.emptyIterator());
+		return cursor;
+	}
+
+	/**
+	 * 問題の評価<br>
+	 * ■試験観点：<br>
+	 * ・正答率・識別力・正答以外の選択件数から評価がメッセージで作成されること<br>
+	 * ・問題が無い場合は評価なしとなること
+	 */
+	@Test
+	public void testGetQuestionAnalysis() {
+		when(tExamQuestionAnalysisMapper.findQuestionAnalysis(1)).thenReturn(List.of(
+				createAnalysis(0.95, 0.1, 19, 1), createAnalysis(0.2, 0.4, 4, 9),
+				createAnalysis(0.6, 0.5, 12, 5)));
+
+		List<ExamQuestionAnalysisDto> dtoList = examAnalysisService.getQuestionAnalysis(1);
+
+		assertEquals("易しすぎる、識別力が低い", dtoList.get(0).getEvaluation());
+		assertEquals("難しすぎる、誤答に誘導されている", dtoList.get(1).getEvaluation());
+		assertNull(dtoList.get(2).getEvaluation());
+	}
+
+	private static ExamQuestionAnalysisDto createAnalysis(double correctRate,
+			double discrimination, int correctCount, int choice2Count) {
+		ExamQuestionAnalysisDto dto = new ExamQuestionAnalysisDto();
+		dto.setAnswerNum((short) 1);
+		dto.setCorrectRate(correctRate);
+		dto.setDiscrimination(discrimination);
+		dto.setCorrectCount(correctCount);
+		dto.setChoice1Count(correctCount);
+		dto.setChoice2Count(choice2Count);
+		return dto;
+	}
+
+}
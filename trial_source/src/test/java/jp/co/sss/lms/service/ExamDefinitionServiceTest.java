@@ -0,0 +1,156 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.co.sss.lms.dto.ExamQuestionDto;
+import jp.co.sss.lms.dto.QuestionDto;
+import jp.co.sss.lms.mapper.MExamMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.ExamDefinition;
+
+/**
+ * 試験定義サービスの試験
+ */
+public class ExamDefinitionServiceTest {
+
+	private static final Instant NOW = Instant.parse("2024-04-01T00:00:00Z");
+
+	private MExamMapper mExamMapper;
+	private ExamDefinitionService examDefinitionService;
+
+	@BeforeEach
+	public void setup() {
+		mExamMapper = mock(MExamMapper.class);
+		when(mExamMapper.getExamQuestion(1, Constants.DB_FLG_FALSE))
+				.thenAnswer(invocation -> createExamQuestionDto());
+		when(mExamMapper.getExamVersion(1, Constants.DB_FLG_FALSE)).thenReturn("v1");
+		examDefinitionService = new ExamDefinitionService();
+		ReflectionTestUtils.setField(examDefinitionService, "mExamMapper", mExamMapper);
+		ReflectionTestUtils.setField(examDefinitionService, "clock",
+				Clock.fixed(NOW, ZoneId.systemDefault()));
+		ReflectionTestUtils.setField(examDefinitionService, "checkMinute", 5L);
+		ReflectionTestUtils.setField(examDefinitionService, "prewarmMinute", 15L);
+	}
+
+	/**
+	 * 試験定義の取得<br>
+	 * ■試験観点：<br>
+	 * ・2回目以降はデータベースを参照しないこと<br>
+	 * ・画面用の問題DTOを変更しても保持している定義に影響しないこと<br>
+	 * ・正答・解説が画面用の問題DTOに含まれないこと
+	 */
+	@Test
+	public void testGet() {
+		ExamDefinition examDefinition = examDefinitionService.getExamDefinition(1);
+		assertEquals("Java基礎", examDefinition.getExamName());
+		assertEquals(2, examDefinition.getQuestionCount());
+		List<QuestionDto> questionDtoList = examDefinition.toQuestionDtoList();
+		assertEquals(List.of("A", "B", "C", "D"), questionDtoList.get(0).getAnswerList());
+		assertNull(questionDtoList.get(0).getAnswerNum());
+		assertNull(questionDtoList.get(0).getExplain());
+		questionDtoList.get(0).setQuestion("changed");
+		assertThrows(UnsupportedOperationException.class,
+				() -> questionDtoList.get(0).getAnswerList().set(0, "changed"));
+
+		assertSame(examDefinition, examDefinitionService.getExamDefinition(1));
+		assertEquals("問題1",
+				examDefinitionService.getExamDefinition(1).toQuestionDtoList().get(0)
+						.getQuestion());
+		verify(mExamMapper, times(1)).getExamQuestion(1, Constants.DB_FLG_FALSE);
+		verify(mExamMapper, times(1)).getExamVersion(1, Constants.DB_FLG_FALSE);
+		assertEquals(2, examDefinitionService.getCacheStats().getHitCount());
+		assertEquals(1, examDefinitionService.getCacheStats().getMissCount());
+	}
+
+	/**
+	 * バージョンの照会<br>
+	 * ■試験観点：<br>
+	 * ・照会間隔の経過後、バージョンが同じ場合は再読込しないこと<br>
+	 * ・バージョンが変わった場合は再読込すること<br>
+	 * ・試験が削除された場合は次回の照会以降nullとなること
+	 */
+	@Test
+	public void testVersion() {
+		ExamDefinition examDefinition = examDefinitionService.getExamDefinition(1);
+		setNow(NOW.plus(Duration.ofMinutes(5)));
+		assertSame(examDefinition, examDefinitionService.getExamDefinition(1));
+		verify(mExamMapper, times(2)).getExamVersion(1, Constants.DB_FLG_FALSE);
+		verify(mExamMapper, times(1)).getExamQuestion(1, Constants.DB_FLG_FALSE);
+
+		when(mExamMapper.getExamVersion(1, Constants.DB_FLG_FALSE)).thenReturn("v2");
+		setNow(NOW.plus(Duration.ofMinutes(10)));
+		ExamDefinition reloaded = examDefinitionService.getExamDefinition(1);
+		assertNotSame(examDefinition, reloaded);
+		assertEquals("v2", reloaded.getVersion());
+		verify(mExamMapper, times(2)).getExamQuestion(1, Constants.DB_FLG_FALSE);
+
+		// 削除（バージョン・試験が取得できない）
+		when(mExamMapper.getExamVersion(1, Constants.DB_FLG_FALSE)).thenReturn(null);
+		when(mExamMapper.getExamQuestion(1, Constants.DB_FLG_FALSE)).thenReturn(null);
+		setNow(NOW.plus(Duration.ofMinutes(15)));
+		assertNull(examDefinitionService.getExamDefinition(1));
+		assertNull(examDefinitionService.getExamDefinition(99));
+	}
+
+	/**
+	 * 事前読込・採点<br>
+	 * ■試験観点：<br>
+	 * ・公開日時が近い試験の定義が読み込まれ、受験時にデータベースを参照しないこと<br>
+	 * ・未回答・範囲外の回答は不正解として採点されること
+	 */
+	@Test
+	public void testPrewarmAndScore() {
+		when(mExamMapper.findExamIdByPublicDate(any(), any(), eq(Constants.DB_FLG_FALSE)))
+				.thenReturn(List.of(1));
+		examDefinitionService.prewarm();
+		verify(mExamMapper, times(1)).getExamQuestion(1, Constants.DB_FLG_FALSE);
+
+		ExamDefinition examDefinition = examDefinitionService.getExamDefinition(1);
+		verify(mExamMapper, times(1)).getExamQuestion(1, Constants.DB_FLG_FALSE);
+		assertEquals(2, examDefinition.score(new Short[] { 2, 3 }));
+		assertEquals(1, examDefinition.score(new Short[] { 2, null, 3 }));
+		assertEquals(0, examDefinition.score(new Short[] { 1 }));
+		assertEquals(0, examDefinition.score(null));
+	}
+
+	private void setNow(Instant now) {
+		ReflectionTestUtils.setField(examDefinitionService, "clock",
+				Clock.fixed(now, ZoneId.systemDefault()));
+	}
+
+	private ExamQuestionDto createExamQuestionDto() {
+		ExamQuestionDto examQuestionDto = new ExamQuestionDto();
+		examQuestionDto.setExamId(1);
+		examQuestionDto.setExamName("Java基礎");
+		examQuestionDto.setLimitTime(30);
+		List<QuestionDto> questionDtoList = new ArrayList<>();
+		for (int i = 1; i <= 2; i++) {
+			QuestionDto questionDto = new QuestionDto();
+			questionDto.setQuestionId(i);
+			questionDto.setQuestion("問題" + i);
+			questionDto.setChoice1("A");
+			questionDto.setChoice2("B");
+			questionDto.setChoice3("C");
+			questionDto.setChoice4("D");
+			questionDto.setAnswerNum((short) (i + 1));
+			questionDto.setExplain("解説" + i);
+			questionDtoList.add(questionDto);
+		}
+		examQuestionDto.setQuestionDtoList(questionDtoList);
+		return examQuestionDto;
+	}
+
+}
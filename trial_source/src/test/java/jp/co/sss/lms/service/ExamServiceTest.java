@@ -0,0 +1,157 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.co.sss.lms.dto.ExamQuestionDto;
+import jp.co.sss.lms.dto.ExamResultDetailDto;
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.dto.QuestionDto;
+import jp.co.sss.lms.entity.TExamResult;
+import jp.co.sss.lms.entity.TExamResultDetail;
+import jp.co.sss.lms.form.ExamQuestionForm;
+import jp.co.sss.lms.mapper.TExamResultDetailMapper;
+import jp.co.sss.lms.mapper.TExamResultMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.ExamDefinition;
+import jp.co.sss.lms.util.ExamStatistics;
+
+/**
+ * 試験情報サービスの試験
+ */
+public class ExamServiceTest {
+
+	private TExamResultMapper tExamResultMapper;
+	private TExamResultDetailMapper tExamResultDetailMapper;
+	private ExamStatisticsService examStatisticsService;
+	private ExamService examService;
+
+	@BeforeEach
+	public void setup() {
+		tExamResultMapper = mock(TExamResultMapper.class);
+		tExamResultDetailMapper = mock(TExamResultDetailMapper.class);
+		ExamDefinitionService examDefinitionService = mock(ExamDefinitionService.class);
+		when(examDefinitionService.getExamDefinition(1))
+				.thenReturn(ExamDefinition.of(createExamQuestionDto(), "v1"));
+		examStatisticsService = mock(ExamStatisticsService.class);
+		when(examStatisticsService.getExamStatistics(anyInt())).thenReturn(ExamStatistics.EMPTY);
+		LoginUserDto loginUserDto = new LoginUserDto();
+		loginUserDto.setLmsUserId(10);
+		loginUserDto.setAccountId(1);
+		loginUserDto.setUserName("受講生");
+
+		examService = new ExamService();
+		ReflectionTestUtils.setField(examService, "tExamResultMapper", tExamResultMapper);
+		ReflectionTestUtils.setField(examService, "tExamResultDetailMapper",
+				tExamResultDetailMapper);
+		ReflectionTestUtils.setField(examService, "examDefinitionService",
+				examDefinitionService);
+		ReflectionTestUtils.setField(examService, "examStatisticsService",
+				examStatisticsService);
+		ReflectionTestUtils.setField(examService, "loginUserDto", loginUserDto);
+	}
+
+	/**
+	 * 試験結果登録<br>
+	 * ■試験観点：<br>
+	 * ・試験結果は1回、試験結果詳細は全問分を1回で登録すること<br>
+	 * ・採点対象フラグは登録結果の値を使用し、採点対象の場合のみ試験統計に加算すること<br>
+	 * ・結果画面の表示内容が登録後の再取得なしで作成されること
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testInsert() {
+		TExamResult inserted = new TExamResult();
+		inserted.setExamResultId(100);
+		inserted.setMarkFlg(Constants.DB_FLG_TRUE);
+		when(tExamResultMapper.insertWithMarkFlg(any())).thenReturn(inserted);
+
+		ExamQuestionForm examQuestionForm = new ExamQuestionForm();
+		examQuestionForm.setExamId(1);
+		examQuestionForm.setExamSectionId(5);
+		examQuestionForm.setTime(120);
+		examQuestionForm.setAnswer(new Short[] { 2, null, 1 });
+		ExamResultDetailDto examResultDetailDto = examService.insert(examQuestionForm);
+
+		ArgumentCaptor<TExamResult> resultCaptor = ArgumentCaptor.forClass(TExamResult.class);
+		verify(tExamResultMapper, times(1)).insertWithMarkFlg(resultCaptor.capture());
+		assertEquals((short) 1, resultCaptor.getValue().getScore());
+		assertEquals(Constants.DB_FLG_TRUE, resultCaptor.getValue().getMarkFlg());
+		verify(examStatisticsService, times(1)).add(5, (short) 1);
+		ArgumentCaptor<List<TExamResultDetail>> detailCaptor = ArgumentCaptor
+				.forClass(List.class);
+		verify(tExamResultDetailMapper, times(1)).bulkInsert(detailCaptor.capture());
+		List<TExamResultDetail> detailList = detailCaptor.getValue();
+		assertEquals(4, detailList.size());
+		assertEquals(100, detailList.get(0).getExamResultId());
+		assertEquals((short) 2, detailList.get(0).getReply());
+		assertNull(detailList.get(1).getReply());
+		assertEquals((short) 0, detailList.get(3).getReply());
+		verify(tExamResultMapper, never()).getExamResultDetail(any(), any());
+
+		assertEquals(100, examResultDetailDto.getExamResultId());
+		assertEquals("Java基礎", examResultDetailDto.getExamName());
+		assertEquals(25.0, examResultDetailDto.getPoint());
+		QuestionDto questionDto = examResultDetailDto.getQuestionDtoList().get(0);
+		assertEquals((short) 2, questionDto.getReply());
+		assertEquals((short) 2, questionDto.getAnswerNum());
+		assertEquals("解説1", questionDto.getExplain());
+		assertEquals(List.of("A", "B", "C", "D"), questionDto.getAnswerList());
+
+		// 再受験（採点対象外）の場合は試験統計に加算しない
+		inserted.setMarkFlg(Constants.DB_FLG_FALSE);
+		examService.insert(examQuestionForm);
+		verify(examStatisticsService, times(1)).add(anyInt(), anyShort());
+	}
+
+	/**
+	 * 存在しない・削除された試験<br>
+	 * ■試験観点：<br>
+	 * ・試験問題画面フォームが設定されず、falseとなること<br>
+	 * ・試験結果を登録せず、nullとなること
+	 */
+	@Test
+	public void testUnknownExam() {
+		ExamQuestionForm examQuestionForm = new ExamQuestionForm();
+		examQuestionForm.setExamId(99);
+		examQuestionForm.setExamSectionId(5);
+		examQuestionForm.setAnswer(new Short[] { 1 });
+		assertFalse(examService.setExamQuestionForm(examQuestionForm));
+		assertNull(examQuestionForm.getQuestionDtoList());
+		assertNull(examService.insert(examQuestionForm));
+		verify(tExamResultMapper, never()).insertWithMarkFlg(any());
+		verify(tExamResultDetailMapper, never()).bulkInsert(any());
+	}
+
+	private ExamQuestionDto createExamQuestionDto() {
+		ExamQuestionDto examQuestionDto = new ExamQuestionDto();
+		examQuestionDto.setExamId(1);
+		examQuestionDto.setExamName("Java基礎");
+		examQuestionDto.setLimitTime(30);
+		List<QuestionDto> questionDtoList = new ArrayList<>();
+		for (int i = 1; i <= 4; i++) {
+			QuestionDto questionDto = new QuestionDto();
+			questionDto.setQuestionId(i);
+			questionDto.setQuestion("問題" + i);
+			questionDto.setChoice1("A");
+			questionDto.setChoice2("B");
+			questionDto.setChoice3("C");
+			questionDto.setChoice4("D");
+			questionDto.setAnswerNum((short) (i + 1));
+			questionDto.setExplain("解説" + i);
+			questionDtoList.add(questionDto);
+		}
+		examQuestionDto.setQuestionDtoList(questionDtoList);
+		return examQuestionDto;
+	}
+
+}
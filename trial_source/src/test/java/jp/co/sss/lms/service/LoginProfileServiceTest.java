@@ -0,0 +1,171 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.co.sss.lms.entity.LoginUser;
+import jp.co.sss.lms.entity.MUser;
+import jp.co.sss.lms.event.LoginUserChangedEvent;
+import jp.co.sss.lms.form.MailAddressForm;
+import jp.co.sss.lms.mapper.LoginMapper;
+import jp.co.sss.lms.mapper.MUserMapper;
+import jp.co.sss.lms.mapper.TTemporaryPassStorageMapper;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.DateUtil;
+import jp.co.sss.lms.util.MessageUtil;
+import jp.co.sss.lms.util.PasswordUtil;
+
+/**
+ * ログイン詳細サービスの試験
+ */
+public class LoginProfileServiceTest {
+
+	private static final Instant NOW = Instant.parse("2024-04-01T00:00:00Z");
+
+	private LoginMapper loginMapper;
+	private LoginProfileService loginProfileService;
+
+	@BeforeEach
+	public void setup() {
+		loginMapper = mock(LoginMapper.class);
+		for (int i = 1; i <= 3; i++) {
+			LoginUser loginUser = new LoginUser();
+			loginUser.setUserId(i);
+			loginUser.setLmsUserId(100 + i);
+			loginUser.setUserName("user" + i);
+			when(loginMapper.getLoginDetailByUserId(i, Constants.DB_FLG_FALSE))
+					.thenReturn(loginUser);
+			when(loginMapper.getLoginDetailByLmsUserId(100 + i, Constants.DB_FLG_FALSE))
+					.thenReturn(loginUser);
+		}
+		loginProfileService = create(Clock.fixed(NOW, ZoneId.systemDefault()));
+	}
+
+	/**
+	 * ユーザーID・LMSユーザーIDでの取得<br>
+	 * ■試験観点：<br>
+	 * ・2回目以降はどちらのIDで取得してもデータベースを参照しないこと<br>
+	 * ・呼び出し元で変更しても保持している値に影響しないこと
+	 */
+	@Test
+	public void testGet() {
+		LoginUser loginUser = loginProfileService.getByUserId(1);
+		assertEquals("user1", loginUser.getUserName());
+		loginUser.setUserName("changed");
+		assertEquals("user1", loginProfileService.getByUserId(1).getUserName());
+		assertEquals("user1", loginProfileService.getByLmsUserId(101).getUserName());
+		verify(loginMapper, times(1)).getLoginDetailByUserId(1, Constants.DB_FLG_FALSE);
+		verify(loginMapper, never()).getLoginDetailByLmsUserId(101, Constants.DB_FLG_FALSE);
+		assertEquals(2, loginProfileService.getCacheStats().getHitCount());
+		assertEquals(1, loginProfileService.getCacheStats().getMissCount());
+		assertNull(loginProfileService.getByUserId(99));
+	}
+
+	/**
+	 * ログイン情報の変更<br>
+	 * ■試験観点：<br>
+	 * ・変更イベントで該当ユーザーのみ破棄されること
+	 */
+	@Test
+	public void testEvict() {
+		loginProfileService.getByUserId(1);
+		loginProfileService.getByUserId(2);
+		loginProfileService.onLoginUserChanged(new LoginUserChangedEvent(1));
+		loginProfileService.getByUserId(1);
+		loginProfileService.getByUserId(2);
+		verify(loginMapper, times(2)).getLoginDetailByUserId(1, Constants.DB_FLG_FALSE);
+		verify(loginMapper, times(1)).getLoginDetailByUserId(2, Constants.DB_FLG_FALSE);
+	}
+
+	/**
+	 * 件数上限・有効期間<br>
+	 * ■試験観点：<br>
+	 * ・上限を超えた場合、最も長く参照されていないユーザーが破棄されること<br>
+	 * ・有効期間を過ぎた場合は再取得されること
+	 */
+	@Test
+	public void testLimit() {
+		loginProfileService.getByUserId(1);
+		loginProfileService.getByUserId(2);
+		loginProfileService.getByUserId(1);
+		loginProfileService.getByUserId(3);
+		loginProfileService.getByUserId(1);
+		loginProfileService.getByUserId(2);
+		verify(loginMapper, times(1)).getLoginDetailByUserId(1, Constants.DB_FLG_FALSE);
+		verify(loginMapper, times(2)).getLoginDetailByUserId(2, Constants.DB_FLG_FALSE);
+
+		// 有効期間（10分）経過
+		ReflectionTestUtils.setField(loginProfileService, "clock",
+				Clock.fixed(NOW.plus(Duration.ofMinutes(10)), ZoneId.systemDefault()));
+		loginProfileService.getByUserId(1);
+		verify(loginMapper, times(2)).getLoginDetailByUserId(1, Constants.DB_FLG_FALSE);
+	}
+
+	/**
+	 * パスワード再設定後のログイン<br>
+	 * ■試験観点：<br>
+	 * ・再設定の受付で保持しているログイン詳細が破棄されること<br>
+	 * ・再設定後のログインでは最終パスワード変更日が未設定（パスワード変更対象）となること
+	 */
+	@Test
+	public void testResetPassword() {
+		LoginUser before = new LoginUser();
+		before.setUserId(1);
+		before.setLmsUserId(101);
+		before.setPasswordChangeDate(new Date());
+		LoginUser after = new LoginUser();
+		after.setUserId(1);
+		after.setLmsUserId(101);
+		when(loginMapper.getLoginDetailByUserId(1, Constants.DB_FLG_FALSE)).thenReturn(before,
+				after);
+		assertNotNull(loginProfileService.getByUserId(1).getPasswordChangeDate());
+
+		MUser mUser = new MUser();
+		mUser.setUserId(1);
+		MUserMapper mUserMapper = mock(MUserMapper.class);
+		when(mUserMapper.findByMailAddress("user1@example.com", Constants.DB_FLG_FALSE))
+				.thenReturn(mUser);
+		MessageUtil messageUtil = mock(MessageUtil.class);
+		when(messageUtil.getMessage("setting.timelimit.hour")).thenReturn("24");
+		PasswordUtil passwordUtil = mock(PasswordUtil.class);
+		when(passwordUtil.generatePassword()).thenReturn("key");
+		ApplicationEventPublisher eventPublisher = event -> loginProfileService
+				.onLoginUserChanged((LoginUserChangedEvent) event);
+		PasswordService passwordService = new PasswordService();
+		ReflectionTestUtils.setField(passwordService, "mUserMapper", mUserMapper);
+		ReflectionTestUtils.setField(passwordService, "messageUtil", messageUtil);
+		ReflectionTestUtils.setField(passwordService, "dateUtil", new DateUtil());
+		ReflectionTestUtils.setField(passwordService, "passwordUtil", passwordUtil);
+		ReflectionTestUtils.setField(passwordService, "tTemporaryPassStorageMapper",
+				mock(TTemporaryPassStorageMapper.class));
+		ReflectionTestUtils.setField(passwordService, "eventPublisher", eventPublisher);
+		MailAddressForm mailAddressForm = new MailAddressForm();
+		mailAddressForm.setMailAddress("user1@example.com");
+		passwordService.registTemporaryPassStorage(mailAddressForm);
+
+		verify(mUserMapper).updatePasswordChangeDate(mUser);
+		assertNull(loginProfileService.getByUserId(1).getPasswordChangeDate());
+		verify(loginMapper, times(2)).getLoginDetailByUserId(1, Constants.DB_FLG_FALSE);
+	}
+
+	private LoginProfileService create(Clock clock) {
+		LoginProfileService service = new LoginProfileService();
+		ReflectionTestUtils.setField(service, "loginMapper", loginMapper);
+		ReflectionTestUtils.setField(service, "clock", clock);
+		ReflectionTestUtils.setField(service, "maxSize", 2);
+		ReflectionTestUtils.setField(service, "expireMinute", 10L);
+		return service;
+	}
+
+}
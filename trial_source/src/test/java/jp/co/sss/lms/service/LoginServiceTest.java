@@ -21,12 +21,12 @@ import org.springframework.test.util.ReflectionTestUtils;
 import jakarta.servlet.http.HttpSession;
 import jp.co.sss.lms.dto.LoginUserDto;
 import jp.co.sss.lms.entity.LoginUser;
-import jp.co.sss.lms.mapper.LoginMapper;
+import jp.co.sss.lms.entity.MUser;
+import jp.co.sss.lms.exception.PasswordHashBusyException;
 import jp.co.sss.lms.mapper.MUserMapper;
 import jp.co.sss.lms.util.Constants;
 import jp.co.sss.lms.util.DateUtil;
 import jp.co.sss.lms.util.MessageUtil;
-import jp.co.sss.lms.util.PasswordUtil;
 
 /**
  * JUnitによる機能試験(ホワイトボックステスト)_テストコードサンプル<br>
@@ -49,9 +49,11 @@ public class LoginServiceTest {
 	@Mock
 	private MUserMapper mUserMapper;
 	@Mock
-	private PasswordUtil passwordUtil;
+	private PasswordHashService passwordHashService;
 	@Mock
-	private LoginMapper loginMapper;
+	private LoginThrottleService loginThrottleService;
+	@Mock
+	private LoginProfileService loginProfileService;
 	
 	@InjectMocks
 	private LoginService loginService;
@@ -110,10 +112,14 @@ public class LoginServiceTest {
 		loginUser.setHiddenFlg(Constants.DB_HIDDEN_FLG_FALSE);
 		
 		// モック対象メソッドの返却値を設定
-		when(passwordUtil.getSaltedAndStrechedPassword
-				(password, loginId)).thenReturn("aaa"); //　パスワードソルト処理のモック
-		when(loginMapper.getLoginDetailByLoginIdAndPassword
-				(loginId, "aaa", Constants.DB_FLG_FALSE)).thenReturn(loginUser); // ログインユーザー取得処理のモック
+		MUser mUser = new MUser();
+		mUser.setUserId(1);
+		mUser.setPassword("aaa");
+		when(mUserMapper.findByLoginId
+				(loginId, Constants.DB_FLG_FALSE)).thenReturn(mUser); // 登録パスワード取得処理のモック
+		when(passwordHashService.matches
+				(password, loginId, "aaa")).thenReturn(true); //　パスワード照合処理のモック
+		when(loginProfileService.getByUserId(1)).thenReturn(loginUser); // ログインユーザー取得処理のモック
 		
 		// 期待値の設定
 		String expected_message = "";
@@ -173,10 +179,14 @@ public class LoginServiceTest {
 		loginUser.setHiddenFlg(Constants.DB_HIDDEN_FLG_FALSE);
 		
 		// モック対象メソッドの返却値を設定
-		when(passwordUtil.getSaltedAndStrechedPassword
-				(password, loginId)).thenReturn("aaa"); //　パスワードソルト処理のモック
-		when(loginMapper.getLoginDetailByLoginIdAndPassword
-				(loginId, "aaa", Constants.DB_FLG_FALSE)).thenReturn(loginUser); // ログインユーザー取得処理のモック
+		MUser mUser = new MUser();
+		mUser.setUserId(1);
+		mUser.setPassword("aaa");
+		when(mUserMapper.findByLoginId
+				(loginId, Constants.DB_FLG_FALSE)).thenReturn(mUser); // 登録パスワード取得処理のモック
+		when(passwordHashService.matches
+				(password, loginId, "aaa")).thenReturn(true); //　パスワード照合処理のモック
+		when(loginProfileService.getByUserId(1)).thenReturn(loginUser); // ログインユーザー取得処理のモック
 		
 		// 期待値の設定
 		String expected_message = "";
@@ -337,10 +347,14 @@ public class LoginServiceTest {
 		loginUser.setHiddenFlg(Constants.DB_HIDDEN_FLG_FALSE);
 		
 		// モック対象メソッドの返却値を設定
-		when(passwordUtil.getSaltedAndStrechedPassword
-				(password, loginId)).thenReturn("aaa"); //　パスワードソルト処理のモック
-		when(loginMapper.getLoginDetailByLoginIdAndPassword
-				(loginId, "aaa", Constants.DB_FLG_FALSE)).thenReturn(loginUser); // ログインユーザー取得処理のモック
+		MUser mUser = new MUser();
+		mUser.setUserId(1);
+		mUser.setPassword("aaa");
+		when(mUserMapper.findByLoginId
+				(loginId, Constants.DB_FLG_FALSE)).thenReturn(mUser); // 登録パスワード取得処理のモック
+		when(passwordHashService.matches
+				(password, loginId, "aaa")).thenReturn(true); //　パスワード照合処理のモック
+		when(loginProfileService.getByUserId(1)).thenReturn(loginUser); // ログインユーザー取得処理のモック
 		
 		// Dtoを試験対象クラスのフィールドに設定する
 		loginUserDto.setPasswordNgCount(1);
@@ -384,10 +398,14 @@ public class LoginServiceTest {
 		loginUser.setHiddenFlg(Constants.DB_HIDDEN_FLG_TRUE);
 		
 		// モック対象メソッドの返却値を設定
-		when(passwordUtil.getSaltedAndStrechedPassword
-				(password, loginId)).thenReturn("aaa"); //　パスワードソルト処理のモック
-		when(loginMapper.getLoginDetailByLoginIdAndPassword
-				(loginId, "aaa", Constants.DB_FLG_FALSE)).thenReturn(loginUser); // ログインユーザー取得処理のモック
+		MUser mUser = new MUser();
+		mUser.setUserId(1);
+		mUser.setPassword("aaa");
+		when(mUserMapper.findByLoginId
+				(loginId, Constants.DB_FLG_FALSE)).thenReturn(mUser); // 登録パスワード取得処理のモック
+		when(passwordHashService.matches
+				(password, loginId, "aaa")).thenReturn(true); //　パスワード照合処理のモック
+		when(loginProfileService.getByUserId(1)).thenReturn(loginUser); // ログインユーザー取得処理のモック
 		
 		
 		// Dtoを試験対象クラスのフィールドに設定する
@@ -430,8 +448,7 @@ public class LoginServiceTest {
 		loginUser.setUserId(userId);
 		
 		// モック対象メソッドの返却値を設定
-		when(loginMapper.getLoginDetailByUserId
-				(userId, Constants.DB_FLG_FALSE)).thenReturn(loginUser); // ログインユーザー取得処理のモック
+		when(loginProfileService.getByUserId(userId)).thenReturn(loginUser); // ログインユーザー取得処理のモック
 		
 		// Dtoを試験対象クラスのフィールドに設定する
 		ReflectionTestUtils.setField(loginService, "loginUserDto", loginUserDto);
@@ -471,6 +488,171 @@ public class LoginServiceTest {
 		assertEquals(expected, actual);
 	}
 
+    /**
+	 * Case.1_10 ログインサービス試験　ログイン処理_未登録のログインID<br>
+	 * <br>
+	 * ■対象メソッド：getLoginInfo()<br>
+	 * ■試験パラメータ：<br>
+	 * ・ログインID：未登録<br>
+	 *　・パスワード：任意<br>
+	 * ■試験観点：<br>
+	 * 　・登録済みユーザーと同様にパスワードの照合（ダミーのハッシュとの照合）を行うこと<br>
+	 * 　・メッセージ出力：ログインIDまたはパスワードの誤りであること<br>
+	 * 
+	 * */
+	@Test
+	public void testCase1_10(){
+		
+		// 期待値の設定
+		String expected = messageUtil.getMessage(Constants.VALID_KEY_LOGIN);
+		
+		// メソッド実行に必要な引数のパラメータ設定
+		String loginId = "unknown";
+		String password = "password";
+		
+		// モック対象メソッドの返却値を設定
+		when(mUserMapper.findByLoginId
+				(loginId, Constants.DB_FLG_FALSE)).thenReturn(null); // 登録パスワード取得処理のモック
+		
+		// Dtoを試験対象クラスのフィールドに設定する
+		loginUserDto.setPasswordNgCount(0);
+		loginUserDto.setPasswordNgDate(null);
+		ReflectionTestUtils.setField(loginService, "loginUserDto", loginUserDto); 
+		
+		// 試験実行
+		String actual = loginService.getLoginInfo(loginId, password);
+		
+		// 検証処理
+		assertEquals(expected, actual);
+		verify(passwordHashService).matchesUnknownUser(password, loginId);
+		verify(loginProfileService, never()).getByUserId(any());
+	}
+
+    /**
+	 * Case.1_11 ログインサービス試験　ログイン処理_試行回数の制限<br>
+	 * <br>
+	 * ■対象メソッド：getLoginInfo()<br>
+	 * ■試験パラメータ：<br>
+	 * ・ログインID：試行回数の上限に達している<br>
+	 *　・パスワード：任意<br>
+	 * ■試験観点：<br>
+	 * 　・メッセージ出力：アカウントロックであること<br>
+	 * 　・ユーザーの取得・パスワードの照合（ハッシュ化）を行わないこと<br>
+	 * 
+	 * */
+	@Test
+	public void testCase1_11(){
+		
+		// 期待値の設定
+		String expected = messageUtil.getMessage(Constants.VALID_KEY_LOGIN_LOCK);
+		
+		// メソッド実行に必要な引数のパラメータ設定
+		String loginId = "throttled";
+		String password = "password";
+		
+		// モック対象メソッドの返却値を設定
+		when(loginThrottleService.isThrottled(loginId)).thenReturn(true); // 試行回数の制限のモック
+		
+		// Dtoを試験対象クラスのフィールドに設定する
+		loginUserDto.setPasswordNgCount(0);
+		loginUserDto.setPasswordNgDate(null);
+		ReflectionTestUtils.setField(loginService, "loginUserDto", loginUserDto); 
+		
+		// 試験実行
+		String actual = loginService.getLoginInfo(loginId, password);
+		
+		// 検証処理
+		assertEquals(expected, actual);
+		verifyNoInteractions(mUserMapper, passwordHashService, loginProfileService);
+	}
+
+    /**
+	 * Case.1_12 ログインサービス試験　ログイン処理_アカウントロック中<br>
+	 * <br>
+	 * ■対象メソッド：getLoginInfo()<br>
+	 * ■試験パラメータ：<br>
+	 * ・ログインID：任意<br>
+	 *　・パスワード：任意<br>
+	 *  ・ロック日時：現在時刻-30秒<br>
+	 * ■試験観点：<br>
+	 * 　・メッセージ出力：アカウントロックであること<br>
+	 * 　・ユーザーの取得・パスワードの照合（ハッシュ化）を行わないこと<br>
+	 * 
+	 * */
+	@Test
+	public void testCase1_12(){
+		
+		// 期待値の設定
+		String expected = messageUtil.getMessage(Constants.VALID_KEY_LOGIN_LOCK);
+		
+		// メソッド実行に必要な引数のパラメータ設定
+		String loginId = "loginId";
+		String password = "password";
+		
+		// checkLockTime()がfalseとなるパラメータ設定
+		Calendar calendar = Calendar.getInstance();
+		calendar.add(Calendar.SECOND, -30);
+		String ngDate = dateUtil.dateToString(dateUtil.calenderToTimestamp(calendar));
+		
+		// Dtoを試験対象クラスのフィールドに設定する
+		loginUserDto.setPasswordNgDate(ngDate);
+		ReflectionTestUtils.setField(loginService, "loginUserDto", loginUserDto); 
+		
+		// 試験実行
+		String actual = loginService.getLoginInfo(loginId, password);
+		
+		// 検証処理
+		assertEquals(expected, actual);
+		verifyNoInteractions(mUserMapper, passwordHashService, loginProfileService);
+	}
+
+    /**
+	 * Case.1_13 ログインサービス試験　ログイン処理_照合の混雑<br>
+	 * <br>
+	 * ■対象メソッド：getLoginInfo()<br>
+	 * ■試験パラメータ：<br>
+	 * ・ログインID：任意<br>
+	 *　・パスワード：任意<br>
+	 *　・(モック)パスワード照合：待ち行列の上限により拒否<br>
+	 * ■試験観点：<br>
+	 * 　・メッセージ出力：「ただいまログインが混み合っています。しばらくたってから再度お試しください。」であること<br>
+	 * 　・ログイン失敗として数えないこと<br>
+	 * 
+	 * */
+	@Test
+	public void testCase1_13(){
+		
+		// 期待値の設定
+		String expected = messageUtil.getMessage(Constants.VALID_KEY_LOGIN_BUSY);
+		
+		// メソッド実行に必要な引数のパラメータ設定
+		String loginId = "loginId";
+		String password = "password";
+		
+		// モック対象メソッドの返却値を設定
+		MUser mUser = new MUser();
+		mUser.setUserId(1);
+		mUser.setPassword("aaa");
+		when(mUserMapper.findByLoginId
+				(loginId, Constants.DB_FLG_FALSE)).thenReturn(mUser); // 登録パスワード取得処理のモック
+		when(passwordHashService.matches(password, loginId, "aaa"))
+				.thenThrow(new PasswordHashBusyException(null)); //　パスワード照合処理のモック
+		
+		// Dtoを試験対象クラスのフィールドに設定する
+		loginUserDto.setPasswordNgCount(0);
+		loginUserDto.setPasswordNgDate(null);
+		ReflectionTestUtils.setField(loginService, "loginUserDto", loginUserDto); 
+		
+		// 試験実行
+		String actual = loginService.getLoginInfo(loginId, password);
+		
+		// 検証処理
+		assertEquals(expected, actual);
+		assertEquals(0, loginUserDto.getPasswordNgCount());
+		verify(loginThrottleService, never()).recordFailure(any());
+		verify(loginProfileService, never()).getByUserId(any());
+	}
+
     /**
 	 * Case.xx ログインサービス試験　アカウントNG回数チェック(リフレクションを用いたサンプル)<br>
 	 * <br>
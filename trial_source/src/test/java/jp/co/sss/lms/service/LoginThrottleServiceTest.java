@@ -0,0 +1,258 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jp.co.sss.lms.mapper.TLoginFailureMapper;
+import jp.co.sss.lms.util.ClientAddressUtil;
+
+/**
+ * ログイン試行回数制限サービスの試験
+ */
+public class LoginThrottleServiceTest {
+
+	private TestClock clock;
+	private MockHttpServletRequest request;
+	private LoginThrottleService loginThrottleService;
+
+	@BeforeEach
+	public void setup() {
+		clock = new TestClock(Instant.parse("2024-04-01T00:00:00Z"));
+		request = new MockHttpServletRequest();
+		request.setRemoteAddr("192.0.2.1");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		loginThrottleService = createLoginThrottleService(null);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	/**
+	 * ログインIDの失敗回数<br>
+	 * ■試験観点：<br>
+	 * ・上限回数の失敗で拒否され、他のログインIDは拒否されないこと<br>
+	 * ・最初の失敗から期間を過ぎると、期間内の失敗回数で判定されること<br>
+	 * ・ログイン成功で失敗回数がリセットされること
+	 */
+	@Test
+	public void testLoginId() {
+		loginThrottleService.recordFailure("student01");
+		clock.plusSeconds(30);
+		loginThrottleService.recordFailure("student01");
+		assertFalse(loginThrottleService.isThrottled("student01"));
+		loginThrottleService.recordFailure("student01");
+		assertTrue(loginThrottleService.isThrottled("student01"));
+		assertFalse(loginThrottleService.isThrottled("student02"));
+		assertEquals(1, loginThrottleService.getLoginIdRejectedCount());
+
+		// 最初の失敗から1分経過
+		clock.plusSeconds(31);
+		assertFalse(loginThrottleService.isThrottled("student01"));
+		loginThrottleService.recordFailure("student01");
+		assertTrue(loginThrottleService.isThrottled("student01"));
+
+		loginThrottleService.recordSuccess("student01");
+		assertFalse(loginThrottleService.isThrottled("student01"));
+	}
+
+	/**
+	 * IPアドレスの失敗回数<br>
+	 * ■試験観点：<br>
+	 * ・同一IPアドレスから異なるログインIDで上限回数失敗した場合、拒否されること<br>
+	 * ・他のIPアドレスからは拒否されないこと
+	 */
+	@Test
+	public void testAddress() {
+		for (int i = 0; i < 5; i++) {
+			loginThrottleService.recordFailure("student0" + i);
+		}
+		assertTrue(loginThrottleService.isThrottled("student09"));
+		assertEquals(1, loginThrottleService.getAddressRejectedCount());
+		request.setRemoteAddr("192.0.2.2");
+		assertFalse(loginThrottleService.isThrottled("student09"));
+	}
+
+	/**
+	 * プロキシ経由の接続元IPアドレス<br>
+	 * ■試験観点：<br>
+	 * ・信頼するプロキシからのリクエストはX-Forwarded-Forの接続元で数えること<br>
+	 * ・信頼しない接続元が付けたX-Forwarded-Forは無視すること
+	 */
+	@Test
+	public void testForwardedAddress() {
+		request.setRemoteAddr("10.0.0.1");
+		request.addHeader(ClientAddressUtil.HEADER_FORWARDED_FOR, "198.51.100.9, 192.0.2.5, 10.0.0.2");
+		for (int i = 0; i < 5; i++) {
+			loginThrottleService.recordFailure("student0" + i);
+		}
+		assertTrue(loginThrottleService.isThrottled("student09"));
+
+		// 同じプロキシ経由の別の接続元
+		request = new MockHttpServletRequest();
+		request.setRemoteAddr("10.0.0.1");
+		request.addHeader(ClientAddressUtil.HEADER_FORWARDED_FOR, "192.0.2.6");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		assertFalse(loginThrottleService.isThrottled("student09"));
+
+		// 信頼しない接続元がX-Forwarded-Forを偽装
+		request = new MockHttpServletRequest();
+		request.setRemoteAddr("192.0.2.5");
+		request.addHeader(ClientAddressUtil.HEADER_FORWARDED_FOR, "192.0.2.6");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		assertTrue(loginThrottleService.isThrottled("student09"));
+	}
+
+	/**
+	 * 期限切れの失敗履歴の削除<br>
+	 * ■試験観点：<br>
+	 * ・失敗回数を数える期間内は、失敗の度に削除しないこと<br>
+	 * ・期間を過ぎた後の失敗で削除すること
+	 */
+	@Test
+	public void testSweep() {
+		TLoginFailureMapper tLoginFailureMapper = mock(TLoginFailureMapper.class);
+		ReflectionTestUtils.setField(loginThrottleService, "tLoginFailureMapper", tLoginFailureMapper);
+		ReflectionTestUtils.setField(loginThrottleService, "shared", true);
+
+		// 初回の失敗で削除し、期間内の以降の失敗では削除しない
+		for (int i = 0; i < 100; i++) {
+			loginThrottleService.recordFailure("student" + i);
+		}
+		verify(tLoginFailureMapper, times(1)).deleteExpired(any());
+
+		clock.plusSeconds(61);
+		loginThrottleService.recordFailure("student00");
+		loginThrottleService.recordFailure("student01");
+		verify(tLoginFailureMapper, times(2)).deleteExpired(any());
+	}
+
+	/**
+	 * 複数サーバーでの失敗回数の共有<br>
+	 * ■試験観点：<br>
+	 * ・他のサーバーで記録した失敗回数で拒否されること<br>
+	 * ・他のサーバーでのログイン成功によるリセットが即時に反映されること
+	 */
+	@Test
+	public void testShared() {
+		TLoginFailureMapper tLoginFailureMapper = new TestLoginFailureMapper();
+		LoginThrottleService server1 = createLoginThrottleService(tLoginFailureMapper);
+		LoginThrottleService server2 = createLoginThrottleService(tLoginFailureMapper);
+
+		for (int i = 0; i < 3; i++) {
+			server1.recordFailure("student01");
+		}
+		assertTrue(server1.isThrottled("student01"));
+		assertTrue(server2.isThrottled("student01"));
+
+		server2.recordSuccess("student01");
+		assertFalse(server1.isThrottled("student01"));
+		assertFalse(server2.isThrottled("student01"));
+	}
+
+	/**
+	 * ログイン試行回数制限サービスを作成
+	 *
+	 * @param tLoginFailureMapper 失敗履歴を共有する場合のマッパー（共有しない場合はnull）
+	 */
+	private LoginThrottleService createLoginThrottleService(TLoginFailureMapper tLoginFailureMapper) {
+		ClientAddressUtil clientAddressUtil = new ClientAddressUtil();
+		ReflectionTestUtils.setField(clientAddressUtil, "trustedProxies", "10.0.0.1, 10.0.0.2");
+		clientAddressUtil.init();
+		LoginThrottleService service = new LoginThrottleService();
+		ReflectionTestUtils.setField(service, "clientAddressUtil", clientAddressUtil);
+		ReflectionTestUtils.setField(service, "clock", clock);
+		ReflectionTestUtils.setField(service, "lockCount", 3);
+		ReflectionTestUtils.setField(service, "lockMinute", 1);
+		ReflectionTestUtils.setField(service, "ipLockCount", 5);
+		ReflectionTestUtils.setField(service, "tLoginFailureMapper", tLoginFailureMapper);
+		ReflectionTestUtils.setField(service, "shared", tLoginFailureMapper != null);
+		return service;
+	}
+
+	/**
+	 * メモリ上の失敗履歴テーブル
+	 */
+	private static class TestLoginFailureMapper implements TLoginFailureMapper {
+
+		private final List<Map.Entry<String, Date>> failureList = new ArrayList<>();
+
+		@Override
+		public int insert(String throttleKey, Date failureDate) {
+			failureList.add(Map.entry(throttleKey, failureDate));
+			return 1;
+		}
+
+		@Override
+		public int count(String throttleKey, Date fromDate) {
+			return (int) failureList.stream().filter(failure -> failure.getKey().equals(throttleKey)
+					&& failure.getValue().after(fromDate)).count();
+		}
+
+		@Override
+		public int deleteByThrottleKey(String throttleKey) {
+			int size = failureList.size();
+			failureList.removeIf(failure -> failure.getKey().equals(throttleKey));
+			return size - failureList.size();
+		}
+
+		@Override
+		public int deleteExpired(Date fromDate) {
+			int size = failureList.size();
+			failureList.removeIf(failure -> !failure.getValue().after(fromDate));
+			return size - failureList.size();
+		}
+
+	}
+
+	/**
+	 * 時刻を進められる時計
+	 */
+	private static class TestClock extends Clock {
+
+		private Instant instant;
+
+		private TestClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		private void plusSeconds(long seconds) {
+			instant = instant.plusSeconds(seconds);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.systemDefault();
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+
+	}
+
+}
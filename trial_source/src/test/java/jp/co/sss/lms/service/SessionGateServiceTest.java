@@ -0,0 +1,110 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.event.LoginUserChangedEvent;
+import jp.co.sss.lms.util.DateUtil;
+import jp.co.sss.lms.util.SessionGate;
+
+/**
+ * ログインセッション画面遷移判定サービスの試験
+ */
+public class SessionGateServiceTest {
+
+	private static final Instant NOW = Instant.parse("2024-04-01T00:00:00Z");
+
+	private LoginUserDto loginUserDto;
+	private SessionGateService sessionGateService;
+
+	@BeforeEach
+	public void setup() {
+		loginUserDto = new LoginUserDto();
+		loginUserDto.setUserId(1);
+		loginUserDto.setSecurityAgreeFlg((short) 1);
+		loginUserDto.setPasswordChangeDate(Date.from(NOW.minus(Duration.ofDays(10))));
+		sessionGateService = new SessionGateService();
+		ReflectionTestUtils.setField(sessionGateService, "loginUserDto", loginUserDto);
+		ReflectionTestUtils.setField(sessionGateService, "contractService",
+				mock(ContractService.class));
+		ReflectionTestUtils.setField(sessionGateService, "dateUtil", new DateUtil());
+		ReflectionTestUtils.setField(sessionGateService, "gateMinute", 10);
+		setNow(NOW);
+	}
+
+	/**
+	 * 判定結果の有効期限<br>
+	 * ■試験観点：<br>
+	 * ・有効期間内は同じ判定結果を返却すること<br>
+	 * ・有効期間を経過した場合はログイン情報から再判定すること
+	 */
+	@Test
+	public void testExpire() {
+		SessionGate sessionGate = sessionGateService.getSessionGate();
+		assertTrue(sessionGate.isSecurityAgreed());
+		setNow(NOW.plus(Duration.ofMinutes(9)));
+		assertSame(sessionGate, sessionGateService.getSessionGate());
+
+		loginUserDto.setSecurityAgreeFlg((short) 0);
+		assertTrue(sessionGateService.getSessionGate().isSecurityAgreed());
+		setNow(NOW.plus(Duration.ofMinutes(10)));
+		SessionGate refreshed = sessionGateService.getSessionGate();
+		assertNotSame(sessionGate, refreshed);
+		assertFalse(refreshed.isSecurityAgreed());
+		assertSame(refreshed, loginUserDto.getSessionGate());
+	}
+
+	/**
+	 * ユーザーの変更・ログイン情報の変更<br>
+	 * ■試験観点：<br>
+	 * ・別のユーザーの判定結果は使用しないこと<br>
+	 * ・ログイン中のユーザーのログイン情報変更時は再判定すること<br>
+	 * ・他のユーザーのログイン情報変更時は再判定しないこと
+	 */
+	@Test
+	public void testUserChanged() {
+		SessionGate sessionGate = sessionGateService.getSessionGate();
+		loginUserDto.setUserId(2);
+		assertNotSame(sessionGate, sessionGateService.getSessionGate());
+
+		sessionGate = loginUserDto.getSessionGate();
+		sessionGateService.onLoginUserChanged(new LoginUserChangedEvent(1));
+		assertSame(sessionGate, loginUserDto.getSessionGate());
+		sessionGateService.onLoginUserChanged(new LoginUserChangedEvent(2));
+		assertNotSame(sessionGate, loginUserDto.getSessionGate());
+	}
+
+	/**
+	 * パスワードの有効期限<br>
+	 * ■試験観点：<br>
+	 * ・パスワード変更日から1ヶ月以内は有効期限内であること<br>
+	 * ・1ヶ月を経過した場合・パスワード変更日がない場合は有効期限切れであること
+	 */
+	@Test
+	public void testPasswordExpired() {
+		SessionGate sessionGate = sessionGateService.getSessionGate();
+		assertFalse(sessionGate.isPasswordExpired(NOW.toEpochMilli()));
+		assertTrue(sessionGate.isPasswordExpired(NOW.plus(Duration.ofDays(25)).toEpochMilli()));
+
+		loginUserDto.setPasswordChangeDate(null);
+		sessionGateService.onLoginUserChanged(new LoginUserChangedEvent(1));
+		assertTrue(loginUserDto.getSessionGate().isPasswordExpired(NOW.toEpochMilli()));
+	}
+
+	private void setNow(Instant now) {
+		ReflectionTestUtils.setField(sessionGateService, "clock",
+				Clock.fixed(now, ZoneId.systemDefault()));
+	}
+
+}
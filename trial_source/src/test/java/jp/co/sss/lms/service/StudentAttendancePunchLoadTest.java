@@ -0,0 +1,291 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jp.co.sss.lms.TestDatabase;
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.enums.AttendanceStatusEnum;
+import jp.co.sss.lms.mapper.TStudentAttendanceMapper;
+import jp.co.sss.lms.util.AttendanceUtil;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.TrainingTime;
+
+/**
+ * 出退勤打刻の同時実行試験<br>
+ * 組み込みのPostgreSQLに試験用データ（db/fixture.sql）を登録し、
+ * 受講生1（コース1）の本日の勤怠情報に対して勤怠情報サービスから同時に打刻する。<br>
+ * 負荷を増やした場合の応答時間の試験は実行環境に依存するため、-Dlms.loadtest=true を指定した場合のみ実行する。
+ */
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size="
+		+ StudentAttendancePunchLoadTest.POOL_SIZE)
+public class StudentAttendancePunchLoadTest {
+
+	/** コネクションプールの上限（同時打刻数の最大値以上とし、プールの待ちを計測に含めない） */
+	static final int POOL_SIZE = 64;
+	/** 同時打刻数 */
+	private static final int CONCURRENCY = 64;
+	/** 応答時間を計測する同時打刻数（段階的に増やす） */
+	private static final int[] LOAD_LEVELS = { 8, 16, 32, 64 };
+	/** 同時打刻数毎の計測回数 */
+	private static final int ROUNDS = 20;
+	/** 99パーセンタイルの許容応答時間（ミリ秒） */
+	private static final long P99_BUDGET_MILLIS = 500;
+	/** 最小負荷に対する最大負荷の99パーセンタイルの許容倍率 */
+	private static final long P99_GROWTH_LIMIT = 3;
+	/** LMSユーザーID（受講生1） */
+	private static final int LMS_USER_ID = 1;
+	/** コースID（コース1） */
+	private static final int COURSE_ID = 1;
+
+	private static final Logger logger = LoggerFactory
+			.getLogger(StudentAttendancePunchLoadTest.class);
+
+	private static EmbeddedPostgres embeddedPostgres;
+
+	@Autowired
+	private StudentAttendanceService studentAttendanceService;
+	@Autowired
+	private TStudentAttendanceMapper tStudentAttendanceMapper;
+	@Autowired
+	private AttendanceUtil attendanceUtil;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/** 受講生1でログインしたセッション */
+	private MockHttpSession session;
+	/** 本日の研修日 */
+	private Date trainingDate;
+
+	@DynamicPropertySource
+	public static void setDataSource(DynamicPropertyRegistry registry) throws Exception {
+		embeddedPostgres = TestDatabase.start(registry);
+	}
+
+	@AfterAll
+	public static void shutdown() throws IOException {
+		if (embeddedPostgres != null) {
+			embeddedPostgres.close();
+		}
+	}
+
+	@BeforeEach
+	public void setup() {
+		LoginUserDto loginUserDto = new LoginUserDto();
+		loginUserDto.setLmsUserId(LMS_USER_ID);
+		loginUserDto.setCourseId(COURSE_ID);
+		loginUserDto.setAccountId(1);
+		loginUserDto.setRole(Constants.CODE_VAL_ROLL_STUDENT);
+		session = new MockHttpSession();
+		session.setAttribute("scopedTarget.loginUserDto", loginUserDto);
+		trainingDate = attendanceUtil.getTrainingDate();
+		deleteTodayAttendance();
+	}
+
+	/**
+	 * 同一ユーザー・同一研修日への同時打刻<br>
+	 * ■試験観点：<br>
+	 * ・同時に出勤した場合、反映される打刻は1件のみであること<br>
+	 * ・勤怠情報が重複して登録されないこと<br>
+	 * ・続く同時退勤打刻も1件のみ反映されること
+	 */
+	@Test
+	public void testConcurrentPunchSameDay() throws Exception {
+		assertEquals(1, countSucceeded(runConcurrently(CONCURRENCY,
+				() -> studentAttendanceService.setPunchIn())));
+		assertEquals(1, countRows());
+
+		assertEquals(1, countSucceeded(runConcurrently(CONCURRENCY,
+				() -> studentAttendanceService.setPunchOut())));
+		assertEquals(1, countRows());
+		assertNotEquals("", jdbcTemplate.queryForObject(
+				"SELECT training_end_time FROM t_student_attendance"
+						+ " WHERE lms_user_id = ? AND training_date = ?",
+				String.class, LMS_USER_ID, new java.sql.Date(trainingDate.getTime())));
+	}
+
+	/**
+	 * 退勤打刻時の遅刻判定<br>
+	 * ■試験観点：<br>
+	 * ・登録済みの出勤時刻の形式（"H:m"・数値4桁）によらず、時刻として定時開始と比較すること<br>
+	 * ・出勤時刻より前の退勤時刻は反映しないこと
+	 */
+	@Test
+	public void testPunchOutStatus() {
+		assertEquals(AttendanceStatusEnum.TARDY.code, punchOut("0915", "18:00"));
+		assertEquals(AttendanceStatusEnum.TARDY.code, punchOut("9:5", "18:00"));
+		assertEquals(AttendanceStatusEnum.NONE.code, punchOut("0858", "18:00"));
+		assertEquals(AttendanceStatusEnum.NONE.code, punchOut("9:00", "10:00"));
+		assertNull(punchOut("10:30", "10:00"));
+	}
+
+	/**
+	 * 同時打刻数を増やした場合の応答時間<br>
+	 * ■試験観点：<br>
+	 * ・全ての同時打刻数で、同一ユーザー・同一研修日への打刻が1件のみ反映されること<br>
+	 * ・99パーセンタイルの応答時間が許容範囲内であること<br>
+	 * ・同時打刻数を増やしても、99パーセンタイルの応答時間が最小負荷時の一定倍以内に収まること
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "lms.loadtest", matches = "true")
+	public void testPunchLatencyUnderLoad() throws Exception {
+		long[] p99Micros = new long[LOAD_LEVELS.length];
+		for (int level = 0; level < LOAD_LEVELS.length; level++) {
+			int concurrency = LOAD_LEVELS[level];
+			List<Long> latencies = new ArrayList<>();
+			// 1回目は計測しない（ウォームアップ）
+			for (int round = 0; round <= ROUNDS; round++) {
+				deleteTodayAttendance();
+				List<Timed> punchIn = runConcurrently(concurrency,
+						timed(() -> studentAttendanceService.setPunchIn()));
+				List<Timed> punchOut = runConcurrently(concurrency,
+						timed(() -> studentAttendanceService.setPunchOut()));
+				assertEquals(1, punchIn.stream().filter(Timed::succeeded).count());
+				assertEquals(1, punchOut.stream().filter(Timed::succeeded).count());
+				if (round > 0) {
+					punchIn.forEach(result -> latencies.add(result.micros()));
+					punchOut.forEach(result -> latencies.add(result.micros()));
+				}
+			}
+			latencies.sort(null);
+			long p50 = latencies.get(latencies.size() / 2);
+			p99Micros[level] = latencies.get(latencies.size() * 99 / 100);
+			logger.info("punch concurrency={} p50={}us p99={}us", concurrency, p50,
+					p99Micros[level]);
+			assertTrue(p99Micros[level] <= TimeUnit.MILLISECONDS.toMicros(P99_BUDGET_MILLIS),
+					"concurrency=" + concurrency + " p99=" + p99Micros[level] + "us");
+		}
+		long lowest = p99Micros[0];
+		long highest = p99Micros[p99Micros.length - 1];
+		assertTrue(highest <= lowest * P99_GROWTH_LIMIT,
+				"p99 " + lowest + "us -> " + highest + "us");
+	}
+
+	/**
+	 * 出勤済みの勤怠情報に退勤打刻し、更新後のステータスを返却（反映されない場合はnull）
+	 */
+	private Short punchOut(String trainingStartTime, String trainingEndTime) {
+		deleteTodayAttendance();
+		jdbcTemplate.update("INSERT INTO t_student_attendance (lms_user_id, training_date,"
+				+ " training_start_time, training_end_time, status, note, delete_flg)"
+				+ " VALUES (?, ?, ?, '', ?, '', ?)", LMS_USER_ID,
+				new java.sql.Date(trainingDate.getTime()), trainingStartTime,
+				AttendanceStatusEnum.NONE.code, Constants.DB_FLG_FALSE);
+		Integer count = tStudentAttendanceMapper.punchOut(LMS_USER_ID, trainingDate,
+				trainingEndTime, toMinutes(trainingEndTime), toMinutes("09:00"),
+				AttendanceStatusEnum.TARDY.code, AttendanceStatusEnum.NONE.code, LMS_USER_ID,
+				new Date(), Constants.DB_FLG_FALSE);
+		if (count == 0) {
+			return null;
+		}
+		return jdbcTemplate.queryForObject(
+				"SELECT status FROM t_student_attendance WHERE lms_user_id = ? AND training_date = ?",
+				Short.class, LMS_USER_ID, new java.sql.Date(trainingDate.getTime()));
+	}
+
+	private static int toMinutes(String time) {
+		return TrainingTime.parse(time).toMinutes();
+	}
+
+	/**
+	 * 打刻処理を受講生1のセッションで同時に実行し、各処理の結果を返却
+	 */
+	private <T> List<T> runConcurrently(int concurrency, Punch<T> punch) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			List<Future<T>> futures = new ArrayList<>();
+			for (int i = 0; i < concurrency; i++) {
+				futures.add(executor.submit(() -> {
+					MockHttpServletRequest request = new MockHttpServletRequest();
+					request.setSession(session);
+					RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+					try {
+						latch.await();
+						return punch.execute();
+					} finally {
+						RequestContextHolder.resetRequestAttributes();
+					}
+				}));
+			}
+			latch.countDown();
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : futures) {
+				results.add(future.get(60, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 打刻処理の応答時間を計測
+	 */
+	private static Punch<Timed> timed(Punch<String> punch) {
+		return () -> {
+			long start = System.nanoTime();
+			String message = punch.execute();
+			return new Timed(message != null,
+					TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+		};
+	}
+
+	/**
+	 * 反映された打刻（完了メッセージが返却された打刻）の件数
+	 */
+	private static long countSucceeded(List<String> messages) {
+		return messages.stream().filter(Objects::nonNull).count();
+	}
+
+	private int countRows() {
+		return jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM t_student_attendance WHERE lms_user_id = ? AND training_date = ?",
+				Integer.class, LMS_USER_ID, new java.sql.Date(trainingDate.getTime()));
+	}
+
+	private void deleteTodayAttendance() {
+		jdbcTemplate.update(
+				"DELETE FROM t_student_attendance WHERE lms_user_id = ? AND training_date = ?",
+				LMS_USER_ID, new java.sql.Date(trainingDate.getTime()));
+	}
+
+	@FunctionalInterface
+	private interface Punch<T> {
+		T execute() throws Exception;
+	}
+
+	/**
+	 * 打刻結果と応答時間
+	 */
+	private record Timed(boolean succeeded, long micros) {
+	}
+
+}
@@ -0,0 +1,141 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.co.sss.lms.dto.LoginUserDto;
+import jp.co.sss.lms.entity.TStudentAttendance;
+import jp.co.sss.lms.enums.AttendanceStatusEnum;
+import jp.co.sss.lms.form.AttendanceForm;
+import jp.co.sss.lms.form.DailyAttendanceForm;
+import jp.co.sss.lms.mapper.MCourseMapper;
+import jp.co.sss.lms.mapper.TStudentAttendanceMapper;
+import jp.co.sss.lms.util.AttendanceUtil;
+import jp.co.sss.lms.util.Constants;
+import jp.co.sss.lms.util.DateUtil;
+import jp.co.sss.lms.util.LoginUserUtil;
+import jp.co.sss.lms.util.MessageUtil;
+import jp.co.sss.lms.util.TrainingTime;
+
+/**
+ * 勤怠情報（受講生入力）サービスの試験
+ */
+public class StudentAttendanceServiceTest {
+
+	private TStudentAttendanceMapper tStudentAttendanceMapper;
+	private AttendanceMonthlyService attendanceMonthlyService;
+	private StudentAttendanceService studentAttendanceService;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		tStudentAttendanceMapper = mock(TStudentAttendanceMapper.class);
+		// 登録済み：4/1（出勤 09:00～18:00）
+		TStudentAttendance current = new TStudentAttendance();
+		current.setLmsUserId(10);
+		current.setTrainingDate(new SimpleDateFormat("yyyy/M/d").parse("2024/4/1"));
+		current.setTrainingStartTime("09:00");
+		current.setTrainingEndTime("18:00");
+		current.setStatus(AttendanceStatusEnum.NONE.code);
+		current.setNote("");
+		when(tStudentAttendanceMapper.findByLmsUserId(10, Constants.DB_FLG_FALSE))
+				.thenReturn(new ArrayList<>(List.of(current)));
+		AttendanceUtil attendanceUtil = mock(AttendanceUtil.class);
+		when(attendanceUtil.getStatus(any(), any(TrainingTime.class), any()))
+				.thenReturn(AttendanceStatusEnum.NONE);
+		LoginUserUtil loginUserUtil = mock(LoginUserUtil.class);
+		when(loginUserUtil.isStudent()).thenReturn(true);
+		LoginUserDto loginUserDto = new LoginUserDto();
+		loginUserDto.setLmsUserId(10);
+		loginUserDto.setCourseId(1);
+		attendanceMonthlyService = mock(AttendanceMonthlyService.class);
+
+		studentAttendanceService = new StudentAttendanceService();
+		ReflectionTestUtils.setField(studentAttendanceService, "tStudentAttendanceMapper",
+				tStudentAttendanceMapper);
+		ReflectionTestUtils.setField(studentAttendanceService, "mCourseMapper",
+				mock(MCourseMapper.class));
+		ReflectionTestUtils.setField(studentAttendanceService, "attendanceUtil", attendanceUtil);
+		ReflectionTestUtils.setField(studentAttendanceService, "loginUserUtil", loginUserUtil);
+		ReflectionTestUtils.setField(studentAttendanceService, "loginUserDto", loginUserDto);
+		ReflectionTestUtils.setField(studentAttendanceService, "dateUtil", new DateUtil());
+		ReflectionTestUtils.setField(studentAttendanceService, "messageUtil",
+				mock(MessageUtil.class));
+		ReflectionTestUtils.setField(studentAttendanceService, "attendanceMonthlyService",
+				attendanceMonthlyService);
+	}
+
+	/**
+	 * 勤怠情報の一括登録・更新<br>
+	 * ■試験観点：<br>
+	 * ・変更のない登録済みの研修日は更新しないこと<br>
+	 * ・未登録かつ何も入力されていない研修日は登録しないこと<br>
+	 * ・入力された未登録の研修日・変更された登録済みの研修日のみ反映すること
+	 */
+	@Test
+	public void testUpdate() throws Exception {
+		when(tStudentAttendanceMapper.bulkUpsert(anyList()))
+				.thenAnswer(invocation -> invocation.<List<?>> getArgument(0).size());
+
+		studentAttendanceService.update(createAttendanceForm(
+				createDailyAttendanceForm("2024/4/1", 9, 0, 18, 0, ""),
+				createDailyAttendanceForm("2024/4/2", null, null, null, null, ""),
+				createDailyAttendanceForm("2024/4/3", 9, 0, null, null, ""),
+				createDailyAttendanceForm("2024/4/4", null, null, null, null, "私用のため欠席")));
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<TStudentAttendance>> captor = ArgumentCaptor.forClass(List.class);
+		verify(tStudentAttendanceMapper).bulkUpsert(captor.capture());
+		List<TStudentAttendance> upsertList = captor.getValue();
+		assertEquals(2, upsertList.size());
+		assertEquals("09:00", upsertList.get(0).getTrainingStartTime());
+		assertEquals("", upsertList.get(0).getTrainingEndTime());
+		assertEquals("私用のため欠席", upsertList.get(1).getNote());
+		verify(attendanceMonthlyService).refresh(eq(10), argThat(list -> list.size() == 2));
+	}
+
+	/**
+	 * 反映件数の不一致<br>
+	 * ■試験観点：<br>
+	 * ・登録・更新件数が対象件数と異なる場合は例外となること（トランザクションをロールバックする）<br>
+	 * ・月次集計を更新しないこと
+	 */
+	@Test
+	public void testUpdateCountMismatch() {
+		when(tStudentAttendanceMapper.bulkUpsert(anyList())).thenReturn(0);
+
+		assertThrows(IllegalStateException.class,
+				() -> studentAttendanceService.update(createAttendanceForm(
+						createDailyAttendanceForm("2024/4/3", 9, 0, 18, 0, null))));
+		verify(attendanceMonthlyService, never()).refresh(any(), any());
+	}
+
+	private static AttendanceForm createAttendanceForm(DailyAttendanceForm... dailyAttendanceForms) {
+		AttendanceForm attendanceForm = new AttendanceForm();
+		attendanceForm.setAttendanceList(List.of(dailyAttendanceForms));
+		return attendanceForm;
+	}
+
+	private static DailyAttendanceForm createDailyAttendanceForm(String trainingDate,
+			Integer startHour, Integer startMinute, Integer endHour, Integer endMinute, String note) {
+		DailyAttendanceForm dailyAttendanceForm = new DailyAttendanceForm();
+		dailyAttendanceForm.setTrainingDate(trainingDate);
+		dailyAttendanceForm.setStartHour(startHour);
+		dailyAttendanceForm.setStartMinute(startMinute);
+		dailyAttendanceForm.setEndHour(endHour);
+		dailyAttendanceForm.setEndMinute(endMinute);
+		dailyAttendanceForm.setNote(note);
+		dailyAttendanceForm.setStatusDispName("");
+		return dailyAttendanceForm;
+	}
+
+}
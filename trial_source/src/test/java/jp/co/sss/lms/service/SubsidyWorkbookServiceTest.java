@@ -0,0 +1,155 @@
+package jp.co.sss.lms.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.poi.hssf.util.CellReference;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import jp.co.sss.lms.dto.SubsidyAttendanceDto;
+import jp.co.sss.lms.dto.SubsidyCompanyDto;
+import jp.co.sss.lms.entity.MCourse;
+import jp.co.sss.lms.entity.MSection;
+import jp.co.sss.lms.enums.AttendanceStatusEnum;
+import jp.co.sss.lms.mapper.TStudentAttendanceMapper;
+import jp.co.sss.lms.util.CourseCalendar;
+import jp.co.sss.lms.util.MessageUtil;
+
+/**
+ * 助成金書類作成サービスの試験
+ */
+public class SubsidyWorkbookServiceTest {
+
+	/** ダウンロード日 */
+	private static final LocalDate TODAY = LocalDate.of(2024, 5, 7);
+	/** 対象月 */
+	private static final YearMonth TARGET_MONTH = YearMonth.of(2024, 4);
+
+	/** 出力先ディレクトリ */
+	private Path tempDir;
+
+	private SubsidyWorkbookService subsidyWorkbookService;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		tempDir = Files.createTempDirectory("subsidy");
+		SubsidyCompanyDto companyDto = new SubsidyCompanyDto();
+		companyDto.setCompanyId(1);
+		companyDto.setCompanyName("株式会社試験");
+		companyDto.setWorkStartTime("09:00");
+		companyDto.setWorkEndTime("18:00");
+		SubsidyAttendanceDto attendanceDto = new SubsidyAttendanceDto();
+		attendanceDto.setLmsUserId(10);
+		attendanceDto.setUserName("受講生1");
+		attendanceDto.setCourseId(1);
+		attendanceDto.setCourseName("Java研修");
+		attendanceDto.setPlaceName("本社会場");
+		attendanceDto.setTrainingDate(toDate(LocalDate.of(2024, 4, 1)));
+		attendanceDto.setTrainingStartTime("09:15");
+		attendanceDto.setTrainingEndTime("18:00");
+		attendanceDto.setBlankTime(90);
+		attendanceDto.setStatus(AttendanceStatusEnum.TARDY.code);
+		TStudentAttendanceMapper tStudentAttendanceMapper = mock(TStudentAttendanceMapper.class);
+		when(tStudentAttendanceMapper.findSubsidyCompany(any(), any(), any()))
+				.thenReturn(List.of(companyDto));
+		when(tStudentAttendanceMapper.findSubsidyAttendance(eq(1), any(), any(), any(), any()))
+				.thenReturn(List.of(attendanceDto));
+
+		MSection mSection = new MSection();
+		mSection.setSectionName("セクション1");
+		mSection.setDate(toDate(LocalDate.of(2024, 4, 1)));
+		CourseCalendarService courseCalendarService = mock(CourseCalendarService.class);
+		when(courseCalendarService.getCourseCalendar(1))
+				.thenReturn(CourseCalendar.of(new MCourse(), List.of(mSection), 0L));
+		MessageUtil messageUtil = mock(MessageUtil.class);
+		when(messageUtil.getMessage("setting.file.common.dir")).thenReturn("static/template");
+		when(messageUtil.getMessage("setting.file.template.subsidyAttendance"))
+				.thenReturn("【大企業・中小企業】【支給申請】受講状況_テンプレート.xlsm");
+		when(messageUtil.getMessage("setting.file.templateSheet.subsidyAttendance"))
+				.thenReturn("受講状況");
+
+		subsidyWorkbookService = new SubsidyWorkbookService();
+		ReflectionTestUtils.setField(subsidyWorkbookService, "tStudentAttendanceMapper",
+				tStudentAttendanceMapper);
+		ReflectionTestUtils.setField(subsidyWorkbookService, "courseCalendarService",
+				courseCalendarService);
+		ReflectionTestUtils.setField(subsidyWorkbookService, "messageUtil", messageUtil);
+		ReflectionTestUtils.setField(subsidyWorkbookService, "metricsService",
+				mock(MetricsService.class));
+		ReflectionTestUtils.setField(subsidyWorkbookService, "clock", Clock.fixed(
+				TODAY.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+		ReflectionTestUtils.setField(subsidyWorkbookService, "threadCount", 1);
+		ReflectionTestUtils.setField(subsidyWorkbookService, "maxWorkbookCount", 1);
+	}
+
+	@AfterEach
+	public void teardown() throws Exception {
+		FileSystemUtils.deleteRecursively(tempDir);
+	}
+
+	/**
+	 * 受講状況ブックの作成<br>
+	 * ■試験観点：<br>
+	 * ・ダウンロード日に時計の日付が設定されること<br>
+	 * ・受講生単位の項目（受講生名）が設定されること<br>
+	 * ・研修日の行に日付・出勤時刻・中抜け時間が設定されること
+	 */
+	@Test
+	public void testCreateWorkbooks() throws Exception {
+		assertEquals(1, subsidyWorkbookService.createWorkbooks(TARGET_MONTH, tempDir));
+
+		List<Path> fileList;
+		try (var stream = Files.list(tempDir)) {
+			fileList = stream.toList();
+		}
+		assertEquals(1, fileList.size());
+		assertTrue(fileList.get(0).getFileName().toString().contains("202404_株式会社試験"));
+		try (InputStream in = Files.newInputStream(fileList.get(0))) {
+			Workbook workbook = WorkbookFactory.create(in);
+			Sheet sheet = workbook.getSheet("受講生1");
+			assertNotNull(sheet);
+			assertNull(workbook.getSheet("受講状況"));
+			Row row = sheet.getRow(1);
+			assertEquals(2024, getNumber(row, "BE"));
+			assertEquals(5, getNumber(row, "BF"));
+			assertEquals(7, getNumber(row, "BG"));
+			assertEquals("受講生1", row.getCell(CellReference.convertColStringToIndex("BH"))
+					.getStringCellValue());
+			assertEquals(4, getNumber(row, "CC"));
+			assertEquals(1, getNumber(row, "CD"));
+			assertEquals(9, getNumber(row, "CF"));
+			assertEquals(15, getNumber(row, "CG"));
+			assertEquals(1, getNumber(row, "CU"));
+			assertEquals(30, getNumber(row, "CV"));
+		}
+	}
+
+	private static int getNumber(Row row, String column) {
+		return (int) row.getCell(CellReference.convertColStringToIndex(column))
+				.getNumericCellValue();
+	}
+
+	private static Date toDate(LocalDate localDate) {
+		return Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+}
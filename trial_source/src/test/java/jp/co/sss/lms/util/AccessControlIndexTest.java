@@ -0,0 +1,70 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 権限毎のアクセス可能URLの試験
+ */
+public class AccessControlIndexTest {
+
+	/**
+	 * 設定ファイルからの生成<br>
+	 * ■試験観点：<br>
+	 * ・コンテキストパスを付与したURLで権限毎に判定されること<br>
+	 * ・未設定のURL・権限、nullはアクセス不可となること
+	 */
+	@Test
+	public void testIsAccess() throws IOException {
+		AccessControlIndex index = AccessControlIndex.load("/lms");
+		assertTrue(index.isAccess(Constants.CODE_VAL_ROLL_STUDENT, "/lms/attendance/detail"));
+		assertFalse(index.isAccess(Constants.CODE_VAL_ROLL_STUDENT, "/lms/attendance/list"));
+		assertTrue(index.isAccess(Constants.CODE_VAL_ROLL_TEACHER, "/lms/attendance/list"));
+		assertTrue(index.isAccess(Constants.CODE_VAL_ROLL_COMPANY, "/lms/attendance/downloadList"));
+		assertTrue(index.isAccess(Constants.CODE_VAL_ROLL_ADMIN, "/lms/accessControl"));
+		assertFalse(index.isAccess(Constants.CODE_VAL_ROLL_TRAINING, "/lms/accessControl"));
+		assertFalse(index.isAccess(Constants.CODE_VAL_ROLL_STUDENT, "/attendance/detail"));
+		assertFalse(index.isAccess("9999", "/lms/error"));
+		assertFalse(index.isAccess(null, "/lms/error"));
+		assertFalse(index.isAccess(Constants.CODE_VAL_ROLL_STUDENT, null));
+	}
+
+	/**
+	 * 静的リソースの判定<br>
+	 * ■試験観点：<br>
+	 * ・コンテキストパス直下の静的リソースのディレクトリのみ対象となること
+	 */
+	@Test
+	public void testIsStatic() throws IOException {
+		AccessControlIndex index = AccessControlIndex.load("/lms");
+		assertTrue(index.isStatic("/lms/js/lms.js"));
+		assertTrue(index.isStatic("/lms/mailTemplate/a.txt"));
+		assertFalse(index.isStatic("/lms/jsp/a"));
+		assertFalse(index.isStatic("/lms/course/detail"));
+		assertFalse(index.isStatic("/js/lms.js"));
+		assertFalse(index.isStatic(null));
+	}
+
+	/**
+	 * アクセス可能URLの一覧<br>
+	 * ■試験観点：<br>
+	 * ・同一URLに複数の権限を設定した場合、権限コード順にまとめられること
+	 */
+	@Test
+	public void testGetAccessTable() {
+		Properties properties = new Properties();
+		properties.setProperty("access.role.0002", "/a, /b");
+		properties.setProperty("access.role.0001", "/a");
+		properties.setProperty("access.static", "/js/");
+		AccessControlIndex index = AccessControlIndex.of("/lms", properties);
+		assertEquals(List.of("0001", "0002"), index.getAccessTable().get("/lms/a"));
+		assertEquals(List.of("0002"), index.getAccessTable().get("/lms/b"));
+		assertEquals(List.of("/js/"), index.getStaticDirs());
+	}
+
+}
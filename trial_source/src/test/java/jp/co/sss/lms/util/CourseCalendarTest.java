@@ -0,0 +1,133 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jp.co.sss.lms.entity.MCourse;
+import jp.co.sss.lms.entity.MSection;
+
+/**
+ * コースの研修日カレンダーの試験
+ */
+public class CourseCalendarTest {
+
+	/** 開校日 */
+	private static final LocalDate OPEN_DATE = LocalDate.of(2024, 4, 1);
+	/** 読込日時（ミリ秒） */
+	private static final long LOADED_TIME_MILLIS = 1_700_000_000_000L;
+
+	/**
+	 * 研修日の判定・研修日数<br>
+	 * ■試験観点：<br>
+	 * ・開校日が最初のセクションより前の場合、開校日を基準日として研修日を判定できること<br>
+	 * ・基準日より前・最後のセクションより後の日付は研修日でないこと<br>
+	 * ・研修日数は同日の複数セクションを1日と数え、期間終了日を含まないこと
+	 */
+	@Test
+	public void testWorkDays() {
+		CourseCalendar courseCalendar = createCourseCalendar(OPEN_DATE);
+
+		assertTrue(courseCalendar.isWorkDay(toDate(OPEN_DATE.plusDays(2))));
+		assertTrue(courseCalendar.isWorkDay(toDate(OPEN_DATE.plusDays(7))));
+		assertFalse(courseCalendar.isWorkDay(toDate(OPEN_DATE)));
+		assertFalse(courseCalendar.isWorkDay(toDate(OPEN_DATE.minusDays(1))));
+		assertFalse(courseCalendar.isWorkDay(toDate(OPEN_DATE.plusDays(30))));
+
+		assertEquals(3, courseCalendar.countWorkDays(toEpochDay(OPEN_DATE),
+				toEpochDay(OPEN_DATE.plusDays(8))));
+		assertEquals(1, courseCalendar.countWorkDays(toEpochDay(OPEN_DATE.plusDays(3)),
+				toEpochDay(OPEN_DATE.plusDays(7))));
+		assertEquals(3, courseCalendar.countWorkDays(toEpochDay(OPEN_DATE.minusMonths(1)),
+				toEpochDay(OPEN_DATE.plusMonths(1))));
+		assertEquals(0, courseCalendar.countWorkDays(toEpochDay(OPEN_DATE.plusDays(7)),
+				toEpochDay(OPEN_DATE.plusDays(3))));
+	}
+
+	/**
+	 * セクション位置の取得<br>
+	 * ■試験観点：<br>
+	 * ・同日に複数セクションがある場合は最初のセクション位置を返却すること<br>
+	 * ・研修日でない日付・基準日より前の日付は-1を返却すること<br>
+	 * ・開校日がない場合は最初のセクションの日付を基準日とすること
+	 */
+	@Test
+	public void testIndexOf() {
+		CourseCalendar courseCalendar = createCourseCalendar(OPEN_DATE);
+
+		assertEquals(4, courseCalendar.size());
+		assertEquals(0, courseCalendar.indexOf(toEpochDay(OPEN_DATE.plusDays(2))));
+		assertEquals(2, courseCalendar.indexOf(toEpochDay(OPEN_DATE.plusDays(3))));
+		assertEquals(3, courseCalendar.indexOf(toEpochDay(OPEN_DATE.plusDays(7))));
+		assertEquals(-1, courseCalendar.indexOf(toEpochDay(OPEN_DATE.plusDays(4))));
+		assertEquals(-1, courseCalendar.indexOf(toEpochDay(OPEN_DATE.minusDays(1))));
+		assertEquals("セクション2", courseCalendar.getSectionName(1));
+		assertEquals(toEpochDay(OPEN_DATE.plusDays(2)), courseCalendar.getEpochDay(1));
+		assertEquals(toDate(OPEN_DATE.plusDays(7)), courseCalendar.getDate(3));
+		assertTrue(courseCalendar.isToday(2, toEpochDay(OPEN_DATE.plusDays(3))));
+
+		courseCalendar = createCourseCalendar(null);
+		assertEquals(0, courseCalendar.indexOf(toEpochDay(OPEN_DATE.plusDays(2))));
+		assertEquals(-1, courseCalendar.indexOf(toEpochDay(OPEN_DATE.plusDays(1))));
+		assertFalse(courseCalendar.isWorkDay(toDate(OPEN_DATE)));
+	}
+
+	/**
+	 * 定時・有効期間<br>
+	 * ■試験観点：<br>
+	 * ・コースの定時が未設定・不正な場合は既定の定時となること<br>
+	 * ・セクションがない場合は研修日がないこと<br>
+	 * ・読込日時から有効期間が経過した時点で期限切れとなること
+	 */
+	@Test
+	public void testWorkTimeAndExpire() {
+		MCourse mCourse = new MCourse();
+		mCourse.setWorkStartTime("10:00");
+		mCourse.setWorkEndTime("17:75");
+		CourseCalendar courseCalendar = CourseCalendar.of(mCourse, List.of(),
+				LOADED_TIME_MILLIS);
+
+		assertEquals(TrainingTime.of(10, 0), courseCalendar.getWorkStartTime());
+		assertEquals(Constants.SSS_WORK_END_TIME, courseCalendar.getWorkEndTime());
+		assertEquals(0, courseCalendar.size());
+		assertEquals(-1, courseCalendar.indexOf(toEpochDay(OPEN_DATE)));
+		assertEquals(0, courseCalendar.countWorkDays(toEpochDay(OPEN_DATE),
+				toEpochDay(OPEN_DATE.plusMonths(1))));
+
+		assertFalse(courseCalendar.isExpired(LOADED_TIME_MILLIS + 59_999L, 60_000L));
+		assertTrue(courseCalendar.isExpired(LOADED_TIME_MILLIS + 60_000L, 60_000L));
+	}
+
+	/**
+	 * 開校日の2日後（2セクション）・3日後・7日後にセクションがあるカレンダーを作成
+	 */
+	private static CourseCalendar createCourseCalendar(LocalDate openDate) {
+		MCourse mCourse = new MCourse();
+		mCourse.setOpenTime(openDate == null ? null : toDate(openDate));
+		List<MSection> sectionList = List.of(createSection("セクション1", 2),
+				createSection("セクション2", 2), createSection("セクション3", 3),
+				createSection("セクション4", 7));
+		return CourseCalendar.of(mCourse, sectionList, LOADED_TIME_MILLIS);
+	}
+
+	private static MSection createSection(String sectionName, int days) {
+		MSection mSection = new MSection();
+		mSection.setSectionName(sectionName);
+		mSection.setDate(toDate(OPEN_DATE.plusDays(days)));
+		return mSection;
+	}
+
+	private static long toEpochDay(LocalDate localDate) {
+		return localDate.toEpochDay();
+	}
+
+	private static Date toDate(LocalDate localDate) {
+		return Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+}
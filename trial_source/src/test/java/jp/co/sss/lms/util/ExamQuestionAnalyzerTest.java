@@ -0,0 +1,113 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jp.co.sss.lms.dto.ExamReplyDto;
+import jp.co.sss.lms.entity.TExamQuestionAnalysis;
+
+/**
+ * 試験問題分析の集計の試験
+ */
+public class ExamQuestionAnalyzerTest {
+
+	/**
+	 * 正答率・識別力・選択件数<br>
+	 * ■試験観点：<br>
+	 * ・問題毎の回答件数・正答件数・正答率が求められること<br>
+	 * ・選択肢毎の選択件数に未回答・範囲外の回答が含まれないこと<br>
+	 * ・識別力が正答者と誤答者の得点の差から求められること<br>
+	 * ・全員正答の問題の識別力はnullとなること
+	 */
+	@Test
+	public void testAnalyze() {
+		ExamQuestionAnalyzer analyzer = new ExamQuestionAnalyzer(1);
+		// 得点 3, 2, 2, 1（問題3は全員正答）
+		add(analyzer, 1, 2, 3, 4);
+		add(analyzer, 2, 2, 1, 4);
+		add(analyzer, 3, 4, 3, 4);
+		add(analyzer, 4, null, 9, 4);
+		Date now = new Date();
+		List<TExamQuestionAnalysis> analysisList = analyzer.toAnalysisList(now);
+
+		assertEquals(4, analyzer.getResultCount());
+		assertEquals(3, analysisList.size());
+		TExamQuestionAnalysis question1 = analysisList.get(0);
+		assertEquals(1, question1.getExamId());
+		assertEquals(1, question1.getQuestionId());
+		assertEquals(10, question1.getGenreDetailId());
+		assertEquals((short) 2, question1.getAnswerNum());
+		assertEquals(4, question1.getAnswerCount());
+		assertEquals(2, question1.getCorrectCount());
+		assertEquals(0.5, question1.getCorrectRate());
+		assertEquals(0, question1.getChoice1Count());
+		assertEquals(2, question1.getChoice2Count());
+		assertEquals(0, question1.getChoice3Count());
+		assertEquals(1, question1.getChoice4Count());
+		assertEquals(1, question1.getNoAnswerCount());
+		// 平均2・標準偏差√0.5、正答者平均2.5・誤答者平均1.5
+		assertEquals(1 / Math.sqrt(0.5) * 0.5, question1.getDiscrimination(), 1e-9);
+		assertEquals(now, question1.getLastModifiedDate());
+
+		TExamQuestionAnalysis question2 = analysisList.get(1);
+		assertNull(question2.getGenreDetailId());
+		assertEquals(2, question2.getCorrectCount());
+		assertEquals(1, question2.getNoAnswerCount());
+		assertEquals(1 / Math.sqrt(0.5) * 0.5, question2.getDiscrimination(), 1e-9);
+
+		TExamQuestionAnalysis question3 = analysisList.get(2);
+		assertEquals(1.0, question3.getCorrectRate());
+		assertNull(question3.getDiscrimination());
+	}
+
+	/**
+	 * 問題数の拡張<br>
+	 * ■試験観点：<br>
+	 * ・初期長を超える問題数でも全問が集計されること<br>
+	 * ・回答が無い場合は空のリストとなること
+	 */
+	@Test
+	public void testGrow() {
+		ExamQuestionAnalyzer analyzer = new ExamQuestionAnalyzer(1);
+		assertTrue(analyzer.toAnalysisList(new Date()).isEmpty());
+		for (int examResultId = 1; examResultId <= 2; examResultId++) {
+			for (int questionId = 1; questionId <= 40; questionId++) {
+				analyzer.add(createReply(examResultId, questionId, 1, (short) 1));
+			}
+		}
+		List<TExamQuestionAnalysis> analysisList = analyzer.toAnalysisList(new Date());
+		assertEquals(40, analysisList.size());
+		assertEquals(40, analysisList.get(39).getQuestionId());
+		assertEquals(2, analysisList.get(39).getChoice1Count());
+		assertEquals(2, analyzer.getResultCount());
+	}
+
+	/**
+	 * 1試験結果分の回答を追加（問題1～3の正答は2, 3, 4、問題1のみジャンル詳細あり）
+	 */
+	private void add(ExamQuestionAnalyzer analyzer, int examResultId, Integer reply1,
+			Integer reply2, Integer reply3) {
+		Integer[] replies = { reply1, reply2, reply3 };
+		for (int i = 0; i < replies.length; i++) {
+			ExamReplyDto examReplyDto = createReply(examResultId, i + 1, i + 2,
+					replies[i] == null ? null : replies[i].shortValue());
+			examReplyDto.setGenreDetailId(i == 0 ? 10 : null);
+			analyzer.add(examReplyDto);
+		}
+	}
+
+	private ExamReplyDto createReply(int examResultId, int questionId, int answerNum,
+			Short reply) {
+		ExamReplyDto examReplyDto = new ExamReplyDto();
+		examReplyDto.setExamResultId(examResultId);
+		examReplyDto.setQuestionId(questionId);
+		examReplyDto.setAnswerNum((short) answerNum);
+		examReplyDto.setReply(reply);
+		return examReplyDto;
+	}
+
+}
@@ -0,0 +1,107 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jp.co.sss.lms.dto.ExamResultMatrixColumnDto;
+import jp.co.sss.lms.dto.ExamResultMatrixRowDto;
+
+/**
+ * コース試験結果一覧の試験
+ */
+public class ExamResultMatrixTest {
+
+	/**
+	 * 受講生×試験への展開<br>
+	 * ■試験観点：<br>
+	 * ・取得結果が試験・セクション紐付けの列位置に展開されること<br>
+	 * ・初回・最高・最新の点数（100点満点）と所要時間が取得できること<br>
+	 * ・試験結果の無い受講生・試験は未受験となること<br>
+	 * ・列に無い試験・セクション紐付けの結果は無視されること
+	 */
+	@Test
+	public void testOf() {
+		List<ExamResultMatrixColumnDto> columnList = List.of(createColumn(20, 8),
+				createColumn(10, 3));
+		List<ExamResultMatrixRowDto> rowList = List.of(
+				createRow(1, "受講生1", 10, 3, 1, 2, 3),
+				createRow(1, "受講生1", 20, 1, 6, 6, 6),
+				createRow(1, "受講生1", 99, 1, 1, 1, 1),
+				createRow(2, "受講生2", null, 0, null, null, null));
+		ExamResultMatrix examResultMatrix = ExamResultMatrix.of(columnList, rowList);
+
+		assertEquals(2, examResultMatrix.getStudentCount());
+		assertEquals(2, examResultMatrix.getExamCount());
+		assertEquals(2, examResultMatrix.getLastLmsUserId());
+		assertEquals("受講生2", examResultMatrix.getUserName(1));
+		assertEquals(20, examResultMatrix.getColumn(0).getExamSectionId());
+
+		assertEquals(1, examResultMatrix.getResultCount(0, 0));
+		assertEquals("75.0", examResultMatrix.getDispPoint(0, 0, ExamResultMatrix.BEST));
+		assertEquals(3, examResultMatrix.getResultCount(0, 1));
+		assertEquals((short) 1, examResultMatrix.getScore(0, 1, ExamResultMatrix.FIRST));
+		assertEquals(new BigDecimal("33.3"),
+				examResultMatrix.getPoint(0, 1, ExamResultMatrix.FIRST));
+		assertEquals("66.7", examResultMatrix.getDispPoint(0, 1, ExamResultMatrix.BEST));
+		assertEquals("100.0", examResultMatrix.getDispPoint(0, 1, ExamResultMatrix.LATEST));
+		assertEquals(61000, examResultMatrix.getTime(0, 1, ExamResultMatrix.FIRST));
+		assertEquals("1:01", examResultMatrix.getDispTime(0, 1, ExamResultMatrix.FIRST));
+		assertEquals("3:03", examResultMatrix.getDispTime(0, 1, ExamResultMatrix.LATEST));
+
+		for (int e = 0; e < 2; e++) {
+			assertEquals(0, examResultMatrix.getResultCount(1, e));
+			assertEquals(ExamResultMatrix.NOT_TAKEN,
+					examResultMatrix.getScore(1, e, ExamResultMatrix.LATEST));
+			assertNull(examResultMatrix.getPoint(1, e, ExamResultMatrix.LATEST));
+			assertEquals("", examResultMatrix.getDispPoint(1, e, ExamResultMatrix.FIRST));
+			assertEquals("", examResultMatrix.getDispTime(1, e, ExamResultMatrix.FIRST));
+		}
+	}
+
+	/**
+	 * 受講生がいない場合<br>
+	 * ■試験観点：<br>
+	 * ・受講生数が0となり、最後のLMSユーザーIDがnullとなること
+	 */
+	@Test
+	public void testEmpty() {
+		ExamResultMatrix examResultMatrix = ExamResultMatrix.of(List.of(createColumn(10, 3)),
+				List.of());
+		assertEquals(0, examResultMatrix.getStudentCount());
+		assertEquals(1, examResultMatrix.getExamCount());
+		assertNull(examResultMatrix.getLastLmsUserId());
+	}
+
+	private ExamResultMatrixColumnDto createColumn(int examSectionId, int numOfQuestion) {
+		ExamResultMatrixColumnDto column = new ExamResultMatrixColumnDto();
+		column.setExamSectionId(examSectionId);
+		column.setExamName("試験" + examSectionId);
+		column.setNumOfQuestion(numOfQuestion);
+		return column;
+	}
+
+	/**
+	 * 取得結果を作成（所要時間は得点×61秒）
+	 */
+	private ExamResultMatrixRowDto createRow(int lmsUserId, String userName,
+			Integer examSectionId, int resultCount, Integer firstScore, Integer bestScore,
+			Integer latestScore) {
+		ExamResultMatrixRowDto row = new ExamResultMatrixRowDto();
+		row.setLmsUserId(lmsUserId);
+		row.setUserName(userName);
+		row.setExamSectionId(examSectionId);
+		row.setResultCount(resultCount);
+		row.setFirstScore(firstScore == null ? null : firstScore.shortValue());
+		row.setFirstTime(firstScore == null ? null : firstScore * 61000);
+		row.setBestScore(bestScore == null ? null : bestScore.shortValue());
+		row.setBestTime(bestScore == null ? null : bestScore * 61000);
+		row.setLatestScore(latestScore == null ? null : latestScore.shortValue());
+		row.setLatestTime(latestScore == null ? null : latestScore * 61000);
+		return row;
+	}
+
+}
@@ -0,0 +1,59 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import jp.co.sss.lms.entity.TExamStatistics;
+
+/**
+ * 試験統計の試験
+ */
+public class ExamStatisticsTest {
+
+	/**
+	 * 平均・標準偏差・パーセンタイル<br>
+	 * ■試験観点：<br>
+	 * ・集計値から平均・標準偏差・偏差値が求められること<br>
+	 * ・得点毎の件数（NULLを含む）から中央値・上位の割合が求められること
+	 */
+	@Test
+	public void testStatistics() {
+		// 得点 1, 3, 3, 5 の4件（得点0・2・4は加算時の拡張によりNULL）
+		TExamStatistics tExamStatistics = new TExamStatistics();
+		tExamStatistics.setResultCount(4);
+		tExamStatistics.setScoreSum(12L);
+		tExamStatistics.setScoreSquareSum(44L);
+		tExamStatistics.setScoreHistogram(new Integer[] { null, 1, null, 2, null, 1 });
+		ExamStatistics examStatistics = ExamStatistics.of(tExamStatistics);
+
+		assertEquals(4, examStatistics.getCount());
+		assertEquals(3.0, examStatistics.getAverage());
+		assertEquals(Math.sqrt(2), examStatistics.getStandardDeviation(), 1e-9);
+		assertEquals(50.0, examStatistics.getDeviationValue(3));
+		assertEquals(50 + 10 * 2 / Math.sqrt(2), examStatistics.getDeviationValue(5), 1e-9);
+		assertEquals(3, examStatistics.getScoreAtPercentile(50));
+		assertEquals(1, examStatistics.getScoreAtPercentile(0));
+		assertEquals(5, examStatistics.getScoreAtPercentile(100));
+		assertEquals(25.0, examStatistics.getTopPercent(5));
+		assertEquals(75.0, examStatistics.getTopPercent(3));
+		assertEquals(100.0, examStatistics.getTopPercent(0));
+		assertEquals(25.0, examStatistics.getTopPercent(6));
+	}
+
+	/**
+	 * 試験結果が無い場合<br>
+	 * ■試験観点：<br>
+	 * ・未登録・0件の場合は各値がnullとなること
+	 */
+	@Test
+	public void testEmpty() {
+		assertSame(ExamStatistics.EMPTY, ExamStatistics.of(null));
+		assertEquals(0, ExamStatistics.EMPTY.getCount());
+		assertNull(ExamStatistics.EMPTY.getAverage());
+		assertNull(ExamStatistics.EMPTY.getScoreAtPercentile(50));
+		assertNull(ExamStatistics.EMPTY.getTopPercent(3));
+		assertNull(ExamStatistics.EMPTY.getDeviationValue(3));
+	}
+
+}
@@ -0,0 +1,109 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.Environment;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * ファイルIDトークンユーティリティの試験
+ */
+public class FileTokenUtilTest {
+
+	private static final Instant NOW = Instant.parse("2024-04-01T00:00:00Z");
+
+	private FileTokenUtil fileTokenUtil;
+
+	@BeforeEach
+	public void setup() {
+		fileTokenUtil = create(Clock.fixed(NOW, ZoneId.systemDefault()), "secret");
+	}
+
+	/**
+	 * トークンの変換・復元<br>
+	 * ■試験観点：<br>
+	 * ・発行したユーザーのIDで元のファイルIDに復元されること<br>
+	 * ・他ユーザーのID、nullの場合は復元されないこと
+	 */
+	@Test
+	public void testDecode() {
+		String token = fileTokenUtil.encode(12345, 10);
+		assertEquals(12345, fileTokenUtil.decode(token, 10));
+		assertNull(fileTokenUtil.decode(token, 11));
+		assertNull(fileTokenUtil.decode(token, null));
+		assertNull(fileTokenUtil.decode(null, 10));
+	}
+
+	/**
+	 * 改ざんされたトークン<br>
+	 * ■試験観点：<br>
+	 * ・1文字でも変更された場合、不正な形式・長さの場合は復元されないこと<br>
+	 * ・署名鍵が異なる場合は復元されないこと
+	 */
+	@Test
+	public void testDecodeTampered() {
+		String token = fileTokenUtil.encode(12345, 10);
+		char c = token.charAt(3) == 'A' ? 'B' : 'A';
+		assertNull(fileTokenUtil.decode(token.substring(0, 3) + c + token.substring(4), 10));
+		assertNull(fileTokenUtil.decode(token.substring(1), 10));
+		assertNull(fileTokenUtil.decode("!" + token.substring(1), 10));
+		assertNull(fileTokenUtil.decode("", 10));
+		FileTokenUtil other = create(Clock.fixed(NOW, ZoneId.systemDefault()), "other");
+		assertNull(other.decode(token, 10));
+	}
+
+	/**
+	 * 有効期限<br>
+	 * ■試験観点：<br>
+	 * ・有効期間内は復元され、有効期間を過ぎると復元されないこと
+	 */
+	@Test
+	public void testDecodeExpired() {
+		String token = fileTokenUtil.encode(12345, 10);
+		FileTokenUtil valid = create(
+				Clock.fixed(NOW.plus(Duration.ofMinutes(60)), ZoneId.systemDefault()), "secret");
+		assertEquals(12345, valid.decode(token, 10));
+		FileTokenUtil expired = create(
+				Clock.fixed(NOW.plus(Duration.ofMinutes(61)), ZoneId.systemDefault()), "secret");
+		assertNull(expired.decode(token, 10));
+	}
+
+	/**
+	 * 署名鍵が未設定の場合<br>
+	 * ■試験観点：<br>
+	 * ・開発環境（devプロファイル）以外では起動時にエラーとなること<br>
+	 * ・開発環境では生成した署名鍵で変換・復元できること
+	 */
+	@Test
+	public void testBlankSecret() {
+		Clock clock = Clock.fixed(NOW, ZoneId.systemDefault());
+		assertThrows(IllegalStateException.class, () -> create(clock, "", new MockEnvironment()));
+		MockEnvironment dev = new MockEnvironment();
+		dev.setActiveProfiles("dev");
+		FileTokenUtil generated = create(clock, " ", dev);
+		assertEquals(12345, generated.decode(generated.encode(12345, 10), 10));
+	}
+
+	private FileTokenUtil create(Clock clock, String secret) {
+		return create(clock, secret, new MockEnvironment());
+	}
+
+	private FileTokenUtil create(Clock clock, String secret, Environment environment) {
+		FileTokenUtil util = new FileTokenUtil();
+		ReflectionTestUtils.setField(util, "clock", clock);
+		ReflectionTestUtils.setField(util, "environment", environment);
+		ReflectionTestUtils.setField(util, "secret", secret);
+		ReflectionTestUtils.setField(util, "expireMinute", 60L);
+		util.init();
+		return util;
+	}
+
+}
@@ -0,0 +1,78 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 処理時間のヒストグラムの試験
+ */
+public class LatencyHistogramTest {
+
+	private static final double DELTA = 1e-9;
+
+	/**
+	 * 区間への記録<br>
+	 * ■試験観点：<br>
+	 * ・区間の上限と等しい処理時間はその区間に数えること<br>
+	 * ・最大の区間を超える処理時間は上限超過に数えること
+	 */
+	@Test
+	public void testRecord() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(5_000_000L);
+		histogram.record(5_000_001L);
+		histogram.record(11_000_000_000L);
+		long[] counts = histogram.getCumulativeCounts();
+		assertEquals(LatencyHistogram.BUCKET_SECONDS.length + 1, counts.length);
+		assertEquals(1, counts[0]);
+		assertEquals(2, counts[1]);
+		assertEquals(2, counts[LatencyHistogram.BUCKET_SECONDS.length - 1]);
+		assertEquals(3, counts[LatencyHistogram.BUCKET_SECONDS.length]);
+		assertEquals(11.010000001, histogram.getSumSeconds(), DELTA);
+	}
+
+	/**
+	 * パーセンタイルの推定<br>
+	 * ■試験観点：<br>
+	 * ・区間の境界に一致する分位は区間の上限となること<br>
+	 * ・区間内は線形補間されること<br>
+	 * ・件数のない区間を飛ばすこと、分位0で区間の下限となること<br>
+	 * ・上限超過を含む分位は最大の区間の上限となること、記録がない場合はNaNとなること
+	 */
+	@Test
+	public void testQuantile() {
+		// 0.005秒以下：50件、0.01秒以下：30件、0.05秒以下：20件（0.025秒以下は0件）
+		long[] counts = cumulative(50, 30, 0, 20);
+		assertEquals(0.005, LatencyHistogram.getQuantileSeconds(counts, 0.5), DELTA);
+		assertEquals(0.01, LatencyHistogram.getQuantileSeconds(counts, 0.8), DELTA);
+		assertEquals(0.0025, LatencyHistogram.getQuantileSeconds(counts, 0.25), DELTA);
+		assertEquals(0.0075, LatencyHistogram.getQuantileSeconds(counts, 0.65), DELTA);
+		assertEquals(0.0375, LatencyHistogram.getQuantileSeconds(counts, 0.9), DELTA);
+		assertEquals(0.05, LatencyHistogram.getQuantileSeconds(counts, 1.0), DELTA);
+		assertEquals(0, LatencyHistogram.getQuantileSeconds(counts, 0), DELTA);
+
+		// 10秒以下：9件、上限超過：1件
+		long[] slow = new long[LatencyHistogram.BUCKET_SECONDS.length + 1];
+		slow[LatencyHistogram.BUCKET_SECONDS.length - 1] = 9;
+		slow[LatencyHistogram.BUCKET_SECONDS.length] = 10;
+		assertEquals(10, LatencyHistogram.getQuantileSeconds(slow, 0.99), DELTA);
+
+		assertTrue(Double.isNaN(LatencyHistogram.getQuantileSeconds(
+				new long[LatencyHistogram.BUCKET_SECONDS.length + 1], 0.5)));
+	}
+
+	/**
+	 * 先頭の区間からの件数を累積件数に変換
+	 */
+	private long[] cumulative(long... bucketCounts) {
+		long[] counts = new long[LatencyHistogram.BUCKET_SECONDS.length + 1];
+		long total = 0;
+		for (int i = 0; i < counts.length; i++) {
+			total += i < bucketCounts.length ? bucketCounts[i] : 0;
+			counts[i] = total;
+		}
+		return counts;
+	}
+
+}
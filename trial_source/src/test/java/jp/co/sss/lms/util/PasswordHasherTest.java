@@ -0,0 +1,82 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * パスワードハッシュ化方式の試験
+ */
+public class PasswordHasherTest {
+
+	/**
+	 * scryptの鍵導出<br>
+	 * ■試験観点：<br>
+	 * ・RFC 7914のテストベクタと一致すること
+	 */
+	@Test
+	public void testScryptVector() {
+		assertEquals("77d6576238657b203b19ca42c18a0497f16b4844e3074ae8dfdffa3fede21442"
+				+ "fcd0069ded0948f8326a753a0fc81f17e8d3e0fb2e0d3628cf35e20c38d18906",
+				HexFormat.of().formatHex(ScryptPasswordHasher.scrypt(new byte[0], new byte[0],
+						16, 1, 1, 64)));
+		assertEquals("fdbabe1c9d3472007856e7190d01e9fe7c6ad7cbc8237830e77376634b373162"
+				+ "2eaf30d92e22a3886ff109279d9830dac727afb94a83ee6d8360cbdfa2cc0640",
+				HexFormat.of().formatHex(ScryptPasswordHasher.scrypt(
+						"password".getBytes(StandardCharsets.UTF_8),
+						"NaCl".getBytes(StandardCharsets.UTF_8), 1024, 8, 16, 64)));
+	}
+
+	/**
+	 * scryptのハッシュ化・照合<br>
+	 * ■試験観点：<br>
+	 * ・同じパスワードでもsaltによりハッシュが異なること<br>
+	 * ・正しいパスワードのみ一致すること<br>
+	 * ・パラメータが変更された場合、再ハッシュ化が必要と判定されること
+	 */
+	@Test
+	public void testScrypt() {
+		ScryptPasswordHasher hasher = createScrypt(10);
+		String hash = hasher.hash("Password1", "student01");
+		assertTrue(hash.startsWith("$scrypt$ln=10,r=8,p=1$"));
+		assertNotEquals(hash, hasher.hash("Password1", "student01"));
+		assertTrue(hasher.supports(hash));
+		assertTrue(hasher.matches("Password1", "student01", hash));
+		assertFalse(hasher.matches("Password2", "student01", hash));
+		assertFalse(hasher.matches("Password1", "student01", "$scrypt$ln=10$x$y"));
+		assertFalse(hasher.needsRehash(hash));
+		assertTrue(createScrypt(11).needsRehash(hash));
+		assertTrue(createScrypt(11).matches("Password1", "student01", hash));
+	}
+
+	/**
+	 * 従来方式のハッシュ化・照合<br>
+	 * ■試験観点：<br>
+	 * ・既存の登録済みハッシュと同じ値になること<br>
+	 * ・scrypt形式のハッシュは対象外と判定されること
+	 */
+	@Test
+	public void testLegacy() {
+		LegacyPasswordHasher hasher = new LegacyPasswordHasher();
+		ReflectionTestUtils.setField(hasher, "passwordUtil", new PasswordUtil());
+		String hash = "8481c4e9ec4003c9abedc9e4652114774e5c018cdf44a400ac8af3c5fe0a2852";
+		assertEquals(hash, hasher.hash("Password1", "student01"));
+		assertTrue(hasher.supports(hash));
+		assertTrue(hasher.matches("Password1", "student01", hash));
+		assertFalse(hasher.matches("Password1", "student02", hash));
+		assertFalse(hasher.supports(createScrypt(10).hash("Password1", "student01")));
+	}
+
+	private ScryptPasswordHasher createScrypt(int logN) {
+		ScryptPasswordHasher hasher = new ScryptPasswordHasher();
+		ReflectionTestUtils.setField(hasher, "logN", logN);
+		ReflectionTestUtils.setField(hasher, "r", 8);
+		ReflectionTestUtils.setField(hasher, "p", 1);
+		return hasher;
+	}
+
+}
@@ -0,0 +1,109 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jp.co.sss.lms.filter.SqlStatisticsFilter;
+
+/**
+ * SQL実行状況インターセプター・フィルターの試験
+ */
+public class SqlStatisticsInterceptorTest {
+
+	private Executor target;
+	private Executor executor;
+	private MappedStatement select;
+	private MappedStatement update;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		SqlStatisticsInterceptor interceptor = new SqlStatisticsInterceptor();
+		ReflectionTestUtils.setField(interceptor, "slowMillis", 0L);
+		ReflectionTestUtils.setField(interceptor, "repeatThreshold", 2);
+		target = mock(Executor.class);
+		when(target.query(any(), any(), any(), any())).thenReturn(List.of(1, 2));
+		when(target.update(any(), any())).thenReturn(1);
+		when(target.queryCursor(any(), any(), any())).thenReturn(mock(Cursor.class));
+		executor = (Executor) Plugin.wrap(target, interceptor);
+
+		Configuration configuration = new Configuration();
+		select = new MappedStatement.Builder(configuration, "TestMapper.select",
+				new StaticSqlSource(configuration, "SELECT 1"), SqlCommandType.SELECT).build();
+		update = new MappedStatement.Builder(configuration, "TestMapper.update",
+				new StaticSqlSource(configuration, "UPDATE t SET c = 1"), SqlCommandType.UPDATE)
+				.build();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		SqlStatistics.end();
+	}
+
+	/**
+	 * ステートメントの集計<br>
+	 * ■試験観点：<br>
+	 * ・query・update・queryCursorのいずれも実行回数に数えること<br>
+	 * ・同一ステートメントの実行回数を数えること<br>
+	 * ・リクエスト外（集計開始前）の実行では例外とならないこと
+	 */
+	@Test
+	public void testIntercept() throws Exception {
+		executor.query(select, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+
+		SqlStatistics sqlStatistics = SqlStatistics.start();
+		executor.query(select, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+		executor.update(update, "password");
+		executor.queryCursor(select, null, RowBounds.DEFAULT);
+		assertEquals(3, sqlStatistics.getStatementCount());
+		// 集計開始後のselect（query・queryCursor）2回に続く3回目となること
+		assertEquals(3, sqlStatistics.record("TestMapper.select", 0));
+		verify(target).queryCursor(select, null, RowBounds.DEFAULT);
+	}
+
+	/**
+	 * フィルターとの連携<br>
+	 * ■試験観点：<br>
+	 * ・リクエスト内の実行回数がデバッグ用ヘッダーに出力されること（レスポンス確定前の回数）<br>
+	 * ・リクエスト終了後は集計対象外となること
+	 */
+	@Test
+	public void testFilter() throws Exception {
+		SqlStatisticsFilter filter = new SqlStatisticsFilter();
+		ReflectionTestUtils.setField(filter, "statementBudget", 10);
+		ReflectionTestUtils.setField(filter, "debugHeader", true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> {
+			try {
+				executor.query(select, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+				executor.queryCursor(select, null, RowBounds.DEFAULT);
+				res.getWriter().write("ok");
+				executor.update(update, null);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		String header = response.getHeader(SqlStatisticsFilter.HEADER_SQL_STATEMENTS);
+		assertNotNull(header);
+		assertTrue(header.startsWith("2/10;"), header);
+		assertNull(SqlStatistics.current());
+	}
+
+}
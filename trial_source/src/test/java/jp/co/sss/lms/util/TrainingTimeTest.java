@@ -0,0 +1,76 @@
+package jp.co.sss.lms.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 研修時刻ユーティリティの試験
+ */
+public class TrainingTimeTest {
+
+	/**
+	 * 文字列からの生成<br>
+	 * ■試験観点：<br>
+	 * ・"H:m"形式・"HHmm"形式を解析できること<br>
+	 * ・空文字・nullは未設定となること<br>
+	 * ・不正な形式は例外となること
+	 */
+	@Test
+	public void testParse() {
+		assertEquals("09:05", TrainingTime.parse("9:5").toString());
+		assertEquals("18:00", TrainingTime.parse("1800").toString());
+		assertTrue(TrainingTime.parse("").isBlank());
+		assertTrue(TrainingTime.parse(null).isBlank());
+		assertSame(TrainingTime.parse("09:00"), TrainingTime.of(9, 0));
+		assertThrows(IllegalArgumentException.class, () -> TrainingTime.parse("9:60"));
+		assertThrows(IllegalArgumentException.class, () -> TrainingTime.parse("9:00:"));
+		assertThrows(IllegalArgumentException.class, () -> TrainingTime.parse("12a4"));
+	}
+
+	/**
+	 * 比較<br>
+	 * ■試験観点：<br>
+	 * ・127分を超える時刻でも値で比較されること<br>
+	 * ・未設定は設定済みより小さいこと
+	 */
+	@Test
+	public void testCompare() {
+		assertEquals(TrainingTime.of(200, 30), TrainingTime.of(200, 30));
+		assertTrue(TrainingTime.of(18, 0).compareTo(TrainingTime.of(9, 0)) > 0);
+		assertTrue(TrainingTime.BLANK.compareTo(TrainingTime.of(0, 0)) < 0);
+		assertEquals(0, TrainingTime.BLANK.compareTo(null));
+	}
+
+	/**
+	 * 計算<br>
+	 * ■試験観点：<br>
+	 * ・加算・減算・15分単位の丸めが正しいこと<br>
+	 * ・企業の休憩時間が1時間を超える場合、超過分が差し引かれること
+	 */
+	@Test
+	public void testArithmetic() {
+		assertEquals(TrainingTime.of(10, 15), TrainingTime.of(9, 45).add(TrainingTime.of(0, 30)));
+		assertEquals(TrainingTime.of(8, 50), TrainingTime.of(18, 0).subtract(TrainingTime.of(9, 10)));
+		assertEquals(TrainingTime.of(10, 0), TrainingTime.of(9, 46).roundUp());
+		assertEquals(TrainingTime.of(9, 30), TrainingTime.of(9, 44).roundDown());
+		assertEquals("07:30", TrainingTime.BLANK.restTimeZone(TrainingTime.of(8, 0),
+				TrainingTime.of(12, 0), TrainingTime.of(13, 30)));
+	}
+
+	/**
+	 * 現在時刻の取得<br>
+	 * ■試験観点：<br>
+	 * ・指定した時計の時刻で生成されること
+	 */
+	@Test
+	public void testNow() {
+		Clock clock = Clock.fixed(Instant.parse("2024-04-01T00:05:00Z"), ZoneId.of("Asia/Tokyo"));
+		assertEquals(TrainingTime.of(9, 5), TrainingTime.now(clock));
+	}
+
+}
@@ -0,0 +1,155 @@
+-- 試験用データ（10コース×受講生30名×セクション60件）
+-- 研修日は実行日の40日前から開始し、実行日までの研修日に勤怠情報・日報提出・試験結果を登録する
+-- ユーザーID・LMSユーザーIDは受講生の連番（1〜300）、ログインIDは student001〜student300
+-- パスワードは試験側で登録する
+
+-- 会場・企業・カテゴリ・ジャンル
+INSERT INTO m_place (place_id, place_name, support_available, seating_capacity, hidden_flg, delete_flg)
+VALUES (1, '本社会場', 1, 300, 0, 0);
+
+INSERT INTO m_company (company_id, company_name, work_start_time, work_end_time, file_share_flg, delete_flg)
+VALUES (1, '株式会社試験', '09:00', '18:00', 0, 0);
+
+INSERT INTO m_category (category_id, category_name, delete_flg)
+VALUES (1, 'Java基礎', 0);
+
+INSERT INTO m_genre (genre_id, genre_name, delete_flg)
+VALUES (1, 'Java', 0);
+
+INSERT INTO m_genre_detail (genre_detail_id, genre_id, genre_detail_name, delete_flg)
+SELECT g, 1, 'ジャンル詳細' || g, 0
+FROM generate_series(1, 5) g;
+
+-- コース・セクション
+INSERT INTO m_course (course_id, course_name, open_time, close_time, course_type, hidden_flg,
+	work_start_time, work_end_time, delete_flg)
+SELECT c, 'Java研修' || c, CURRENT_DATE - 40, CURRENT_DATE + 19, 1, 0, '09:00', '18:00', 0
+FROM generate_series(1, 10) c;
+
+INSERT INTO m_section (section_id, section_name, course_id, category_id, date, delete_flg)
+SELECT (c - 1) * 60 + d, 'セクション' || d, c, 1, CURRENT_DATE - 40 + (d - 1), 0
+FROM generate_series(1, 10) c, generate_series(1, 60) d;
+
+-- 受講生
+INSERT INTO m_user (user_id, login_id, password, user_name, kana, mail_address, security_agree_flg,
+	password_change_date, leave_flg, delete_flg)
+SELECT n, 'student' || lpad(n::text, 3, '0'), '', '受講生' || n, 'ジュコウセイ', 'student' || n || '@example.com',
+	1, CURRENT_TIMESTAMP, 0, 0
+FROM generate_series(1, 300) n;
+
+INSERT INTO m_lms_user (lms_user_id, user_id, role, delete_flg)
+SELECT n, n, '0001', 0
+FROM generate_series(1, 300) n;
+
+INSERT INTO t_course_user (course_user_id, course_id, lms_user_id, delete_flg)
+SELECT n, (n - 1) / 30 + 1, n, 0
+FROM generate_series(1, 300) n;
+
+INSERT INTO t_user_place (user_place_id, lms_user_id, place_id, delete_flg)
+SELECT n, n, 1, 0
+FROM generate_series(1, 300) n;
+
+INSERT INTO t_user_company (user_company_id, lms_user_id, company_id, delete_flg)
+SELECT n, n, 1, 0
+FROM generate_series(1, 300) n;
+
+-- 勤怠情報（実行日の前日までの研修日）
+INSERT INTO t_student_attendance (lms_user_id, training_date, training_start_time, training_end_time,
+	status, note, blank_time, delete_flg)
+SELECT n, CURRENT_DATE - 40 + d, '09:00', '18:00', 0, '', 60, 0
+FROM generate_series(1, 300) n, generate_series(0, 39) d;
+
+-- 試験（5試験×20問）・試験とセクションの紐付け（各コース8日毎）
+INSERT INTO m_exam (exam_id, exam_name, exam_description, limit_time, genre_id, hidden_flg, delete_flg)
+SELECT e, '確認試験' || e, '', 30, 1, 0, 0
+FROM generate_series(1, 5) e;
+
+INSERT INTO m_question (question_id, question, grade, answer_num, choice_1, choice_2, choice_3, choice_4,
+	explain, exam_id, genre_detail_id, delete_flg)
+SELECT (e - 1) * 20 + q, '問題' || q, 5, q % 4 + 1, '選択肢1', '選択肢2', '選択肢3', '選択肢4',
+	'解説', e, q % 5 + 1, 0
+FROM generate_series(1, 5) e, generate_series(1, 20) q;
+
+INSERT INTO t_exam_section (exam_section_id, exam_id, section_id, public_date, delete_flg)
+SELECT (c - 1) * 5 + e, e, (c - 1) * 60 + e * 8, CURRENT_TIMESTAMP - INTERVAL '30 days', 0
+FROM generate_series(1, 10) c, generate_series(1, 5) e;
+
+-- 試験結果（受講生毎に各試験2回、採点対象は初回のみ）
+INSERT INTO t_exam_result (exam_section_id, lms_user_id, score, time, mark_flg, delete_flg)
+SELECT ((n - 1) / 30) * 5 + e, n, (n + e + a) % 21, 600000 + n * 1000, CASE WHEN a = 1 THEN 1 ELSE 0 END, 0
+FROM generate_series(1, 300) n, generate_series(1, 5) e, generate_series(1, 2) a
+ORDER BY n, e, a;
+
+INSERT INTO t_exam_result_detail (exam_result_id, lms_user_id, question_id, reply, delete_flg)
+SELECT t1.exam_result_id, t1.lms_user_id, t3.question_id,
+	(t1.exam_result_id + t3.question_id) % 4 + 1, 0
+FROM t_exam_result t1
+	INNER JOIN t_exam_section t2 ON t2.exam_section_id = t1.exam_section_id
+	INNER JOIN m_question t3 ON t3.exam_id = t2.exam_id;
+
+-- 日報（全セクション共通）・日報提出（実行日の前日までのセクション）
+INSERT INTO m_daily_report (daily_report_id, report_name, file_name, sheet_name, row_company, clm_company,
+	row_user, clm_user, row_date, clm_date, intelligibility_flg, intelligibility_field_num,
+	intelligibility_num, row_intel_fld, clm_intel_fld, row_intel, clm_intel, hidden_flg, delete_flg)
+VALUES (1, '日報', '日報_テンプレート.xlsx', '日間研修報告書', 3, 3, 4, 3, 5, 3, 1, 2, 5, 20, 2, 20, 4, 0, 0);
+
+INSERT INTO m_daily_report_detail (daily_report_detail_id, daily_report_id, field_num, field_name, row, clm,
+	required_flg, input_type, delete_flg)
+SELECT f, 1, f, '項目' || f, 7 + f * 3, 2, 1, 0, 0
+FROM generate_series(1, 3) f;
+
+INSERT INTO t_course_daily_report (course_id, daily_report_id, delete_flg)
+SELECT c, 1, 0
+FROM generate_series(1, 10) c;
+
+INSERT INTO t_section_daily_report (section_id, daily_report_id, delete_flg)
+SELECT section_id, 1, 0
+FROM m_section;
+
+INSERT INTO t_daily_report_submit (daily_report_id, date, lms_user_id, delete_flg)
+SELECT 1, CURRENT_DATE - 40 + d, n, 0
+FROM generate_series(1, 300) n, generate_series(0, 39) d
+ORDER BY n, d;
+
+INSERT INTO t_daily_report_submit_detail (daily_report_submit_id, field_num, content, delete_flg)
+SELECT t1.daily_report_submit_id, f, '本日の研修内容' || f, 0
+FROM t_daily_report_submit t1, generate_series(1, 3) f;
+
+INSERT INTO t_intelligibility (daily_report_submit_id, field_num, field_name, field_value, delete_flg)
+SELECT t1.daily_report_submit_id, f, '理解度項目' || f, '3', 0
+FROM t_daily_report_submit t1, generate_series(1, 2) f;
+
+INSERT INTO t_daily_report_fb (daily_report_submit_id, lms_user_id, content, delete_flg)
+SELECT daily_report_submit_id, lms_user_id, 'フィードバック', 0
+FROM t_daily_report_submit
+WHERE daily_report_submit_id % 5 = 0;
+
+-- 企業アカウントID（全データ共通）
+UPDATE m_place SET account_id = 1;
+UPDATE m_company SET account_id = 1;
+UPDATE m_category SET account_id = 1;
+UPDATE m_genre SET account_id = 1;
+UPDATE m_genre_detail SET account_id = 1;
+UPDATE m_course SET account_id = 1;
+UPDATE m_section SET account_id = 1;
+UPDATE m_user SET account_id = 1;
+UPDATE m_lms_user SET account_id = 1;
+UPDATE t_course_user SET account_id = 1;
+UPDATE t_user_place SET account_id = 1;
+UPDATE t_user_company SET account_id = 1;
+UPDATE t_student_attendance SET account_id = 1;
+UPDATE m_exam SET account_id = 1;
+UPDATE m_question SET account_id = 1;
+UPDATE t_exam_section SET account_id = 1;
+UPDATE t_exam_result SET account_id = 1;
+UPDATE t_exam_result_detail SET account_id = 1;
+UPDATE m_daily_report SET account_id = 1;
+UPDATE m_daily_report_detail SET account_id = 1;
+UPDATE t_course_daily_report SET account_id = 1;
+UPDATE t_section_daily_report SET account_id = 1;
+UPDATE t_daily_report_submit SET account_id = 1;
+UPDATE t_daily_report_submit_detail SET account_id = 1;
+UPDATE t_intelligibility SET account_id = 1;
+UPDATE t_daily_report_fb SET account_id = 1;
+
+ANALYZE;
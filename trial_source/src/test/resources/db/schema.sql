@@ -0,0 +1,894 @@
+-- 試験用スキーマ（src/main/resources/ddl の差分DDLを適用する前のテーブル定義）
+-- エンティティ・マッパーが参照する列のみを定義する
+
+CREATE TABLE m_category (
+	category_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	category_name text,
+	category_description text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_company (
+	company_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	company_name text,
+	company_name_kana text,
+	post_number_1 text,
+	post_number_2 text,
+	prefecture text,
+	address text,
+	phone_number_1 text,
+	phone_number_2 text,
+	phone_number_3 text,
+	representative_post text,
+	representative_name text,
+	capital integer,
+	worker_amount integer,
+	subsidy_phone_number_1 text,
+	subsidy_phone_number_2 text,
+	subsidy_phone_number_3 text,
+	holiday text,
+	work_start_time text,
+	work_end_time text,
+	rest_start_time text,
+	rest_end_time text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	file_share_flg smallint
+);
+
+CREATE TABLE m_course (
+	course_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	course_name text,
+	course_description text,
+	open_time timestamp,
+	close_time timestamp,
+	course_type smallint,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	password text,
+	hidden_flg smallint
+);
+
+CREATE TABLE m_daily_report (
+	daily_report_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	report_name text,
+	file_name text,
+	sheet_name text,
+	row_company integer,
+	clm_company integer,
+	row_user integer,
+	clm_user integer,
+	row_date integer,
+	clm_date integer,
+	intelligibility_flg smallint,
+	intelligibility_field_num smallint,
+	intelligibility_num smallint,
+	row_intel_fld integer,
+	clm_intel_fld integer,
+	row_intel integer,
+	clm_intel integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	hidden_flg smallint
+);
+
+CREATE TABLE m_daily_report_detail (
+	daily_report_detail_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	daily_report_id integer,
+	field_num integer,
+	field_name text,
+	row integer,
+	clm integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	required_flg smallint,
+	input_type smallint,
+	range_from integer,
+	range_to integer
+);
+
+CREATE TABLE m_deliverables (
+	deliverables_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	deliverables_name text,
+	score_flg smallint,
+	feedback_flg smallint,
+	note text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	hidden_flg smallint
+);
+
+CREATE TABLE m_exam (
+	exam_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	exam_name text,
+	exam_description text,
+	limit_time smallint,
+	genre_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	hidden_flg smallint
+);
+
+CREATE TABLE m_file (
+	file_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	file_name text,
+	file_path text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_frequently_asked_question (
+	frequently_asked_question_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	frequently_asked_question_category_id integer,
+	question text,
+	answer text,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_frequently_asked_question_category (
+	frequently_asked_question_category_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	frequently_asked_question_category_name text,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_fss_group (
+	fss_group_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	group_name text,
+	description text,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_fss_user (
+	fss_user_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	nickname text,
+	max_file_amount integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_genre (
+	genre_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	genre_name text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_genre_detail (
+	genre_detail_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	genre_id integer,
+	genre_detail_name text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_lms_user (
+	lms_user_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	user_id integer,
+	role text,
+	admin_flg smallint,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	hope_via_traning text,
+	programming_experience smallint
+);
+
+CREATE TABLE m_meeting_file (
+	meeting_file_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	file_name text,
+	sheet_name text,
+	row_company integer,
+	clm_company integer,
+	row_user integer,
+	clm_user integer,
+	row_date integer,
+	clm_date integer,
+	row_meeting integer,
+	clm_meeting integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_movie (
+	movie_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	movie_name text,
+	url text,
+	sort_number integer,
+	movie_category_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_movie_category (
+	movie_category_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	movie_category_name text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_operator (
+	operator_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	operator_name text,
+	url text,
+	operator_type smallint,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_place (
+	place_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	place_name text,
+	place_description text,
+	support_available smallint,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	seating_capacity integer,
+	place_note text,
+	hidden_flg smallint
+);
+
+CREATE TABLE m_question (
+	question_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	question text,
+	grade smallint,
+	answer_num smallint,
+	choice_1 text,
+	choice_2 text,
+	choice_3 text,
+	choice_4 text,
+	explain text,
+	exam_id integer,
+	genre_detail_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_section (
+	section_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	section_name text,
+	section_description text,
+	course_id integer,
+	category_id integer,
+	date timestamp,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE m_user (
+	user_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	login_id text,
+	password varchar(64),
+	user_name text,
+	authority text,
+	account_id integer,
+	security_agree_flg smallint,
+	password_change_date timestamp,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	kana text,
+	mail_address text,
+	subsidy_category_id integer,
+	leave_flg smallint,
+	leave_date timestamp
+);
+
+CREATE TABLE t_agreement_consent (
+	agreement_consent_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	agreement_id integer,
+	company_course_id integer,
+	consent_flg smallint,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_company_attendance (
+	company_attendance_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	lms_user_id integer,
+	training_date timestamp,
+	training_start_time text,
+	training_end_time text,
+	status smallint,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_company_course (
+	company_course_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	company_id integer,
+	course_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_company_fss_group (
+	company_fss_group_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	company_id integer,
+	fss_group_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_course_daily_report (
+	course_daily_report_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	course_id integer,
+	daily_report_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_course_meeting (
+	course_meeting_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	course_id integer,
+	meeting_file_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_course_teaching_material (
+	course_teaching_material_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	file_path text,
+	course_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_course_user (
+	course_user_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	course_id integer,
+	lms_user_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_daily_question_result (
+	daily_question_result_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	question_id integer,
+	lms_user_id integer,
+	reply smallint,
+	reply_date timestamp,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_daily_report_fb (
+	daily_report_fb_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	daily_report_submit_id integer,
+	lms_user_id integer,
+	content text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_daily_report_submit (
+	daily_report_submit_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	daily_report_id integer,
+	date timestamp,
+	lms_user_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_daily_report_submit_detail (
+	daily_report_submit_detail_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	daily_report_submit_id integer,
+	field_num integer,
+	content text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_deliverable (
+	deliverable_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	deliverable_name text,
+	ticket_id integer,
+	lms_user_id integer,
+	status smallint,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_deliverables_result (
+	deliverables_result_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	deliverables_section_id integer,
+	lms_user_id integer,
+	score integer,
+	feedback text,
+	file_path text,
+	file_size bigint,
+	submission_time timestamp,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_deliverables_section (
+	deliverables_section_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	submission_deadline text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	deliverables_id integer,
+	section_id integer
+);
+
+CREATE TABLE t_ev_course (
+	ev_courset_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	ev_report_id integer,
+	course_id integer,
+	meeting_file_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_exam_result (
+	exam_result_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	exam_section_id integer,
+	lms_user_id integer,
+	score smallint,
+	time integer,
+	mark_flg smallint,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_exam_result_detail (
+	exam_result_detail_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	exam_result_id integer,
+	lms_user_id integer,
+	question_id integer,
+	reply smallint,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_exam_section (
+	exam_section_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	exam_id integer,
+	section_id integer,
+	public_date timestamp,
+	private_date timestamp,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_file_child_ticket (
+	file_child_ticket_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	child_ticket_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_file_mail_template (
+	file_mail_template_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	file_id integer,
+	mail_template_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_file_project (
+	file_project_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	project_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_file_section (
+	file_section_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	file_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	section_id integer
+);
+
+CREATE TABLE t_file_ticket (
+	file_ticket_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	ticket_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_fss_file (
+	fss_file_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	owner_fss_user_id integer,
+	shared_fss_user_id integer,
+	file_path text,
+	file_size integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_fss_share_available (
+	fss_share_available_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	fss_user_id integer,
+	share_fss_user_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_fss_user_group (
+	fss_user_group_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	fss_user_id integer,
+	fss_group_id integer,
+	auth smallint,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_info (
+	info_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	content text,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_intelligibility (
+	intelligibility_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	daily_report_submit_id integer,
+	field_num integer,
+	field_name text,
+	field_value smallint,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_mail_que (
+	mail_que_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	mail_address_to text,
+	mail_address_cc text,
+	mail_address_bcc text,
+	subject text,
+	body text,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_mail_que_file (
+	mail_que_file_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	mail_que_id integer,
+	file_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_meeting (
+	meeting_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	lms_user_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_meeting_company (
+	meeting_company_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	meeting_place_id integer,
+	company_id integer,
+	meeting_schedule_detail_id integer,
+	join_amount integer,
+	company_request text,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_meeting_detail (
+	meeting_detail_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	meeting_id integer,
+	question text,
+	answer text,
+	follow text,
+	question_type smallint,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_presentation_company (
+	presentation_company_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	company_id integer,
+	presentation_team_id integer,
+	join_able_flg smallint,
+	join_amount integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	join_name text
+);
+
+CREATE TABLE t_repair_history (
+	history_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	content text,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_section_daily_report (
+	section_daily_report_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	section_id integer,
+	daily_report_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_student_attendance (
+	student_attendance_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	lms_user_id integer,
+	training_date timestamp,
+	training_start_time text,
+	training_end_time text,
+	status smallint,
+	note text,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp,
+	blank_time integer
+);
+
+CREATE TABLE t_temporary_pass_storage (
+	temporary_pass_storage_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	user_id integer,
+	change_key text,
+	time_limit timestamp,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_user_company (
+	user_company_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	lms_user_id integer,
+	company_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_user_fss_user (
+	user_fss_user_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	user_id integer,
+	fss_user_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);
+
+CREATE TABLE t_user_place (
+	user_place_id integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+	lms_user_id integer,
+	place_id integer,
+	account_id integer,
+	delete_flg smallint,
+	first_create_user integer,
+	first_create_date timestamp,
+	last_modified_user integer,
+	last_modified_date timestamp
+);